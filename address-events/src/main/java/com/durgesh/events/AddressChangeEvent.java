@@ -0,0 +1,39 @@
+package com.durgesh.events;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One change to an address, as published by address-service. Events carry
+ * the full state of the address, so applying the same event twice is
+ * harmless and consumers only need the latest one per id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class AddressChangeEvent {
+
+	public enum Type {
+		UPSERTED, DELETED,
+		/**
+		 * Marker, no address: every address that existed before the producer's
+		 * backfill has an event earlier in the log, so a consumer that has read
+		 * past it holds a complete view.
+		 */
+		BACKFILLED
+	}
+
+	/** Position in the log, assigned on append; strictly increasing from 1. */
+	private long offset;
+	/** Outbox row id on the producer side, for tracing duplicates after a redelivery. */
+	private long eventId;
+	private Type type;
+	private Long addressId;
+	private String line1;
+	private String line2;
+	private String state;
+	private String zip;
+	/** When the change was committed on the producer side (epoch millis). */
+	private long occurredAt;
+}
@@ -0,0 +1,28 @@
+package com.durgesh.events;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Ordered, append-only log of address change events. Stands in for a
+ * message broker: the producer appends, every consumer reads from its own
+ * offset and can start over from 0 to rebuild its state.
+ */
+public interface EventLog {
+
+	/**
+	 * Appends the events in order, assigning their offsets.
+	 *
+	 * @return the offset of the last event appended
+	 */
+	long append(List<AddressChangeEvent> events) throws IOException;
+
+	/**
+	 * Returns up to {@code max} events with an offset greater than
+	 * {@code afterOffset}, oldest first.
+	 */
+	List<AddressChangeEvent> read(long afterOffset, int max) throws IOException;
+
+	/** Offset of the last event in the log, 0 when empty. */
+	long endOffset() throws IOException;
+}
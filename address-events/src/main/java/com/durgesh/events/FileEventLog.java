@@ -0,0 +1,145 @@
+package com.durgesh.events;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link EventLog} stored as one JSON event per line in a local file, so a
+ * producer and consumers in different processes on the same host can share
+ * it without a broker. Appends take an exclusive lock on the file, so
+ * producers in different processes add their lines one after another
+ * (within one JVM, share a single instance).
+ * <p>
+ * A line counts once its trailing newline is on disk; a torn last line left
+ * by a crash is invisible to readers and cut off by the next append.
+ */
+public class FileEventLog implements EventLog, Closeable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Byte position just after the last complete line scanned, and that line's offset. */
+	private static final class Cursor {
+		long position;
+		long offset;
+	}
+
+	private final ObjectMapper mapper = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private final Path path;
+	private final FileChannel channel;
+	// sequential consumers continue from where the previous read stopped instead of rescanning
+	private final Cursor readCursor = new Cursor();
+	private final Cursor tail = new Cursor();
+
+	public FileEventLog(Path path) throws IOException {
+		this.path = path;
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+	}
+
+	@Override
+	public synchronized long append(List<AddressChangeEvent> events) throws IOException {
+		try (FileLock lock = channel.lock()) {
+			// another process may have appended since our last look
+			scan(tail, Long.MAX_VALUE, Integer.MAX_VALUE, null);
+			if (channel.size() > tail.position) {
+				channel.truncate(tail.position);
+			}
+			if (events.isEmpty()) {
+				return tail.offset;
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			long offset = tail.offset;
+			for (AddressChangeEvent event : events) {
+				event.setOffset(++offset);
+				out.write(mapper.writeValueAsBytes(event));
+				out.write('\n');
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+			long position = tail.position;
+			while (buffer.hasRemaining()) {
+				position += channel.write(buffer, position);
+			}
+			channel.force(false);
+			tail.position = position;
+			tail.offset = offset;
+			return offset;
+		}
+	}
+
+	@Override
+	public synchronized List<AddressChangeEvent> read(long afterOffset, int max) throws IOException {
+		if (afterOffset < readCursor.offset) {
+			// replay: start over from the beginning of the file
+			readCursor.position = 0;
+			readCursor.offset = 0;
+		}
+		List<AddressChangeEvent> events = new ArrayList<>();
+		scan(readCursor, afterOffset, max, events);
+		return events;
+	}
+
+	@Override
+	public synchronized long endOffset() throws IOException {
+		scan(tail, Long.MAX_VALUE, Integer.MAX_VALUE, null);
+		return tail.offset;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Advances the cursor over complete lines, collecting events past
+	 * {@code afterOffset} into {@code out} (when given) until {@code max}
+	 * have been collected.
+	 */
+	private void scan(Cursor cursor, long afterOffset, int max, List<AddressChangeEvent> out) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		long position = cursor.position;
+		int collected = 0;
+		while (collected < max && channel.read(buffer, position) > 0) {
+			buffer.flip();
+			while (buffer.hasRemaining() && collected < max) {
+				byte b = buffer.get();
+				position++;
+				if (b != '\n') {
+					line.write(b);
+					continue;
+				}
+				AddressChangeEvent event = mapper.readValue(line.toByteArray(), AddressChangeEvent.class);
+				line.reset();
+				cursor.position = position;
+				cursor.offset = event.getOffset();
+				if (out != null && event.getOffset() > afterOffset) {
+					out.add(event);
+					collected++;
+				}
+			}
+			buffer.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "FileEventLog[" + path + "]";
+	}
+}
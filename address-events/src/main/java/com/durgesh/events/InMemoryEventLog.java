@@ -0,0 +1,35 @@
+package com.durgesh.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link EventLog} kept on the heap, for tests and for producer and
+ * consumer sharing one JVM. Offsets start at 1, so the event with offset
+ * {@code n} is at index {@code n - 1}.
+ */
+public class InMemoryEventLog implements EventLog {
+
+	private final List<AddressChangeEvent> events = new ArrayList<>();
+
+	@Override
+	public synchronized long append(List<AddressChangeEvent> batch) {
+		for (AddressChangeEvent event : batch) {
+			event.setOffset(events.size() + 1);
+			events.add(event);
+		}
+		return events.size();
+	}
+
+	@Override
+	public synchronized List<AddressChangeEvent> read(long afterOffset, int max) {
+		int from = (int) Math.max(0, afterOffset);
+		int to = (int) Math.min(events.size(), (long) from + max);
+		return from >= to ? new ArrayList<>() : new ArrayList<>(events.subList(from, to));
+	}
+
+	@Override
+	public synchronized long endOffset() {
+		return events.size();
+	}
+}
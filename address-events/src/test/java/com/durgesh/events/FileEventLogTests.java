@@ -0,0 +1,102 @@
+package com.durgesh.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileEventLogTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readerInAnotherInstanceSeesAppendsInOrder() throws IOException {
+		Path file = dir.resolve("address-events.log");
+		try (FileEventLog writer = new FileEventLog(file); FileEventLog reader = new FileEventLog(file)) {
+			assertEquals(2, writer.append(Arrays.asList(upsert(1L, "Pune"), upsert(2L, "Delhi"))));
+			assertEquals(3, writer.append(Arrays.asList(delete(1L))));
+
+			List<AddressChangeEvent> first = reader.read(0, 2);
+			assertEquals(2, first.size());
+			assertEquals(1, first.get(0).getOffset());
+			assertEquals("Delhi", first.get(1).getState());
+
+			List<AddressChangeEvent> rest = reader.read(2, 10);
+			assertEquals(1, rest.size());
+			assertEquals(AddressChangeEvent.Type.DELETED, rest.get(0).getType());
+			assertEquals(3, reader.endOffset());
+			assertTrue(reader.read(3, 10).isEmpty());
+		}
+	}
+
+	@Test
+	void replaysFromTheStartAfterReopen() throws IOException {
+		Path file = dir.resolve("address-events.log");
+		try (FileEventLog writer = new FileEventLog(file)) {
+			writer.append(Arrays.asList(upsert(1L, "Pune"), upsert(2L, "Delhi"), upsert(3L, "Goa")));
+		}
+		try (FileEventLog reopened = new FileEventLog(file)) {
+			assertEquals(3, reopened.read(1, 10).get(1).getOffset());
+			assertEquals(3, reopened.read(0, 10).size());
+			assertEquals(4, reopened.append(Arrays.asList(upsert(4L, "Kerala"))));
+		}
+	}
+
+	@Test
+	void secondWriterContinuesAfterTheFirstWritersLines() throws IOException {
+		Path file = dir.resolve("address-events.log");
+		try (FileEventLog first = new FileEventLog(file); FileEventLog second = new FileEventLog(file)) {
+			assertEquals(2, first.append(Arrays.asList(upsert(1L, "Pune"), upsert(2L, "Delhi"))));
+			assertEquals(3, second.append(Arrays.asList(upsert(3L, "Goa"))));
+			assertEquals(4, first.append(Arrays.asList(delete(1L))));
+
+			List<AddressChangeEvent> all = second.read(0, 10);
+			assertEquals(4, all.size());
+			assertEquals("Goa", all.get(2).getState());
+			assertEquals(AddressChangeEvent.Type.DELETED, all.get(3).getType());
+		}
+	}
+
+	@Test
+	void ignoresAndThenTruncatesTornLastLine() throws IOException {
+		Path file = dir.resolve("address-events.log");
+		try (FileEventLog writer = new FileEventLog(file)) {
+			writer.append(Arrays.asList(upsert(1L, "Pune")));
+		}
+		Files.write(file, "{\"offset\":2,\"type\":\"UPS".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		try (FileEventLog log = new FileEventLog(file)) {
+			assertEquals(1, log.read(0, 10).size());
+			assertEquals(1, log.endOffset());
+			assertEquals(2, log.append(Arrays.asList(upsert(2L, "Delhi"))));
+			assertEquals("Delhi", log.read(1, 10).get(0).getState());
+		}
+	}
+
+	private static AddressChangeEvent upsert(Long id, String state) {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.UPSERTED);
+		event.setAddressId(id);
+		event.setState(state);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+
+	private static AddressChangeEvent delete(Long id) {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.DELETED);
+		event.setAddressId(id);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+}
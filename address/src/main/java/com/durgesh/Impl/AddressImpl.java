@@ -2,15 +2,41 @@ package com.durgesh.Impl;
 
 import com.durgesh.dto.AddressDto;
 import com.durgesh.entity.Address;
+import com.durgesh.outbox.AddressOutbox;
 import com.durgesh.repo.AddressRepo;
+import com.durgesh.responsecache.ResponseCache;
 import com.durgesh.service.AddressService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class AddressImpl implements AddressService {
+
+    @Autowired
+    private AddressRepo addressRepo;
+
+    // every write records its change event in the same transaction
+    @Autowired
+    private AddressOutbox addressOutbox;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     @Override
+    @Transactional
     public Address save(AddressDto addressDto) {
-        return null;
+        Address address = new Address();
+        address.setLine1(addressDto.getLine1());
+        address.setLine2(addressDto.getLine2());
+        address.setState(addressDto.getState());
+        address.setZip(addressDto.getZip());
+        Address saved = addressRepo.save(address);
+        addressOutbox.upserted(saved);
+        invalidateAfterCommit(saved.getId());
+        return saved;
     }
 
     @Override
@@ -29,7 +55,25 @@ public class AddressImpl implements AddressService {
     }
 
     @Override
+    @Transactional
     public Address removeById(Integer id) {
-        return null;
+        Address address = addressRepo.findById(id.longValue()).orElse(null);
+        if (address != null) {
+            addressRepo.delete(address);
+            addressOutbox.deleted(address.getId());
+            invalidateAfterCommit(address.getId());
+        }
+        return address;
+    }
+
+    // dropping the cached GET /address/{id} before commit would let a concurrent read cache the old row again
+    private void invalidateAfterCommit(Long id) {
+        String path = "/address/" + id;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responseCache.invalidate(path);
+            }
+        });
     }
 }
@@ -0,0 +1,63 @@
+package com.durgesh.Impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.colocation.AddressLookup;
+import com.durgesh.colocation.AddressView;
+import com.durgesh.colocation.LocalServices;
+import com.durgesh.entity.Address;
+import com.durgesh.repo.AddressRepo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes address lookups to co-located services. Only active under the
+ * launcher, where {@link LocalServices} comes from the shared parent context.
+ */
+@Component
+public class AddressLookupImpl implements AddressLookup {
+
+	@Autowired
+	private AddressRepo addressRepo;
+
+	@Autowired(required = false)
+	private LocalServices localServices;
+
+	@PostConstruct
+	public void publish() {
+		if (localServices != null) {
+			localServices.register(AddressLookup.class, this);
+		}
+	}
+
+	@PreDestroy
+	public void withdraw() {
+		if (localServices != null) {
+			localServices.unregister(AddressLookup.class, this);
+		}
+	}
+
+	@Override
+	public AddressView findById(long id) {
+		// callers run on another service's thread; make class loading resolve against this service
+		Thread thread = Thread.currentThread();
+		ClassLoader callerLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(AddressLookupImpl.class.getClassLoader());
+		try {
+			Address address = addressRepo.findById(id).orElse(null);
+			if (address == null) {
+				return null;
+			}
+			AddressView view = new AddressView();
+			view.setLine1(address.getLine1());
+			view.setLine2(address.getLine2());
+			view.setState(address.getState());
+			view.setZip(address.getZip());
+			return view;
+		} finally {
+			thread.setContextClassLoader(callerLoader);
+		}
+	}
+}
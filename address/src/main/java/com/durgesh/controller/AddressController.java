@@ -1,13 +1,31 @@
 package com.durgesh.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.durgesh.deadline.Deadline;
+import com.durgesh.deadline.DeadlineExceededException;
+import com.durgesh.dto.AddressDto;
 import com.durgesh.entity.Address;
 import com.durgesh.repo.AddressRepo;
+import com.durgesh.service.AddressService;
+import com.durgesh.utils.ETags;
+import com.durgesh.utils.SingleFlight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 @RestController
 @RequestMapping("/address")
@@ -16,14 +34,64 @@ public class AddressController {
     @Autowired
     private AddressRepo addressRepo;
 
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight<Long, Address> addressLoads;
+
+    @PostConstruct
+    public void init() {
+        addressLoads = new SingleFlight<>("address.byId", meterRegistry);
+    }
+
     @GetMapping("/home")
     public String home() {
         return "this is address";
     }
 
     @GetMapping("/{id}")
-    Address getAddressById(@PathVariable Long id) {
-		return addressRepo.findById(id).orElse(null);
+    ResponseEntity<Address> getAddressById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (Deadline.expired()) {
+            // caller has given up while we were queued, skip the query
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+        }
+        if (ifNoneMatch != null) {
+            // pollers holding the current version get a 304 from a version-only query
+            Long version = addressRepo.findVersionById(id);
+            String etag = version == null ? null : ETags.of(id, version);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        Address address = addressLoads.execute(id, () -> addressRepo.findById(id).orElse(null));
+        if (address == null) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.ok().eTag(ETags.of(address.getId(), address.getVersion())).body(address);
+    }
+
+    // the caller's deadline ran out while waiting on a concurrent load of the same address
+    @ExceptionHandler(DeadlineExceededException.class)
+    ResponseEntity<Void> deadlineExceeded() {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+    }
+
+    @PostMapping("/save")
+    Address save(@RequestBody AddressDto addressDto) {
+        return addressService.save(addressDto);
+    }
+
+    @DeleteMapping("/{id}")
+    Address removeById(@PathVariable Integer id) {
+        Address address = addressService.removeById(id);
+        if (address == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Address not found");
+        }
+        return address;
     }
 
 }
@@ -0,0 +1,47 @@
+package com.durgesh.deadline;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests whose forwarded budget is already used up and makes the
+ * remaining budget available to the controller through {@link Deadline}.
+ */
+@Component
+public class DeadlineFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String header = request.getHeader(Deadline.TIMEOUT_HEADER);
+		if (header == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		long budgetMs;
+		try {
+			budgetMs = Long.parseLong(header.trim());
+		} catch (NumberFormatException e) {
+			chain.doFilter(request, response);
+			return;
+		}
+		if (budgetMs <= 0) {
+			response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline exceeded");
+			return;
+		}
+		Deadline.start(budgetMs);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			Deadline.clear();
+		}
+	}
+}
@@ -8,7 +8,12 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 public class AddressDto {
-	
+
+	private String line1;
+	private String line2;
+	private String state;
+	private String zip;
+
 }
 
 
@@ -21,6 +21,9 @@ public class Address {
     private String State;
     @Column(length = 6)
     private String zip;
+    // bumped by every update; drives optimistic locking and the ETag of GET /address/{id}
+    @Version
+    private long version;
    /* @OneToOne(cascade = CascadeType.ALL)
     private Employ*/
 }
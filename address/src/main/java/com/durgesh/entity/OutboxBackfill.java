@@ -0,0 +1,30 @@
+package com.durgesh.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of the one-time outbox backfill, a single row. It outlives the
+ * outbox rows the retention purge removes, so an empty outbox alone never
+ * starts the backfill again, and a backfill cut short resumes after the
+ * last address it wrote. {@code markedAt} is set once the
+ * {@code BACKFILLED} marker that tells consumers the log is complete has
+ * been written to the outbox.
+ */
+@Entity
+@Table(name = "address_outbox_backfill")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxBackfill {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+    private long lastAddressId;
+    private long backfilled;
+    private Long completedAt;
+    private Long markedAt;
+}
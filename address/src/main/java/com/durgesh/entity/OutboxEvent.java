@@ -0,0 +1,35 @@
+package com.durgesh.entity;
+
+import com.durgesh.events.AddressChangeEvent;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Address change waiting to be published. Written in the same transaction
+ * as the change itself, so a committed change always gets an event.
+ */
+@Entity
+@Table(name = "address_outbox", indexes = @Index(name = "idx_outbox_unpublished", columnList = "publishedAt, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private AddressChangeEvent.Type type;
+    @Column(nullable = false)
+    private Long addressId;
+    private String line1;
+    private String line2;
+    private String state;
+    @Column(length = 6)
+    private String zip;
+    private long createdAt;
+    private Long publishedAt;
+}
@@ -0,0 +1,24 @@
+package com.durgesh.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single row every address instance tries to lock before publishing the
+ * outbox; the one holding it is the publisher for that batch, so batches are
+ * appended to the event log one instance at a time and in id order.
+ */
+@Entity
+@Table(name = "address_outbox_publisher")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxPublisherLock {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+    private Long lastPublishedAt;
+}
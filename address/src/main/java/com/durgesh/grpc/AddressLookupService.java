@@ -0,0 +1,124 @@
+package com.durgesh.grpc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.durgesh.entity.Address;
+import com.durgesh.repo.AddressRepo;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server side of the AddressLookup gRPC API. The streaming batch collects
+ * ids and reads them with one {@code findAllById} per chunk, replying in
+ * request order.
+ */
+@Slf4j
+@Service
+public class AddressLookupService extends AddressLookupGrpc.AddressLookupImplBase {
+
+	@Autowired
+	private AddressRepo addressRepo;
+
+	@Value("${grpc.lookup.chunk-size:100}")
+	private int chunkSize;
+
+	@Override
+	public void getAddress(AddressRequest request, StreamObserver<AddressReply> responseObserver) {
+		if (deadlineExceeded()) {
+			responseObserver.onError(Status.DEADLINE_EXCEEDED.asRuntimeException());
+			return;
+		}
+		long id = request.getId();
+		responseObserver.onNext(reply(id, addressRepo.findById(id).orElse(null)));
+		responseObserver.onCompleted();
+	}
+
+	@Override
+	public StreamObserver<AddressRequest> getAddresses(StreamObserver<AddressReply> responseObserver) {
+		return new StreamObserver<AddressRequest>() {
+			// gRPC delivers one call's messages one at a time
+			private final List<Long> pending = new ArrayList<>();
+
+			@Override
+			public void onNext(AddressRequest request) {
+				if (deadlineExceeded()) {
+					return;
+				}
+				pending.add(request.getId());
+				if (pending.size() >= chunkSize) {
+					flush();
+				}
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				log.warn("Batch address lookup cancelled by client: {}", t.getMessage());
+			}
+
+			@Override
+			public void onCompleted() {
+				if (deadlineExceeded()) {
+					responseObserver.onError(Status.DEADLINE_EXCEEDED.asRuntimeException());
+					return;
+				}
+				flush();
+				responseObserver.onCompleted();
+			}
+
+			private void flush() {
+				if (pending.isEmpty()) {
+					return;
+				}
+				Map<Long, Address> found = new HashMap<>();
+				for (Address address : addressRepo.findAllById(pending)) {
+					found.put(address.getId(), address);
+				}
+				if (deadlineExceeded()) {
+					// nobody is listening any more
+					pending.clear();
+					return;
+				}
+				for (Long id : pending) {
+					responseObserver.onNext(reply(id, found.get(id)));
+				}
+				pending.clear();
+			}
+		};
+	}
+
+	/**
+	 * The client's deadline arrives as the gRPC deadline; once it has passed
+	 * (or the client cancelled) the call context is cancelled.
+	 */
+	private static boolean deadlineExceeded() {
+		return Context.current().isCancelled();
+	}
+
+	private static AddressReply reply(long id, Address address) {
+		if (address == null) {
+			return AddressReply.newBuilder().setId(id).setFound(false).build();
+		}
+		return AddressReply.newBuilder()
+				.setId(id)
+				.setFound(true)
+				.setLine1(nullToEmpty(address.getLine1()))
+				.setLine2(nullToEmpty(address.getLine2()))
+				.setState(nullToEmpty(address.getState()))
+				.setZip(nullToEmpty(address.getZip()))
+				.build();
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -0,0 +1,64 @@
+package com.durgesh.grpc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the internal gRPC server next to Tomcat. The port is published to
+ * Eureka as the {@code grpc-port} metadata entry so clients know where to
+ * connect.
+ */
+@Slf4j
+@Component
+public class GrpcServerRunner implements SmartLifecycle {
+
+	@Value("${grpc.server.port:9001}")
+	private int port;
+
+	@Autowired
+	private AddressLookupService addressLookupService;
+
+	private Server server;
+
+	@Override
+	public void start() {
+		try {
+			server = ServerBuilder.forPort(port).addService(addressLookupService).build().start();
+			log.info("gRPC AddressLookup listening on port {}", port);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+		}
+	}
+
+	@Override
+	public void stop() {
+		if (server == null) {
+			return;
+		}
+		server.shutdown();
+		try {
+			if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+				server.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			server.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		server = null;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return server != null && !server.isShutdown();
+	}
+}
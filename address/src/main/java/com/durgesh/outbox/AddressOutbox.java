@@ -0,0 +1,46 @@
+package com.durgesh.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.durgesh.entity.Address;
+import com.durgesh.entity.OutboxEvent;
+import com.durgesh.events.AddressChangeEvent;
+import com.durgesh.repo.OutboxRepo;
+
+/**
+ * Records address changes in the outbox table. Must be called inside the
+ * transaction that makes the change; {@link OutboxPublisher} ships the rows
+ * to the event log after commit.
+ */
+@Component
+public class AddressOutbox {
+
+	@Autowired
+	private OutboxRepo outboxRepo;
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void upserted(Address address) {
+		OutboxEvent event = event(AddressChangeEvent.Type.UPSERTED, address.getId());
+		event.setLine1(address.getLine1());
+		event.setLine2(address.getLine2());
+		event.setState(address.getState());
+		event.setZip(address.getZip());
+		outboxRepo.save(event);
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void deleted(Long addressId) {
+		outboxRepo.save(event(AddressChangeEvent.Type.DELETED, addressId));
+	}
+
+	private static OutboxEvent event(AddressChangeEvent.Type type, Long addressId) {
+		OutboxEvent event = new OutboxEvent();
+		event.setType(type);
+		event.setAddressId(addressId);
+		event.setCreatedAt(System.currentTimeMillis());
+		return event;
+	}
+}
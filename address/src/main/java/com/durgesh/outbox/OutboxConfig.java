@@ -0,0 +1,22 @@
+package com.durgesh.outbox;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.durgesh.events.FileEventLog;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+	/** Log the outbox is published to; employee-service reads the same file. */
+	@Bean(destroyMethod = "close")
+	public FileEventLog addressEventLog(@Value("${address.events.log-path}") String path) throws IOException {
+		return new FileEventLog(Paths.get(path));
+	}
+}
@@ -0,0 +1,260 @@
+package com.durgesh.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.entity.Address;
+import com.durgesh.entity.OutboxBackfill;
+import com.durgesh.entity.OutboxEvent;
+import com.durgesh.entity.OutboxPublisherLock;
+import com.durgesh.events.AddressChangeEvent;
+import com.durgesh.events.EventLog;
+import com.durgesh.repo.AddressRepo;
+import com.durgesh.repo.OutboxBackfillRepo;
+import com.durgesh.repo.OutboxPublisherLockRepo;
+import com.durgesh.repo.OutboxRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the outbox and appends unpublished rows to the event log, oldest
+ * first. Every instance polls, but a batch is only published while holding
+ * the {@link OutboxPublisherLock} row; an instance that finds it taken
+ * leaves that poll to the holder. Delivery is at-least-once: a crash between
+ * the append and marking the rows published sends them again, which
+ * consumers tolerate because events carry the full address state.
+ */
+@Slf4j
+@Component
+public class OutboxPublisher {
+
+	@Autowired
+	private OutboxRepo outboxRepo;
+
+	@Autowired
+	private AddressRepo addressRepo;
+
+	@Autowired
+	private OutboxBackfillRepo backfillRepo;
+
+	@Autowired
+	private OutboxPublisherLockRepo publisherLockRepo;
+
+	@Autowired
+	private EventLog eventLog;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${address.outbox.batch-size:500}")
+	private int batchSize;
+
+	@Value("${address.outbox.retention-ms:86400000}")
+	private long retentionMs;
+
+	@Value("${address.outbox.backfill-on-start:false}")
+	private boolean backfillOnStart;
+
+	private Counter published;
+	private Counter failures;
+
+	@PostConstruct
+	public void init() {
+		published = meterRegistry.counter("address.outbox.published");
+		failures = meterRegistry.counter("address.outbox.publish.failures");
+		Gauge.builder("address.outbox.pending", outboxRepo, OutboxRepo::countByPublishedAtIsNull)
+				.register(meterRegistry);
+		if (!publisherLockRepo.existsById(OutboxPublisherLock.ID)) {
+			OutboxPublisherLock lock = new OutboxPublisherLock();
+			lock.setId(OutboxPublisherLock.ID);
+			try {
+				publisherLockRepo.save(lock);
+			} catch (DataIntegrityViolationException e) {
+				// another instance created it first
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${address.outbox.poll-interval-ms:200}")
+	public void publish() {
+		try {
+			Integer size;
+			do {
+				size = transactionTemplate.execute(status -> publishBatch());
+			} while (size != null && size == batchSize);
+		} catch (PessimisticLockingFailureException e) {
+			// another instance is publishing
+		} catch (Exception e) {
+			// rows stay unpublished and are retried on the next poll
+			failures.increment();
+			log.warn("Publishing address outbox failed: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Appends the next batch under the publisher lock, which is held until
+	 * the rows are marked published, so no other instance sends them too.
+	 */
+	private int publishBatch() {
+		OutboxPublisherLock lock = publisherLockRepo.lockById(OutboxPublisherLock.ID).orElseThrow();
+		List<OutboxEvent> batch = outboxRepo.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		try {
+			eventLog.append(toEvents(batch));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		long now = System.currentTimeMillis();
+		batch.forEach(row -> row.setPublishedAt(now));
+		outboxRepo.saveAll(batch);
+		lock.setLastPublishedAt(now);
+		publisherLockRepo.save(lock);
+		published.increment(batch.size());
+		return batch.size();
+	}
+
+	@Scheduled(fixedDelayString = "${address.outbox.cleanup-interval-ms:60000}")
+	public void cleanup() {
+		long before = System.currentTimeMillis() - retentionMs;
+		Integer deleted = transactionTemplate.execute(status -> outboxRepo.deletePublishedBefore(before));
+		if (deleted != null && deleted > 0) {
+			log.debug("Removed {} published outbox rows", deleted);
+		}
+	}
+
+	/**
+	 * Seeds the outbox with every existing address once, so consumers can
+	 * build a complete view from the log alone. Whether it ran is kept in
+	 * {@link OutboxBackfill}, not read from the outbox, which the retention
+	 * purge empties.
+	 * <p>
+	 * Each page of addresses is read under a share lock in the transaction
+	 * that writes its events, so no change to those addresses commits in
+	 * between: a change made while the backfill runs is either in the page
+	 * or gets its own event after the page's.
+	 * <p>
+	 * A {@code BACKFILLED} marker follows the last page's events; consumers
+	 * only trust their view once they have read it.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		if (!backfillOnStart) {
+			return;
+		}
+		if (startBackfill()) {
+			long now = System.currentTimeMillis();
+			OutboxBackfill progress;
+			do {
+				progress = transactionTemplate.execute(status -> backfillPage(now));
+			} while (progress.getCompletedAt() == null);
+			log.info("Address outbox backfill complete: {} addresses", progress.getBackfilled());
+		}
+		// also covers a backfill completed before the marker existed
+		transactionTemplate.executeWithoutResult(status -> markBackfilled());
+	}
+
+	/** Creates the marker on first start; false once the backfill is complete. */
+	private boolean startBackfill() {
+		OutboxBackfill marker = backfillRepo.findById(OutboxBackfill.ID).orElse(null);
+		if (marker != null) {
+			return marker.getCompletedAt() == null;
+		}
+		marker = new OutboxBackfill();
+		marker.setId(OutboxBackfill.ID);
+		if (outboxRepo.count() > 0) {
+			// events were flowing before the marker existed; a backfill then would only repeat them
+			marker.setCompletedAt(System.currentTimeMillis());
+		}
+		try {
+			backfillRepo.save(marker);
+		} catch (DataIntegrityViolationException e) {
+			// another instance created it first; the page lock lets them share the work
+		}
+		return marker.getCompletedAt() == null;
+	}
+
+	private OutboxBackfill backfillPage(long now) {
+		OutboxBackfill progress = backfillRepo.lockById(OutboxBackfill.ID).orElseThrow();
+		if (progress.getCompletedAt() != null) {
+			return progress;
+		}
+		List<Address> page = addressRepo.findPageAfterForShare(progress.getLastAddressId(),
+				PageRequest.of(0, batchSize));
+		List<OutboxEvent> rows = new ArrayList<>(page.size());
+		for (Address address : page) {
+			OutboxEvent row = new OutboxEvent();
+			row.setType(AddressChangeEvent.Type.UPSERTED);
+			row.setAddressId(address.getId());
+			row.setLine1(address.getLine1());
+			row.setLine2(address.getLine2());
+			row.setState(address.getState());
+			row.setZip(address.getZip());
+			row.setCreatedAt(now);
+			rows.add(row);
+		}
+		outboxRepo.saveAll(rows);
+		if (!page.isEmpty()) {
+			progress.setLastAddressId(page.get(page.size() - 1).getId());
+		}
+		progress.setBackfilled(progress.getBackfilled() + page.size());
+		if (page.size() < batchSize) {
+			progress.setCompletedAt(System.currentTimeMillis());
+		}
+		return backfillRepo.save(progress);
+	}
+
+	private void markBackfilled() {
+		OutboxBackfill progress = backfillRepo.lockById(OutboxBackfill.ID).orElseThrow();
+		if (progress.getCompletedAt() == null || progress.getMarkedAt() != null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		OutboxEvent marker = new OutboxEvent();
+		marker.setType(AddressChangeEvent.Type.BACKFILLED);
+		// no address; ids start at 1
+		marker.setAddressId(0L);
+		marker.setCreatedAt(now);
+		outboxRepo.save(marker);
+		progress.setMarkedAt(now);
+		backfillRepo.save(progress);
+	}
+
+	private static List<AddressChangeEvent> toEvents(List<OutboxEvent> rows) {
+		List<AddressChangeEvent> events = new ArrayList<>(rows.size());
+		for (OutboxEvent row : rows) {
+			AddressChangeEvent event = new AddressChangeEvent();
+			event.setEventId(row.getId());
+			event.setType(row.getType());
+			event.setAddressId(row.getAddressId());
+			event.setLine1(row.getLine1());
+			event.setLine2(row.getLine2());
+			event.setState(row.getState());
+			event.setZip(row.getZip());
+			event.setOccurredAt(row.getCreatedAt());
+			events.add(event);
+		}
+		return events;
+	}
+}
@@ -1,9 +1,25 @@
 package com.durgesh.repo;
 
 import com.durgesh.entity.Address;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AddressRepo extends JpaRepository<Address,Long> {
+
+    // answers If-None-Match without reading the row
+    @Query("select a.version from Address a where a.id = :id")
+    Long findVersionById(@Param("id") Long id);
+
+    // outbox backfill page: the share lock keeps changes to these rows waiting until their events are written
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select a from Address a where a.id > :afterId order by a.id")
+    List<Address> findPageAfterForShare(@Param("afterId") long afterId, Pageable page);
 }
@@ -0,0 +1,20 @@
+package com.durgesh.repo;
+
+import com.durgesh.entity.OutboxBackfill;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxBackfillRepo extends JpaRepository<OutboxBackfill, Long> {
+
+    // instances starting together take turns on the backfill instead of each writing every address
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from OutboxBackfill b where b.id = :id")
+    Optional<OutboxBackfill> lockById(@Param("id") Long id);
+}
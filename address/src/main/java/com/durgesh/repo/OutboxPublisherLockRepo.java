@@ -0,0 +1,23 @@
+package com.durgesh.repo;
+
+import com.durgesh.entity.OutboxPublisherLock;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxPublisherLockRepo extends JpaRepository<OutboxPublisherLock, Long> {
+
+    // no wait: an instance that finds it held skips the poll instead of holding a connection
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("select l from OutboxPublisherLock l where l.id = :id")
+    Optional<OutboxPublisherLock> lockById(@Param("id") Long id);
+}
@@ -0,0 +1,188 @@
+package com.durgesh.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.durgesh.entity.Address;
+import com.durgesh.repo.AddressRepo;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+class AddressLookupServiceTests {
+
+	private final Map<Long, Address> addresses = new ConcurrentHashMap<>();
+	private final List<List<Long>> chunks = new CopyOnWriteArrayList<>();
+	private final AtomicInteger lookups = new AtomicInteger();
+	private volatile long latencyMs;
+
+	private Server server;
+	private ManagedChannel channel;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		addresses.put(1L, new Address(1L, "12 MG Road", null, "Pune", "411001", 0));
+		addresses.put(3L, new Address(3L, "4 Park Street", "Flat 2", "Goa", "403001", 0));
+		AddressLookupService service = new AddressLookupService();
+		ReflectionTestUtils.setField(service, "addressRepo", addressRepo());
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+		String name = InProcessServerBuilder.generateName();
+		server = InProcessServerBuilder.forName(name).addService(service).build().start();
+		channel = InProcessChannelBuilder.forName(name).build();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		channel.shutdownNow();
+		server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void unaryLookupMapsFoundAndNotFound() {
+		AddressLookupGrpc.AddressLookupBlockingStub stub = AddressLookupGrpc.newBlockingStub(channel);
+
+		AddressReply found = stub.getAddress(AddressRequest.newBuilder().setId(1L).build());
+		AddressReply missing = stub.getAddress(AddressRequest.newBuilder().setId(2L).build());
+
+		assertTrue(found.getFound());
+		assertEquals(1L, found.getId());
+		assertEquals("Pune", found.getState());
+		// proto3 strings cannot be null
+		assertEquals("", found.getLine2());
+		assertFalse(missing.getFound());
+		assertEquals(2L, missing.getId());
+	}
+
+	@Test
+	void batchRepliesInRequestOrderWithOneQueryPerChunk() throws Exception {
+		List<AddressReply> replies = batch(Arrays.asList(3L, 2L, 1L, 3L, 5L), 5000).get(5, TimeUnit.SECONDS);
+
+		assertEquals(Arrays.asList(3L, 2L, 1L, 3L, 5L), ids(replies));
+		assertEquals(Arrays.asList(true, false, true, true, false), found(replies));
+		assertEquals("Flat 2", replies.get(0).getLine2());
+		assertEquals(Arrays.asList(Arrays.asList(3L, 2L), Arrays.asList(1L, 3L), Collections.singletonList(5L)),
+				chunks);
+		assertEquals(0, lookups.get());
+	}
+
+	@Test
+	void emptyBatchCompletesWithoutQuerying() throws Exception {
+		assertTrue(batch(Collections.emptyList(), 5000).get(5, TimeUnit.SECONDS).isEmpty());
+		assertTrue(chunks.isEmpty());
+	}
+
+	@Test
+	void batchStopsLookingUpOnceTheDeadlineHasPassed() throws Exception {
+		latencyMs = 300;
+
+		CompletableFuture<List<AddressReply>> result = batch(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), 100);
+		Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+		Thread.sleep(latencyMs + 200);
+
+		assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(e.getCause()).getCode());
+		// the chunk in progress when the deadline passed is the last one read
+		assertEquals(1, chunks.size());
+	}
+
+	@Test
+	void unaryCallPastItsDeadlineIsDeadlineExceeded() {
+		latencyMs = 300;
+		AddressLookupGrpc.AddressLookupBlockingStub stub = AddressLookupGrpc.newBlockingStub(channel)
+				.withDeadlineAfter(100, TimeUnit.MILLISECONDS);
+
+		StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+				() -> stub.getAddress(AddressRequest.newBuilder().setId(1L).build()));
+
+		assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+	}
+
+	private CompletableFuture<List<AddressReply>> batch(List<Long> ids, long deadlineMs) {
+		CompletableFuture<List<AddressReply>> result = new CompletableFuture<>();
+		List<AddressReply> replies = new ArrayList<>();
+		StreamObserver<AddressRequest> requests = AddressLookupGrpc.newStub(channel)
+				.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+				.getAddresses(new StreamObserver<AddressReply>() {
+					@Override
+					public void onNext(AddressReply reply) {
+						replies.add(reply);
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						result.completeExceptionally(t);
+					}
+
+					@Override
+					public void onCompleted() {
+						result.complete(replies);
+					}
+				});
+		for (Long id : ids) {
+			requests.onNext(AddressRequest.newBuilder().setId(id).build());
+		}
+		requests.onCompleted();
+		return result;
+	}
+
+	private AddressRepo addressRepo() {
+		return (AddressRepo) Proxy.newProxyInstance(AddressRepo.class.getClassLoader(),
+				new Class<?>[] { AddressRepo.class }, (proxy, method, args) -> {
+					Thread.sleep(latencyMs);
+					switch (method.getName()) {
+					case "findById":
+						lookups.incrementAndGet();
+						return Optional.ofNullable(addresses.get((Long) args[0]));
+					case "findAllById":
+						List<Long> chunk = new ArrayList<>();
+						List<Address> found = new ArrayList<>();
+						for (Object id : (Iterable<?>) args[0]) {
+							chunk.add((Long) id);
+							if (addresses.containsKey(id)) {
+								found.add(addresses.get(id));
+							}
+						}
+						chunks.add(chunk);
+						return found;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+	private static List<Long> ids(List<AddressReply> replies) {
+		List<Long> ids = new ArrayList<>();
+		replies.forEach(reply -> ids.add(reply.getId()));
+		return ids;
+	}
+
+	private static List<Boolean> found(List<AddressReply> replies) {
+		List<Boolean> found = new ArrayList<>();
+		replies.forEach(reply -> found.add(reply.getFound()));
+		return found;
+	}
+}
@@ -0,0 +1,13 @@
+package com.durgesh.colocation;
+
+/**
+ * In-process entry point into address-service, published by it when it runs
+ * under the co-located launcher.
+ */
+public interface AddressLookup {
+
+	/**
+	 * @return the address for the id, or {@code null} when there is none
+	 */
+	AddressView findById(long id);
+}
@@ -0,0 +1,16 @@
+package com.durgesh.colocation;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class AddressView {
+
+	private String line1;
+	private String line2;
+	private String state;
+	private String zip;
+}
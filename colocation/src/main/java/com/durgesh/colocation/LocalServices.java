@@ -0,0 +1,31 @@
+package com.durgesh.colocation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Directory of in-process service endpoints. The launcher puts a single
+ * instance in the parent context shared by every service's child context;
+ * services publish what they offer here and look up what they need. In a
+ * standalone service there is no such bean and callers stay on the network
+ * path.
+ * <p>
+ * Every type used here must come from this module, because it is the only
+ * code all the service class loaders share.
+ */
+public class LocalServices {
+
+	private final ConcurrentMap<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+	public <T> void register(Class<T> type, T service) {
+		services.put(type, service);
+	}
+
+	public <T> void unregister(Class<T> type, T service) {
+		services.remove(type, service);
+	}
+
+	public <T> T find(Class<T> type) {
+		return type.cast(services.get(type));
+	}
+}
@@ -0,0 +1,40 @@
+package com.durgesh.limit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Additive-increase / multiplicative-decrease limit: +1 for each request that
+ * completes under the latency threshold while the limit is in use, times
+ * {@code backoffRatio} for each drop or slow request.
+ */
+public class AimdLimit implements Limit {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoffRatio;
+	private final long timeoutNanos;
+
+	private volatile int limit;
+
+	public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeoutMs) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoffRatio = backoffRatio;
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+	}
+
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	@Override
+	public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+		if (dropped || rttNanos > timeoutNanos) {
+			limit = Math.max(minLimit, (int) (limit * backoffRatio));
+		} else if (inflight * 2 >= limit) {
+			limit = Math.min(maxLimit, limit + 1);
+		}
+	}
+}
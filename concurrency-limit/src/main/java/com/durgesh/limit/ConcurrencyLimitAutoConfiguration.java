@@ -0,0 +1,46 @@
+package com.durgesh.limit;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LimiterProperties.class)
+public class ConcurrencyLimitAutoConfiguration {
+
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(LimiterProperties properties) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(properties));
+		// run ahead of every other filter so rejected requests cost as little as possible
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+	/**
+	 * Bound by actuator when the service has a MeterRegistry; ignored otherwise.
+	 */
+	@Bean
+	public MeterBinder concurrencyLimitMetrics(FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter) {
+		return registry -> {
+			for (ConcurrencyLimiter limiter : concurrencyLimitFilter.getFilter().getLimiters()) {
+				Gauge.builder("limiter.limit", limiter, ConcurrencyLimiter::getLimit)
+						.tag("group", limiter.getName()).register(registry);
+				Gauge.builder("limiter.inflight", limiter, ConcurrencyLimiter::getInflight)
+						.tag("group", limiter.getName()).register(registry);
+				FunctionCounter.builder("limiter.rejected", limiter, ConcurrencyLimiter::getRejected)
+						.tag("group", limiter.getName()).register(registry);
+			}
+		};
+	}
+}
@@ -0,0 +1,96 @@
+package com.durgesh.limit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds requests with 503 as soon as their endpoint group is at its adaptive
+ * concurrency limit, instead of letting them queue in Tomcat until everything
+ * times out.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final List<Route> routes = new ArrayList<>();
+	private final Map<String, ConcurrencyLimiter> limiters = new LinkedHashMap<>();
+
+	public ConcurrencyLimitFilter(LimiterProperties properties) {
+		for (String group : properties.groupNames()) {
+			limiters.put(group, new ConcurrencyLimiter(group, properties.newLimit()));
+		}
+		properties.getGroups().forEach((group, patterns) -> {
+			for (String pattern : patterns) {
+				routes.add(new Route(group, pattern.trim()));
+			}
+		});
+	}
+
+	public Collection<ConcurrencyLimiter> getLimiters() {
+		return limiters.values();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		ConcurrencyLimiter limiter = limiters.get(group(request));
+		ConcurrencyLimiter.Listener listener = limiter.tryAcquire();
+		if (listener == null) {
+			response.setHeader("Retry-After", "1");
+			response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Concurrency limit reached");
+			return;
+		}
+		try {
+			chain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			listener.onIgnore();
+			throw e;
+		}
+		int status = response.getStatus();
+		if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+			listener.onDropped();
+		} else {
+			listener.onSuccess();
+		}
+	}
+
+	String group(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		for (Route route : routes) {
+			if (route.matches(request.getMethod(), path)) {
+				return route.group;
+			}
+		}
+		return LimiterProperties.DEFAULT_GROUP;
+	}
+
+	private class Route {
+
+		private final String group;
+		private final String method;
+		private final String pattern;
+
+		Route(String group, String spec) {
+			this.group = group;
+			int space = spec.indexOf(' ');
+			this.method = space < 0 ? null : spec.substring(0, space);
+			this.pattern = space < 0 ? spec : spec.substring(space + 1).trim();
+		}
+
+		boolean matches(String requestMethod, String path) {
+			return (method == null || method.equalsIgnoreCase(requestMethod)) && pathMatcher.match(pattern, path);
+		}
+	}
+}
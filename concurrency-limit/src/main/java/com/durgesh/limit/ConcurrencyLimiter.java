@@ -0,0 +1,76 @@
+package com.durgesh.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for one endpoint group. {@link #tryAcquire()} either
+ * hands out a {@link Listener} that must be completed exactly once, or
+ * returns {@code null} when the group is at its limit.
+ */
+public class ConcurrencyLimiter {
+
+	private final String name;
+	private final Limit limit;
+	private final AtomicInteger inflight = new AtomicInteger();
+	private final AtomicLong rejected = new AtomicLong();
+
+	public ConcurrencyLimiter(String name, Limit limit) {
+		this.name = name;
+		this.limit = limit;
+	}
+
+	public Listener tryAcquire() {
+		while (true) {
+			int current = inflight.get();
+			if (current >= limit.getLimit()) {
+				rejected.incrementAndGet();
+				return null;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				return new Listener(current + 1);
+			}
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		return limit.getLimit();
+	}
+
+	public int getInflight() {
+		return inflight.get();
+	}
+
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	public class Listener {
+
+		private final long startNanos = System.nanoTime();
+		private final int inflightAtStart;
+
+		private Listener(int inflightAtStart) {
+			this.inflightAtStart = inflightAtStart;
+		}
+
+		public void onSuccess() {
+			inflight.decrementAndGet();
+			limit.onSample(System.nanoTime() - startNanos, inflightAtStart, false);
+		}
+
+		public void onDropped() {
+			inflight.decrementAndGet();
+			limit.onSample(System.nanoTime() - startNanos, inflightAtStart, true);
+		}
+
+		/** Releases the slot without feeding the sample to the algorithm, e.g. on errors. */
+		public void onIgnore() {
+			inflight.decrementAndGet();
+		}
+	}
+}
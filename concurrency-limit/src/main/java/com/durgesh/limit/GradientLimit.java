@@ -0,0 +1,63 @@
+package com.durgesh.limit;
+
+/**
+ * Latency-gradient limit. Compares a short-term average RTT against a slowly
+ * moving long-term baseline: while they agree the limit grows by a small
+ * queue allowance, and once short-term latency climbs above
+ * {@code tolerance * baseline} the limit shrinks in proportion.
+ */
+public class GradientLimit implements Limit {
+
+	private static final double SHORT_WINDOW = 10;
+	private static final double LONG_WINDOW = 600;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+
+	private volatile double estimatedLimit;
+	private double shortRtt;
+	private double longRtt;
+
+	public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+		this.estimatedLimit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+	}
+
+	@Override
+	public int getLimit() {
+		return (int) estimatedLimit;
+	}
+
+	@Override
+	public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+		if (dropped) {
+			estimatedLimit = Math.max(minLimit, estimatedLimit * 0.9);
+			return;
+		}
+		if (longRtt == 0) {
+			shortRtt = rttNanos;
+			longRtt = rttNanos;
+			return;
+		}
+		shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+		longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+		if (longRtt > shortRtt * 2) {
+			// baseline is stale after a long slow period; let it catch up
+			longRtt *= 0.95;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+		double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		if (newLimit > estimatedLimit && inflight < estimatedLimit / 2) {
+			// not using the current limit, so no evidence that a higher one is safe
+			return;
+		}
+		newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+}
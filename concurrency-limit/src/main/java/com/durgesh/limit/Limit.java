@@ -0,0 +1,16 @@
+package com.durgesh.limit;
+
+/**
+ * Algorithm that adjusts the concurrency limit from completed requests.
+ */
+public interface Limit {
+
+	int getLimit();
+
+	/**
+	 * @param rttNanos time the request spent in the service
+	 * @param inflight requests in flight when this one started
+	 * @param dropped  whether the request timed out or was rejected downstream
+	 */
+	void onSample(long rttNanos, int inflight, boolean dropped);
+}
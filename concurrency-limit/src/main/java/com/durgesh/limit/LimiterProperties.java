@@ -0,0 +1,61 @@
+package com.durgesh.limit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code limiter.*} settings. Endpoint groups are declared as
+ * {@code limiter.groups.<name>=GET /employee/*,GET /employee/all}; a request
+ * belongs to the first group with a matching pattern, otherwise to
+ * {@value #DEFAULT_GROUP}. Each group has its own limit.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "limiter")
+public class LimiterProperties {
+
+	public static final String DEFAULT_GROUP = "default";
+
+	private boolean enabled = true;
+
+	/** {@code gradient} or {@code aimd}. */
+	private String algorithm = "gradient";
+
+	private int initialLimit = 20;
+	private int minLimit = 2;
+	private int maxLimit = 200;
+
+	/** Gradient: how far short-term RTT may exceed the baseline before the limit shrinks. */
+	private double tolerance = 2.0;
+
+	/** Gradient: weight of each new estimate. */
+	private double smoothing = 0.2;
+
+	/** AIMD: multiplier applied on a drop or slow request. */
+	private double backoffRatio = 0.9;
+
+	/** AIMD: requests slower than this count as drops. */
+	private long timeoutMs = 1000;
+
+	private Map<String, List<String>> groups = new LinkedHashMap<>();
+
+	public Limit newLimit() {
+		if ("aimd".equalsIgnoreCase(algorithm)) {
+			return new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, timeoutMs);
+		}
+		return new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing);
+	}
+
+	public List<String> groupNames() {
+		List<String> names = new ArrayList<>(groups.keySet());
+		names.add(DEFAULT_GROUP);
+		return names;
+	}
+}
@@ -0,0 +1,51 @@
+package com.durgesh.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTests {
+
+	@Test
+	void rejectsBeyondLimitAndReleasesSlots() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", new AimdLimit(2, 1, 10, 0.5, 1000));
+		ConcurrencyLimiter.Listener first = limiter.tryAcquire();
+		ConcurrencyLimiter.Listener second = limiter.tryAcquire();
+		assertNotNull(first);
+		assertNotNull(second);
+		assertNull(limiter.tryAcquire());
+		assertEquals(1, limiter.getRejected());
+
+		first.onIgnore();
+		assertNotNull(limiter.tryAcquire());
+	}
+
+	@Test
+	void aimdBacksOffOnDropAndGrowsWhenBusy() {
+		AimdLimit limit = new AimdLimit(10, 1, 20, 0.5, 1000);
+		limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), 10, true);
+		assertEquals(5, limit.getLimit());
+		limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), 5, false);
+		assertEquals(6, limit.getLimit());
+		limit.onSample(TimeUnit.MILLISECONDS.toNanos(2000), 6, false);
+		assertEquals(3, limit.getLimit());
+	}
+
+	@Test
+	void gradientShrinksWhenLatencyRises() {
+		GradientLimit limit = new GradientLimit(50, 2, 200, 1.5, 0.5);
+		for (int i = 0; i < 100; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 50, false);
+		}
+		int healthy = limit.getLimit();
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(200), healthy, false);
+		}
+		assertTrue(limit.getLimit() < healthy, "limit should drop under rising latency");
+	}
+}
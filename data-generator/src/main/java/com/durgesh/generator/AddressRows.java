@@ -0,0 +1,87 @@
+package com.durgesh.generator;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Rows of the address service's {@code address} table, keyed by employee id
+ * as GET /address/{id} expects. States are weighted by population and each
+ * zip is a 6-digit PIN code starting with one of the state's own two-digit
+ * prefixes, so it fits {@code Address.zip} ({@code length = 6}).
+ */
+public class AddressRows implements RowSource {
+
+	private static final Weighted<State> STATES = new Weighted<State>()
+			.add(new State("Uttar Pradesh", 20, 21, 22, 23, 24, 25, 26, 27, 28), 200)
+			.add(new State("Maharashtra", 40, 41, 42, 43, 44), 112)
+			.add(new State("Bihar", 80, 84, 85), 104)
+			.add(new State("West Bengal", 70, 71, 72, 73, 74), 91)
+			.add(new State("Madhya Pradesh", 45, 46, 47, 48), 73)
+			.add(new State("Tamil Nadu", 60, 61, 62, 63, 64), 72)
+			.add(new State("Rajasthan", 30, 31, 32, 33, 34), 69)
+			.add(new State("Karnataka", 56, 57, 58, 59), 61)
+			.add(new State("Gujarat", 36, 37, 38, 39), 60)
+			.add(new State("Andhra Pradesh", 51, 52, 53), 50)
+			.add(new State("Odisha", 75, 76, 77), 42)
+			.add(new State("Telangana", 50), 35)
+			.add(new State("Kerala", 67, 68, 69), 33)
+			.add(new State("Jharkhand", 81, 82, 83), 33)
+			.add(new State("Assam", 78), 31)
+			.add(new State("Punjab", 14, 15, 16), 28)
+			.add(new State("Haryana", 12, 13), 25)
+			.add(new State("Delhi", 11), 17);
+
+	private static final Weighted<String> STREETS = Weighted.zipf(Arrays.asList("MG", "Station", "Gandhi", "Nehru",
+			"Temple", "Market", "Church", "Park", "Lake", "Hill", "College", "Hospital", "Ambedkar", "Tilak", "Subhash",
+			"Rajaji", "Patel", "Shastri", "Netaji", "Mill"), 0.8);
+
+	private static final Weighted<String> STREET_KINDS = new Weighted<String>()
+			.add("Road", 50)
+			.add("Street", 20)
+			.add("Nagar", 12)
+			.add("Marg", 8)
+			.add("Lane", 6)
+			.add("Colony", 4);
+
+	private static final class State {
+		private final String name;
+		private final int[] prefixes;
+
+		State(String name, int... prefixes) {
+			this.name = name;
+			this.prefixes = prefixes;
+		}
+	}
+
+	private final long seed;
+
+	public AddressRows(long seed) {
+		this.seed = seed;
+	}
+
+	@Override
+	public String table() {
+		return "address";
+	}
+
+	@Override
+	public String insertSql() {
+		return "insert into address (id, line1, line2, state, zip, version) values (?, ?, ?, ?, ?, 0)";
+	}
+
+	@Override
+	public void bind(PreparedStatement statement, long id) throws SQLException {
+		SplittableRandom random = Seeds.random(seed, table(), id);
+		State state = STATES.pick(random);
+		int prefix = state.prefixes[random.nextInt(state.prefixes.length)];
+		statement.setLong(1, id);
+		statement.setString(2, (1 + random.nextInt(999)) + " " + STREETS.pick(random) + " " + STREET_KINDS.pick(random));
+		// flats for about four in ten, nothing for the rest
+		statement.setString(3, random.nextInt(10) < 4 ? "Flat " + (1 + random.nextInt(40)) + (char) ('A' + random.nextInt(8))
+				: null);
+		statement.setString(4, state.name);
+		statement.setString(5, String.format("%02d%04d", prefix, random.nextInt(10000)));
+	}
+}
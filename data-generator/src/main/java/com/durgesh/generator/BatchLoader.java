@@ -0,0 +1,123 @@
+package com.durgesh.generator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inserts an id range with plain JDBC batches from several threads. The
+ * range is cut into batches that threads take in turn, so a slow thread
+ * does not hold back the rest; each thread keeps one connection and one
+ * prepared statement and commits after every batch.
+ * <p>
+ * On MySQL the url needs {@code rewriteBatchedStatements=true}, or the
+ * driver sends a batch as separate statements and loses most of the gain.
+ * Batches already committed stay when a later one fails.
+ */
+@Slf4j
+public class BatchLoader {
+
+	private static final long PROGRESS_INTERVAL_MS = 10_000;
+
+	private final int threads;
+	private final int batchSize;
+
+	public BatchLoader(int threads, int batchSize) {
+		if (threads < 1 || batchSize < 1) {
+			throw new IllegalArgumentException("threads and batch size must be positive");
+		}
+		this.threads = threads;
+		this.batchSize = batchSize;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class Report {
+		private final String table;
+		private final long rows;
+		private final long millis;
+
+		public long rowsPerSecond() {
+			return millis == 0 ? rows : rows * 1000 / millis;
+		}
+	}
+
+	/** Fails when the table is missing or any id of {@code [startId, startId + count)} is taken. */
+	public void checkRange(DataSource dataSource, RowSource rows, long startId, long count) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		long lastId = startId + count - 1;
+		Long taken;
+		try {
+			taken = jdbc.queryForObject("select count(*) from " + rows.table() + " where id between ? and ?", Long.class,
+					startId, lastId);
+		} catch (DataAccessException e) {
+			throw new IllegalStateException("Cannot read table " + rows.table()
+					+ "; start its service once against this database so Hibernate creates it", e);
+		}
+		if (taken != null && taken > 0) {
+			Long maxId = jdbc.queryForObject("select max(id) from " + rows.table(), Long.class);
+			throw new IllegalStateException(rows.table() + " already holds " + taken + " ids in [" + startId + ", "
+					+ lastId + "]; set its start-id above " + maxId);
+		}
+	}
+
+	public Report load(DataSource dataSource, RowSource rows, long startId, long count) throws InterruptedException {
+		long batches = (count + batchSize - 1) / batchSize;
+		AtomicLong nextBatch = new AtomicLong();
+		AtomicLong written = new AtomicLong();
+		AtomicReference<Exception> failure = new AtomicReference<>();
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "generator-" + rows.table() + "-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		long started = System.currentTimeMillis();
+		for (int i = 0; i < threads; i++) {
+			workers.execute(() -> {
+				try (Connection connection = dataSource.getConnection();
+						PreparedStatement statement = connection.prepareStatement(rows.insertSql())) {
+					connection.setAutoCommit(false);
+					long batch;
+					while (failure.get() == null && (batch = nextBatch.getAndIncrement()) < batches) {
+						long from = startId + batch * batchSize;
+						long to = Math.min(from + batchSize, startId + count);
+						for (long id = from; id < to; id++) {
+							rows.bind(statement, id);
+							statement.addBatch();
+						}
+						statement.executeBatch();
+						connection.commit();
+						written.addAndGet(to - from);
+					}
+				} catch (SQLException | RuntimeException e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+		}
+		workers.shutdown();
+		while (!workers.awaitTermination(PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+			log.info("{}: {} of {} rows", rows.table(), written.get(), count);
+		}
+		if (failure.get() != null) {
+			throw new IllegalStateException("Loading " + rows.table() + " stopped after " + written.get() + " rows",
+					failure.get());
+		}
+		return new Report(rows.table(), written.get(), System.currentTimeMillis() - started);
+	}
+}
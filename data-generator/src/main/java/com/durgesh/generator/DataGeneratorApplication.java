@@ -0,0 +1,21 @@
+package com.durgesh.generator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Fills the services' databases with synthetic rows for benchmarks, then
+ * exits. Connections are configured under {@code generator.*}, not
+ * {@code spring.datasource}, since each table may live in its own database.
+ */
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class DataGeneratorApplication {
+
+	public static void main(String[] args) {
+		System.exit(SpringApplication.exit(SpringApplication.run(DataGeneratorApplication.class, args)));
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.durgesh.generator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the configured tables one after another: employees, their
+ * addresses and the matching address events, courses, customers. Each
+ * table gets its own pool of {@code generator.threads} connections,
+ * closed when it is done.
+ */
+@Slf4j
+@Component
+public class DataGeneratorRunner implements ApplicationRunner {
+
+	// Hibernate's default allocationSize: a running service may already hold a block of this many ids
+	private static final long SEQUENCE_ALLOCATION = 50;
+
+	private static final long OUTBOX_CHUNK = 100_000;
+
+	@Autowired
+	private GeneratorProperties properties;
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		BatchLoader loader = new BatchLoader(properties.getThreads(), properties.getBatchSize());
+		long seed = properties.getSeed();
+		log.info("Generating with seed {}, {} threads, batches of {}", seed, properties.getThreads(),
+				properties.getBatchSize());
+		// employee ids are an identity column, which MySQL moves past the inserted ids by itself
+		load(loader, new EmployeeRows(seed), properties.getEmployees(), null);
+		load(loader, new AddressRows(seed), properties.getAddresses(), "address_seq");
+		if (properties.getAddresses().getCount() > 0 && properties.isAddressEvents()) {
+			try (HikariDataSource dataSource = dataSource("address_outbox", properties.getAddresses())) {
+				enqueueAddressEvents(new JdbcTemplate(dataSource), properties.getAddresses());
+			}
+		}
+		load(loader, new IdRows("course"), properties.getCourses(), "course_seq");
+		load(loader, new IdRows("customer"), properties.getCustomers(), "customer_seq");
+	}
+
+	private void load(BatchLoader loader, RowSource rows, GeneratorProperties.Table table, String sequence)
+			throws InterruptedException {
+		if (table.getCount() <= 0) {
+			return;
+		}
+		try (HikariDataSource dataSource = dataSource(rows.table(), table)) {
+			loader.checkRange(dataSource, rows, table.getStartId(), table.getCount());
+			BatchLoader.Report report = loader.load(dataSource, rows, table.getStartId(), table.getCount());
+			log.info("{}: {} rows in {} ms ({} rows/s)", report.getTable(), report.getRows(), report.getMillis(),
+					report.rowsPerSecond());
+			if (sequence != null) {
+				advanceSequence(new JdbcTemplate(dataSource), sequence, table.getStartId() + table.getCount());
+			}
+		}
+	}
+
+	/**
+	 * Copies the loaded addresses into the outbox inside the database, a
+	 * chunk of ids per statement; the outbox publisher then appends them to
+	 * the event log like any other change.
+	 */
+	private void enqueueAddressEvents(JdbcTemplate jdbc, GeneratorProperties.Table table) {
+		long createdAt = System.currentTimeMillis();
+		long end = table.getStartId() + table.getCount();
+		long queued = 0;
+		try {
+			for (long from = table.getStartId(); from < end; from += OUTBOX_CHUNK) {
+				queued += jdbc.update("insert into address_outbox (type, address_id, line1, line2, state, zip, created_at)"
+						+ " select 'UPSERTED', id, line1, line2, state, zip, ? from address where id >= ? and id < ?",
+						createdAt, from, Math.min(from + OUTBOX_CHUNK, end));
+			}
+		} catch (DataAccessException e) {
+			log.warn("Queued {} address events before failing; the employee address view will miss the rest", queued, e);
+			return;
+		}
+		log.info("address_outbox: queued {} events", queued);
+	}
+
+	/**
+	 * Moves a service's id sequence past the loaded ids, so its next save does
+	 * not collide with them. On MySQL Hibernate keeps the sequence as a
+	 * one-row table; elsewhere it is a real sequence.
+	 */
+	private void advanceSequence(JdbcTemplate jdbc, String sequence, long nextId) {
+		long nextValue = nextId + SEQUENCE_ALLOCATION;
+		try {
+			jdbc.update("update " + sequence + " set next_val = ? where next_val < ?", nextValue, nextValue);
+		} catch (DataAccessException tableMissing) {
+			try {
+				jdbc.execute("alter sequence " + sequence + " restart with " + nextValue);
+			} catch (DataAccessException e) {
+				log.warn("Could not advance {}; new rows saved by the service may collide with generated ids", sequence);
+			}
+		}
+	}
+
+	private HikariDataSource dataSource(String table, GeneratorProperties.Table settings) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("generator-" + table);
+		config.setJdbcUrl(settings.getUrl() != null ? settings.getUrl() : properties.getUrl());
+		config.setUsername(settings.getUsername() != null ? settings.getUsername() : properties.getUsername());
+		config.setPassword(settings.getPassword() != null ? settings.getPassword() : properties.getPassword());
+		config.setMaximumPoolSize(properties.getThreads());
+		return new HikariDataSource(config);
+	}
+}
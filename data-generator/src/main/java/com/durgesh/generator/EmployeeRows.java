@@ -0,0 +1,109 @@
+package com.durgesh.generator;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Rows of the employee service's {@code employee} table. Names follow a Zipf
+ * spread over common given and family names; emails are built from the name
+ * in a handful of usual shapes and end in the id, which keeps the unique
+ * email column unique without any coordination between threads.
+ */
+public class EmployeeRows implements RowSource {
+
+	private static final Weighted<String> FIRST_NAMES = Weighted.zipf(Arrays.asList("Rahul", "Priya", "Amit", "Anjali",
+			"Rohit", "Neha", "Vikas", "Pooja", "Sanjay", "Sneha", "Rajesh", "Kavya", "Suresh", "Divya", "Arjun", "Meera",
+			"Durgesh", "Aisha", "Karan", "Ritu", "Manoj", "Shreya", "Deepak", "Nisha", "Aditya", "Swati", "Vijay", "Ananya",
+			"Sunil", "Isha", "Harish", "Lakshmi", "Imran", "Farah", "John", "Maria", "David", "Sarah", "Wei", "Mei"), 0.9);
+
+	private static final Weighted<String> LAST_NAMES = Weighted.zipf(Arrays.asList("Kumar", "Sharma", "Singh", "Patel",
+			"Gupta", "Verma", "Reddy", "Yadav", "Das", "Nair", "Iyer", "Joshi", "Mishra", "Chauhan", "Mehta", "Rao", "Khan",
+			"Pandey", "Agarwal", "Banerjee", "Chatterjee", "Pillai", "Menon", "Bhat", "Kulkarni", "Desai", "Shah", "Malhotra",
+			"Kapoor", "Saxena", "Tiwari", "Ghosh", "Mukherjee", "Naidu", "Fernandes", "Dsouza", "Smith", "Johnson", "Chen",
+			"Wang"), 1.0);
+
+	private static final Weighted<String> DOMAINS = new Weighted<String>()
+			.add("gmail.com", 45)
+			.add("yahoo.com", 12)
+			.add("outlook.com", 10)
+			.add("hotmail.com", 6)
+			.add("rediffmail.com", 4)
+			.add("example.com", 23);
+
+	private static final Weighted<EmailShape> EMAIL_SHAPES = new Weighted<EmailShape>()
+			.add(EmailShape.FIRST_DOT_LAST, 35)
+			.add(EmailShape.INITIAL_LAST, 25)
+			.add(EmailShape.LAST_DOT_FIRST, 15)
+			.add(EmailShape.FIRST, 15)
+			.add(EmailShape.FIRST_UNDERSCORE_LAST, 10);
+
+	// ABO/Rh shares of the population, in percent
+	private static final Weighted<String> BLOOD_GROUPS = new Weighted<String>()
+			.add("B+", 32)
+			.add("O+", 29)
+			.add("A+", 21)
+			.add("AB+", 8)
+			.add("B-", 3)
+			.add("O-", 3)
+			.add("A-", 3)
+			.add("AB-", 1);
+
+	private enum EmailShape {
+		FIRST_DOT_LAST, INITIAL_LAST, LAST_DOT_FIRST, FIRST, FIRST_UNDERSCORE_LAST
+	}
+
+	private final long seed;
+
+	public EmployeeRows(long seed) {
+		this.seed = seed;
+	}
+
+	@Override
+	public String table() {
+		return "employee";
+	}
+
+	@Override
+	public String insertSql() {
+		return "insert into employee (id, name, email, blood_group, version) values (?, ?, ?, ?, 0)";
+	}
+
+	@Override
+	public void bind(PreparedStatement statement, long id) throws SQLException {
+		SplittableRandom random = Seeds.random(seed, table(), id);
+		String first = FIRST_NAMES.pick(random);
+		String last = LAST_NAMES.pick(random);
+		// one in ten carries a middle initial
+		String name = random.nextInt(10) == 0 ? first + " " + (char) ('A' + random.nextInt(26)) + ". " + last
+				: first + " " + last;
+		statement.setLong(1, id);
+		statement.setString(2, name);
+		statement.setString(3, email(first, last, id, random));
+		// the column predates the blood group type; about 2% of employees never filled it in
+		statement.setString(4, random.nextInt(50) == 0 ? null : BLOOD_GROUPS.pick(random));
+	}
+
+	private static String email(String first, String last, long id, SplittableRandom random) {
+		String local;
+		switch (EMAIL_SHAPES.pick(random)) {
+		case FIRST_DOT_LAST:
+			local = first + "." + last;
+			break;
+		case INITIAL_LAST:
+			local = first.charAt(0) + last;
+			break;
+		case LAST_DOT_FIRST:
+			local = last + "." + first;
+			break;
+		case FIRST_UNDERSCORE_LAST:
+			local = first + "_" + last;
+			break;
+		default:
+			local = first;
+		}
+		return (local + id).toLowerCase(Locale.ROOT) + "@" + DOMAINS.pick(random);
+	}
+}
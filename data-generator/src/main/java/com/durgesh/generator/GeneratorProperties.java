@@ -0,0 +1,56 @@
+package com.durgesh.generator;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code generator.*} settings. A table is loaded when its {@code count} is
+ * positive; its connection settings default to the top-level ones, so the
+ * tables can go to one database or to each service's own.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "generator")
+public class GeneratorProperties {
+
+	/** Same seed, same rows: a row is derived from the seed and its id only, never from thread timing. */
+	private long seed = 42;
+
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/** Rows per executeBatch and per commit. */
+	private int batchSize = 1000;
+
+	private String url;
+	private String username;
+	private String password;
+
+	private Table employees = new Table();
+
+	/** One address per employee id, as GET /address/{employeeId} expects; keep the range equal to employees'. */
+	private Table addresses = new Table();
+
+	/**
+	 * Also queue an UPSERTED event per generated address in address-service's
+	 * outbox, so the employee service's address view, which is built from
+	 * those events only, sees them.
+	 */
+	private boolean addressEvents = true;
+
+	private Table courses = new Table();
+
+	private Table customers = new Table();
+
+	@Getter
+	@Setter
+	public static class Table {
+		private long count = 0;
+		/** First id written; the run refuses to start when any id of the range is taken. */
+		private long startId = 1;
+		private String url;
+		private String username;
+		private String password;
+	}
+}
@@ -0,0 +1,29 @@
+package com.durgesh.generator;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/** Rows of tables whose entity has nothing but an id yet ({@code course}, {@code customer}). */
+public class IdRows implements RowSource {
+
+	private final String table;
+
+	public IdRows(String table) {
+		this.table = table;
+	}
+
+	@Override
+	public String table() {
+		return table;
+	}
+
+	@Override
+	public String insertSql() {
+		return "insert into " + table + " (id) values (?)";
+	}
+
+	@Override
+	public void bind(PreparedStatement statement, long id) throws SQLException {
+		statement.setLong(1, id);
+	}
+}
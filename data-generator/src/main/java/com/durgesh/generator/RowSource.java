@@ -0,0 +1,19 @@
+package com.durgesh.generator;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Rows of one table. Every row is a pure function of the seed and its id,
+ * so any thread can produce any row and a run is reproducible whatever the
+ * thread count or batch size.
+ */
+public interface RowSource {
+
+	String table();
+
+	String insertSql();
+
+	/** Binds the row with this id to the parameters of {@link #insertSql()}. */
+	void bind(PreparedStatement statement, long id) throws SQLException;
+}
@@ -0,0 +1,24 @@
+package com.durgesh.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per-row random streams. Rows do not share a generator: each gets one
+ * seeded from the run seed, the table and the id.
+ */
+public final class Seeds {
+
+	private Seeds() {
+	}
+
+	public static SplittableRandom random(long seed, String table, long id) {
+		return new SplittableRandom(mix(mix(seed ^ table.hashCode()) + id));
+	}
+
+	/** SplitMix64 finalizer: neighbouring inputs give unrelated outputs. */
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,42 @@
+package com.durgesh.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Picks values with fixed relative weights, by binary search over cumulative weights. */
+public final class Weighted<T> {
+
+	private final List<T> values = new ArrayList<>();
+	private double[] cumulative = new double[0];
+
+	public Weighted<T> add(T value, double weight) {
+		double total = cumulative.length == 0 ? 0 : cumulative[cumulative.length - 1];
+		values.add(value);
+		cumulative = Arrays.copyOf(cumulative, cumulative.length + 1);
+		cumulative[cumulative.length - 1] = total + weight;
+		return this;
+	}
+
+	/**
+	 * Zipf weights by position: the first value is the most common and the
+	 * n-th is 1/n^exponent as common, which is how given and family names
+	 * are spread in practice.
+	 */
+	public static <T> Weighted<T> zipf(List<T> values, double exponent) {
+		Weighted<T> weighted = new Weighted<>();
+		for (int rank = 1; rank <= values.size(); rank++) {
+			weighted.add(values.get(rank - 1), 1 / Math.pow(rank, exponent));
+		}
+		return weighted;
+	}
+
+	public T pick(SplittableRandom random) {
+		double point = random.nextDouble() * cumulative[cumulative.length - 1];
+		int index = Arrays.binarySearch(cumulative, point);
+		// an exact hit on a boundary belongs to the next value; a miss returns -(insertion point) - 1
+		index = index >= 0 ? index + 1 : -index - 1;
+		return values.get(Math.min(index, values.size() - 1));
+	}
+}
@@ -0,0 +1,81 @@
+package com.durgesh.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class BatchLoaderTests {
+
+	@Test
+	void sameSeedGivesTheSameRowsWhateverTheThreading() throws Exception {
+		JdbcDataSource parallel = database();
+		JdbcDataSource serial = database();
+
+		BatchLoader.Report report = new BatchLoader(4, 64).load(parallel, new EmployeeRows(7), 1, 5000);
+		new BatchLoader(1, 1000).load(serial, new EmployeeRows(7), 1, 5000);
+		JdbcDataSource reseeded = database();
+		new BatchLoader(1, 1000).load(reseeded, new EmployeeRows(8), 1, 5000);
+
+		assertEquals(5000, report.getRows());
+		assertEquals(rows(serial, "employee"), rows(parallel, "employee"));
+		assertNotEquals(rows(serial, "employee"), rows(reseeded, "employee"));
+		assertEquals(5000L, new JdbcTemplate(parallel).queryForObject("select count(distinct email) from employee",
+				Long.class));
+	}
+
+	@Test
+	void addressesFitTheZipColumnAndTheirState() throws Exception {
+		JdbcDataSource dataSource = database();
+		new BatchLoader(3, 100).load(dataSource, new AddressRows(42), 101, 2000);
+
+		List<Map<String, Object>> addresses = rows(dataSource, "address");
+		assertEquals(2000, addresses.size());
+		assertEquals(101L, ((Number) addresses.get(0).get("ID")).longValue());
+		for (Map<String, Object> address : addresses) {
+			String zip = (String) address.get("ZIP");
+			assertTrue(zip.matches("[1-9][0-9]{5}"), zip);
+			if ("Delhi".equals(address.get("STATE"))) {
+				assertTrue(zip.startsWith("11"), zip);
+			}
+		}
+	}
+
+	@Test
+	void refusesRangesThatOverlapExistingIds() throws Exception {
+		JdbcDataSource dataSource = database();
+		BatchLoader loader = new BatchLoader(2, 10);
+		loader.load(dataSource, new IdRows("course"), 1, 50);
+
+		loader.checkRange(dataSource, new IdRows("course"), 51, 50);
+		IllegalStateException taken = assertThrows(IllegalStateException.class,
+				() -> loader.checkRange(dataSource, new IdRows("course"), 40, 50));
+		assertTrue(taken.getMessage().contains("above 50"), taken.getMessage());
+		assertThrows(IllegalStateException.class, () -> loader.checkRange(dataSource, new IdRows("missing"), 1, 1));
+	}
+
+	private static List<Map<String, Object>> rows(JdbcDataSource dataSource, String table) {
+		return new JdbcTemplate(dataSource).queryForList("select * from " + table + " order by id");
+	}
+
+	private static JdbcDataSource database() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		// the columns Hibernate creates for the services' entities
+		jdbc.execute("create table employee (id bigint primary key, name varchar(255), email varchar(255) unique,"
+				+ " blood_group varchar(255), version bigint not null)");
+		jdbc.execute("create table address (id bigint primary key, line1 varchar(255), line2 varchar(255),"
+				+ " state varchar(255), zip varchar(6), version bigint not null)");
+		jdbc.execute("create table course (id bigint primary key)");
+		return dataSource;
+	}
+}
@@ -1,15 +1,32 @@
 package com.durgesh;
 
+import java.time.Duration;
+
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.durgesh.deadline.DeadlineInterceptor;
 
 @Configuration
-public class EmployeeAppConfig {
+public class EmployeeAppConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private DeadlineInterceptor deadlineInterceptor;
+
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(RestTemplateBuilder builder,
+			@Value("${address.client.connect-timeout-ms:500}") long connectTimeoutMs,
+			@Value("${address.client.timeout-ms:2000}") long readTimeoutMs) {
+		return builder.setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+				.setReadTimeout(Duration.ofMillis(readTimeoutMs))
+				.build();
 	}
 
 	@Bean
@@ -17,6 +34,11 @@ public class EmployeeAppConfig {
 		return new ModelMapper();
 	}
 
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(deadlineInterceptor);
+	}
+
 	/*
 	 * @Bean public WebClientAutoConfiguration autoConfiguration() { return new
 	 * WebClientAutoConfiguration(); }
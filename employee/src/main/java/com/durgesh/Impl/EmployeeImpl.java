@@ -1,19 +1,52 @@
 package com.durgesh.Impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.durgesh.client.AddressClient;
+import com.durgesh.deadline.Deadline;
 import com.durgesh.dto.AddressResponse;
+import com.durgesh.dto.DonorPage;
 import com.durgesh.dto.EmployeeDto;
+import com.durgesh.dto.PatchResult;
+import com.durgesh.dto.SearchHit;
+import com.durgesh.entity.BloodGroup;
 import com.durgesh.entity.Employee;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.purge.EmployeePurger;
+import com.durgesh.purge.PurgeJob;
 import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+import com.durgesh.search.BloodGroupIndex;
+import com.durgesh.search.EmployeeSearchIndex;
 import com.durgesh.service.EmployeeService;
+import com.durgesh.shard.ShardedEmployeeStore;
+import com.durgesh.utils.ETags;
+import com.durgesh.utils.SingleFlight;
+import com.durgesh.warmstart.EmployeeHotCache;
+import com.durgesh.writebehind.SaveTicket;
+import com.durgesh.writebehind.WriteBehindSaver;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,6 +54,8 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class EmployeeImpl implements EmployeeService {
 
+	public static final String EMPLOYEE_RESPONSES = "/employee/**";
+
 	@Autowired
 	private EmployeeRepo employeeRepo;
 	/*
@@ -31,9 +66,8 @@ public class EmployeeImpl implements EmployeeService {
 	 * @Autowired private DiscoveryClient client;
 	 * 
 	 */
-	@Autowired private RestTemplate restTemplate;
 	@Autowired
-	private DiscoveryClient client2;
+	private AddressClient addressClient;
 
 	/*
 	 * @Autowired private FeignClient feignClient;
@@ -42,72 +76,336 @@ public class EmployeeImpl implements EmployeeService {
 	@Autowired
 	private ModelMapper mapper;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	// side effects of writes (audit, cache eviction, search index) run off the request thread
+	@Autowired
+	private EmployeeEventBus employeeEventBus;
+
+	@Autowired
+	private BloodGroupIndex bloodGroupIndex;
+
+	@Autowired
+	private EmployeePurger employeePurger;
+
+	@Autowired
+	private EmployeeSearchIndex searchIndex;
+
+	// cached /employee/all bytes; every write below has committed before it invalidates
+	@Autowired
+	private ResponseCache responseCache;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private WriteBehindSaver writeBehindSaver;
+
+	// rows by id and email, carried across restarts by the warm-start snapshot; evicted here after each commit
+	@Autowired
+	private EmployeeHotCache hotCache;
+
+	// present when employee.sharding.enabled; directory reads and writes then go to the shards instead of JPA
+	@Autowired(required = false)
+	private ShardedEmployeeStore shardedStore;
+
+	@Value("${employee.search.min-score:0.4}")
+	private double searchMinScore;
+
+	private SingleFlight<Long, Employee> employeeLoads;
+
+	@PostConstruct
+	public void init() {
+		employeeLoads = new SingleFlight<>("employee.byId", meterRegistry);
+	}
+
 	public Employee dtoToEmployee(EmployeeDto dto) {
-		return mapper.map(dto, Employee.class);
+		Employee employee = mapper.map(dto, Employee.class);
+		// the dto spells it bloodgroup, which ModelMapper does not match to bloodGroup
+		employee.setBloodGroup(dto.getBloodgroup());
+		return employee;
 	}
 
 	@Override
 	public Employee save(EmployeeDto employeeDto) {
-		return employeeRepo.save(dtoToEmployee(employeeDto));
+		Employee employee = shardedStore != null ? shardedStore.insert(dtoToEmployee(employeeDto))
+				: employeeRepo.save(dtoToEmployee(employeeDto));
+		responseCache.invalidate(EMPLOYEE_RESPONSES);
+		employeeEventBus.publishCreated(employee);
+		return employee;
+	}
+
+	@Override
+	public SaveTicket saveAsync(EmployeeDto employeeDto) {
+		// cache invalidation and the CREATED event happen when the flusher commits the group
+		try {
+			return writeBehindSaver.submit(employeeDto);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public PatchResult patch(Long id, JsonNode patch, Long expectedVersion) {
+		if (patch == null || !patch.isObject()) {
+			throw new IllegalArgumentException("Merge patch must be a JSON object");
+		}
+		PatchResult result;
+		try {
+			result = transactionTemplate.execute(status -> {
+				Employee employee = employeeRepo.findById(id).orElse(null);
+				if (employee == null) {
+					return new PatchResult(PatchResult.Outcome.NOT_FOUND, null);
+				}
+				if (expectedVersion != null && expectedVersion != employee.getVersion()) {
+					return new PatchResult(PatchResult.Outcome.VERSION_MISMATCH, employee);
+				}
+				PatchResult.Outcome outcome = applyMergePatch(employee, patch);
+				if (outcome != PatchResult.Outcome.UPDATED && outcome != PatchResult.Outcome.UNCHANGED) {
+					// fields set before the conflicting member must not reach the table
+					status.setRollbackOnly();
+				}
+				// a managed entity with changed fields is flushed on commit as one UPDATE of just
+				// those columns (@DynamicUpdate) with "where id=? and version=?"; unchanged ones are not written
+				return new PatchResult(outcome, employee);
+			});
+		} catch (DataIntegrityViolationException e) {
+			// email is the only unique column: another request took it between findByEmail and this commit
+			return new PatchResult(PatchResult.Outcome.EMAIL_TAKEN, null);
+		}
+		if (result.getOutcome() == PatchResult.Outcome.UPDATED) {
+			hotCache.evict(id);
+			responseCache.invalidate(EMPLOYEE_RESPONSES);
+			employeeEventBus.publishUpdated(result.getEmployee());
+		}
+		if (result.getEmployee() != null) {
+			result.getEmployee().setAddress(getAddress(id));
+		}
+		return result;
+	}
+
+	// RFC 7396 on a flat object: a member replaces the field, null clears it, absent leaves it alone
+	private PatchResult.Outcome applyMergePatch(Employee employee, JsonNode patch) {
+		boolean changed = false;
+		Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			JsonNode value = field.getValue();
+			switch (field.getKey()) {
+			case "id":
+				if (value.isNull() || value.asLong() != employee.getId()) {
+					throw new IllegalArgumentException("id cannot be changed");
+				}
+				break;
+			case "version":
+				// already checked against If-Match when both are given; the row's lock does the rest
+				if (!value.isIntegralNumber() || value.asLong() != employee.getVersion()) {
+					return PatchResult.Outcome.VERSION_MISMATCH;
+				}
+				break;
+			case "name":
+				String name = textOrNull(field.getKey(), value);
+				if (!Objects.equals(name, employee.getName())) {
+					employee.setName(name);
+					changed = true;
+				}
+				break;
+			case "email":
+				String email = textOrNull(field.getKey(), value);
+				if (email == null || email.isBlank()) {
+					throw new IllegalArgumentException("email cannot be removed");
+				}
+				if (!email.equals(employee.getEmail())) {
+					Employee owner = employeeRepo.findByEmail(email);
+					if (owner != null && !owner.getId().equals(employee.getId())) {
+						return PatchResult.Outcome.EMAIL_TAKEN;
+					}
+					employee.setEmail(email);
+					changed = true;
+				}
+				break;
+			case "bloodGroup":
+			case "bloodgroup":
+				BloodGroup bloodGroup = BloodGroup.parse(textOrNull(field.getKey(), value));
+				if (bloodGroup != employee.getBloodGroup()) {
+					employee.setBloodGroup(bloodGroup);
+					changed = true;
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown field " + field.getKey());
+			}
+		}
+		return changed ? PatchResult.Outcome.UPDATED : PatchResult.Outcome.UNCHANGED;
+	}
+
+	private static String textOrNull(String name, JsonNode value) {
+		if (value.isNull()) {
+			return null;
+		}
+		if (!value.isTextual()) {
+			throw new IllegalArgumentException(name + " must be a string");
+		}
+		return value.asText();
 	}
 
 	@Override
 	public List<Employee> getAll() {
-		return employeeRepo.findAll();
+		return shardedStore != null ? shardedStore.findAll() : employeeRepo.findAll();
+	}
+
+	@Override
+	public List<Employee> getPage(int page, int size) {
+		if (shardedStore != null) {
+			return shardedStore.findPage(page, size);
+		}
+		return employeeRepo.findAll(PageRequest.of(page, size, Sort.by("id"))).getContent();
 	}
 
 	@Override
 	public Employee getById(Long id) {
-		log.info("DuGu");
-		try {
+		// concurrent lookups of the same id share one query and one address call
+		return employeeLoads.execute(id, () -> loadById(id));
+	}
+
+	@Override
+	public String currentEtag(Long id) {
+		Long version = currentVersion(id);
+		return version == null ? null : ETags.of(id, version, addressTag(getAddress(id)));
+	}
+
+	@Override
+	public String localEtag(Long id) {
+		// a conditional GET that cannot be checked locally is answered after the full load instead
+		return addressClient.answersLocally(id) ? currentEtag(id) : null;
+	}
+
+	private Long currentVersion(Long id) {
+		Employee cached = hotCache.get(id);
+		Long version;
+		if (cached != null) {
+			version = cached.getVersion();
+		} else if (shardedStore != null) {
+			Employee employee = shardedStore.findById(id);
+			version = employee == null ? null : employee.getVersion();
+		} else {
+			version = employeeRepo.findVersionById(id);
+		}
+		return version;
+	}
+
+	@Override
+	public String etag(Employee employee) {
+		return ETags.of(employee.getId(), employee.getVersion(), addressTag(employee.getAddress()));
+	}
+
+	// the address comes from address-service and has no version here, so its fields go into the tag
+	private static String addressTag(AddressResponse address) {
+		if (address == null) {
+			return "0";
+		}
+		return Integer.toHexString(Objects.hash(address.getLine1(), address.getLine2(), address.getState(),
+				address.getZip()));
+	}
+
+	private Employee loadById(Long id) {
+		long generation = hotCache.generation();
+		Employee employee = hotCache.get(id);
+		if (employee == null) {
+			employee = shardedStore != null ? shardedStore.findById(id) : employeeRepo.findById(id).orElse(null);
+			if (employee != null) {
+				hotCache.put(employee, generation);
+			}
+		}
+		if (employee != null) {
 			/*
 			 * This is Use with feignClient String s =
 			 * feignClient.getAddressByEmployeeId(id);
-			 */			
-
-			String url=getAddress(id);
-			if (!url.isEmpty()) {
-				System.out.println("Mission Done ");
-			} else {
-				System.out.println("  op's  ");
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.out.println("hihhihi");
+			 */
+			employee.setAddress(getAddress(id));
+			hotCache.recordAddress(id, employee.getAddress());
 		}
-
-		return employeeRepo.findById(id).orElse(null);
+		return employee;
 	}
 
 	@Override
-	public Employee removeAll() {
-		// TODO Auto-generated method stub
-		return null;
+	public PurgeJob removeAll() {
+		return employeePurger.start();
 	}
 
 	@Override
-	public Employee removeById(Integer id) {
-		// TODO Auto-generated method stub
-		return null;
+	public boolean removeById(Long id) {
+		// one DELETE statement, committed before the event goes out
+		if (shardedStore != null ? !shardedStore.deleteById(id) : employeeRepo.deleteInBulkById(id) == 0) {
+			return false;
+		}
+		hotCache.evict(id);
+		responseCache.invalidate(EMPLOYEE_RESPONSES);
+		employeeEventBus.publishDeleted(id);
+		return true;
 	}
 
 	@Override
 	public Employee getByEmail(String email) {
-		return employeeRepo.findByEmail(email);
+		Employee cached = hotCache.getByEmail(email);
+		if (cached != null) {
+			return cached;
+		}
+		long generation = hotCache.generation();
+		Employee employee = shardedStore != null ? shardedStore.findByEmail(email) : employeeRepo.findByEmail(email);
+		if (employee != null) {
+			hotCache.put(employee, generation);
+		}
+		return employee;
+	}
+
+	@Override
+	public DonorPage getDonors(BloodGroup recipient, int page, int size) {
+		// the index answers which ids match; only the requested page is read from the table
+		BloodGroupIndex.DonorMatch match = bloodGroupIndex.findDonors(recipient, page, size);
+		List<Employee> donors = new ArrayList<>();
+		if (!match.getIds().isEmpty()) {
+			donors.addAll(findAllById(match.getIds()));
+		}
+		donors.sort(Comparator.comparing(Employee::getId));
+		return new DonorPage(recipient, recipient.donors(), match.getTotal(), page, size, donors);
 	}
 
+	@Override
+	public List<SearchHit> search(String query, int limit) {
+		List<EmployeeSearchIndex.Match> matches = searchIndex.search(query, limit, searchMinScore);
+		if (matches.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<Long> ids = matches.stream().map(EmployeeSearchIndex.Match::getId).collect(Collectors.toList());
+		Map<Long, Employee> employees = findAllById(ids).stream()
+				.collect(Collectors.toMap(Employee::getId, Function.identity()));
+		List<SearchHit> hits = new ArrayList<>(matches.size());
+		for (EmployeeSearchIndex.Match match : matches) {
+			// skips an employee deleted since the index last heard of it
+			Employee employee = employees.get(match.getId());
+			if (employee != null) {
+				hits.add(new SearchHit(match.getScore(), employee));
+			}
+		}
+		return hits;
+	}
 
-	public String getAddress(Long id) {
-		List<ServiceInstance> instances = client2.getInstances("ADDRESS-SERVICE");
-		System.out.println("Service instance Details :      " + instances);
+	private List<Employee> findAllById(List<Long> ids) {
+		return shardedStore != null ? shardedStore.findAllById(ids) : employeeRepo.findAllById(ids);
+	}
 
-		System.out.println("Service instance Details :      " + ServiceInstance.class);
-		ServiceInstance instance = instances.get(0);
-		String url = instance.getUri().toString();
-		System.out.println("URI >>>>>>>>>>>>>>>>>>>>       " + url);
-		
-		Object forObject = restTemplate.getForObject(url+"/address/{id}",null);
-		System.out.println("This Is URL For Address Server :              "+forObject);
-		return "okay";
+	public AddressResponse getAddress(Long id) {
+		if (Deadline.expired()) {
+			log.debug("Deadline passed before address lookup for employee {}", id);
+			return null;
+		}
+		try {
+			return addressClient.getAddress(id);
+		} catch (Exception e) {
+			log.warn("Address lookup for employee {} failed: {}", id, e.getMessage());
+			return null;
+		}
 	}
 }
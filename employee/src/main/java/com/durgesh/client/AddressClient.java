@@ -0,0 +1,30 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.durgesh.dto.AddressResponse;
+
+public interface AddressClient {
+
+	/**
+	 * @return the address stored for the employee id, or {@code null} when
+	 *         address-service has none
+	 */
+	AddressResponse getAddress(Long id);
+
+	/**
+	 * Looks up several ids in one round trip where the transport allows it. Ids
+	 * without an address are left out of the result.
+	 */
+	Map<Long, AddressResponse> getAddresses(Collection<Long> ids);
+
+	/**
+	 * Whether {@link #getAddress} for this id is currently answered without a
+	 * network call to address-service (local view, warm-start snapshot, or a
+	 * co-located service).
+	 */
+	default boolean answersLocally(Long id) {
+		return false;
+	}
+}
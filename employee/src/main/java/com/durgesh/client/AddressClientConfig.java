@@ -0,0 +1,98 @@
+package com.durgesh.client;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.durgesh.colocation.LocalServices;
+import com.durgesh.deadline.DeadlineExceededException;
+import com.durgesh.readmodel.AddressReadModel;
+import com.durgesh.warmstart.EmployeeHotCache;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class AddressClientConfig {
+
+	public static final String ADDRESS_SERVICE = "address-service";
+
+	@Bean
+	public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry,
+			@Value("${address.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+			@Value("${address.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+			@Value("${address.circuit-breaker.slow-call-duration-ms:500}") long slowCallDurationMs,
+			@Value("${address.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+			@Value("${address.circuit-breaker.minimum-calls:10}") int minimumCalls,
+			@Value("${address.circuit-breaker.wait-in-open-ms:10000}") long waitInOpenMs,
+			@Value("${address.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+		CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+				.failureRateThreshold(failureRateThreshold)
+				.slowCallRateThreshold(slowCallRateThreshold)
+				.slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+				.slidingWindowSize(slidingWindowSize)
+				.minimumNumberOfCalls(minimumCalls)
+				.waitDurationInOpenState(Duration.ofMillis(waitInOpenMs))
+				.permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+				.ignoreExceptions(DeadlineExceededException.class)
+				.build();
+		CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+		return registry;
+	}
+
+	@Bean
+	public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry,
+			@Value("${address.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+			@Value("${address.bulkhead.max-wait-ms:0}") long maxWaitMs) {
+		BulkheadConfig config = BulkheadConfig.custom()
+				.maxConcurrentCalls(maxConcurrentCalls)
+				.maxWaitDuration(Duration.ofMillis(maxWaitMs))
+				.build();
+		BulkheadRegistry registry = BulkheadRegistry.of(config);
+		TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+		return registry;
+	}
+
+	@Bean
+	public CircuitBreaker addressCircuitBreaker(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+		CircuitBreaker circuitBreaker = registry.circuitBreaker(ADDRESS_SERVICE);
+		circuitBreaker.getEventPublisher().onStateTransition(event -> meterRegistry
+				.counter("address.circuitbreaker.transitions",
+						"from", event.getStateTransition().getFromState().name(),
+						"to", event.getStateTransition().getToState().name())
+				.increment());
+		return circuitBreaker;
+	}
+
+	@Bean
+	public Bulkhead addressBulkhead(BulkheadRegistry registry) {
+		return registry.bulkhead(ADDRESS_SERVICE);
+	}
+
+	@Bean
+	@Primary
+	public AddressClient addressClient(DiscoveryAddressClient discoveryAddressClient,
+			CircuitBreaker addressCircuitBreaker, Bulkhead addressBulkhead, ObjectProvider<LocalServices> localServices,
+			ObjectProvider<AddressReadModel> addressReadModel, EmployeeHotCache employeeHotCache,
+			@Value("${employee.warm-start.address-max-age-ms:300000}") long snapshotAddressMaxAgeMs) {
+		AddressClient remote = new GuardedAddressClient(discoveryAddressClient, addressCircuitBreaker, addressBulkhead);
+		// LocalServices only exists when running under the co-located launcher
+		AddressClient direct = new ColocatedAddressClient(localServices.getIfAvailable(), remote);
+		// addresses saved by the last run cover the first minutes, until the local view has caught up
+		AddressClient warm = new SnapshotAddressClient(employeeHotCache, snapshotAddressMaxAgeMs, direct);
+		// the read model only exists with address.view.enabled=true
+		return new MaterializedAddressClient(addressReadModel.getIfAvailable(), warm);
+	}
+}
@@ -0,0 +1,70 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.durgesh.colocation.AddressLookup;
+import com.durgesh.colocation.AddressView;
+import com.durgesh.colocation.LocalServices;
+import com.durgesh.dto.AddressResponse;
+
+/**
+ * Transport selection for address lookups: a direct method call when
+ * address-service runs in the same JVM (co-located launcher), the network
+ * client otherwise. The check is per call, so the order in which the
+ * co-located services start does not matter.
+ */
+public class ColocatedAddressClient implements AddressClient {
+
+	private final LocalServices localServices;
+	private final AddressClient remote;
+
+	public ColocatedAddressClient(LocalServices localServices, AddressClient remote) {
+		this.localServices = localServices;
+		this.remote = remote;
+	}
+
+	@Override
+	public AddressResponse getAddress(Long id) {
+		AddressLookup local = local();
+		return local == null ? remote.getAddress(id) : toResponse(local.findById(id));
+	}
+
+	@Override
+	public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+		AddressLookup local = local();
+		if (local == null) {
+			return remote.getAddresses(ids);
+		}
+		Map<Long, AddressResponse> addresses = new LinkedHashMap<>();
+		for (Long id : ids) {
+			AddressResponse address = toResponse(local.findById(id));
+			if (address != null) {
+				addresses.put(id, address);
+			}
+		}
+		return addresses;
+	}
+
+	@Override
+	public boolean answersLocally(Long id) {
+		return local() != null;
+	}
+
+	private AddressLookup local() {
+		return localServices == null ? null : localServices.find(AddressLookup.class);
+	}
+
+	private static AddressResponse toResponse(AddressView view) {
+		if (view == null) {
+			return null;
+		}
+		AddressResponse response = new AddressResponse();
+		response.setLine1(view.getLine1());
+		response.setLine2(view.getLine2());
+		response.setState(view.getState());
+		response.setZip(view.getZip());
+		return response;
+	}
+}
@@ -0,0 +1,393 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.durgesh.deadline.Deadline;
+import com.durgesh.deadline.DeadlineExceededException;
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.grpc.AddressReply;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves ADDRESS-SERVICE through discovery and calls it over gRPC when the
+ * instance advertises a {@code grpc-port} in its metadata, falling back to the
+ * REST endpoint otherwise.
+ * <p>
+ * With {@code address.hedging.enabled} and more than one instance, a lookup
+ * that has not answered within the observed latency percentile is sent again
+ * to the next instance; the first successful answer wins and the other call
+ * is cancelled. Hedges are capped by a {@link HedgeBudget}. Hedged REST
+ * calls run on at most {@code address.hedging.threads} threads; when they
+ * are all busy the lookup runs on the caller's thread without a hedge.
+ * <p>
+ * Every call is bounded by the caller's remaining {@link Deadline}, which is
+ * forwarded to address-service as the gRPC deadline or the
+ * {@code X-Request-Timeout-Ms} header. A call that fails because that
+ * budget, rather than the client timeout, ran out throws
+ * {@link DeadlineExceededException}, which the circuit breaker ignores.
+ */
+@Slf4j
+@Component
+public class DiscoveryAddressClient implements AddressClient {
+
+	public static final String SERVICE_ID = "ADDRESS-SERVICE";
+	public static final String GRPC_PORT_METADATA = "grpc-port";
+
+	/** Samples needed before the percentile replaces the initial hedge delay. */
+	private static final int MIN_SAMPLES = 20;
+
+	@Autowired
+	private DiscoveryClient discoveryClient;
+
+	@Autowired
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private GrpcAddressTransport grpcTransport;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${address.client.grpc-enabled:true}")
+	private boolean grpcEnabled;
+
+	@Value("${address.hedging.enabled:false}")
+	private boolean hedgingEnabled;
+
+	@Value("${address.hedging.percentile:95}")
+	private double hedgePercentile;
+
+	@Value("${address.hedging.initial-delay-ms:50}")
+	private long initialHedgeDelayMs;
+
+	@Value("${address.hedging.min-delay-ms:5}")
+	private long minHedgeDelayMs;
+
+	@Value("${address.hedging.budget-percent:10}")
+	private double hedgeBudgetPercent;
+
+	@Value("${address.hedging.threads:16}")
+	private int hedgeThreads;
+
+	@Value("${address.client.timeout-ms:2000}")
+	private long timeoutMs;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private LatencyTracker latencyTracker;
+	private HedgeBudget hedgeBudget;
+	private ExecutorService restExecutor;
+	private Counter hedgesSent;
+	private Counter hedgesWon;
+	private Counter hedgesDenied;
+	private Counter hedgesRejected;
+
+	@PostConstruct
+	public void init() {
+		latencyTracker = new LatencyTracker(1024, hedgePercentile);
+		hedgeBudget = new HedgeBudget(hedgeBudgetPercent, 10);
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(hedgeThreads, hedgeThreads, 60, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "address-hedge-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		restExecutor = executor;
+		hedgesSent = meterRegistry.counter("address.hedging.sent");
+		hedgesWon = meterRegistry.counter("address.hedging.won");
+		hedgesDenied = meterRegistry.counter("address.hedging.budget.exhausted");
+		hedgesRejected = meterRegistry.counter("address.hedging.threads.exhausted");
+		meterRegistry.gauge("address.hedging.delay.ms", this, client -> client.hedgeDelayMs());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		restExecutor.shutdownNow();
+	}
+
+	@Override
+	public AddressResponse getAddress(Long id) {
+		long budgetMs = budgetMs();
+		long startNanos = System.nanoTime();
+		try {
+			List<ServiceInstance> instances = instances();
+			int start = Math.floorMod(next.getAndIncrement(), instances.size());
+			ServiceInstance primary = instances.get(start);
+			if (!hedgingEnabled || instances.size() < 2) {
+				return fetchTimed(primary, id, budgetMs);
+			}
+			return hedged(primary, instances.get((start + 1) % instances.size()), id, budgetMs);
+		} catch (RuntimeException e) {
+			throw deadlineOr(e, budgetMs, startNanos);
+		}
+	}
+
+	@Override
+	public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+		long budgetMs = budgetMs();
+		long startNanos = System.nanoTime();
+		try {
+			ServiceInstance instance = pickInstance();
+			Integer grpcPort = grpcPort(instance);
+			if (grpcPort != null) {
+				return grpcTransport.getAddresses(instance.getHost(), grpcPort, ids, budgetMs);
+			}
+			Map<Long, AddressResponse> addresses = new LinkedHashMap<>();
+			for (Long id : ids) {
+				AddressResponse address = fetch(instance, id, budgetMs);
+				if (address != null) {
+					addresses.put(id, address);
+				}
+			}
+			return addresses;
+		} catch (RuntimeException e) {
+			throw deadlineOr(e, budgetMs, startNanos);
+		}
+	}
+
+	/**
+	 * {@code e} as a {@link DeadlineExceededException} when the budget was cut
+	 * short by the request deadline and has been used up; timeouts within the
+	 * full client timeout are address-service's doing and stay as they are.
+	 */
+	private RuntimeException deadlineOr(RuntimeException e, long budgetMs, long startNanos) {
+		if (e instanceof DeadlineExceededException) {
+			return e;
+		}
+		boolean deadlineBound = Deadline.isSet() && budgetMs < timeoutMs;
+		if (deadlineBound && System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(budgetMs)) {
+			return new DeadlineExceededException("Request deadline of " + budgetMs + " ms ran out during address lookup",
+					e);
+		}
+		return e;
+	}
+
+	public AddressResponse fetch(ServiceInstance instance, Long id, long budgetMs) {
+		Integer grpcPort = grpcPort(instance);
+		if (grpcPort != null) {
+			return grpcTransport.getAddress(instance.getHost(), grpcPort, id, budgetMs);
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(Deadline.TIMEOUT_HEADER, Long.toString(budgetMs));
+		return restTemplate.exchange(instance.getUri() + "/address/{id}", HttpMethod.GET, new HttpEntity<>(headers),
+				AddressResponse.class, id).getBody();
+	}
+
+	/** Failures are timed too: leaving out the slow ones would pull the percentile down. */
+	private AddressResponse fetchTimed(ServiceInstance instance, Long id, long budgetMs) {
+		long startNanos = System.nanoTime();
+		try {
+			return fetch(instance, id, budgetMs);
+		} finally {
+			latencyTracker.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+		}
+	}
+
+	public List<ServiceInstance> instances() {
+		List<ServiceInstance> instances = discoveryClient.getInstances(SERVICE_ID);
+		if (instances.isEmpty()) {
+			throw new IllegalStateException("No " + SERVICE_ID + " instance registered");
+		}
+		return instances;
+	}
+
+	private ServiceInstance pickInstance() {
+		List<ServiceInstance> instances = instances();
+		return instances.get(Math.floorMod(next.getAndIncrement(), instances.size()));
+	}
+
+	Integer grpcPort(ServiceInstance instance) {
+		if (!grpcEnabled) {
+			return null;
+		}
+		String port = instance.getMetadata().get(GRPC_PORT_METADATA);
+		if (port == null || port.isEmpty()) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(port);
+		} catch (NumberFormatException e) {
+			log.warn("Ignoring invalid {} metadata '{}' on {}", GRPC_PORT_METADATA, port, instance.getInstanceId());
+			return null;
+		}
+	}
+
+	/**
+	 * Remaining request budget, capped at the client timeout. Read on the
+	 * request thread because hedged calls run on other threads.
+	 */
+	private long budgetMs() {
+		long budgetMs = Deadline.remainingMillis(timeoutMs);
+		if (budgetMs <= 0) {
+			throw new DeadlineExceededException("Request deadline exceeded before address lookup");
+		}
+		return budgetMs;
+	}
+
+	long hedgeDelayMs() {
+		if (latencyTracker.size() < MIN_SAMPLES) {
+			return initialHedgeDelayMs;
+		}
+		return Math.max(minHedgeDelayMs, TimeUnit.MICROSECONDS.toMillis(latencyTracker.percentileMicros()));
+	}
+
+	private AddressResponse hedged(ServiceInstance primary, ServiceInstance backup, Long id, long budgetMs) {
+		hedgeBudget.onRequest();
+		long startNanos = System.nanoTime();
+		CompletableFuture<AddressResponse> first;
+		try {
+			first = fetchAsync(primary, id, budgetMs);
+		} catch (RejectedExecutionException e) {
+			hedgesRejected.increment();
+			return fetchTimed(primary, id, budgetMs);
+		}
+		// every outcome is a sample; a primary cancelled after losing to the hedge took at least this long
+		first.whenComplete((response, error) -> latencyTracker.record(
+				TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+		long delayMs = hedgeDelayMs();
+		if (delayMs >= budgetMs) {
+			// the budget ends before a hedge would go out
+			return await(first, startNanos, budgetMs);
+		}
+		try {
+			return first.get(delayMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			if (!hedgeBudget.tryAcquire()) {
+				hedgesDenied.increment();
+				return await(first, startNanos, budgetMs);
+			}
+		} catch (InterruptedException e) {
+			first.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for address-service", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Address lookup failed", e.getCause());
+		}
+
+		CompletableFuture<AddressResponse> second;
+		try {
+			second = fetchAsync(backup, id, budgetMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+		} catch (RejectedExecutionException e) {
+			hedgesRejected.increment();
+			return await(first, startNanos, budgetMs);
+		}
+		hedgesSent.increment();
+		CompletableFuture<AddressResponse> winner = new CompletableFuture<>();
+		AtomicInteger failures = new AtomicInteger();
+		first.whenComplete((response, error) -> complete(winner, response, error, failures, false));
+		second.whenComplete((response, error) -> complete(winner, response, error, failures, true));
+		try {
+			return await(winner, startNanos, budgetMs);
+		} finally {
+			// the loser stops: its gRPC call is cancelled, its REST worker interrupted
+			first.cancel(true);
+			second.cancel(true);
+		}
+	}
+
+	private void complete(CompletableFuture<AddressResponse> winner, AddressResponse response, Throwable error,
+			AtomicInteger failures, boolean hedge) {
+		if (error == null) {
+			if (winner.complete(response) && hedge) {
+				hedgesWon.increment();
+			}
+		} else if (failures.incrementAndGet() == 2) {
+			winner.completeExceptionally(error);
+		}
+	}
+
+	/**
+	 * Starts the lookup; cancelling the returned future cancels the call.
+	 *
+	 * @throws RejectedExecutionException if a REST call finds every hedging thread busy
+	 */
+	private CompletableFuture<AddressResponse> fetchAsync(ServiceInstance instance, Long id, long budgetMs) {
+		Integer grpcPort = grpcPort(instance);
+		if (grpcPort == null) {
+			CompletableFuture<AddressResponse> future = new CompletableFuture<>();
+			Future<?> task = restExecutor.submit(() -> {
+				try {
+					future.complete(fetch(instance, id, budgetMs));
+				} catch (RuntimeException e) {
+					future.completeExceptionally(e);
+				}
+			});
+			// a blocking read may not notice the interrupt; it still ends within the budget sent as its timeout
+			future.whenComplete((response, error) -> {
+				if (future.isCancelled()) {
+					task.cancel(true);
+				}
+			});
+			return future;
+		}
+		ListenableFuture<AddressReply> call = grpcTransport.getAddressAsync(instance.getHost(), grpcPort, id,
+				budgetMs);
+		CompletableFuture<AddressResponse> future = new CompletableFuture<>();
+		Futures.addCallback(call, new FutureCallback<AddressReply>() {
+			@Override
+			public void onSuccess(AddressReply reply) {
+				future.complete(GrpcAddressTransport.toResponse(reply));
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				future.completeExceptionally(t);
+			}
+		}, MoreExecutors.directExecutor());
+		future.whenComplete((response, error) -> {
+			if (future.isCancelled()) {
+				call.cancel(true);
+			}
+		});
+		return future;
+	}
+
+	private AddressResponse await(CompletableFuture<AddressResponse> future, long startNanos, long budgetMs) {
+		long leftMs = budgetMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		try {
+			return future.get(Math.max(0, leftMs), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for address-service", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Address lookup failed", e.getCause());
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new IllegalStateException("Address lookup timed out after " + budgetMs + " ms", e);
+		}
+	}
+}
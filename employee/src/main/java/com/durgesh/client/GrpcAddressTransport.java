@@ -0,0 +1,119 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Component;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.grpc.AddressLookupGrpc;
+import com.durgesh.grpc.AddressReply;
+import com.durgesh.grpc.AddressRequest;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * gRPC side of {@link DiscoveryAddressClient}. Keeps one HTTP/2 channel per
+ * address-service instance; every call is multiplexed over it instead of
+ * opening a connection per lookup. The timeout becomes the gRPC deadline, so
+ * the server sees the caller's remaining budget.
+ */
+@Component
+public class GrpcAddressTransport {
+
+	private final ConcurrentMap<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+
+	public ListenableFuture<AddressReply> getAddressAsync(String host, int port, long id, long timeoutMs) {
+		return AddressLookupGrpc.newFutureStub(channel(host, port))
+				.withDeadlineAfter(timeoutMs, TimeUnit.MILLISECONDS)
+				.getAddress(AddressRequest.newBuilder().setId(id).build());
+	}
+
+	public AddressResponse getAddress(String host, int port, long id, long timeoutMs) {
+		return toResponse(await(getAddressAsync(host, port, id, timeoutMs), timeoutMs));
+	}
+
+	public Map<Long, AddressResponse> getAddresses(String host, int port, Collection<Long> ids, long timeoutMs) {
+		CompletableFuture<Map<Long, AddressResponse>> result = new CompletableFuture<>();
+		Map<Long, AddressResponse> addresses = new HashMap<>();
+		StreamObserver<AddressRequest> requests = AddressLookupGrpc.newStub(channel(host, port))
+				.withDeadlineAfter(timeoutMs, TimeUnit.MILLISECONDS)
+				.getAddresses(new StreamObserver<AddressReply>() {
+					@Override
+					public void onNext(AddressReply reply) {
+						if (reply.getFound()) {
+							addresses.put(reply.getId(), toResponse(reply));
+						}
+					}
+
+					@Override
+					public void onError(Throwable t) {
+						result.completeExceptionally(t);
+					}
+
+					@Override
+					public void onCompleted() {
+						result.complete(addresses);
+					}
+				});
+		for (Long id : ids) {
+			requests.onNext(AddressRequest.newBuilder().setId(id).build());
+		}
+		requests.onCompleted();
+		return await(result, timeoutMs);
+	}
+
+	public static AddressResponse toResponse(AddressReply reply) {
+		if (!reply.getFound()) {
+			return null;
+		}
+		AddressResponse response = new AddressResponse();
+		response.setLine1(reply.getLine1());
+		response.setLine2(reply.getLine2());
+		response.setState(reply.getState());
+		response.setZip(reply.getZip());
+		return response;
+	}
+
+	private ManagedChannel channel(String host, int port) {
+		return channels.computeIfAbsent(host + ":" + port, key -> newChannel(host, port));
+	}
+
+	/** Tests override this to connect to an in-process server. */
+	ManagedChannel newChannel(String host, int port) {
+		return ManagedChannelBuilder.forAddress(host, port).usePlaintext().build();
+	}
+
+	private <T> T await(Future<T> future, long timeoutMs) {
+		try {
+			return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for address-service", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("gRPC address lookup failed", e.getCause());
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new IllegalStateException("gRPC address lookup timed out after " + timeoutMs + " ms", e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		channels.values().forEach(ManagedChannel::shutdown);
+		channels.clear();
+	}
+}
@@ -0,0 +1,62 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.durgesh.dto.AddressResponse;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Wraps the address-service client in a bulkhead and a circuit breaker so a
+ * slow or failing address-service cannot tie up every request thread. Every
+ * rejected or failed call falls back to "no address" and the employee is
+ * returned without it.
+ * <p>
+ * The bulkhead sits outside the breaker: a call it turns away never reaches
+ * address-service, so it must not count as an address-service failure.
+ */
+@Slf4j
+public class GuardedAddressClient implements AddressClient {
+
+	private final AddressClient delegate;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead bulkhead;
+
+	public GuardedAddressClient(AddressClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+		this.delegate = delegate;
+		this.circuitBreaker = circuitBreaker;
+		this.bulkhead = bulkhead;
+	}
+
+	@Override
+	public AddressResponse getAddress(Long id) {
+		return call(() -> delegate.getAddress(id), null);
+	}
+
+	@Override
+	public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+		return call(() -> delegate.getAddresses(ids), Collections.emptyMap());
+	}
+
+	private <T> T call(Supplier<T> supplier, T fallback) {
+		Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead,
+				CircuitBreaker.decorateSupplier(circuitBreaker, supplier));
+		try {
+			return guarded.get();
+		} catch (CallNotPermittedException e) {
+			log.debug("Address circuit breaker is {}, skipping lookup", circuitBreaker.getState());
+		} catch (BulkheadFullException e) {
+			log.debug("Address bulkhead full, skipping lookup");
+		} catch (RuntimeException e) {
+			log.warn("Address lookup failed: {}", e.getMessage());
+		}
+		return fallback;
+	}
+}
@@ -0,0 +1,34 @@
+package com.durgesh.client;
+
+/**
+ * Token bucket that caps hedged requests to a fraction of primary requests.
+ * Every primary request deposits {@code percent / 100} of a token and every
+ * hedge spends a whole one, so extra load stays at or below the configured
+ * percentage with a small burst allowance.
+ */
+public class HedgeBudget {
+
+	// counted in hundredths of a token, so whole percentages add up exactly (ten deposits of 0.1 fall short of 1)
+	private static final double TOKEN = 100;
+
+	private final double depositPerRequest;
+	private final double maxTokens;
+	private double tokens;
+
+	public HedgeBudget(double percent, double maxTokens) {
+		this.depositPerRequest = percent;
+		this.maxTokens = maxTokens * TOKEN;
+	}
+
+	public synchronized void onRequest() {
+		tokens = Math.min(maxTokens, tokens + depositPerRequest);
+	}
+
+	public synchronized boolean tryAcquire() {
+		if (tokens < TOKEN) {
+			return false;
+		}
+		tokens -= TOKEN;
+		return true;
+	}
+}
@@ -0,0 +1,51 @@
+package com.durgesh.client;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples in a ring and answers percentile
+ * queries from a sorted copy that is refreshed every {@link #REFRESH_EVERY}
+ * samples, so reading the percentile on the request path is a field read.
+ */
+public class LatencyTracker {
+
+	static final int REFRESH_EVERY = 64;
+
+	private final long[] samples;
+	private final double percentile;
+	private int size;
+	private int next;
+	private int sinceRefresh;
+	private volatile long cachedPercentileMicros = -1;
+
+	public LatencyTracker(int capacity, double percentile) {
+		this.samples = new long[capacity];
+		this.percentile = percentile;
+	}
+
+	public synchronized void record(long micros) {
+		samples[next] = micros;
+		next = (next + 1) % samples.length;
+		if (size < samples.length) {
+			size++;
+		}
+		if (++sinceRefresh >= REFRESH_EVERY || cachedPercentileMicros < 0) {
+			sinceRefresh = 0;
+			long[] sorted = Arrays.copyOf(samples, size);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+			cachedPercentileMicros = sorted[Math.max(0, Math.min(index, size - 1))];
+		}
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return the tracked percentile in microseconds, or -1 before any sample
+	 */
+	public long percentileMicros() {
+		return cachedPercentileMicros;
+	}
+}
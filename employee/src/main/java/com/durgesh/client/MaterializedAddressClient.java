@@ -0,0 +1,53 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.readmodel.AddressReadModel;
+
+/**
+ * Answers address lookups from the local {@link AddressReadModel} once it
+ * has caught up with the event log, and from address-service before that
+ * or when the view is disabled.
+ */
+public class MaterializedAddressClient implements AddressClient {
+
+	private final AddressReadModel readModel;
+	private final AddressClient fallback;
+
+	public MaterializedAddressClient(AddressReadModel readModel, AddressClient fallback) {
+		this.readModel = readModel;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public AddressResponse getAddress(Long id) {
+		return useView() ? readModel.find(id) : fallback.getAddress(id);
+	}
+
+	@Override
+	public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+		if (!useView()) {
+			return fallback.getAddresses(ids);
+		}
+		Map<Long, AddressResponse> addresses = new LinkedHashMap<>();
+		for (Long id : ids) {
+			AddressResponse address = readModel.find(id);
+			if (address != null) {
+				addresses.put(id, address);
+			}
+		}
+		return addresses;
+	}
+
+	@Override
+	public boolean answersLocally(Long id) {
+		return useView() || fallback.answersLocally(id);
+	}
+
+	private boolean useView() {
+		return readModel != null && readModel.isReady();
+	}
+}
@@ -0,0 +1,69 @@
+package com.durgesh.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.warmstart.CacheSnapshot;
+import com.durgesh.warmstart.EmployeeHotCache;
+
+/**
+ * Answers from the addresses recorded in the warm-start snapshot while it
+ * is younger than {@code maxAgeMs}, so a freshly started instance does not
+ * send every first lookup to address-service. Addresses carry no version
+ * here, so the age bound is what limits how stale one can be. Sits behind
+ * the local address view: once that is ready this is no longer asked.
+ */
+public class SnapshotAddressClient implements AddressClient {
+
+	private final EmployeeHotCache hotCache;
+	private final long maxAgeMs;
+	private final AddressClient fallback;
+
+	public SnapshotAddressClient(EmployeeHotCache hotCache, long maxAgeMs, AddressClient fallback) {
+		this.hotCache = hotCache;
+		this.maxAgeMs = maxAgeMs;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public AddressResponse getAddress(Long id) {
+		AddressResponse address = fromSnapshot(id);
+		return address != null ? address : fallback.getAddress(id);
+	}
+
+	@Override
+	public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+		Map<Long, AddressResponse> addresses = new LinkedHashMap<>();
+		List<Long> remaining = new ArrayList<>();
+		for (Long id : ids) {
+			AddressResponse address = fromSnapshot(id);
+			if (address != null) {
+				addresses.put(id, address);
+			} else {
+				remaining.add(id);
+			}
+		}
+		if (!remaining.isEmpty()) {
+			addresses.putAll(fallback.getAddresses(remaining));
+		}
+		return addresses;
+	}
+
+	@Override
+	public boolean answersLocally(Long id) {
+		return fromSnapshot(id) != null || fallback.answersLocally(id);
+	}
+
+	private AddressResponse fromSnapshot(Long id) {
+		CacheSnapshot snapshot = hotCache.getSnapshot();
+		if (snapshot == null || System.currentTimeMillis() - snapshot.getCreatedAt() > maxAgeMs) {
+			return null;
+		}
+		int slot = snapshot.slot(id);
+		return slot >= 0 && snapshot.isValid(slot) ? snapshot.address(slot) : null;
+	}
+}
@@ -0,0 +1,58 @@
+package com.durgesh.controller;
+
+import com.durgesh.readmodel.AddressReadModel;
+import com.durgesh.response.CustomResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/employee/address-view")
+@ConditionalOnProperty(name = "address.view.enabled", havingValue = "true")
+public class AddressViewController extends CustomResponse {
+    private static final long serialVersionUID = 1L;
+
+    @Autowired
+    private AddressReadModel addressReadModel;
+
+    @GetMapping
+    ResponseEntity<?> status() {
+        return response("Address View", HttpStatus.OK, describe());
+    }
+
+    // rebuilds the view from the start of the event log; lookups go to address-service meanwhile
+    @PostMapping("/replay")
+    ResponseEntity<?> replay() {
+        try {
+            int applied = addressReadModel.replay();
+            Map<String, Object> status = describe();
+            status.put("replayed", applied);
+            return response("Address View Rebuilt", HttpStatus.OK, status);
+        } catch (Exception e) {
+            log.error("Replaying the address event log failed", e);
+            Map<String, Object> status = describe();
+            status.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            return response("Replay Failed", HttpStatus.INTERNAL_SERVER_ERROR, status);
+        }
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", addressReadModel.isReady());
+        status.put("offset", addressReadModel.getAppliedOffset());
+        status.put("lag", addressReadModel.lagEvents());
+        status.put("size", addressReadModel.size());
+        return status;
+    }
+}
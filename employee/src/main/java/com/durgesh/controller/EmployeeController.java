@@ -1,21 +1,44 @@
 package com.durgesh.controller;
 
+import com.durgesh.deadline.DeadlineExceededException;
+import com.durgesh.deadline.RequestBudget;
+import com.durgesh.dto.DonorPage;
 import com.durgesh.dto.EmployeeDto;
+import com.durgesh.dto.PatchResult;
+import com.durgesh.dto.SearchHit;
+import com.durgesh.entity.BloodGroup;
 import com.durgesh.entity.Employee;
+import com.durgesh.purge.EmployeePurger;
+import com.durgesh.purge.PurgeJob;
 import com.durgesh.response.CustomResponse;
 import com.durgesh.service.EmployeeService;
+import com.durgesh.shard.ShardRebalancer;
+import com.durgesh.shard.ShardedEmployeeStore;
+import com.durgesh.utils.ETags;
+import com.durgesh.writebehind.SaveTicket;
+import com.durgesh.writebehind.WriteBehindSaver;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/employee")
 public class EmployeeController extends CustomResponse {
     private static final long serialVersionUID = 1L;
+    private static final int MAX_DONOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
 
 	@Autowired
     private RestTemplate restTemplate;
@@ -23,14 +46,42 @@ public class EmployeeController extends CustomResponse {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeePurger employeePurger;
+
+    @Autowired
+    private WriteBehindSaver writeBehindSaver;
+
+    @Autowired(required = false)
+    private ShardedEmployeeStore shardedStore;
+
+    @Autowired(required = false)
+    private ShardRebalancer shardRebalancer;
+
     @GetMapping("/employee")
     public String home() {
         //String address = restTemplate.getForObject("http://127.0.0.1:8001/address", String.class);
         return "this is employee  " ;
     }
 
+    // "Prefer: respond-async" queues the save for a grouped insert (when employee.write-behind.enabled) and answers 202;
+    // the saver writes through JPA, so with sharding the preference is ignored and the save is synchronous
     @PostMapping("save")
-    public ResponseEntity<?> save(@RequestBody EmployeeDto employeeDto) {
+    public ResponseEntity<?> save(@RequestBody EmployeeDto employeeDto,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        if (prefer != null && prefer.contains("respond-async") && writeBehindSaver.isEnabled() && shardedStore == null) {
+            try {
+                SaveTicket ticket = employeeService.saveAsync(employeeDto);
+                ResponseEntity<Object> response = response("Record Queued", HttpStatus.ACCEPTED, ticket);
+                return ResponseEntity.status(response.getStatusCode())
+                        .location(URI.create("/employee/save/" + ticket.getRequestId())).body(response.getBody());
+            } catch (RejectedExecutionException e) {
+                ResponseEntity<Object> response = response("Save Queue Full", HttpStatus.SERVICE_UNAVAILABLE,
+                        employeeDto.getEmail());
+                return ResponseEntity.status(response.getStatusCode()).header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(response.getBody());
+            }
+        }
         try {
             Employee employee = employeeService.getByEmail(employeeDto.getEmail());
             if (employee == null) {
@@ -39,19 +90,49 @@ public class EmployeeController extends CustomResponse {
             } else {
                 return response("Email Already Exists ", HttpStatus.OK, employeeDto.getEmail());
             }
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent save took the email between the lookup above and the insert
+            return response("Email Already Exists ", HttpStatus.CONFLICT, employeeDto.getEmail());
         } catch (Exception e) {
             e.printStackTrace();
         }
         return response("Enter Valid Information ", HttpStatus.INTERNAL_SERVER_ERROR, employeeDto);
     }
 
+    @GetMapping("/save/{requestId}")
+    ResponseEntity<?> saveStatus(@PathVariable String requestId) {
+        SaveTicket ticket = writeBehindSaver.get(requestId);
+        if (ticket == null) {
+            return response("Request Not Found", HttpStatus.NOT_FOUND, requestId);
+        }
+        return response("Save " + ticket.getState(), HttpStatus.OK, ticket);
+    }
+
     @GetMapping("/{id}")
-    ResponseEntity<?> getById(@PathVariable Long id) {
+    @RequestBudget(millis = 2000)
+    ResponseEntity<?> getById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            if (ifNoneMatch != null) {
+                // version-only query plus a local address lookup; the row is not read
+                String etag = employeeService.localEtag(id);
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
             Employee employee = employeeService.getById(id);
             if (employee != null) {
-                return response("Record", HttpStatus.OK, employee);
+                String etag = employeeService.etag(employee);
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    // the address needed address-service, so the check waited for the one full load
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+                ResponseEntity<Object> response = response("Record", HttpStatus.OK, employee);
+                return ResponseEntity.status(response.getStatusCode()).eTag(etag).body(response.getBody());
             }
+        } catch (DeadlineExceededException e) {
+            // 504 from CustomExceptionHandler; the record may well exist
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -59,6 +140,80 @@ public class EmployeeController extends CustomResponse {
 
     }
 
+    // JSON Merge Patch of name, email and bloodGroup; send the ETag from GET as If-Match to guard against lost updates
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", "application/json"})
+    ResponseEntity<?> patch(@PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (shardedStore != null) {
+            // patch runs a JPA transaction, which only reaches the primary datasource
+            return response("Not Supported With Sharding", HttpStatus.NOT_IMPLEMENTED, id);
+        }
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            // the whole tag must be current, id and address part included; * only asks that the record exists
+            String etag = employeeService.currentEtag(id);
+            if (!ETags.matchesStrongly(ifMatch, etag)) {
+                return response("Precondition Failed", HttpStatus.PRECONDITION_FAILED, etag);
+            }
+            if (!ifMatch.trim().equals("*")) {
+                // checked again under the row lock, in case an update lands in between
+                expectedVersion = ETags.version(etag);
+            }
+        }
+        PatchResult result;
+        try {
+            result = employeeService.patch(id, patch, expectedVersion);
+        } catch (IllegalArgumentException e) {
+            return response(e.getMessage(), HttpStatus.BAD_REQUEST, id);
+        }
+        switch (result.getOutcome()) {
+        case NOT_FOUND:
+            return response("Record Not Found", HttpStatus.NOT_FOUND, id);
+        case VERSION_MISMATCH:
+            return response("Precondition Failed", HttpStatus.PRECONDITION_FAILED,
+                    employeeService.etag(result.getEmployee()));
+        case EMAIL_TAKEN:
+            return response("Email Already Exists ", HttpStatus.CONFLICT, id);
+        default:
+            Employee employee = result.getEmployee();
+            String message = result.getOutcome() == PatchResult.Outcome.UPDATED ? "Record Updated" : "Record Unchanged";
+            ResponseEntity<Object> response = response(message, HttpStatus.OK, employee);
+            return ResponseEntity.status(response.getStatusCode()).eTag(employeeService.etag(employee))
+                    .body(response.getBody());
+        }
+    }
+
+    // ?recipient=AB+ works unencoded: the + arrives as a trailing space, which BloodGroup.parse reads as positive
+    @GetMapping("/donors")
+    ResponseEntity<?> donors(@RequestParam String recipient, @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        BloodGroup group;
+        try {
+            group = BloodGroup.parse(recipient);
+        } catch (IllegalArgumentException e) {
+            return response("Unknown Blood Group", HttpStatus.BAD_REQUEST, recipient);
+        }
+        if (group == null || page < 0 || size < 1 || size > MAX_DONOR_PAGE_SIZE) {
+            return response("Enter recipient, page >= 0 and size 1-" + MAX_DONOR_PAGE_SIZE, HttpStatus.BAD_REQUEST,
+                    recipient);
+        }
+        DonorPage donors = employeeService.getDonors(group, page, size);
+        return response("Compatible Donors", HttpStatus.OK, donors);
+    }
+
+    // ranked, typo-tolerant match on name and email from the in-memory trigram index
+    @GetMapping("/search")
+    ResponseEntity<?> search(@RequestParam("q") String query, @RequestParam(defaultValue = "20") int limit) {
+        if (query.isBlank() || limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return response("Enter q and limit 1-" + MAX_SEARCH_RESULTS, HttpStatus.BAD_REQUEST, query);
+        }
+        List<SearchHit> hits = employeeService.search(query, limit);
+        if (hits.isEmpty()) {
+            return response("Record Not Found", HttpStatus.NOT_FOUND, query);
+        }
+        return response("Found Record  ", HttpStatus.OK, hits);
+    }
+
     @GetMapping("/all")
     ResponseEntity<?> getAll() {
         try {
@@ -71,4 +226,76 @@ public class EmployeeController extends CustomResponse {
         }
         return response("Record Not Found", HttpStatus.NOT_FOUND, "Empty");
     }
-}
\ No newline at end of file
+
+    @GetMapping("/page")
+    ResponseEntity<?> page(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return response("Enter page >= 0 and size 1-" + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST, page);
+        }
+        List<Employee> employees = employeeService.getPage(page, size);
+        if (employees.isEmpty()) {
+            return response("Record Not Found", HttpStatus.NOT_FOUND, page);
+        }
+        return response("Found Record  ", HttpStatus.OK, employees);
+    }
+
+    @GetMapping("/shards")
+    ResponseEntity<?> shards() {
+        if (shardedStore == null) {
+            return response("Sharding Disabled", HttpStatus.NOT_FOUND, "Empty");
+        }
+        Map<String, Object> shards = new LinkedHashMap<>();
+        shards.put("key", shardedStore.getRouter().getKey());
+        shards.put("rows", shardedStore.counts());
+        // rebalancing is cluster-wide; rebalance is this instance's latest run
+        shards.put("rebalancing", shardedStore.isRebalancing());
+        shards.put("rebalance", shardRebalancer.latest());
+        return response("Shards", HttpStatus.OK, shards);
+    }
+
+    // run after appending a shard or changing employee.sharding.key; poll /employee/shards for progress
+    @PostMapping("/shards/rebalance")
+    ResponseEntity<?> rebalance() {
+        if (shardRebalancer == null) {
+            return response("Sharding Disabled", HttpStatus.NOT_FOUND, "Empty");
+        }
+        return response("Rebalance Started", HttpStatus.ACCEPTED, shardRebalancer.start());
+    }
+
+    @DeleteMapping("/{id}")
+    ResponseEntity<?> removeById(@PathVariable Long id) {
+        if (employeeService.removeById(id)) {
+            return response("Record Deleted", HttpStatus.OK, id);
+        }
+        return response("Record Not Found", HttpStatus.NOT_FOUND, id);
+    }
+
+    // large tables are purged in chunks on a background thread; poll /employee/purge/{jobId} for progress
+    @DeleteMapping("/all")
+    ResponseEntity<?> removeAll() {
+        if (shardedStore != null) {
+            // the purger deletes from the primary datasource only
+            return response("Not Supported With Sharding", HttpStatus.NOT_IMPLEMENTED, "Empty");
+        }
+        PurgeJob job = employeeService.removeAll();
+        return response("Purge Started", HttpStatus.ACCEPTED, job);
+    }
+
+    @GetMapping("/purge")
+    ResponseEntity<?> latestPurge() {
+        PurgeJob job = employeePurger.latest();
+        if (job == null) {
+            return response("No Purge Started", HttpStatus.NOT_FOUND, "Empty");
+        }
+        return response("Purge " + job.getState(), HttpStatus.OK, job);
+    }
+
+    @GetMapping("/purge/{jobId}")
+    ResponseEntity<?> purge(@PathVariable long jobId) {
+        PurgeJob job = employeePurger.get(jobId);
+        if (job == null) {
+            return response("Purge Not Found", HttpStatus.NOT_FOUND, jobId);
+        }
+        return response("Purge " + job.getState(), HttpStatus.OK, job);
+    }
+}
@@ -0,0 +1,50 @@
+package com.durgesh.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+	@Value("${deadline.default-budget-ms:5000}")
+	private long defaultBudgetMs;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		Long budget = Deadline.parseBudget(request.getHeader(Deadline.TIMEOUT_HEADER),
+				request.getHeader(Deadline.DEADLINE_HEADER));
+		if (budget == null) {
+			budget = defaultBudget(handler);
+		}
+		if (budget <= 0) {
+			// the caller has already given up, don't start any work for it
+			response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline exceeded");
+			return false;
+		}
+		Deadline.start(budget);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		Deadline.clear();
+	}
+
+	private long defaultBudget(Object handler) {
+		if (handler instanceof HandlerMethod) {
+			RequestBudget budget = ((HandlerMethod) handler).getMethodAnnotation(RequestBudget.class);
+			if (budget != null) {
+				return budget.millis();
+			}
+		}
+		return defaultBudgetMs;
+	}
+}
@@ -0,0 +1,17 @@
+package com.durgesh.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Default deadline for a controller method when the caller sends no deadline
+ * header. Endpoints without it use {@code deadline.default-budget-ms}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestBudget {
+
+	long millis();
+}
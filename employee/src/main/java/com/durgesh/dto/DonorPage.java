@@ -0,0 +1,23 @@
+package com.durgesh.dto;
+
+import java.util.List;
+import java.util.Set;
+
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DonorPage {
+
+	private BloodGroup recipient;
+	private Set<BloodGroup> donorGroups;
+	private int total;
+	private int page;
+	private int size;
+	private List<Employee> donors;
+
+}
@@ -3,6 +3,8 @@ package com.durgesh.dto;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.durgesh.entity.BloodGroup;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,6 +16,6 @@ public class EmployeeDto
 {	
 	private String name;
 	private String email;
-	private String bloodgroup;
+	private BloodGroup bloodgroup;
 	
 }
@@ -0,0 +1,19 @@
+package com.durgesh.dto;
+
+import com.durgesh.entity.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PatchResult {
+
+	public enum Outcome {
+		UPDATED, UNCHANGED, NOT_FOUND, VERSION_MISMATCH, EMAIL_TAKEN
+	}
+
+	private Outcome outcome;
+	private Employee employee;
+
+}
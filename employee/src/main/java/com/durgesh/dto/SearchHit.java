@@ -0,0 +1,15 @@
+package com.durgesh.dto;
+
+import com.durgesh.entity.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+
+	private double score;
+	private Employee employee;
+
+}
@@ -0,0 +1,100 @@
+package com.durgesh.entity;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * ABO/Rh blood group. Each group is described by the antigens on its red
+ * cells; a donor is compatible with a recipient when the recipient carries
+ * every antigen the donor does.
+ */
+public enum BloodGroup {
+
+	O_NEG("O-", 0), O_POS("O+", BloodGroup.RH),
+	A_NEG("A-", BloodGroup.A), A_POS("A+", BloodGroup.A | BloodGroup.RH),
+	B_NEG("B-", BloodGroup.B), B_POS("B+", BloodGroup.B | BloodGroup.RH),
+	AB_NEG("AB-", BloodGroup.A | BloodGroup.B), AB_POS("AB+", BloodGroup.A | BloodGroup.B | BloodGroup.RH);
+
+	private static final int A = 1;
+	private static final int B = 2;
+	private static final int RH = 4;
+
+	private final String label;
+	private final int antigens;
+
+	BloodGroup(String label, int antigens) {
+		this.label = label;
+		this.antigens = antigens;
+	}
+
+	@JsonValue
+	public String getLabel() {
+		return label;
+	}
+
+	public boolean canDonateTo(BloodGroup recipient) {
+		return (antigens & ~recipient.antigens) == 0;
+	}
+
+	/** Groups whose red cells this group can receive. */
+	public Set<BloodGroup> donors() {
+		Set<BloodGroup> donors = EnumSet.noneOf(BloodGroup.class);
+		for (BloodGroup donor : values()) {
+			if (donor.canDonateTo(this)) {
+				donors.add(donor);
+			}
+		}
+		return donors;
+	}
+
+	/**
+	 * Reads the spellings people actually type: {@code AB+}, {@code ab pos},
+	 * {@code A-ve}, {@code O negative}, {@code 0+}. A trailing space stands for
+	 * {@code +}, since that is what an unencoded {@code +} in a query string
+	 * decodes to. Returns null for blank input.
+	 *
+	 * @throws IllegalArgumentException if the value is not a blood group
+	 */
+	@JsonCreator
+	public static BloodGroup parse(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		String text = value.toUpperCase(Locale.ROOT);
+		boolean trailingSpace = Character.isWhitespace(text.charAt(text.length() - 1));
+		text = text.replaceAll("[\\s_]", "");
+		int split = 0;
+		while (split < text.length() && "AB0O".indexOf(text.charAt(split)) >= 0) {
+			split++;
+		}
+		String abo = text.substring(0, split).replace('0', 'O');
+		String rh = text.substring(split);
+		Boolean positive;
+		if (rh.isEmpty()) {
+			positive = trailingSpace ? Boolean.TRUE : null;
+		} else if (rh.equals("+") || rh.startsWith("POS") || rh.equals("+VE")) {
+			positive = Boolean.TRUE;
+		} else if (rh.equals("-") || rh.startsWith("NEG") || rh.equals("-VE")) {
+			positive = Boolean.FALSE;
+		} else {
+			positive = null;
+		}
+		if (positive != null) {
+			for (BloodGroup group : values()) {
+				if (group.label.equals(abo + (positive ? '+' : '-'))) {
+					return group;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Unknown blood group: " + value);
+	}
+
+	@Override
+	public String toString() {
+		return label;
+	}
+}
@@ -0,0 +1,30 @@
+package com.durgesh.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores {@link BloodGroup} as its label ({@code AB+}) in the existing
+ * varchar column. Rows written before the type existed are parsed leniently;
+ * values that are not a blood group read as null.
+ */
+@Slf4j
+@Converter(autoApply = true)
+public class BloodGroupConverter implements AttributeConverter<BloodGroup, String> {
+
+	@Override
+	public String convertToDatabaseColumn(BloodGroup bloodGroup) {
+		return bloodGroup == null ? null : bloodGroup.getLabel();
+	}
+
+	@Override
+	public BloodGroup convertToEntityAttribute(String value) {
+		try {
+			return BloodGroup.parse(value);
+		} catch (IllegalArgumentException e) {
+			log.warn("Ignoring stored blood group '{}'", value);
+			return null;
+		}
+	}
+}
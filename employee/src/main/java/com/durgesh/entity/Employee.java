@@ -1,5 +1,9 @@
 package com.durgesh.entity;
 
+import com.durgesh.dto.AddressResponse;
+
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,6 +12,8 @@ import lombok.Setter;
 
 
 @Entity
+// UPDATE statements list only the changed columns (see PATCH /employee/{id})
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +27,13 @@ public class Employee {
 	private String name;
 	@Column(unique=true)
 	private String email;
-	private String bloodGroup;
-	
+	private BloodGroup bloodGroup;
+
+	// bumped by every update; drives optimistic locking and the ETag of GET /employee/{id}
+	@Version
+	private long version;
+
+	@Transient
+	private AddressResponse address;
+
 }
@@ -0,0 +1,33 @@
+package com.durgesh.eventbus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes employee changes to the {@code audit.employee} logger, one log call
+ * per batch rather than per event.
+ */
+@Component
+public class AuditEventHandler implements EventHandler<EmployeeEvent> {
+
+	private static final Logger audit = LoggerFactory.getLogger("audit.employee");
+
+	private final StringBuilder batch = new StringBuilder();
+
+	@Override
+	public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+		if (batch.length() > 0) {
+			batch.append('\n');
+		}
+		batch.append(event.getTimestamp()).append(' ').append(event.getType()).append(" employee=")
+				.append(event.getEmployeeId());
+		if (event.getEmail() != null) {
+			batch.append(" email=").append(event.getEmail());
+		}
+		if (endOfBatch) {
+			audit.info("{}", batch);
+			batch.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.durgesh.eventbus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives one {@link EventHandler}: takes every event published since its
+ * last pass in a single batch, then records how far it got so publishers can
+ * reuse those slots. When idle it spins briefly, then yields, then parks.
+ */
+@Slf4j
+public class BatchConsumer<E> implements Runnable {
+
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = 200;
+	private static final long PARK_NANOS = 100_000;
+
+	private final String name;
+	private final RingBuffer<E> ringBuffer;
+	private final EventHandler<E> handler;
+	private final Counter failures;
+	private final AtomicLong sequence = new AtomicLong(-1);
+	private volatile boolean running = true;
+
+	public BatchConsumer(String name, RingBuffer<E> ringBuffer, EventHandler<E> handler, Counter failures) {
+		this.name = name;
+		this.ringBuffer = ringBuffer;
+		this.handler = handler;
+		this.failures = failures;
+		ringBuffer.addGatingSequence(sequence);
+	}
+
+	@Override
+	public void run() {
+		long next = sequence.get() + 1;
+		int idle = 0;
+		while (true) {
+			long available = ringBuffer.highestPublished(next, ringBuffer.getCursor());
+			if (available < next) {
+				if (!running) {
+					// stop only once everything published before the stop has been handled
+					break;
+				}
+				idle = idle(idle);
+				continue;
+			}
+			idle = 0;
+			for (long current = next; current <= available; current++) {
+				try {
+					handler.onEvent(ringBuffer.get(current), current, current == available);
+				} catch (Exception e) {
+					failures.increment();
+					log.warn("Event handler {} failed at sequence {}: {}", name, current, e.getMessage());
+				}
+			}
+			sequence.lazySet(available);
+			next = available + 1;
+		}
+	}
+
+	public void halt() {
+		running = false;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getSequence() {
+		return sequence.get();
+	}
+
+	/** Events published but not yet handled. */
+	public long backlog() {
+		return Math.max(0, ringBuffer.getCursor() - sequence.get());
+	}
+
+	private static int idle(int idle) {
+		if (idle < SPIN_TRIES) {
+			Thread.onSpinWait();
+		} else if (idle < SPIN_TRIES + YIELD_TRIES) {
+			Thread.yield();
+		} else {
+			LockSupport.parkNanos(PARK_NANOS);
+			return idle;
+		}
+		return idle + 1;
+	}
+}
@@ -0,0 +1,64 @@
+package com.durgesh.eventbus;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.entity.Employee;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.search.BloodGroupIndex;
+import com.durgesh.shard.ShardedEmployeeStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps {@link BloodGroupIndex} current. Changes are published to readers
+ * once per batch rather than once per event.
+ */
+@Component
+public class BloodGroupIndexEventHandler implements EventHandler<EmployeeEvent> {
+
+	@Autowired
+	private BloodGroupIndex bloodGroupIndex;
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired(required = false)
+	private ShardedEmployeeStore shardedStore;
+
+	@Value("${employee.search.load-chunk:10000}")
+	private int loadChunk;
+
+	// reads only id and blood group; runs before the bus starts, like the search index load
+	@PostConstruct
+	public void load() {
+		if (shardedStore != null) {
+			shardedStore.forEachChunk(loadChunk, rows -> {
+				for (Employee row : rows) {
+					if (row.getBloodGroup() != null) {
+						bloodGroupIndex.put(row.getId(), row.getBloodGroup());
+					}
+				}
+			});
+			bloodGroupIndex.publish();
+			return;
+		}
+		for (EmployeeRepo.IdAndBloodGroup row : employeeRepo.findByBloodGroupIsNotNull()) {
+			bloodGroupIndex.put(row.getId(), row.getBloodGroup());
+		}
+		bloodGroupIndex.publish();
+	}
+
+	@Override
+	public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+		if (event.getType() == EmployeeEvent.Type.DELETED) {
+			bloodGroupIndex.remove(event.getEmployeeId());
+		} else {
+			bloodGroupIndex.put(event.getEmployeeId(), event.getBloodGroup());
+		}
+		if (endOfBatch) {
+			bloodGroupIndex.publish();
+		}
+	}
+}
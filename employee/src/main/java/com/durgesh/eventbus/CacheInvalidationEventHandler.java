@@ -0,0 +1,25 @@
+package com.durgesh.eventbus;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.warmstart.EmployeeHotCache;
+
+/**
+ * Evicts changed employees from the {@link EmployeeHotCache}, the only
+ * per-employee cache here; this also covers writes made outside the request
+ * path (purges).
+ */
+@Component
+public class CacheInvalidationEventHandler implements EventHandler<EmployeeEvent> {
+
+	@Autowired
+	private EmployeeHotCache hotCache;
+
+	@Override
+	public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+		if (event.getType() != EmployeeEvent.Type.CREATED) {
+			hotCache.evict(event.getEmployeeId());
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.durgesh.eventbus;
+
+import com.durgesh.entity.BloodGroup;
+
+import lombok.Getter;
+
+/**
+ * Ring slot for employee domain events. Instances are allocated once with
+ * the ring and overwritten by each publish.
+ */
+@Getter
+public class EmployeeEvent {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	private Type type;
+	private Long employeeId;
+	private String name;
+	private String email;
+	private BloodGroup bloodGroup;
+	private long timestamp;
+
+	void set(Type type, Long employeeId, String name, String email, BloodGroup bloodGroup) {
+		this.type = type;
+		this.employeeId = employeeId;
+		this.name = name;
+		this.email = email;
+		this.bloodGroup = bloodGroup;
+		this.timestamp = System.currentTimeMillis();
+	}
+}
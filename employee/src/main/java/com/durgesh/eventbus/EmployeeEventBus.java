@@ -0,0 +1,103 @@
+package com.durgesh.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process bus for employee domain events. Publishing copies a few fields
+ * into a preallocated ring slot; audit, cache invalidation and search
+ * indexing run later on one thread per handler, so the request thread does
+ * not pay for them.
+ */
+@Slf4j
+public class EmployeeEventBus implements AutoCloseable {
+
+	private final RingBuffer<EmployeeEvent> ringBuffer;
+	private final List<BatchConsumer<EmployeeEvent>> consumers = new ArrayList<>();
+	private final List<Thread> threads = new ArrayList<>();
+	private final Counter created;
+	private final Counter updated;
+	private final Counter deleted;
+
+	public EmployeeEventBus(int bufferSize, List<EventHandler<EmployeeEvent>> handlers, MeterRegistry meterRegistry) {
+		this.ringBuffer = new RingBuffer<>(bufferSize, EmployeeEvent::new);
+		this.created = meterRegistry.counter("employee.events.published", "type", "created");
+		this.updated = meterRegistry.counter("employee.events.published", "type", "updated");
+		this.deleted = meterRegistry.counter("employee.events.published", "type", "deleted");
+		Gauge.builder("employee.events.remaining", ringBuffer, RingBuffer::remainingCapacity).register(meterRegistry);
+		for (EventHandler<EmployeeEvent> handler : handlers) {
+			String name = handler.getClass().getSimpleName();
+			BatchConsumer<EmployeeEvent> consumer = new BatchConsumer<>(name, ringBuffer, handler,
+					meterRegistry.counter("employee.events.failures", "handler", name));
+			Gauge.builder("employee.events.backlog", consumer, BatchConsumer::backlog)
+					.tag("handler", name)
+					.register(meterRegistry);
+			consumers.add(consumer);
+		}
+	}
+
+	public synchronized void start() {
+		if (!threads.isEmpty()) {
+			return;
+		}
+		for (BatchConsumer<EmployeeEvent> consumer : consumers) {
+			Thread thread = new Thread(consumer, "employee-events-" + consumer.getName());
+			thread.setDaemon(true);
+			thread.start();
+			threads.add(thread);
+		}
+	}
+
+	public void publishCreated(Employee employee) {
+		publish(EmployeeEvent.Type.CREATED, employee.getId(), employee.getName(), employee.getEmail(),
+				employee.getBloodGroup());
+		created.increment();
+	}
+
+	public void publishUpdated(Employee employee) {
+		publish(EmployeeEvent.Type.UPDATED, employee.getId(), employee.getName(), employee.getEmail(),
+				employee.getBloodGroup());
+		updated.increment();
+	}
+
+	public void publishDeleted(Long employeeId) {
+		publish(EmployeeEvent.Type.DELETED, employeeId, null, null, null);
+		deleted.increment();
+	}
+
+	private void publish(EmployeeEvent.Type type, Long id, String name, String email, BloodGroup bloodGroup) {
+		long sequence = ringBuffer.next();
+		try {
+			ringBuffer.get(sequence).set(type, id, name, email, bloodGroup);
+		} finally {
+			ringBuffer.publish(sequence);
+		}
+	}
+
+	/** Lets the handlers finish what was published, then stops their threads. */
+	@Override
+	public synchronized void close() {
+		consumers.forEach(BatchConsumer::halt);
+		for (Thread thread : threads) {
+			try {
+				thread.join(TimeUnit.SECONDS.toMillis(5));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (thread.isAlive()) {
+				log.warn("{} did not drain in time", thread.getName());
+			}
+		}
+		threads.clear();
+	}
+}
@@ -0,0 +1,21 @@
+package com.durgesh.eventbus;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class EventBusConfig {
+
+	@Bean(destroyMethod = "close")
+	public EmployeeEventBus employeeEventBus(List<EventHandler<EmployeeEvent>> handlers, MeterRegistry meterRegistry,
+			@Value("${employee.events.buffer-size:4096}") int bufferSize) {
+		EmployeeEventBus bus = new EmployeeEventBus(bufferSize, handlers, meterRegistry);
+		bus.start();
+		return bus;
+	}
+}
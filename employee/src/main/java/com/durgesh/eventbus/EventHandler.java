@@ -0,0 +1,15 @@
+package com.durgesh.eventbus;
+
+/**
+ * Consumer of ring buffer events. Runs on its own thread and sees every
+ * event in publish order. The event object is a reused ring slot: copy what
+ * you need, do not keep the reference.
+ */
+public interface EventHandler<E> {
+
+	/**
+	 * @param endOfBatch true for the last event currently available, the
+	 *                   point to flush anything buffered
+	 */
+	void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+}
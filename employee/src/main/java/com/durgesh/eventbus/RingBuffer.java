@@ -0,0 +1,119 @@
+package com.durgesh.eventbus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size ring of preallocated event slots.
+ * <p>
+ * Publishers claim a sequence with {@link #next()}, fill the slot from
+ * {@link #get(long)} in place and make it visible with
+ * {@link #publish(long)}; nothing is allocated per event. Claiming is one
+ * atomic increment, so any number of request threads can publish
+ * concurrently. Each consumer tracks its own sequence, and a publisher only
+ * waits when it would overwrite a slot the slowest consumer has not read
+ * yet.
+ */
+public class RingBuffer<E> {
+
+	private final Object[] entries;
+	private final int mask;
+	private final int bufferSize;
+	/** Highest sequence claimed by a publisher. */
+	private final AtomicLong cursor = new AtomicLong(-1);
+	/** Sequence last published into each slot; a slot is readable when it holds the sequence asked for. */
+	private final AtomicLongArray published;
+	private final List<AtomicLong> gatingSequences = new CopyOnWriteArrayList<>();
+	private volatile long cachedGatingSequence = -1;
+
+	public RingBuffer(int bufferSize, Supplier<E> factory) {
+		if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+			throw new IllegalArgumentException("bufferSize must be a power of 2: " + bufferSize);
+		}
+		this.bufferSize = bufferSize;
+		this.mask = bufferSize - 1;
+		this.entries = new Object[bufferSize];
+		this.published = new AtomicLongArray(bufferSize);
+		for (int i = 0; i < bufferSize; i++) {
+			entries[i] = factory.get();
+			published.set(i, -1);
+		}
+	}
+
+	/** Consumer sequences that publishers must not lap. */
+	public void addGatingSequence(AtomicLong sequence) {
+		gatingSequences.add(sequence);
+	}
+
+	public void removeGatingSequence(AtomicLong sequence) {
+		gatingSequences.remove(sequence);
+	}
+
+	/** Claims the next slot, waiting while the ring is full. */
+	public long next() {
+		long sequence = cursor.incrementAndGet();
+		long wrapPoint = sequence - bufferSize;
+		if (wrapPoint > cachedGatingSequence) {
+			long minimum;
+			while (wrapPoint > (minimum = minimumGatingSequence(sequence))) {
+				LockSupport.parkNanos(1_000);
+			}
+			cachedGatingSequence = minimum;
+		}
+		return sequence;
+	}
+
+	@SuppressWarnings("unchecked")
+	public E get(long sequence) {
+		return (E) entries[(int) sequence & mask];
+	}
+
+	public void publish(long sequence) {
+		// release store: the slot's contents become visible before the sequence does
+		published.lazySet((int) sequence & mask, sequence);
+	}
+
+	public boolean isPublished(long sequence) {
+		return published.get((int) sequence & mask) == sequence;
+	}
+
+	/**
+	 * Highest sequence in {@code [lowerBound, upperBound]} up to which every
+	 * slot is published. Publishers finish out of order, so a later slot can
+	 * be ready while an earlier one is still being filled.
+	 */
+	public long highestPublished(long lowerBound, long upperBound) {
+		for (long sequence = lowerBound; sequence <= upperBound; sequence++) {
+			if (!isPublished(sequence)) {
+				return sequence - 1;
+			}
+		}
+		return upperBound;
+	}
+
+	public long getCursor() {
+		return cursor.get();
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/** Slots a publisher can claim without waiting. */
+	public long remainingCapacity() {
+		long cursorValue = cursor.get();
+		return bufferSize - (cursorValue - minimumGatingSequence(cursorValue));
+	}
+
+	private long minimumGatingSequence(long defaultValue) {
+		long minimum = defaultValue;
+		for (AtomicLong sequence : gatingSequences) {
+			minimum = Math.min(minimum, sequence.get());
+		}
+		return minimum;
+	}
+}
@@ -0,0 +1,123 @@
+package com.durgesh.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.entity.Employee;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.search.EmployeeSearchIndex;
+import com.durgesh.shard.ShardedEmployeeStore;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SearchIndexEventHandler implements EventHandler<EmployeeEvent> {
+
+	@Autowired
+	private EmployeeSearchIndex searchIndex;
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired(required = false)
+	private ShardedEmployeeStore shardedStore;
+
+	@Value("${employee.search.load-threads:4}")
+	private int loadThreads;
+
+	@Value("${employee.search.load-chunk:10000}")
+	private int loadChunk;
+
+	// initial load runs before the web server takes traffic, so no event can be published ahead of it
+	@PostConstruct
+	public void load() {
+		Gauge.builder("employee.search.documents", searchIndex, EmployeeSearchIndex::size).register(meterRegistry);
+		Gauge.builder("employee.search.postings.bytes", searchIndex, EmployeeSearchIndex::postingsBytes)
+				.register(meterRegistry);
+		if (shardedStore != null) {
+			loadFromShards();
+			return;
+		}
+		Long minId = employeeRepo.findMinId();
+		Long maxId = employeeRepo.findMaxId();
+		if (minId == null || maxId == null) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		AtomicInteger threadIds = new AtomicInteger();
+		ExecutorService loaders = Executors.newFixedThreadPool(loadThreads, runnable -> {
+			Thread thread = new Thread(runnable, "employee-search-load-" + threadIds.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			// each slice is queried and tokenized on its own thread; the index is then built in one pass
+			List<Future<List<EmployeeSearchIndex.Document>>> slices = new ArrayList<>();
+			for (long from = minId; from <= maxId; from += loadChunk) {
+				long to = Math.min(maxId, from + loadChunk - 1);
+				long sliceFrom = from;
+				slices.add(loaders.submit(() -> documents(employeeRepo.findSearchFields(sliceFrom, to))));
+			}
+			List<EmployeeSearchIndex.Document> documents = new ArrayList<>();
+			for (Future<List<EmployeeSearchIndex.Document>> slice : slices) {
+				documents.addAll(slice.get());
+			}
+			searchIndex.build(documents);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading the search index", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not load the search index", e.getCause());
+		} finally {
+			loaders.shutdownNow();
+		}
+		log.info("Search index loaded {} employees in {} ms", searchIndex.size(), System.currentTimeMillis() - start);
+	}
+
+	// the rows live on the shards, not in the primary table the id slices above read
+	private void loadFromShards() {
+		long start = System.currentTimeMillis();
+		List<EmployeeSearchIndex.Document> documents = new ArrayList<>();
+		shardedStore.forEachChunk(loadChunk, rows -> {
+			for (Employee row : rows) {
+				documents.add(EmployeeSearchIndex.document(row.getId(), row.getName(), row.getEmail()));
+			}
+		});
+		searchIndex.build(documents);
+		log.info("Search index loaded {} employees from shards in {} ms", searchIndex.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	private static List<EmployeeSearchIndex.Document> documents(List<EmployeeRepo.SearchFields> rows) {
+		List<EmployeeSearchIndex.Document> documents = new ArrayList<>(rows.size());
+		for (EmployeeRepo.SearchFields row : rows) {
+			documents.add(EmployeeSearchIndex.document(row.getId(), row.getName(), row.getEmail()));
+		}
+		return documents;
+	}
+
+	@Override
+	public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+		if (event.getType() == EmployeeEvent.Type.DELETED) {
+			searchIndex.remove(event.getEmployeeId());
+		} else {
+			searchIndex.index(event.getEmployeeId(), event.getName(), event.getEmail());
+		}
+	}
+}
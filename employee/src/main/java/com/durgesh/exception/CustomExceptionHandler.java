@@ -1,6 +1,8 @@
 package com.durgesh.exception;
 
+import com.durgesh.deadline.DeadlineExceededException;
 import com.durgesh.response.CustomResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.crossstore.ChangeSetPersister;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +34,16 @@ public class CustomExceptionHandler extends CustomResponse {
     public ResponseEntity<?> missingPathVariableException() {
         return response("@PathVariable Incorrect", HttpStatus.INTERNAL_SERVER_ERROR, "500");
     }
+    // someone else updated the row since it was read (@Version mismatch)
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<?> optimisticLockingFailureException() {
+        return response("Record Changed By Another Request", HttpStatus.CONFLICT, "409");
+    }
+    // the caller's deadline ran out while this request waited on another one's load
+    @ExceptionHandler(value = DeadlineExceededException.class)
+    public ResponseEntity<?> deadlineExceededException() {
+        return response("Request Deadline Exceeded", HttpStatus.GATEWAY_TIMEOUT, "504");
+    }
     @ExceptionHandler(value = HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<?> httpRequestMethodNotSupportedException() {
         return response("Request Method Not Allowed", HttpStatus.METHOD_NOT_ALLOWED, "405");
@@ -0,0 +1,141 @@
+package com.durgesh.purge;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.Impl.EmployeeImpl;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes every employee in id-ordered chunks on a background thread. Each
+ * chunk reads the next {@code chunk-size} ids and deletes that id range in
+ * its own short transaction, so no entity is loaded, locks are held briefly
+ * and a failure leaves finished chunks deleted. Only rows that existed when
+ * the purge started are removed. Deleted ids go out on the event bus, which
+ * evicts them from the hot cache and the search and blood group indexes.
+ */
+@Slf4j
+@Component
+public class EmployeePurger {
+
+	private static final int KEPT_JOBS = 10;
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EmployeeEventBus employeeEventBus;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ResponseCache responseCache;
+
+	@Value("${employee.purge.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${employee.purge.pause-ms:0}")
+	private long pauseMs;
+
+	private final Map<Long, PurgeJob> jobs = new ConcurrentHashMap<>();
+	private final AtomicLong jobIds = new AtomicLong();
+	private volatile PurgeJob current;
+	private ExecutorService executor;
+	private Counter deletedRows;
+
+	@PostConstruct
+	public void init() {
+		executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-purge");
+			thread.setDaemon(true);
+			return thread;
+		});
+		deletedRows = meterRegistry.counter("employee.purge.deleted");
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/** Starts a purge, or returns the one already running. */
+	public synchronized PurgeJob start() {
+		PurgeJob running = current;
+		if (running != null && running.isRunning()) {
+			return running;
+		}
+		Long upToId = employeeRepo.findMaxId();
+		PurgeJob job = new PurgeJob(jobIds.incrementAndGet(), upToId == null ? 0 : upToId, employeeRepo.count());
+		jobs.put(job.getId(), job);
+		jobs.keySet().removeIf(id -> id <= job.getId() - KEPT_JOBS);
+		current = job;
+		executor.execute(() -> run(job));
+		return job;
+	}
+
+	public PurgeJob get(long id) {
+		return jobs.get(id);
+	}
+
+	public PurgeJob latest() {
+		return current;
+	}
+
+	private void run(PurgeJob job) {
+		long after = 0;
+		try {
+			while (true) {
+				if (Thread.currentThread().isInterrupted()) {
+					job.finish(PurgeJob.State.CANCELLED, null);
+					return;
+				}
+				List<Long> ids = employeeRepo.findIdsInRange(after, job.getUpToId(), PageRequest.ofSize(chunkSize));
+				if (ids.isEmpty()) {
+					break;
+				}
+				long from = ids.get(0);
+				long to = ids.get(ids.size() - 1);
+				Integer rows = transactionTemplate.execute(status -> employeeRepo.deleteIdRange(from, to));
+				job.deleted(rows == null ? 0 : rows);
+				deletedRows.increment(rows == null ? 0 : rows);
+				responseCache.invalidate(EmployeeImpl.EMPLOYEE_RESPONSES);
+				ids.forEach(employeeEventBus::publishDeleted);
+				after = to;
+				if (pauseMs > 0) {
+					TimeUnit.MILLISECONDS.sleep(pauseMs);
+				}
+			}
+			job.finish(PurgeJob.State.COMPLETED, null);
+			log.info("Purge {} deleted {} employees", job.getId(), job.getDeleted());
+		} catch (InterruptedException e) {
+			job.finish(PurgeJob.State.CANCELLED, null);
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			log.warn("Purge {} failed after {} rows", job.getId(), job.getDeleted(), e);
+			job.finish(PurgeJob.State.FAILED, e.getMessage());
+		}
+	}
+}
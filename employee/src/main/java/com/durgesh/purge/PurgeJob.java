@@ -0,0 +1,57 @@
+package com.durgesh.purge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/** Progress of one background purge, as reported by {@code /employee/purge}. */
+@Getter
+public class PurgeJob {
+
+	public enum State {
+		RUNNING, COMPLETED, FAILED, CANCELLED
+	}
+
+	private final long id;
+	private final long upToId;
+	private final long estimatedRows;
+	private final long startedAt = System.currentTimeMillis();
+	private final AtomicLong deleted = new AtomicLong();
+	private volatile State state = State.RUNNING;
+	private volatile long finishedAt;
+	private volatile String error;
+
+	PurgeJob(long id, long upToId, long estimatedRows) {
+		this.id = id;
+		this.upToId = upToId;
+		this.estimatedRows = estimatedRows;
+	}
+
+	public long getDeleted() {
+		return deleted.get();
+	}
+
+	public int getPercent() {
+		if (state == State.COMPLETED) {
+			return 100;
+		}
+		if (estimatedRows == 0) {
+			return 0;
+		}
+		return (int) Math.min(99, deleted.get() * 100 / estimatedRows);
+	}
+
+	public boolean isRunning() {
+		return state == State.RUNNING;
+	}
+
+	void deleted(int rows) {
+		deleted.addAndGet(rows);
+	}
+
+	void finish(State state, String error) {
+		this.error = error;
+		this.finishedAt = System.currentTimeMillis();
+		this.state = state;
+	}
+}
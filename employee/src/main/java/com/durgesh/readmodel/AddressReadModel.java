@@ -0,0 +1,174 @@
+package com.durgesh.readmodel;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.events.AddressChangeEvent;
+import com.durgesh.events.EventLog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local copy of every address, kept up to date from the address change
+ * event log. Once it has read address-service's
+ * {@link AddressChangeEvent.Type#BACKFILLED} marker and caught up with the
+ * log it answers lookups on its own, absent ids included, so reading an
+ * employee needs no call to address-service. Until then {@link #isReady()}
+ * is false and callers should go to address-service; an empty or partial
+ * log (publisher not started yet, backfill still running) is not a view.
+ * <p>
+ * The view lives on the heap and is rebuilt by replaying the log from the
+ * start on every boot; {@link #replay()} does the same on demand.
+ */
+@Slf4j
+public class AddressReadModel implements AutoCloseable {
+
+	private final EventLog eventLog;
+	private final int batchSize;
+	private final Map<Long, AddressResponse> addresses = new ConcurrentHashMap<>();
+	private final Counter applied;
+	private final Counter failures;
+	private final Timer propagation;
+
+	private volatile long appliedOffset;
+	private volatile boolean backfilled;
+	private volatile boolean ready;
+	private ScheduledExecutorService poller;
+
+	public AddressReadModel(EventLog eventLog, int batchSize, MeterRegistry meterRegistry) {
+		this.eventLog = eventLog;
+		this.batchSize = batchSize;
+		this.applied = meterRegistry.counter("address.view.applied");
+		this.failures = meterRegistry.counter("address.view.poll.failures");
+		// commit on address-service to applied here
+		this.propagation = Timer.builder("address.view.propagation").register(meterRegistry);
+		Gauge.builder("address.view.size", addresses, Map::size).register(meterRegistry);
+		Gauge.builder("address.view.offset", this, AddressReadModel::getAppliedOffset).register(meterRegistry);
+		Gauge.builder("address.view.lag.events", this, AddressReadModel::lagEvents).register(meterRegistry);
+		Gauge.builder("address.view.ready", this, model -> model.isReady() ? 1 : 0).register(meterRegistry);
+	}
+
+	/** Catches up in the background, then keeps polling the log. */
+	public synchronized void start(long pollIntervalMs) {
+		if (poller != null) {
+			return;
+		}
+		poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "address-view");
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller.scheduleWithFixedDelay(this::pollQuietly, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public synchronized void close() {
+		if (poller != null) {
+			poller.shutdownNow();
+			poller = null;
+		}
+	}
+
+	/**
+	 * Applies everything appended since the last poll.
+	 *
+	 * @return the number of events applied
+	 */
+	public synchronized int poll() throws IOException {
+		int total = 0;
+		List<AddressChangeEvent> events;
+		do {
+			events = eventLog.read(appliedOffset, batchSize);
+			for (AddressChangeEvent event : events) {
+				apply(event);
+			}
+			total += events.size();
+		} while (events.size() == batchSize);
+		if (!ready && backfilled) {
+			ready = true;
+			log.info("Address view caught up at offset {} with {} addresses", appliedOffset, addresses.size());
+		}
+		return total;
+	}
+
+	/** Drops the view and rebuilds it from the start of the log. */
+	public synchronized int replay() throws IOException {
+		ready = false;
+		backfilled = false;
+		addresses.clear();
+		appliedOffset = 0;
+		return poll();
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/** The address, or null when it does not exist; only meaningful once {@link #isReady()}. */
+	public AddressResponse find(Long id) {
+		return addresses.get(id);
+	}
+
+	public long getAppliedOffset() {
+		return appliedOffset;
+	}
+
+	public int size() {
+		return addresses.size();
+	}
+
+	public long lagEvents() {
+		try {
+			return Math.max(0, eventLog.endOffset() - appliedOffset);
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	private void apply(AddressChangeEvent event) {
+		if (event.getOffset() <= appliedOffset) {
+			return;
+		}
+		if (event.getType() == AddressChangeEvent.Type.BACKFILLED) {
+			backfilled = true;
+		} else if (event.getType() == AddressChangeEvent.Type.DELETED) {
+			addresses.remove(event.getAddressId());
+		} else {
+			addresses.put(event.getAddressId(), toResponse(event));
+		}
+		appliedOffset = event.getOffset();
+		applied.increment();
+		if (ready) {
+			// during catch-up this would only measure how old the log is
+			propagation.record(Math.max(0, System.currentTimeMillis() - event.getOccurredAt()), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void pollQuietly() {
+		try {
+			poll();
+		} catch (Exception e) {
+			failures.increment();
+			log.warn("Reading address events failed at offset {}: {}", appliedOffset, e.getMessage());
+		}
+	}
+
+	private static AddressResponse toResponse(AddressChangeEvent event) {
+		AddressResponse response = new AddressResponse();
+		response.setLine1(event.getLine1());
+		response.setLine2(event.getLine2());
+		response.setState(event.getState());
+		response.setZip(event.getZip());
+		return response;
+	}
+}
@@ -0,0 +1,33 @@
+package com.durgesh.readmodel;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.durgesh.events.FileEventLog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "address.view.enabled", havingValue = "true")
+public class AddressReadModelConfig {
+
+	/** The log address-service publishes its outbox to; this service only reads it. */
+	@Bean(destroyMethod = "close")
+	public FileEventLog addressEventLog(@Value("${address.events.log-path}") String path) throws IOException {
+		return new FileEventLog(Paths.get(path));
+	}
+
+	@Bean(destroyMethod = "close")
+	public AddressReadModel addressReadModel(FileEventLog addressEventLog, MeterRegistry meterRegistry,
+			@Value("${address.view.batch-size:1000}") int batchSize,
+			@Value("${address.view.poll-interval-ms:200}") long pollIntervalMs) {
+		AddressReadModel readModel = new AddressReadModel(addressEventLog, batchSize, meterRegistry);
+		readModel.start(pollIntervalMs);
+		return readModel;
+	}
+}
@@ -1,10 +1,77 @@
 package com.durgesh.repo;
 
+import com.durgesh.entity.BloodGroup;
 import com.durgesh.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface EmployeeRepo extends JpaRepository<Employee, Long> {
     Employee findByEmail(String email);
+
+    // one round trip to find which emails of a write-behind group are already taken
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // answers If-None-Match without reading the row
+    @Query("select e.version from Employee e where e.id = :id")
+    Long findVersionById(@Param("id") Long id);
+
+    // checks a warm-start snapshot against the table a chunk at a time
+    @Query("select e.id as id, e.version as version from Employee e where e.id in :ids")
+    List<IdAndVersion> findVersions(@Param("ids") Collection<Long> ids);
+
+    interface IdAndVersion {
+        Long getId();
+
+        long getVersion();
+    }
+
+    // projection for building the blood group index without loading whole employees
+    List<IdAndBloodGroup> findByBloodGroupIsNotNull();
+
+    interface IdAndBloodGroup {
+        Long getId();
+
+        BloodGroup getBloodGroup();
+    }
+
+    // id-range slices of the searchable fields, read in parallel when the search index is built
+    @Query("select e.id as id, e.name as name, e.email as email from Employee e where e.id between :from and :to")
+    List<SearchFields> findSearchFields(@Param("from") long from, @Param("to") long to);
+
+    interface SearchFields {
+        Long getId();
+
+        String getName();
+
+        String getEmail();
+    }
+
+    // bulk deletes below go straight to the database; nothing is loaded into the persistence context
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Employee e where e.id between :from and :to")
+    int deleteIdRange(@Param("from") long from, @Param("to") long to);
+
+    @Query("select e.id from Employee e where e.id > :after and e.id <= :upTo order by e.id")
+    List<Long> findIdsInRange(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("select max(e.id) from Employee e")
+    Long findMaxId();
+
+    @Query("select min(e.id) from Employee e")
+    Long findMinId();
 }
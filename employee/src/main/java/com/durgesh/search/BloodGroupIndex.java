@@ -0,0 +1,110 @@
+package com.durgesh.search;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.entity.BloodGroup;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Employee ids per blood group as compressed (Roaring) bitmaps, kept current
+ * by {@link com.durgesh.eventbus.BloodGroupIndexEventHandler}. Donor lookups
+ * OR together the bitmaps of the compatible groups, so they cost a few
+ * microseconds regardless of table size.
+ * <p>
+ * One writer mutates private bitmaps; {@link #publish()} hands readers
+ * copies of the groups that changed, so queries never take a lock.
+ * Ids must fit in an int, which identity columns do in practice.
+ */
+@Component
+public class BloodGroupIndex {
+
+	private static final BloodGroup[] GROUPS = BloodGroup.values();
+
+	private final RoaringBitmap[] working = new RoaringBitmap[GROUPS.length];
+	private final boolean[] dirty = new boolean[GROUPS.length];
+	private volatile RoaringBitmap[] published = new RoaringBitmap[GROUPS.length];
+
+	public BloodGroupIndex() {
+		for (int i = 0; i < GROUPS.length; i++) {
+			working[i] = new RoaringBitmap();
+			published[i] = new RoaringBitmap();
+		}
+	}
+
+	/** Files the employee under {@code group}, or under none when it is null. */
+	public synchronized void put(Long id, BloodGroup group) {
+		int key = Math.toIntExact(id);
+		for (BloodGroup other : GROUPS) {
+			if (other != group && working[other.ordinal()].checkedRemove(key)) {
+				dirty[other.ordinal()] = true;
+			}
+		}
+		if (group != null && working[group.ordinal()].checkedAdd(key)) {
+			dirty[group.ordinal()] = true;
+		}
+	}
+
+	public void remove(Long id) {
+		put(id, null);
+	}
+
+	/** Makes changes since the last publish visible to queries. */
+	public synchronized void publish() {
+		RoaringBitmap[] next = published.clone();
+		for (int i = 0; i < GROUPS.length; i++) {
+			if (dirty[i]) {
+				working[i].runOptimize();
+				next[i] = working[i].clone();
+				dirty[i] = false;
+			}
+		}
+		published = next;
+	}
+
+	/** Page of employee ids, ascending, that can donate to {@code recipient}. */
+	public DonorMatch findDonors(BloodGroup recipient, int page, int size) {
+		RoaringBitmap[] snapshot = published;
+		List<RoaringBitmap> compatible = new ArrayList<>();
+		for (BloodGroup donor : recipient.donors()) {
+			compatible.add(snapshot[donor.ordinal()]);
+		}
+		RoaringBitmap union = FastAggregation.or(compatible.iterator());
+		int total = union.getCardinality();
+		long offset = (long) page * size;
+		List<Long> ids = new ArrayList<>(Math.min(size, Math.max(0, total)));
+		if (offset < total) {
+			PeekableIntIterator iterator = union.getIntIterator();
+			iterator.advanceIfNeeded(union.select((int) offset));
+			while (iterator.hasNext() && ids.size() < size) {
+				ids.add((long) iterator.next());
+			}
+		}
+		return new DonorMatch(total, ids);
+	}
+
+	public Map<BloodGroup, Integer> counts() {
+		RoaringBitmap[] snapshot = published;
+		Map<BloodGroup, Integer> counts = new EnumMap<>(BloodGroup.class);
+		for (BloodGroup group : GROUPS) {
+			counts.put(group, snapshot[group.ordinal()].getCardinality());
+		}
+		return counts;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static final class DonorMatch {
+		private final int total;
+		private final List<Long> ids;
+	}
+}
@@ -0,0 +1,278 @@
+package com.durgesh.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+/**
+ * Trigram inverted index over employee names and the local part of their
+ * email, kept current by {@link com.durgesh.eventbus.SearchIndexEventHandler}.
+ * Each trigram maps to a sorted int array of employee ids; a query merges
+ * the arrays of its own trigrams and ranks employees by the share of query
+ * trigrams they contain, which tolerates typos and partial names.
+ * <p>
+ * Words are padded in front, so the start of a name weighs more than its
+ * middle, and queries are not padded at the end, so a half-typed name still
+ * matches fully. Email domains are left out: every employee shares them.
+ * Fields are cut at {@value #MAX_FIELD_LENGTH} characters to bound memory.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+	static final int MAX_FIELD_LENGTH = 64;
+
+	private static final Comparator<Match> RANK = Comparator.comparingDouble(Match::getScore)
+			.thenComparingDouble(match -> match.closeness)
+			.thenComparing(Comparator.comparingLong(Match::getId).reversed());
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<Long, Postings> postings = new HashMap<>();
+	private Map<Integer, long[]> documents = new HashMap<>();
+
+	/** Trigrams of one employee, computed without holding the index lock. */
+	public static final class Document {
+		private final int id;
+		private final long[] grams;
+
+		Document(int id, long[] grams) {
+			this.id = id;
+			this.grams = grams;
+		}
+	}
+
+	public static final class Match {
+		@Getter
+		private final long id;
+		@Getter
+		private final double score;
+		private final double closeness;
+
+		Match(long id, double score, double closeness) {
+			this.id = id;
+			this.score = score;
+			this.closeness = closeness;
+		}
+	}
+
+	public static Document document(Long id, String name, String email) {
+		int at = email == null ? -1 : email.indexOf('@');
+		String local = at < 0 ? email : email.substring(0, at);
+		return new Document(Math.toIntExact(id), grams(true, name, local));
+	}
+
+	public void index(Long id, String name, String email) {
+		Document document = document(id, name, email);
+		lock.writeLock().lock();
+		try {
+			removeLocked(document.id);
+			documents.put(document.id, document.grams);
+			for (long gram : document.grams) {
+				postings.computeIfAbsent(gram, key -> new Postings()).add(document.id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(Math.toIntExact(id));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the whole index. Building happens outside the lock with ids in
+	 * ascending order, so every posting list is filled by appends and then
+	 * trimmed to size.
+	 */
+	public void build(List<Document> batch) {
+		List<Document> sorted = new ArrayList<>(batch);
+		sorted.sort(Comparator.comparingInt(document -> document.id));
+		Map<Long, Postings> nextPostings = new HashMap<>();
+		Map<Integer, long[]> nextDocuments = new HashMap<>(sorted.size() * 2);
+		for (Document document : sorted) {
+			nextDocuments.put(document.id, document.grams);
+			for (long gram : document.grams) {
+				nextPostings.computeIfAbsent(gram, key -> new Postings()).add(document.id);
+			}
+		}
+		nextPostings.values().forEach(Postings::trim);
+		lock.writeLock().lock();
+		try {
+			postings = nextPostings;
+			documents = nextDocuments;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		build(Collections.emptyList());
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Approximate heap held by the posting arrays. */
+	public long postingsBytes() {
+		lock.readLock().lock();
+		try {
+			long bytes = 0;
+			for (Postings list : postings.values()) {
+				bytes += list.bytes();
+			}
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Best {@code limit} employees containing at least {@code minScore} of the
+	 * query's trigrams, best first. Ties go to the employee whose own text is
+	 * closest in length to the query, then to the lower id.
+	 */
+	public List<Match> search(String query, int limit, double minScore) {
+		long[] queryGrams = grams(false, query);
+		if (queryGrams.length == 0 || limit <= 0) {
+			return Collections.emptyList();
+		}
+		int needed = Math.max(1, (int) Math.ceil(minScore * queryGrams.length));
+		PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANK);
+		lock.readLock().lock();
+		try {
+			List<Postings> lists = new ArrayList<>(queryGrams.length);
+			for (long gram : queryGrams) {
+				Postings list = postings.get(gram);
+				if (list != null) {
+					lists.add(list);
+				}
+			}
+			if (lists.size() < needed) {
+				return Collections.emptyList();
+			}
+			// an id needs `needed` lists, so it must be in one of the shortest size - needed + 1 of them:
+			// merge those to find candidates, then binary search the long, common trigrams' lists
+			lists.sort(Comparator.comparingInt(Postings::size));
+			int merged = lists.size() - needed + 1;
+			int[] cursors = new int[merged];
+			while (true) {
+				int id = Integer.MAX_VALUE;
+				boolean found = false;
+				for (int i = 0; i < merged; i++) {
+					Postings list = lists.get(i);
+					if (cursors[i] < list.size() && list.get(cursors[i]) <= id) {
+						id = list.get(cursors[i]);
+						found = true;
+					}
+				}
+				if (!found) {
+					break;
+				}
+				int common = 0;
+				for (int i = 0; i < merged; i++) {
+					Postings list = lists.get(i);
+					if (cursors[i] < list.size() && list.get(cursors[i]) == id) {
+						cursors[i]++;
+						common++;
+					}
+				}
+				for (int i = merged; i < lists.size() && common + lists.size() - i >= needed; i++) {
+					if (lists.get(i).contains(id)) {
+						common++;
+					}
+				}
+				if (common >= needed) {
+					double score = (double) common / queryGrams.length;
+					double closeness = 2.0 * common / (queryGrams.length + documents.get(id).length);
+					Match worst = best.size() < limit ? null : best.peek();
+					if (worst == null || score > worst.score || (score == worst.score && closeness > worst.closeness)) {
+						best.offer(new Match(id, score, closeness));
+						if (best.size() > limit) {
+							best.poll();
+						}
+					}
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		List<Match> matches = new ArrayList<>(best);
+		matches.sort(RANK.reversed());
+		return matches;
+	}
+
+	private void removeLocked(int id) {
+		long[] grams = documents.remove(id);
+		if (grams == null) {
+			return;
+		}
+		for (long gram : grams) {
+			Postings list = postings.get(gram);
+			if (list != null && list.remove(id) && list.size() == 0) {
+				postings.remove(gram);
+			}
+		}
+	}
+
+	/**
+	 * Distinct, sorted trigrams of every word in {@code fields}, each packed
+	 * into a long (three 16-bit chars). Words get two leading spaces, and one
+	 * trailing space when indexing.
+	 */
+	static long[] grams(boolean indexing, String... fields) {
+		long[] grams = new long[16];
+		int count = 0;
+		for (String field : fields) {
+			if (field == null) {
+				continue;
+			}
+			String text = field.toLowerCase(Locale.ROOT);
+			if (text.length() > MAX_FIELD_LENGTH) {
+				text = text.substring(0, MAX_FIELD_LENGTH);
+			}
+			for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+				if (word.isEmpty()) {
+					continue;
+				}
+				String padded = "  " + word + (indexing ? " " : "");
+				for (int i = 0; i + 3 <= padded.length(); i++) {
+					if (count == grams.length) {
+						grams = Arrays.copyOf(grams, count * 2);
+					}
+					grams[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+							| padded.charAt(i + 2);
+				}
+			}
+		}
+		Arrays.sort(grams, 0, count);
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+				grams[distinct++] = grams[i];
+			}
+		}
+		return Arrays.copyOf(grams, distinct);
+	}
+}
@@ -0,0 +1,75 @@
+package com.durgesh.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of document ids held in a plain int array.
+ * Ids usually arrive in increasing order, so adding is an append; the array
+ * shrinks again when removals leave it mostly empty.
+ */
+final class Postings {
+
+	private static final int MIN_CAPACITY = 4;
+
+	private int[] ids = new int[MIN_CAPACITY];
+	private int size;
+
+	void add(int id) {
+		if (size == 0 || ids[size - 1] < id) {
+			ensureCapacity();
+			ids[size++] = id;
+			return;
+		}
+		int index = Arrays.binarySearch(ids, 0, size, id);
+		if (index >= 0) {
+			return;
+		}
+		int insertAt = -index - 1;
+		ensureCapacity();
+		System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+		ids[insertAt] = id;
+		size++;
+	}
+
+	boolean remove(int id) {
+		int index = Arrays.binarySearch(ids, 0, size, id);
+		if (index < 0) {
+			return false;
+		}
+		System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+		size--;
+		if (ids.length > MIN_CAPACITY && size < ids.length / 4) {
+			ids = Arrays.copyOf(ids, Math.max(MIN_CAPACITY, size * 2));
+		}
+		return true;
+	}
+
+	/** Drops spare capacity once a bulk build is done. */
+	void trim() {
+		if (ids.length > size) {
+			ids = Arrays.copyOf(ids, Math.max(1, size));
+		}
+	}
+
+	boolean contains(int id) {
+		return Arrays.binarySearch(ids, 0, size, id) >= 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(int index) {
+		return ids[index];
+	}
+
+	long bytes() {
+		return 16L + 4L * ids.length;
+	}
+
+	private void ensureCapacity() {
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+		}
+	}
+}
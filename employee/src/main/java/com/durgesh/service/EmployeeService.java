@@ -1,7 +1,15 @@
 package com.durgesh.service;
 
+import com.durgesh.dto.DonorPage;
 import com.durgesh.dto.EmployeeDto;
+import com.durgesh.dto.PatchResult;
+import com.durgesh.dto.SearchHit;
+import com.durgesh.entity.BloodGroup;
 import com.durgesh.entity.Employee;
+import com.durgesh.purge.PurgeJob;
+import com.durgesh.writebehind.SaveTicket;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
 
@@ -9,15 +17,48 @@ public interface EmployeeService {
 
 	Employee save(EmployeeDto employeeDto);
 
+	/**
+	 * Queues the save for a grouped insert and returns once it is journaled.
+	 *
+	 * @throws java.util.concurrent.RejectedExecutionException if the queue is full
+	 */
+	SaveTicket saveAsync(EmployeeDto employeeDto);
+
+	/**
+	 * Applies a JSON Merge Patch (RFC 7396) to name, email and bloodGroup.
+	 * {@code expectedVersion} comes from If-Match and may be null.
+	 *
+	 * @throws IllegalArgumentException if the patch is not an object or names an unknown field
+	 */
+	PatchResult patch(Long id, JsonNode patch, Long expectedVersion);
+
 	List<Employee> getAll();
 
+	/** Page of employees in id order. */
+	List<Employee> getPage(int page, int size);
+
 	Employee getById(Long id);
 
-	Employee removeAll();
+	/** ETag of {@link #getById} without loading the employee row; null when there is no such employee. */
+	String currentEtag(Long id);
+
+	/**
+	 * {@link #currentEtag} when the address part can be had without calling
+	 * address-service; null otherwise, and when there is no such employee.
+	 */
+	String localEtag(Long id);
 
-	Employee removeById(Integer id);
+	String etag(Employee employee);
+
+	PurgeJob removeAll();
+
+	boolean removeById(Long id);
 
 	Employee  getByEmail(String email);
+
+	DonorPage getDonors(BloodGroup recipient, int page, int size);
+
+	List<SearchHit> search(String query, int limit);
 	
 	
 }
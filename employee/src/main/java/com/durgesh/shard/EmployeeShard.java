@@ -0,0 +1,36 @@
+package com.durgesh.shard;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Getter;
+
+/** One database holding a slice of the employee table. */
+@Getter
+public class EmployeeShard {
+
+	private final int index;
+	private final String name;
+	private final DataSource dataSource;
+	private final JdbcTemplate jdbc;
+	private final NamedParameterJdbcTemplate namedJdbc;
+	private final TransactionTemplate transactionTemplate;
+
+	public EmployeeShard(int index, String name, DataSource dataSource) {
+		this.index = index;
+		this.name = name;
+		this.dataSource = dataSource;
+		this.jdbc = new JdbcTemplate(dataSource);
+		this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
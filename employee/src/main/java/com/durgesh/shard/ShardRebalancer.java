@@ -0,0 +1,175 @@
+package com.durgesh.shard;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.durgesh.entity.BloodGroupConverter;
+import com.durgesh.entity.Employee;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves rows to the shard the router now assigns them, after a shard has
+ * been appended or the routing key changed. Every shard is walked in id
+ * order, {@code chunkSize} rows at a time; misplaced rows are copied to
+ * their home shard in one transaction there and then deleted from the
+ * source. A crash between the two leaves a copy on both shards, which a
+ * rerun cleans up, and which readers ignore meanwhile.
+ * <p>
+ * The run is claimed in the store's shared rebalance state, so a second
+ * instance asked to rebalance meanwhile reports an error instead of moving
+ * rows too; a claim left by a crashed instance expires.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+	private static final BloodGroupConverter BLOOD_GROUPS = new BloodGroupConverter();
+
+	private final ShardedEmployeeStore store;
+	private final int chunkSize;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "employee-shard-rebalance");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private volatile Report latest;
+
+	public ShardRebalancer(ShardedEmployeeStore store, int chunkSize) {
+		this.store = store;
+		this.chunkSize = chunkSize;
+	}
+
+	/** Progress of one rebalance, as reported by {@code /employee/shards}. */
+	@Getter
+	public static class Report {
+		private final long startedAt = System.currentTimeMillis();
+		private final AtomicLong scanned = new AtomicLong();
+		private final Map<String, AtomicLong> movedTo = new LinkedHashMap<>();
+		private volatile boolean running = true;
+		private volatile long finishedAt;
+		private volatile String error;
+
+		public long getScanned() {
+			return scanned.get();
+		}
+
+		public Map<String, Long> getMovedTo() {
+			return movedTo.entrySet().stream()
+					.collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get(), (a, b) -> a,
+							LinkedHashMap::new));
+		}
+	}
+
+	/** Starts a rebalance in the background, or returns the one already running. */
+	public synchronized Report start() {
+		Report running = latest;
+		if (running != null && running.isRunning()) {
+			return running;
+		}
+		Report report = newReport();
+		latest = report;
+		executor.execute(() -> run(report));
+		return report;
+	}
+
+	/** Rebalances on the calling thread. */
+	public Report rebalance() {
+		Report report = newReport();
+		run(report);
+		return report;
+	}
+
+	public Report latest() {
+		return latest;
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private Report newReport() {
+		Report report = new Report();
+		for (EmployeeShard shard : store.getRouter().getShards()) {
+			report.movedTo.put(shard.getName(), new AtomicLong());
+		}
+		return report;
+	}
+
+	private void run(Report report) {
+		if (!store.startRebalance()) {
+			report.error = "A rebalance is already running on another instance";
+			report.finishedAt = System.currentTimeMillis();
+			report.running = false;
+			return;
+		}
+		try {
+			// until every instance has seen the claim, one may still answer a miss from the home shard alone
+			Thread.sleep(ShardedEmployeeStore.REBALANCE_STATE_REFRESH_MS);
+			for (EmployeeShard source : store.getRouter().getShards()) {
+				long after = 0;
+				while (!Thread.currentThread().isInterrupted()) {
+					if (!store.heartbeatRebalance()) {
+						throw new IllegalStateException("Rebalance claim was taken over by another instance");
+					}
+					List<Employee> rows = store.scan(source, after, chunkSize);
+					if (rows.isEmpty()) {
+						break;
+					}
+					report.scanned.addAndGet(rows.size());
+					Map<EmployeeShard, List<Employee>> misplaced = new LinkedHashMap<>();
+					for (Employee row : rows) {
+						EmployeeShard home = store.getRouter().home(row);
+						if (home != source) {
+							misplaced.computeIfAbsent(home, shard -> new ArrayList<>()).add(row);
+						}
+					}
+					for (Map.Entry<EmployeeShard, List<Employee>> move : misplaced.entrySet()) {
+						int moved = move(source, move.getKey(), move.getValue());
+						report.movedTo.get(move.getKey().getName()).addAndGet(moved);
+					}
+					after = rows.get(rows.size() - 1).getId();
+				}
+			}
+			log.info("Shard rebalance scanned {} rows, moved {}", report.getScanned(), report.getMovedTo());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			report.error = "Interrupted";
+		} catch (RuntimeException e) {
+			log.warn("Shard rebalance failed after {} rows", report.getScanned(), e);
+			report.error = e.getMessage();
+		} finally {
+			store.finishRebalance();
+			report.finishedAt = System.currentTimeMillis();
+			report.running = false;
+		}
+	}
+
+	/** Copies rows the target does not have yet, then deletes them all from the source. */
+	private int move(EmployeeShard source, EmployeeShard target, List<Employee> rows) {
+		List<Long> ids = rows.stream().map(Employee::getId).collect(Collectors.toList());
+		target.getTransactionTemplate().executeWithoutResult(status -> {
+			Set<Long> present = new HashSet<>(target.getNamedJdbc().queryForList(
+					"select id from employee where id in (:ids)", Map.of("ids", ids), Long.class));
+			List<Object[]> inserts = new ArrayList<>();
+			for (Employee row : rows) {
+				if (!present.contains(row.getId())) {
+					inserts.add(new Object[] { row.getId(), row.getName(), row.getEmail(),
+							BLOOD_GROUPS.convertToDatabaseColumn(row.getBloodGroup()), row.getVersion() });
+				}
+			}
+			target.getJdbc().batchUpdate("insert into employee (" + ShardedEmployeeStore.COLUMNS
+					+ ") values (?, ?, ?, ?, ?)", inserts);
+		});
+		source.getNamedJdbc().update("delete from employee where id in (:ids)", Map.of("ids", ids));
+		return rows.size();
+	}
+}
@@ -0,0 +1,69 @@
+package com.durgesh.shard;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.durgesh.entity.Employee;
+
+/**
+ * Picks the shard that owns an employee, by id or by email. Keys go
+ * through jump consistent hashing, so appending a shard moves only the
+ * 1/N of rows that now belong to it and leaves the rest in place.
+ */
+public class ShardRouter {
+
+	public enum RoutingKey {
+		ID, EMAIL
+	}
+
+	private final List<EmployeeShard> shards;
+	private final RoutingKey key;
+
+	public ShardRouter(List<EmployeeShard> shards, RoutingKey key) {
+		if (shards.isEmpty()) {
+			throw new IllegalArgumentException("At least one shard is required");
+		}
+		this.shards = List.copyOf(shards);
+		this.key = key;
+	}
+
+	public List<EmployeeShard> getShards() {
+		return shards;
+	}
+
+	public RoutingKey getKey() {
+		return key;
+	}
+
+	public EmployeeShard forId(long id) {
+		return shards.get(jump(mix(id), shards.size()));
+	}
+
+	public EmployeeShard forEmail(String email) {
+		return shards.get(jump(mix(email.trim().toLowerCase(Locale.ROOT).hashCode()), shards.size()));
+	}
+
+	/** The shard {@code employee} belongs on under the routing key. */
+	public EmployeeShard home(Employee employee) {
+		return key == RoutingKey.ID ? forId(employee.getId()) : forEmail(employee.getEmail());
+	}
+
+	// splitmix64 finalizer: spreads sequential ids and similar hash codes over all 64 bits
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	// Lamping and Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+	static int jump(long key, int buckets) {
+		long bucket = -1;
+		long next = 0;
+		while (next < buckets) {
+			bucket = next;
+			key = key * 2862933555777941757L + 1;
+			next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+		}
+		return (int) bucket;
+	}
+}
@@ -0,0 +1,438 @@
+package com.durgesh.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.durgesh.entity.BloodGroupConverter;
+import com.durgesh.entity.Employee;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Employee rows spread over several databases by {@link ShardRouter}. Point
+ * lookups on the routing key go to one shard; anything else is sent to all
+ * shards in parallel and the id-ordered answers are merged k ways, so
+ * listings come back in the same order a single table would give.
+ * <p>
+ * Ids are global: blocks of {@code idBlockSize} are reserved from a row
+ * on the first shard, so a row keeps its id when it moves. While a
+ * {@link ShardRebalancer} runs, a lookup that misses its shard also asks
+ * the others, and merges drop the second copy of a row caught mid-move.
+ * Whether one runs is kept in {@code employee_rebalance} on the first shard,
+ * so every instance sees a rebalance started by any of them, and only one
+ * can run at a time.
+ * <p>
+ * Each shard's unique key only covers its own rows, so emails are also
+ * claimed in {@code employee_email} on the first shard before the row is
+ * written; a second claim of the same email fails with
+ * {@link DuplicateKeyException}, as a single table would.
+ */
+@Slf4j
+public class ShardedEmployeeStore implements AutoCloseable {
+
+	static final String COLUMNS = "id, name, email, blood_group, version";
+
+	private static final BloodGroupConverter BLOOD_GROUPS = new BloodGroupConverter();
+
+	static final RowMapper<Employee> EMPLOYEE = (rs, rowNum) -> {
+		Employee employee = new Employee();
+		employee.setId(rs.getLong("id"));
+		employee.setName(rs.getString("name"));
+		employee.setEmail(rs.getString("email"));
+		employee.setBloodGroup(BLOOD_GROUPS.convertToEntityAttribute(rs.getString("blood_group")));
+		employee.setVersion(rs.getLong("version"));
+		return employee;
+	};
+
+	private static final int BACKFILL_CHUNK = 1000;
+
+	/**
+	 * How long an instance goes on using the rebalance state it last read;
+	 * the rebalancer waits this long after starting before it moves a row.
+	 */
+	static final long REBALANCE_STATE_REFRESH_MS = 500;
+
+	/** A rebalance whose instance has not reported progress for this long is taken to have died. */
+	static final long REBALANCE_STALE_MS = 60_000;
+
+	private final ShardRouter router;
+	private final int idBlockSize;
+	private final ExecutorService scatter;
+	private final String instanceId = UUID.randomUUID().toString();
+	private volatile boolean rebalancing;
+	private volatile long rebalancingCheckedAt;
+	private long nextId;
+	private long blockEnd;
+
+	public ShardedEmployeeStore(ShardRouter router, int idBlockSize) {
+		this.router = router;
+		this.idBlockSize = idBlockSize;
+		this.scatter = Executors.newFixedThreadPool(router.getShards().size(), runnable -> {
+			Thread thread = new Thread(runnable, "employee-shard-scatter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public ShardRouter getRouter() {
+		return router;
+	}
+
+	/**
+	 * Creates the employee table on every shard and the id allocator and
+	 * rebalance state rows on the first, if missing.
+	 */
+	public void createSchema() {
+		for (EmployeeShard shard : router.getShards()) {
+			shard.getJdbc().execute("create table if not exists employee (id bigint not null primary key,"
+					+ " name varchar(255), email varchar(255), blood_group varchar(16),"
+					+ " version bigint not null default 0, constraint uk_employee_email unique (email))");
+		}
+		EmployeeShard first = router.getShards().get(0);
+		first.getJdbc().execute("create table if not exists employee_id_block"
+				+ " (name varchar(64) not null primary key, next_id bigint not null)");
+		Integer rows = first.getJdbc().queryForObject("select count(*) from employee_id_block where name = 'employee'",
+				Integer.class);
+		if (rows == null || rows == 0) {
+			long start = 1;
+			for (Long max : scatter(shard -> shard.getJdbc().queryForObject("select max(id) from employee",
+					Long.class))) {
+				if (max != null) {
+					start = Math.max(start, max + 1);
+				}
+			}
+			try {
+				first.getJdbc().update("insert into employee_id_block (name, next_id) values ('employee', ?)", start);
+			} catch (DuplicateKeyException e) {
+				// another instance created it first
+			}
+		}
+		first.getJdbc().execute("create table if not exists employee_rebalance"
+				+ " (name varchar(64) not null primary key, claimed_by varchar(64), heartbeat_at bigint not null)");
+		Integer states = first.getJdbc().queryForObject(
+				"select count(*) from employee_rebalance where name = 'employee'", Integer.class);
+		if (states == null || states == 0) {
+			try {
+				first.getJdbc().update("insert into employee_rebalance (name, heartbeat_at) values ('employee', 0)");
+			} catch (DuplicateKeyException e) {
+				// another instance created it first
+			}
+		}
+		first.getJdbc().execute("create table if not exists employee_email"
+				+ " (email varchar(255) not null primary key, id bigint not null)");
+		Integer claims = first.getJdbc().queryForObject("select count(*) from employee_email", Integer.class);
+		if (claims == null || claims == 0) {
+			backfillEmailClaims();
+		}
+	}
+
+	// rows written before the claim table existed; the first row per email keeps it
+	private void backfillEmailClaims() {
+		EmployeeShard first = router.getShards().get(0);
+		forEachChunk(BACKFILL_CHUNK, rows -> {
+			for (Employee row : rows) {
+				if (row.getEmail() == null) {
+					continue;
+				}
+				try {
+					first.getJdbc().update("insert into employee_email (email, id) values (?, ?)", row.getEmail(),
+							row.getId());
+				} catch (DuplicateKeyException e) {
+					log.warn("Employee {} shares email {} with another shard's row", row.getId(), row.getEmail());
+				}
+			}
+		});
+	}
+
+	public Employee findById(long id) {
+		if (router.getKey() == ShardRouter.RoutingKey.ID) {
+			Employee employee = findOn(router.forId(id), "id", id);
+			if (employee != null || !isRebalancing()) {
+				return employee;
+			}
+		}
+		return first(scatter(shard -> findOn(shard, "id", id)));
+	}
+
+	public Employee findByEmail(String email) {
+		if (router.getKey() == ShardRouter.RoutingKey.EMAIL) {
+			Employee employee = findOn(router.forEmail(email), "email", email);
+			if (employee != null || !isRebalancing()) {
+				return employee;
+			}
+		}
+		return first(scatter(shard -> findOn(shard, "email", email)));
+	}
+
+	public List<Employee> findAll() {
+		return merge(scatter(shard -> shard.getJdbc().query("select " + COLUMNS + " from employee order by id",
+				EMPLOYEE)), Integer.MAX_VALUE);
+	}
+
+	/** Page {@code page} of all employees in id order; each shard returns at most the rows up to that page. */
+	public List<Employee> findPage(int page, int size) {
+		int limit = Math.multiplyExact(page + 1, size);
+		List<Employee> merged = merge(scatter(shard -> shard.getJdbc().query(
+				"select " + COLUMNS + " from employee order by id limit ?", EMPLOYEE, limit)), limit);
+		int from = Math.min(merged.size(), page * size);
+		return new ArrayList<>(merged.subList(from, merged.size()));
+	}
+
+	/** Rows with these ids, in id order; ids that do not exist are skipped. */
+	public List<Employee> findAllById(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return merge(scatter(shard -> shard.getNamedJdbc().query(
+				"select " + COLUMNS + " from employee where id in (:ids) order by id", Map.of("ids", ids), EMPLOYEE)),
+				Integer.MAX_VALUE);
+	}
+
+	/** Hands every row to {@code consumer}, shard by shard, in id-ordered chunks of at most {@code chunkSize}. */
+	public void forEachChunk(int chunkSize, Consumer<List<Employee>> consumer) {
+		for (EmployeeShard shard : router.getShards()) {
+			long after = 0;
+			while (true) {
+				List<Employee> rows = scan(shard, after, chunkSize);
+				if (rows.isEmpty()) {
+					break;
+				}
+				consumer.accept(rows);
+				after = rows.get(rows.size() - 1).getId();
+			}
+		}
+	}
+
+	/** Inserts on the row's home shard; throws {@link DuplicateKeyException} when the email is taken on any shard. */
+	public Employee insert(Employee employee) {
+		employee.setId(allocateId());
+		employee.setVersion(0);
+		claimEmail(employee.getEmail(), employee.getId());
+		EmployeeShard shard = router.home(employee);
+		try {
+			shard.getJdbc().update("insert into employee (" + COLUMNS + ") values (?, ?, ?, ?, ?)", employee.getId(),
+					employee.getName(), employee.getEmail(),
+					BLOOD_GROUPS.convertToDatabaseColumn(employee.getBloodGroup()), employee.getVersion());
+		} catch (RuntimeException e) {
+			releaseEmail(employee.getEmail(), employee.getId());
+			throw e;
+		}
+		return employee;
+	}
+
+	public boolean deleteById(long id) {
+		Employee existing = findById(id);
+		if (existing == null) {
+			return false;
+		}
+		boolean deleted;
+		if (router.getKey() == ShardRouter.RoutingKey.ID && !isRebalancing()) {
+			deleted = router.forId(id).getJdbc().update("delete from employee where id = ?", id) > 0;
+		} else {
+			deleted = scatter(shard -> shard.getJdbc().update("delete from employee where id = ?", id)).stream()
+					.mapToInt(Integer::intValue).sum() > 0;
+		}
+		if (deleted) {
+			releaseEmail(existing.getEmail(), id);
+		}
+		return deleted;
+	}
+
+	private void claimEmail(String email, long id) {
+		if (email != null) {
+			router.getShards().get(0).getJdbc().update("insert into employee_email (email, id) values (?, ?)", email,
+					id);
+		}
+	}
+
+	private void releaseEmail(String email, long id) {
+		if (email != null) {
+			router.getShards().get(0).getJdbc().update("delete from employee_email where email = ? and id = ?", email,
+					id);
+		}
+	}
+
+	/** Current versions of those {@code ids} that exist, from every shard. */
+	public Map<Long, Long> findVersions(List<Long> ids) {
+		Map<Long, Long> versions = new HashMap<>();
+		if (ids.isEmpty()) {
+			return versions;
+		}
+		for (Map<Long, Long> shard : scatter(shard -> {
+			Map<Long, Long> found = new HashMap<>();
+			shard.getNamedJdbc().query("select id, version from employee where id in (:ids)", Map.of("ids", ids),
+					rs -> {
+						found.put(rs.getLong("id"), rs.getLong("version"));
+					});
+			return found;
+		})) {
+			versions.putAll(shard);
+		}
+		return versions;
+	}
+
+	public Map<String, Long> counts() {
+		List<Long> counts = scatter(shard -> shard.getJdbc().queryForObject("select count(*) from employee",
+				Long.class));
+		Map<String, Long> byShard = new LinkedHashMap<>();
+		for (EmployeeShard shard : router.getShards()) {
+			byShard.put(shard.getName(), counts.get(shard.getIndex()));
+		}
+		return byShard;
+	}
+
+	/** Whether a rebalance runs on any instance, as of at most {@link #REBALANCE_STATE_REFRESH_MS} ago. */
+	public boolean isRebalancing() {
+		long now = System.currentTimeMillis();
+		if (now - rebalancingCheckedAt >= REBALANCE_STATE_REFRESH_MS) {
+			List<Long> heartbeats = router.getShards().get(0).getJdbc().queryForList(
+					"select heartbeat_at from employee_rebalance where name = 'employee' and claimed_by is not null",
+					Long.class);
+			rebalancing = !heartbeats.isEmpty() && now - heartbeats.get(0) < REBALANCE_STALE_MS;
+			rebalancingCheckedAt = now;
+		}
+		return rebalancing;
+	}
+
+	/** Claims the rebalance for this instance; false while another one's is alive. */
+	boolean startRebalance() {
+		long now = System.currentTimeMillis();
+		boolean started = router.getShards().get(0).getJdbc().update("update employee_rebalance"
+				+ " set claimed_by = ?, heartbeat_at = ?"
+				+ " where name = 'employee' and (claimed_by is null or heartbeat_at < ?)",
+				instanceId, now, now - REBALANCE_STALE_MS) == 1;
+		if (started) {
+			rebalancing = true;
+			rebalancingCheckedAt = now;
+		}
+		return started;
+	}
+
+	/** Records progress; false if the claim was lost, after going stale, to another instance. */
+	boolean heartbeatRebalance() {
+		return router.getShards().get(0).getJdbc().update("update employee_rebalance set heartbeat_at = ?"
+				+ " where name = 'employee' and claimed_by = ?", System.currentTimeMillis(), instanceId) == 1;
+	}
+
+	void finishRebalance() {
+		router.getShards().get(0).getJdbc().update("update employee_rebalance set claimed_by = null"
+				+ " where name = 'employee' and claimed_by = ?", instanceId);
+		rebalancingCheckedAt = 0;
+	}
+
+	/** Runs {@code query} on every shard at once; results are in shard order. */
+	<T> List<T> scatter(Function<EmployeeShard, T> query) {
+		List<Future<T>> futures = new ArrayList<>();
+		for (EmployeeShard shard : router.getShards()) {
+			futures.add(scatter.submit(() -> query.apply(shard)));
+		}
+		List<T> results = new ArrayList<>(futures.size());
+		try {
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for shards", e);
+		} catch (ExecutionException e) {
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		return results;
+	}
+
+	/** Merges id-ordered lists into one, keeping the first {@code limit} distinct ids. */
+	static List<Employee> merge(List<List<Employee>> sorted, int limit) {
+		// heap of {list, position}, ordered by the id at that position
+		PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+				(a, b) -> Long.compare(sorted.get(a[0]).get(a[1]).getId(), sorted.get(b[0]).get(b[1]).getId()));
+		for (int i = 0; i < sorted.size(); i++) {
+			if (!sorted.get(i).isEmpty()) {
+				heads.add(new int[] { i, 0 });
+			}
+		}
+		List<Employee> merged = new ArrayList<>();
+		while (!heads.isEmpty() && merged.size() < limit) {
+			int[] head = heads.poll();
+			List<Employee> list = sorted.get(head[0]);
+			Employee employee = list.get(head[1]);
+			if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(employee.getId())) {
+				merged.add(employee);
+			}
+			if (++head[1] < list.size()) {
+				heads.add(head);
+			}
+		}
+		return merged;
+	}
+
+	List<Employee> scan(EmployeeShard shard, long afterId, int limit) {
+		return shard.getJdbc().query("select " + COLUMNS + " from employee where id > ? order by id limit ?", EMPLOYEE,
+				afterId, limit);
+	}
+
+	private static Employee findOn(EmployeeShard shard, String column, Object value) {
+		List<Employee> rows = shard.getJdbc().query("select " + COLUMNS + " from employee where " + column + " = ?",
+				EMPLOYEE, value);
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+
+	private static Employee first(List<Employee> perShard) {
+		return perShard.stream().filter(Objects::nonNull).findFirst().orElse(null);
+	}
+
+	private synchronized long allocateId() {
+		if (nextId == blockEnd) {
+			EmployeeShard first = router.getShards().get(0);
+			Long end = first.getTransactionTemplate().execute(status -> {
+				first.getJdbc().update("update employee_id_block set next_id = next_id + ? where name = 'employee'",
+						idBlockSize);
+				return first.getJdbc().queryForObject("select next_id from employee_id_block where name = 'employee'",
+						Long.class);
+			});
+			blockEnd = end;
+			nextId = end - idBlockSize;
+		}
+		return nextId++;
+	}
+
+	@Override
+	public void close() {
+		scatter.shutdownNow();
+		for (EmployeeShard shard : router.getShards()) {
+			if (shard.getDataSource() instanceof AutoCloseable) {
+				try {
+					((AutoCloseable) shard.getDataSource()).close();
+				} catch (Exception e) {
+					// closing pools on shutdown; nothing left to do with the failure
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return router.getShards().stream().map(EmployeeShard::getName)
+				.collect(Collectors.joining(",", "ShardedEmployeeStore[", "]"));
+	}
+}
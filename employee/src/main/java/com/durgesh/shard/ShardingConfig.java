@@ -0,0 +1,53 @@
+package com.durgesh.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Shard connection pools are built here rather than exposed as
+ * {@code DataSource} beans, so the primary DataSource, JPA and the pool
+ * sizing and SQL insight wrappers stay exactly as they are.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "employee.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+	@Bean(destroyMethod = "close")
+	public ShardedEmployeeStore shardedEmployeeStore(ShardingProperties properties,
+			@Value("${employee.write-behind.enabled:false}") boolean writeBehind) {
+		if (writeBehind) {
+			// the write-behind saver commits through JPA to the primary datasource, where sharded reads never look
+			throw new IllegalStateException("employee.write-behind.enabled cannot be combined with employee.sharding.enabled");
+		}
+		List<EmployeeShard> shards = new ArrayList<>();
+		for (ShardingProperties.Shard shard : properties.getShards()) {
+			String name = shard.getName() == null ? "shard-" + shards.size() : shard.getName();
+			HikariConfig config = new HikariConfig();
+			config.setPoolName("employee-" + name);
+			config.setJdbcUrl(shard.getUrl());
+			config.setUsername(shard.getUsername());
+			config.setPassword(shard.getPassword());
+			config.setMaximumPoolSize(shard.getMaxPoolSize());
+			shards.add(new EmployeeShard(shards.size(), name, new HikariDataSource(config)));
+		}
+		ShardedEmployeeStore store = new ShardedEmployeeStore(new ShardRouter(shards, properties.getKey()),
+				properties.getIdBlockSize());
+		store.createSchema();
+		return store;
+	}
+
+	@Bean(destroyMethod = "shutdown")
+	public ShardRebalancer shardRebalancer(ShardedEmployeeStore store, ShardingProperties properties) {
+		return new ShardRebalancer(store, properties.getRebalanceChunkSize());
+	}
+}
@@ -0,0 +1,41 @@
+package com.durgesh.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code employee.sharding.*} settings. Shards are only ever appended: the
+ * position of a shard in {@code shards} is its number in the hash.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.sharding")
+public class ShardingProperties {
+
+	private boolean enabled = false;
+
+	private ShardRouter.RoutingKey key = ShardRouter.RoutingKey.ID;
+
+	private List<Shard> shards = new ArrayList<>();
+
+	/** Ids taken from the allocator row per round trip. */
+	private int idBlockSize = 100;
+
+	/** Rows read from a shard per step of a rebalance. */
+	private int rebalanceChunkSize = 500;
+
+	@Getter
+	@Setter
+	public static class Shard {
+		private String name;
+		private String url;
+		private String username;
+		private String password;
+		private int maxPoolSize = 10;
+	}
+}
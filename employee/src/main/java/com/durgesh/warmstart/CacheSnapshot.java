@@ -0,0 +1,296 @@
+package com.durgesh.warmstart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+
+/**
+ * Hot employees and their last seen address, written as one compact binary
+ * file and read back through a read-only memory map. Opening a snapshot
+ * checks only the header: lookups binary search the id or email index in
+ * the mapped pages and decode the one record they need, so the file costs
+ * no heap and no start-up time, and the OS pages in just what is used.
+ * <p>
+ * Layout, big-endian: a 24 byte header (magic, format, created-at, count,
+ * records offset); an id index of {@code count} (id, version, record
+ * offset) sorted by id; an email index of (email hash, slot) sorted by
+ * hash; then the records. Strings are a short length and UTF-8 bytes,
+ * length -1 for null.
+ * <p>
+ * A record is served only after {@link #markValid(int)}, once its version
+ * has been checked against the table, and never after {@link #markStale(int)}.
+ */
+public final class CacheSnapshot {
+
+	static final int MAGIC = 0x454d5053;
+	static final int FORMAT = 1;
+	private static final int HEADER_BYTES = 24;
+	private static final int ID_ENTRY_BYTES = 20;
+	private static final int EMAIL_ENTRY_BYTES = 8;
+	private static final int UNCHECKED = 0;
+	private static final int VALID = 1;
+	private static final int STALE = 2;
+	private static final BloodGroup[] BLOOD_GROUPS = BloodGroup.values();
+
+	private final ByteBuffer buffer;
+	private final long createdAt;
+	private final int count;
+	private final int emailIndex;
+	private final AtomicIntegerArray states;
+
+	/** An employee row (address ignored) and the address last returned with it. */
+	public static final class Entry {
+		private final Employee employee;
+		private final AddressResponse address;
+
+		public Entry(Employee employee, AddressResponse address) {
+			this.employee = employee;
+			this.address = address;
+		}
+
+		public Employee getEmployee() {
+			return employee;
+		}
+
+		public AddressResponse getAddress() {
+			return address;
+		}
+	}
+
+	private CacheSnapshot(ByteBuffer buffer) throws IOException {
+		if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+			throw new IOException("Not an employee cache snapshot of format " + FORMAT);
+		}
+		this.buffer = buffer;
+		this.createdAt = buffer.getLong(8);
+		this.count = buffer.getInt(16);
+		this.emailIndex = HEADER_BYTES + count * ID_ENTRY_BYTES;
+		if (count < 0 || buffer.getInt(20) > buffer.capacity() || emailIndex + count * EMAIL_ENTRY_BYTES > buffer.capacity()) {
+			throw new IOException("Truncated employee cache snapshot");
+		}
+		this.states = new AtomicIntegerArray(count);
+	}
+
+	public static CacheSnapshot open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new CacheSnapshot(mapped);
+		}
+	}
+
+	/** Writes {@code entries} to a temporary file and moves it over {@code path}. */
+	public static void write(Path path, List<Entry> entries, long createdAt) throws IOException {
+		List<Entry> sorted = new ArrayList<>(entries);
+		sorted.sort(Comparator.comparing(entry -> entry.getEmployee().getId()));
+		int count = sorted.size();
+		int recordsStart = HEADER_BYTES + count * (ID_ENTRY_BYTES + EMAIL_ENTRY_BYTES);
+		ByteArrayOutputStream records = new ByteArrayOutputStream(count * 96);
+		DataOutputStream out = new DataOutputStream(records);
+		int[] offsets = new int[count];
+		for (int slot = 0; slot < count; slot++) {
+			offsets[slot] = recordsStart + out.size();
+			Employee employee = sorted.get(slot).getEmployee();
+			AddressResponse address = sorted.get(slot).getAddress();
+			writeString(out, employee.getName());
+			writeString(out, employee.getEmail());
+			out.writeByte(employee.getBloodGroup() == null ? -1 : employee.getBloodGroup().ordinal());
+			out.writeBoolean(address != null);
+			if (address != null) {
+				writeString(out, address.getState());
+				writeString(out, address.getLine1());
+				writeString(out, address.getLine2());
+				writeString(out, address.getZip());
+			}
+		}
+		out.flush();
+		Integer[] byEmail = new Integer[count];
+		for (int slot = 0; slot < count; slot++) {
+			byEmail[slot] = slot;
+		}
+		Arrays.sort(byEmail, Comparator.comparingInt((Integer slot) -> emailHash(sorted.get(slot)))
+				.thenComparingInt(slot -> slot));
+
+		ByteBuffer head = ByteBuffer.allocate(recordsStart);
+		head.putInt(MAGIC).putInt(FORMAT).putLong(createdAt).putInt(count).putInt(recordsStart);
+		for (int slot = 0; slot < count; slot++) {
+			Employee employee = sorted.get(slot).getEmployee();
+			head.putLong(employee.getId()).putLong(employee.getVersion()).putInt(offsets[slot]);
+		}
+		for (Integer slot : byEmail) {
+			head.putInt(emailHash(sorted.get(slot))).putInt(slot);
+		}
+		head.flip();
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer body = ByteBuffer.wrap(records.toByteArray());
+			while (head.hasRemaining() || body.hasRemaining()) {
+				channel.write(new ByteBuffer[] { head, body });
+			}
+			channel.force(false);
+		}
+		// a mapping of the previous file keeps reading the old contents
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public long getCreatedAt() {
+		return createdAt;
+	}
+
+	/** Slot of employee {@code id}, or -1. */
+	public int slot(long id) {
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			long midId = id(mid);
+			if (midId < id) {
+				low = mid + 1;
+			} else if (midId > id) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/** Slot of the employee with exactly this email, or -1. */
+	public int slotByEmail(String email) {
+		int hash = email.hashCode();
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (buffer.getInt(emailIndex + mid * EMAIL_ENTRY_BYTES) < hash) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		for (int i = low; i < count && buffer.getInt(emailIndex + i * EMAIL_ENTRY_BYTES) == hash; i++) {
+			int slot = buffer.getInt(emailIndex + i * EMAIL_ENTRY_BYTES + 4);
+			ByteBuffer record = record(slot);
+			readString(record);
+			if (email.equals(readString(record))) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	public long id(int slot) {
+		return buffer.getLong(HEADER_BYTES + slot * ID_ENTRY_BYTES);
+	}
+
+	public long version(int slot) {
+		return buffer.getLong(HEADER_BYTES + slot * ID_ENTRY_BYTES + 8);
+	}
+
+	public Employee employee(int slot) {
+		ByteBuffer record = record(slot);
+		Employee employee = new Employee();
+		employee.setId(id(slot));
+		employee.setVersion(version(slot));
+		employee.setName(readString(record));
+		employee.setEmail(readString(record));
+		byte bloodGroup = record.get();
+		employee.setBloodGroup(bloodGroup < 0 ? null : BLOOD_GROUPS[bloodGroup]);
+		return employee;
+	}
+
+	/** The address recorded with the employee, or null when none was. */
+	public AddressResponse address(int slot) {
+		ByteBuffer record = record(slot);
+		readString(record);
+		readString(record);
+		record.get();
+		if (record.get() == 0) {
+			return null;
+		}
+		AddressResponse address = new AddressResponse();
+		address.setState(readString(record));
+		address.setLine1(readString(record));
+		address.setLine2(readString(record));
+		address.setZip(readString(record));
+		return address;
+	}
+
+	public boolean isValid(int slot) {
+		return states.get(slot) == VALID;
+	}
+
+	public boolean isStale(int slot) {
+		return states.get(slot) == STALE;
+	}
+
+	/** Marks a record that matched the table; has no effect once it was marked stale. */
+	public void markValid(int slot) {
+		states.compareAndSet(slot, UNCHECKED, VALID);
+	}
+
+	public void markStale(int slot) {
+		states.set(slot, STALE);
+	}
+
+	private ByteBuffer record(int slot) {
+		ByteBuffer record = buffer.duplicate();
+		record.position(buffer.getInt(HEADER_BYTES + slot * ID_ENTRY_BYTES + 16));
+		return record;
+	}
+
+	private static int emailHash(Entry entry) {
+		String email = entry.getEmployee().getEmail();
+		return email == null ? 0 : email.hashCode();
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeShort(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > Short.MAX_VALUE) {
+			throw new IOException("Value too long for a cache snapshot: " + bytes.length + " bytes");
+		}
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer record) {
+		short length = record.getShort();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		record.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
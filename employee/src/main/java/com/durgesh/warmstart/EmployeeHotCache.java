@@ -0,0 +1,202 @@
+package com.durgesh.warmstart;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.entity.Employee;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Least recently used employee rows by id and email, so repeated lookups
+ * skip the table. Misses fall back to the attached {@link CacheSnapshot}
+ * from the previous run, whose records count once their version has been
+ * checked. Callers get copies; the address is never served from here, only
+ * remembered for the next snapshot.
+ * <p>
+ * Writers call {@link #evict(Long)} after commit. A row read from the table
+ * is stored only if nothing was evicted while it was being read, so a load
+ * racing an update cannot put the old row back.
+ */
+@Component
+public class EmployeeHotCache {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${employee.cache.max-entries:10000}")
+	private int maxEntries;
+
+	// guarded by this
+	private Map<Long, CacheSnapshot.Entry> entries;
+	private final Map<String, Long> idsByEmail = new HashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+	private volatile CacheSnapshot snapshot;
+	private Counter hits;
+	private Counter snapshotHits;
+	private Counter misses;
+
+	@PostConstruct
+	public void init() {
+		entries = new LinkedHashMap<Long, CacheSnapshot.Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, CacheSnapshot.Entry> eldest) {
+				if (size() <= maxEntries) {
+					return false;
+				}
+				idsByEmail.remove(eldest.getValue().getEmployee().getEmail());
+				return true;
+			}
+		};
+		hits = meterRegistry.counter("employee.cache.requests", "result", "hit");
+		snapshotHits = meterRegistry.counter("employee.cache.requests", "result", "snapshot");
+		misses = meterRegistry.counter("employee.cache.requests", "result", "miss");
+		Gauge.builder("employee.cache.size", this, EmployeeHotCache::size).register(meterRegistry);
+	}
+
+	public Employee get(Long id) {
+		synchronized (this) {
+			CacheSnapshot.Entry entry = entries.get(id);
+			if (entry != null) {
+				hits.increment();
+				return copy(entry.getEmployee());
+			}
+		}
+		CacheSnapshot current = snapshot;
+		return fromSnapshot(current, current == null ? -1 : current.slot(id));
+	}
+
+	public Employee getByEmail(String email) {
+		synchronized (this) {
+			Long id = idsByEmail.get(email);
+			CacheSnapshot.Entry entry = id == null ? null : entries.get(id);
+			if (entry != null) {
+				hits.increment();
+				return copy(entry.getEmployee());
+			}
+		}
+		CacheSnapshot current = snapshot;
+		return fromSnapshot(current, current == null ? -1 : current.slotByEmail(email));
+	}
+
+	/** Read before loading a row from the table and handed back to {@link #put}. */
+	public long generation() {
+		return generation.get();
+	}
+
+	public synchronized void put(Employee employee, long generationAtStart) {
+		if (generation.get() != generationAtStart) {
+			return;
+		}
+		CacheSnapshot.Entry previous = entries.get(employee.getId());
+		store(copy(employee), previous == null ? null : previous.getAddress());
+	}
+
+	/** Remembers the address last returned with a cached employee, for the next snapshot. */
+	public synchronized void recordAddress(Long id, AddressResponse address) {
+		CacheSnapshot.Entry entry = entries.get(id);
+		if (entry != null && address != null) {
+			entries.put(id, new CacheSnapshot.Entry(entry.getEmployee(), address));
+		}
+	}
+
+	public synchronized void evict(Long id) {
+		generation.incrementAndGet();
+		CacheSnapshot.Entry entry = entries.remove(id);
+		if (entry != null) {
+			idsByEmail.remove(entry.getEmployee().getEmail());
+		}
+		CacheSnapshot current = snapshot;
+		int slot = current == null ? -1 : current.slot(id);
+		if (slot >= 0) {
+			current.markStale(slot);
+		}
+	}
+
+	public void attach(CacheSnapshot snapshot) {
+		this.snapshot = snapshot;
+	}
+
+	public CacheSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Everything worth keeping for the next start: the cached rows, then
+	 * snapshot records not yet replaced or found stale, up to the cache size.
+	 */
+	public List<CacheSnapshot.Entry> entries() {
+		List<CacheSnapshot.Entry> kept;
+		synchronized (this) {
+			kept = new ArrayList<>(entries.values());
+		}
+		CacheSnapshot current = snapshot;
+		if (current != null) {
+			for (int slot = 0; slot < current.size() && kept.size() < maxEntries; slot++) {
+				if (!current.isStale(slot) && !contains(current.id(slot))) {
+					kept.add(new CacheSnapshot.Entry(current.employee(slot), current.address(slot)));
+				}
+			}
+		}
+		return kept;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private synchronized boolean contains(long id) {
+		return entries.containsKey(id);
+	}
+
+	private Employee fromSnapshot(CacheSnapshot current, int slot) {
+		if (slot < 0 || !current.isValid(slot)) {
+			misses.increment();
+			return null;
+		}
+		snapshotHits.increment();
+		Employee employee = current.employee(slot);
+		synchronized (this) {
+			// the record is promoted unless it went stale while being decoded
+			if (!current.isStale(slot) && !entries.containsKey(employee.getId())) {
+				store(copy(employee), current.address(slot));
+			}
+		}
+		return employee;
+	}
+
+	private void store(Employee employee, AddressResponse address) {
+		CacheSnapshot.Entry previous = entries.put(employee.getId(), new CacheSnapshot.Entry(employee, address));
+		if (previous != null && previous.getEmployee().getEmail() != null
+				&& !previous.getEmployee().getEmail().equals(employee.getEmail())) {
+			idsByEmail.remove(previous.getEmployee().getEmail());
+		}
+		if (employee.getEmail() != null) {
+			idsByEmail.put(employee.getEmail(), employee.getId());
+		}
+	}
+
+	private static Employee copy(Employee employee) {
+		Employee copy = new Employee();
+		copy.setId(employee.getId());
+		copy.setName(employee.getName());
+		copy.setEmail(employee.getEmail());
+		copy.setBloodGroup(employee.getBloodGroup());
+		copy.setVersion(employee.getVersion());
+		return copy;
+	}
+}
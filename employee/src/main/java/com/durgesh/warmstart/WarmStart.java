@@ -0,0 +1,160 @@
+package com.durgesh.warmstart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.shard.ShardedEmployeeStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Carries the {@link EmployeeHotCache} across restarts. At start-up the
+ * previous run's snapshot is mapped and handed to the cache, then checked
+ * against the table in the background, {@code validate-chunk} versions
+ * per query: matching records become servable, the rest are dropped.
+ * While running, and once more at shutdown, the cache is written out again.
+ * <p>
+ * Compare {@code employee.cache.requests} (hit, snapshot, miss) and the
+ * sql-insight statement counts across a rollout with
+ * {@code employee.warm-start.enabled} on and off to see the load it saves.
+ */
+@Slf4j
+@Component
+public class WarmStart {
+
+	@Autowired
+	private EmployeeHotCache hotCache;
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired(required = false)
+	private ShardedEmployeeStore shardedStore;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${employee.warm-start.enabled:false}")
+	private boolean enabled;
+
+	@Value("${employee.warm-start.path:${java.io.tmpdir}/microservice/employee-cache.snapshot}")
+	private String path;
+
+	@Value("${employee.warm-start.interval-ms:60000}")
+	private long intervalMs;
+
+	@Value("${employee.warm-start.validate-chunk:1000}")
+	private int validateChunk;
+
+	private ScheduledExecutorService executor;
+	private Counter validated;
+	private Counter stale;
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			return;
+		}
+		validated = meterRegistry.counter("employee.warm-start.records", "result", "valid");
+		stale = meterRegistry.counter("employee.warm-start.records", "result", "stale");
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "employee-warm-start");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.execute(this::load);
+		executor.scheduleWithFixedDelay(this::writeQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (!enabled) {
+			return;
+		}
+		executor.shutdownNow();
+		writeQuietly();
+	}
+
+	private void load() {
+		Path file = Paths.get(path);
+		if (!Files.exists(file)) {
+			return;
+		}
+		long start = System.nanoTime();
+		CacheSnapshot snapshot;
+		try {
+			snapshot = CacheSnapshot.open(file);
+		} catch (IOException e) {
+			log.warn("Ignoring cache snapshot {}: {}", file, e.getMessage());
+			return;
+		}
+		hotCache.attach(snapshot);
+		int valid = 0;
+		try {
+			for (int from = 0; from < snapshot.size() && !Thread.currentThread().isInterrupted(); from += validateChunk) {
+				int to = Math.min(snapshot.size(), from + validateChunk);
+				List<Long> ids = new ArrayList<>(to - from);
+				for (int slot = from; slot < to; slot++) {
+					ids.add(snapshot.id(slot));
+				}
+				Map<Long, Long> versions = versions(ids);
+				for (int slot = from; slot < to; slot++) {
+					Long version = versions.get(snapshot.id(slot));
+					if (version != null && version == snapshot.version(slot)) {
+						snapshot.markValid(slot);
+						valid++;
+					} else {
+						snapshot.markStale(slot);
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			// unchecked records are simply never served
+			log.warn("Cache snapshot validation stopped: {}", e.getMessage());
+		}
+		validated.increment(valid);
+		stale.increment(snapshot.size() - valid);
+		log.info("Warm start: {} of {} cached employees from {} still current, checked in {} ms", valid,
+				snapshot.size(), file, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private Map<Long, Long> versions(List<Long> ids) {
+		if (shardedStore != null) {
+			return shardedStore.findVersions(ids);
+		}
+		Map<Long, Long> versions = new HashMap<>();
+		for (EmployeeRepo.IdAndVersion row : employeeRepo.findVersions(ids)) {
+			versions.put(row.getId(), row.getVersion());
+		}
+		return versions;
+	}
+
+	private void writeQuietly() {
+		try {
+			List<CacheSnapshot.Entry> entries = hotCache.entries();
+			if (!entries.isEmpty()) {
+				CacheSnapshot.write(Paths.get(path), entries, System.currentTimeMillis());
+			}
+		} catch (IOException | RuntimeException e) {
+			log.warn("Writing cache snapshot {} failed: {}", path, e.getMessage());
+		}
+	}
+}
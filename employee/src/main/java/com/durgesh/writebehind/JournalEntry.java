@@ -0,0 +1,37 @@
+package com.durgesh.writebehind;
+
+import com.durgesh.dto.EmployeeDto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** One line of the {@link SaveJournal}: a queued save, or the mark that it reached the table. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class JournalEntry {
+
+	public enum Type {
+		QUEUED, DONE
+	}
+
+	private Type type;
+	private String requestId;
+	private EmployeeDto employee;
+
+	static JournalEntry queued(String requestId, EmployeeDto employee) {
+		JournalEntry entry = new JournalEntry();
+		entry.type = Type.QUEUED;
+		entry.requestId = requestId;
+		entry.employee = employee;
+		return entry;
+	}
+
+	static JournalEntry done(String requestId) {
+		JournalEntry entry = new JournalEntry();
+		entry.type = Type.DONE;
+		entry.requestId = requestId;
+		return entry;
+	}
+}
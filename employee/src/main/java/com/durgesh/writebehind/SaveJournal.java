@@ -0,0 +1,172 @@
+package com.durgesh.writebehind;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Local append-only file of queued saves, one JSON {@link JournalEntry} per
+ * line, so a save acknowledged before it reached MySQL survives a crash.
+ * <p>
+ * Appends are written without forcing; {@link #sync(long)} forces up to a
+ * position, and callers that arrive while a force is running find their
+ * line already covered when it ends, so concurrent saves share fsyncs.
+ * DONE marks are not forced: losing one only means the save is replayed,
+ * and replays skip emails already in the table.
+ * <p>
+ * When nothing is pending and the file has grown past {@code maxBytes} it
+ * is truncated. Positions handed out are logical and keep growing across
+ * truncation.
+ */
+public class SaveJournal implements Closeable {
+
+	private final ObjectMapper mapper = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	private final Path path;
+	private final long maxBytes;
+	private final Object forceLock = new Object();
+	private FileChannel channel;
+	private long fileEnd;
+	private long logicalEnd;
+	private long pending;
+	// guarded by forceLock
+	private long forced;
+
+	public SaveJournal(Path path, long maxBytes) throws IOException {
+		this.path = path;
+		this.maxBytes = maxBytes;
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		channel = open(path);
+	}
+
+	/**
+	 * Saves queued and never marked done, in queue order, after which the
+	 * file holds only those. A torn last line left by a crash is dropped.
+	 */
+	public synchronized List<JournalEntry> recover() throws IOException {
+		Map<String, JournalEntry> queued = new LinkedHashMap<>();
+		byte[] bytes = Files.readAllBytes(path);
+		int start = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] != '\n') {
+				continue;
+			}
+			JournalEntry entry = mapper.readValue(bytes, start, i - start, JournalEntry.class);
+			if (entry.getType() == JournalEntry.Type.QUEUED) {
+				queued.put(entry.getRequestId(), entry);
+			} else {
+				queued.remove(entry.getRequestId());
+			}
+			start = i + 1;
+		}
+		List<JournalEntry> entries = new ArrayList<>(queued.values());
+		Path rewritten = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel out = open(rewritten)) {
+			out.truncate(0);
+			write(out, 0, lines(entries));
+			out.force(false);
+		}
+		channel.close();
+		Files.move(rewritten, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		channel = open(path);
+		fileEnd = channel.size();
+		logicalEnd += fileEnd;
+		pending = entries.size();
+		synchronized (forceLock) {
+			forced = logicalEnd;
+		}
+		return entries;
+	}
+
+	/** Writes the entry and returns the position {@link #sync(long)} must reach for it to be durable. */
+	public synchronized long append(JournalEntry entry) throws IOException {
+		List<JournalEntry> entries = new ArrayList<>(1);
+		entries.add(entry);
+		int written = write(channel, fileEnd, lines(entries));
+		fileEnd += written;
+		logicalEnd += written;
+		pending++;
+		return logicalEnd;
+	}
+
+	public void sync(long position) throws IOException {
+		synchronized (forceLock) {
+			if (forced >= position) {
+				return;
+			}
+			long end;
+			synchronized (this) {
+				end = logicalEnd;
+			}
+			channel.force(false);
+			forced = end;
+		}
+	}
+
+	public synchronized void done(List<String> requestIds) throws IOException {
+		List<JournalEntry> entries = new ArrayList<>(requestIds.size());
+		for (String requestId : requestIds) {
+			entries.add(JournalEntry.done(requestId));
+		}
+		int written = write(channel, fileEnd, lines(entries));
+		fileEnd += written;
+		logicalEnd += written;
+		pending -= requestIds.size();
+		if (pending == 0 && fileEnd > maxBytes) {
+			channel.truncate(0);
+			fileEnd = 0;
+		}
+	}
+
+	public synchronized long size() {
+		return fileEnd;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	private byte[] lines(List<JournalEntry> entries) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (JournalEntry entry : entries) {
+			out.write(mapper.writeValueAsBytes(entry));
+			out.write('\n');
+		}
+		return out.toByteArray();
+	}
+
+	private static int write(FileChannel channel, long position, byte[] bytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		long at = position;
+		while (buffer.hasRemaining()) {
+			at += channel.write(buffer, at);
+		}
+		return bytes.length;
+	}
+
+	private static FileChannel open(Path path) throws IOException {
+		return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	@Override
+	public String toString() {
+		return "SaveJournal[" + path + "]";
+	}
+}
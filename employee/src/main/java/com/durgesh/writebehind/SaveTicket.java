@@ -0,0 +1,38 @@
+package com.durgesh.writebehind;
+
+import lombok.Getter;
+
+/** Progress of one queued save, as reported by {@code /employee/save/{requestId}}. */
+@Getter
+public class SaveTicket {
+
+	public enum State {
+		QUEUED, COMMITTED, REJECTED, FAILED
+	}
+
+	private final String requestId;
+	private final long queuedAt = System.currentTimeMillis();
+	private volatile State state = State.QUEUED;
+	private volatile Long employeeId;
+	private volatile long finishedAt;
+	private volatile String error;
+
+	SaveTicket(String requestId) {
+		this.requestId = requestId;
+	}
+
+	public boolean isFinished() {
+		return state != State.QUEUED;
+	}
+
+	void committed(Long employeeId) {
+		this.employeeId = employeeId;
+		finish(State.COMMITTED, null);
+	}
+
+	void finish(State state, String error) {
+		this.error = error;
+		this.finishedAt = System.currentTimeMillis();
+		this.state = state;
+	}
+}
@@ -0,0 +1,344 @@
+package com.durgesh.writebehind;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.Impl.EmployeeImpl;
+import com.durgesh.dto.EmployeeDto;
+import com.durgesh.entity.Employee;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in asynchronous employee saves. A save is acknowledged once its line
+ * in the {@link SaveJournal} is on disk and it sits in a bounded queue; one
+ * flusher thread then inserts queued saves in groups of up to
+ * {@code batch-size}, waiting at most {@code linger-ms} for a group to fill,
+ * one transaction and one commit per group instead of per request.
+ * <p>
+ * When the queue is full a save waits up to {@code offer-timeout-ms} for
+ * room and is then refused. Emails already in the table or repeated within
+ * a group are rejected per save; a constraint violation splits the group
+ * so only the offending save fails. Other database errors are retried, and
+ * saves still queued at shutdown are replayed from the journal at startup.
+ */
+@Slf4j
+@Component
+public class WriteBehindSaver {
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EmployeeEventBus employeeEventBus;
+
+	@Autowired
+	private ResponseCache responseCache;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${employee.write-behind.enabled:false}")
+	private boolean enabled;
+
+	@Value("${employee.write-behind.capacity:10000}")
+	private int capacity;
+
+	@Value("${employee.write-behind.batch-size:500}")
+	private int batchSize;
+
+	@Value("${employee.write-behind.linger-ms:5}")
+	private long lingerMs;
+
+	@Value("${employee.write-behind.offer-timeout-ms:100}")
+	private long offerTimeoutMs;
+
+	@Value("${employee.write-behind.retry-ms:1000}")
+	private long retryMs;
+
+	@Value("${employee.write-behind.journal-path:${java.io.tmpdir}/microservice/employee-saves.journal}")
+	private String journalPath;
+
+	@Value("${employee.write-behind.journal-max-bytes:67108864}")
+	private long journalMaxBytes;
+
+	@Value("${employee.write-behind.ticket-ttl-ms:600000}")
+	private long ticketTtlMs;
+
+	private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+	private final Map<String, SaveTicket> tickets = new ConcurrentHashMap<>();
+	private Semaphore slots;
+	private SaveJournal journal;
+	private Thread flusher;
+	private volatile boolean accepting;
+	private Counter refused;
+	private DistributionSummary groupSize;
+	private Timer commitTimer;
+
+	private static final class Pending {
+		private final SaveTicket ticket;
+		private final EmployeeDto employee;
+		// saves replayed from the journal at startup did not take a queue slot
+		private final boolean holdsSlot;
+
+		Pending(SaveTicket ticket, EmployeeDto employee, boolean holdsSlot) {
+			this.ticket = ticket;
+			this.employee = employee;
+			this.holdsSlot = holdsSlot;
+		}
+	}
+
+	@PostConstruct
+	public void init() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		slots = new Semaphore(capacity);
+		journal = new SaveJournal(Paths.get(journalPath), journalMaxBytes);
+		for (JournalEntry entry : journal.recover()) {
+			SaveTicket ticket = new SaveTicket(entry.getRequestId());
+			tickets.put(ticket.getRequestId(), ticket);
+			queue.add(new Pending(ticket, entry.getEmployee(), false));
+		}
+		if (!queue.isEmpty()) {
+			log.info("Replaying {} saves from {}", queue.size(), journal);
+		}
+		refused = meterRegistry.counter("employee.write-behind.refused");
+		groupSize = DistributionSummary.builder("employee.write-behind.group.size").register(meterRegistry);
+		commitTimer = Timer.builder("employee.write-behind.commit").register(meterRegistry);
+		Gauge.builder("employee.write-behind.queued", queue, BlockingQueue::size).register(meterRegistry);
+		accepting = true;
+		flusher = new Thread(this::run, "employee-write-behind");
+		flusher.start();
+	}
+
+	@PreDestroy
+	public void shutdown() throws IOException, InterruptedException {
+		if (!enabled) {
+			return;
+		}
+		// the flusher drains what is queued, then exits; anything it cannot commit stays in the journal
+		accepting = false;
+		flusher.join(TimeUnit.SECONDS.toMillis(30));
+		journal.close();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Journals and queues the save.
+	 *
+	 * @throws RejectedExecutionException if the queue stays full for {@code offer-timeout-ms}
+	 */
+	public SaveTicket submit(EmployeeDto employee) throws IOException {
+		if (!accepting) {
+			throw new RejectedExecutionException("Write-behind saving is not running");
+		}
+		try {
+			if (!slots.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+				refused.increment();
+				throw new RejectedExecutionException("Save queue is full");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted waiting for the save queue", e);
+		}
+		SaveTicket ticket = new SaveTicket(UUID.randomUUID().toString());
+		try {
+			journal.sync(journal.append(JournalEntry.queued(ticket.getRequestId(), employee)));
+		} catch (IOException | RuntimeException e) {
+			slots.release();
+			throw e;
+		}
+		tickets.put(ticket.getRequestId(), ticket);
+		queue.add(new Pending(ticket, employee, true));
+		return ticket;
+	}
+
+	public SaveTicket get(String requestId) {
+		return tickets.get(requestId);
+	}
+
+	private void run() {
+		List<Pending> group = new ArrayList<>(batchSize);
+		long lastSweep = System.currentTimeMillis();
+		try {
+			while (true) {
+				Pending first = queue.poll(1, TimeUnit.SECONDS);
+				if (System.currentTimeMillis() - lastSweep > 1000) {
+					lastSweep = System.currentTimeMillis();
+					tickets.values().removeIf(ticket -> ticket.isFinished()
+							&& lastSweep - ticket.getFinishedAt() > ticketTtlMs);
+				}
+				if (first == null) {
+					if (!accepting) {
+						return;
+					}
+					continue;
+				}
+				group.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+				while (group.size() < batchSize) {
+					queue.drainTo(group, batchSize - group.size());
+					long wait = deadline - System.nanoTime();
+					if (group.size() >= batchSize || wait <= 0) {
+						break;
+					}
+					Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					group.add(next);
+				}
+				if (!flush(group)) {
+					return;
+				}
+				group.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException | RuntimeException e) {
+			log.error("Write-behind flusher stopped; queued saves will be replayed from {} on restart", journal, e);
+			accepting = false;
+		}
+	}
+
+	/**
+	 * Commits the group, retrying while the database is unavailable, and
+	 * clears the settled saves from the journal; false if shut down before
+	 * all of them were settled. The unsettled ones stay in the journal.
+	 */
+	private boolean flush(List<Pending> group) throws IOException, InterruptedException {
+		List<Employee> saved = new ArrayList<>();
+		List<Pending> settled = new ArrayList<>(group.size());
+		try {
+			if (commitRetrying(group, saved)) {
+				settled.addAll(group);
+			}
+		} catch (DataIntegrityViolationException e) {
+			// a constraint the email pre-check could not see, e.g. a concurrent synchronous save: isolate it
+			for (Pending pending : group) {
+				try {
+					if (!commitRetrying(List.of(pending), saved)) {
+						break;
+					}
+				} catch (DataIntegrityViolationException single) {
+					pending.ticket.finish(SaveTicket.State.FAILED, single.getMostSpecificCause().getMessage());
+				}
+				settled.add(pending);
+			}
+		}
+		List<String> requestIds = new ArrayList<>(settled.size());
+		int slotsHeld = 0;
+		for (Pending pending : settled) {
+			requestIds.add(pending.ticket.getRequestId());
+			slotsHeld += pending.holdsSlot ? 1 : 0;
+		}
+		if (!requestIds.isEmpty()) {
+			journal.done(requestIds);
+		}
+		slots.release(slotsHeld);
+		if (!saved.isEmpty()) {
+			responseCache.invalidate(EmployeeImpl.EMPLOYEE_RESPONSES);
+			saved.forEach(employeeEventBus::publishCreated);
+		}
+		return settled.size() == group.size();
+	}
+
+	/**
+	 * Commits the saves, retrying any failure but a constraint violation,
+	 * which is thrown; false if shut down before they could be committed.
+	 */
+	private boolean commitRetrying(List<Pending> saves, List<Employee> saved) throws InterruptedException {
+		while (true) {
+			try {
+				saved.addAll(commit(saves));
+				return true;
+			} catch (DataIntegrityViolationException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				log.warn("Write-behind commit of {} saves failed, retrying: {}", saves.size(), e.getMessage());
+				if (!accepting) {
+					return false;
+				}
+				TimeUnit.MILLISECONDS.sleep(retryMs);
+			}
+		}
+	}
+
+	/** One transaction for the whole group; tickets are settled only once it has committed. */
+	private List<Employee> commit(List<Pending> group) {
+		long start = System.nanoTime();
+		List<Pending> inserted = new ArrayList<>(group.size());
+		List<Pending> rejected = new ArrayList<>();
+		List<Employee> employees = transactionTemplate.execute(status -> {
+			Set<String> emails = new HashSet<>();
+			for (Pending pending : group) {
+				emails.add(pending.employee.getEmail());
+			}
+			emails.remove(null);
+			Set<String> taken = new HashSet<>();
+			if (!emails.isEmpty()) {
+				taken.addAll(employeeRepo.findExistingEmails(emails));
+			}
+			List<Employee> toSave = new ArrayList<>(group.size());
+			for (Pending pending : group) {
+				EmployeeDto dto = pending.employee;
+				if (dto.getEmail() == null || !taken.add(dto.getEmail())) {
+					rejected.add(pending);
+					continue;
+				}
+				Employee employee = new Employee();
+				employee.setName(dto.getName());
+				employee.setEmail(dto.getEmail());
+				employee.setBloodGroup(dto.getBloodgroup());
+				toSave.add(employee);
+				inserted.add(pending);
+			}
+			return employeeRepo.saveAll(toSave);
+		});
+		for (int i = 0; i < inserted.size(); i++) {
+			inserted.get(i).ticket.committed(employees.get(i).getId());
+		}
+		for (Pending pending : rejected) {
+			pending.ticket.finish(SaveTicket.State.REJECTED,
+					pending.employee.getEmail() == null ? "Email Required" : "Email Already Exists");
+		}
+		groupSize.record(group.size());
+		commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return employees;
+	}
+}
@@ -0,0 +1,191 @@
+package benchmark.entity;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.durgesh.entity.BloodGroupConverter;
+import com.durgesh.entity.Employee;
+
+/**
+ * Flush cost of a large persistence context with and without bytecode
+ * enhancement. {@link Employee} is enhanced at build time;
+ * {@link SnapshotEmployee} maps the same columns but is not, so Hibernate
+ * diffs every loaded instance against its snapshot at flush.
+ * <p>
+ * Each invocation loads {@code contextSize} rows into a fresh session and
+ * changes {@code dirtyPercent} of them; only the flush is timed. JMH has no
+ * retained-heap metric, so {@link #main} first prints the heap an open
+ * session holds per loaded entity for each {@code contextSize} and variant,
+ * then runs the benchmark (through JMH directly, add {@code -prof gc} for
+ * allocation rates). No results are recorded yet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FlushBenchmark {
+
+	@Param({ "1000", "20000" })
+	public int contextSize;
+
+	@Param({ "1", "100" })
+	public int dirtyPercent;
+
+	@Param({ "enhanced", "snapshot" })
+	public String variant;
+
+	private SessionFactory sessionFactory;
+
+	@State(Scope.Thread)
+	public static class LoadedContext {
+		Session session;
+		Transaction transaction;
+
+		@Setup(Level.Invocation)
+		public void load(FlushBenchmark benchmark) {
+			session = benchmark.sessionFactory.openSession();
+			transaction = session.beginTransaction();
+			List<?> rows = benchmark.loadAll(session);
+			int every = Math.max(1, 100 / benchmark.dirtyPercent);
+			for (int i = 0; i < rows.size(); i += every) {
+				rename(rows.get(i), "renamed-" + System.nanoTime());
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void discard() {
+			transaction.rollback();
+			session.close();
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		sessionFactory = sessionFactory();
+		populate(sessionFactory, contextSize);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public void flush(LoadedContext context) {
+		context.session.flush();
+	}
+
+	List<?> loadAll(Session session) {
+		Class<?> type = "enhanced".equals(variant) ? Employee.class : SnapshotEmployee.class;
+		return session.createQuery("from " + type.getSimpleName(), type).list();
+	}
+
+	private static void rename(Object row, String name) {
+		if (row instanceof Employee) {
+			((Employee) row).setName(name);
+		} else {
+			((SnapshotEmployee) row).setName(name);
+		}
+	}
+
+	static SessionFactory sessionFactory() {
+		return new Configuration()
+				.addAnnotatedClass(Employee.class)
+				.addAnnotatedClass(SnapshotEmployee.class)
+				.addAnnotatedClass(BloodGroupConverter.class)
+				.setProperty(AvailableSettings.URL, "jdbc:h2:mem:flush;DB_CLOSE_DELAY=-1")
+				.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+				.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+				.buildSessionFactory();
+	}
+
+	static void populate(SessionFactory sessionFactory, int rows) {
+		try (Session session = sessionFactory.openSession()) {
+			Transaction transaction = session.beginTransaction();
+			for (int i = 0; i < rows; i++) {
+				Employee employee = new Employee();
+				employee.setName("employee " + i);
+				employee.setEmail("employee" + i + "@example.com");
+				session.persist(employee);
+				SnapshotEmployee snapshot = new SnapshotEmployee();
+				snapshot.setName("employee " + i);
+				snapshot.setEmail("employee" + i + "@example.com");
+				session.persist(snapshot);
+				if (i % 500 == 0) {
+					session.flush();
+					session.clear();
+				}
+			}
+			transaction.commit();
+		}
+	}
+
+	/** Used heap after GC with the session open and every row loaded, minus before loading, per entity. */
+	static long retainedBytesPerEntity(SessionFactory sessionFactory, String variant) {
+		FlushBenchmark benchmark = new FlushBenchmark();
+		benchmark.variant = variant;
+		try (Session session = sessionFactory.openSession()) {
+			long before = usedHeapAfterGc();
+			List<?> loaded = benchmark.loadAll(session);
+			long after = usedHeapAfterGc();
+			return (after - before) / Math.max(1, loaded.size());
+		}
+	}
+
+	private static long usedHeapAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		// a single request is only a hint; settle on a stable reading
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			long now = memory.getHeapMemoryUsage().getUsed();
+			if (now >= used) {
+				return now;
+			}
+			used = now;
+		}
+		return used;
+	}
+
+	public static void main(String[] args) throws RunnerException, NoSuchFieldException {
+		String[] contextSizes = FlushBenchmark.class.getField("contextSize").getAnnotation(Param.class).value();
+		String[] variants = FlushBenchmark.class.getField("variant").getAnnotation(Param.class).value();
+		for (String contextSize : contextSizes) {
+			// a fresh in-memory database per size; closing the factory drops it
+			try (SessionFactory sessionFactory = sessionFactory()) {
+				populate(sessionFactory, Integer.parseInt(contextSize));
+				for (String variant : variants) {
+					System.out.printf("contextSize=%s variant=%s: ~%d bytes retained per loaded entity%n",
+							contextSize, variant, retainedBytesPerEntity(sessionFactory, variant));
+				}
+			}
+		}
+		new Runner(new OptionsBuilder().include(FlushBenchmark.class.getSimpleName()).build()).run();
+	}
+}
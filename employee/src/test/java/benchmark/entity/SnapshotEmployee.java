@@ -0,0 +1,38 @@
+package benchmark.entity;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Same columns as {@link Employee}, but compiled under src/test where the
+ * enhancement plugin does not run, so Hibernate falls back to snapshot
+ * comparison for it. Baseline for {@code FlushBenchmark}; kept outside
+ * com.durgesh so the application's entity scan never maps it.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "snapshot_employee")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SnapshotEmployee {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id", nullable = false)
+	private Long id;
+
+	private String name;
+	@Column(unique=true)
+	private String email;
+	private BloodGroup bloodGroup;
+
+	@Version
+	private long version;
+}
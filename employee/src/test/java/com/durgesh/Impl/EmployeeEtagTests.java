@@ -0,0 +1,137 @@
+package com.durgesh.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.client.AddressClient;
+import com.durgesh.client.MaterializedAddressClient;
+import com.durgesh.client.StubAddressClient;
+import com.durgesh.entity.Employee;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.events.AddressChangeEvent;
+import com.durgesh.events.InMemoryEventLog;
+import com.durgesh.readmodel.AddressReadModel;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+import com.durgesh.responsecache.ResponseCacheProperties;
+import com.durgesh.sql.SqlInsightAutoConfiguration;
+import com.durgesh.warmstart.EmployeeHotCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** The address part of the ETag, and when it costs a call to address-service. */
+@DataJpaTest
+@ImportAutoConfiguration(SqlInsightAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeEtagTests {
+
+	@Configuration
+	@EnableJpaRepositories(basePackageClasses = EmployeeRepo.class)
+	@EntityScan(basePackageClasses = Employee.class)
+	static class JpaConfig {
+	}
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final StubAddressClient remote = new StubAddressClient();
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		employeeRepo.deleteAllInBatch();
+	}
+
+	@Test
+	void localEtagDoesNotCallAddressServiceWithoutALocalCopy() {
+		Employee employee = employee();
+		EmployeeImpl service = service(remote);
+
+		assertNull(service.localEtag(employee.getId()));
+		assertEquals(0, remote.calls.get());
+
+		// If-Match on PATCH still needs the whole tag
+		assertNotNull(service.currentEtag(employee.getId()));
+		assertEquals(1, remote.calls.get());
+	}
+
+	@Test
+	void localViewAnswersTheConditionalCheck() throws Exception {
+		Employee employee = employee();
+		InMemoryEventLog eventLog = new InMemoryEventLog();
+		eventLog.append(Arrays.asList(upsert(employee.getId(), "Pune"), backfilled()));
+		AddressReadModel readModel = new AddressReadModel(eventLog, 100, meterRegistry);
+		readModel.poll();
+		EmployeeImpl service = service(new MaterializedAddressClient(readModel, remote));
+
+		String etag = service.localEtag(employee.getId());
+
+		assertEquals(service.etag(service.getById(employee.getId())), etag);
+		assertEquals(0, remote.calls.get());
+		assertNull(service.localEtag(employee.getId() + 1000));
+	}
+
+	private EmployeeImpl service(AddressClient addressClient) {
+		EmployeeHotCache hotCache = new EmployeeHotCache();
+		ReflectionTestUtils.setField(hotCache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(hotCache, "maxEntries", 100);
+		hotCache.init();
+		EmployeeImpl service = new EmployeeImpl();
+		ReflectionTestUtils.setField(service, "employeeRepo", employeeRepo);
+		ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(service, "hotCache", hotCache);
+		ReflectionTestUtils.setField(service, "responseCache",
+				new ResponseCache(new ResponseCacheProperties(), meterRegistry));
+		ReflectionTestUtils.setField(service, "employeeEventBus",
+				new EmployeeEventBus(64, Collections.emptyList(), meterRegistry));
+		ReflectionTestUtils.setField(service, "addressClient", addressClient);
+		ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+		service.init();
+		return service;
+	}
+
+	private Employee employee() {
+		Employee employee = new Employee();
+		employee.setName("Durgesh");
+		employee.setEmail(System.nanoTime() + "@example.com");
+		return employeeRepo.save(employee);
+	}
+
+	private static AddressChangeEvent upsert(Long id, String state) {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.UPSERTED);
+		event.setAddressId(id);
+		event.setState(state);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+
+	private static AddressChangeEvent backfilled() {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.BACKFILLED);
+		event.setAddressId(0L);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+}
@@ -0,0 +1,210 @@
+package com.durgesh.Impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.client.AddressClient;
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.dto.PatchResult;
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+import com.durgesh.responsecache.ResponseCacheProperties;
+import com.durgesh.sql.SqlCapture;
+import com.durgesh.sql.SqlInsightAutoConfiguration;
+import com.durgesh.warmstart.EmployeeHotCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PATCH against the real entity on H2, with the statements counted through
+ * the sql-insight JDBC proxy.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(SqlInsightAutoConfiguration.class)
+// patch commits its own transaction, as it does behind the controller
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeePatchTests {
+
+	@Configuration
+	@EnableJpaRepositories(basePackageClasses = EmployeeRepo.class)
+	@EntityScan(basePackageClasses = Employee.class)
+	static class JpaConfig {
+	}
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		employeeRepo.deleteAllInBatch();
+	}
+
+	@Test
+	void changedFieldIsOneUpdateOfThatColumn() throws Exception {
+		Employee employee = employee("a@example.com");
+		EmployeeImpl service = service(employeeRepo);
+
+		PatchResult result;
+		List<String> statements;
+		try (SqlCapture sql = SqlCapture.start()) {
+			result = service.patch(employee.getId(), json("{\"name\":\"Renamed\"}"), employee.getVersion());
+			statements = sql.assertStatementCount(2).statements();
+		}
+
+		assertEquals(PatchResult.Outcome.UPDATED, result.getOutcome());
+		List<String> updates = updates(statements);
+		assertEquals(1, updates.size(), statements.toString());
+		String update = updates.get(0);
+		assertTrue(update.contains("name=?") && update.contains("version=?"), update);
+		assertFalse(update.contains("email") || update.contains("blood_group"), update);
+		Employee stored = employeeRepo.findById(employee.getId()).get();
+		assertEquals("Renamed", stored.getName());
+		assertEquals(employee.getVersion() + 1, stored.getVersion());
+	}
+
+	@Test
+	void unchangedPatchWritesNothing() throws Exception {
+		Employee employee = employee("a@example.com");
+		EmployeeImpl service = service(employeeRepo);
+
+		PatchResult result;
+		try (SqlCapture sql = SqlCapture.start()) {
+			result = service.patch(employee.getId(),
+					json("{\"name\":\"Durgesh\",\"email\":\"a@example.com\",\"bloodGroup\":\"O-\"}"), null);
+			sql.assertStatementCount(1);
+		}
+
+		assertEquals(PatchResult.Outcome.UNCHANGED, result.getOutcome());
+		assertEquals(employee.getVersion(), employeeRepo.findById(employee.getId()).get().getVersion());
+	}
+
+	@Test
+	void emailOfAnotherEmployeeIsTakenAndNothingIsWritten() throws Exception {
+		Employee employee = employee("a@example.com");
+		employee("b@example.com");
+		EmployeeImpl service = service(employeeRepo);
+
+		PatchResult result;
+		List<String> statements;
+		try (SqlCapture sql = SqlCapture.start()) {
+			result = service.patch(employee.getId(), json("{\"name\":\"Renamed\",\"email\":\"b@example.com\"}"), null);
+			statements = sql.statements();
+		}
+
+		assertEquals(PatchResult.Outcome.EMAIL_TAKEN, result.getOutcome());
+		Employee stored = employeeRepo.findById(employee.getId()).get();
+		assertEquals("Durgesh", stored.getName());
+		assertEquals(employee.getVersion(), stored.getVersion());
+		// the name may have been flushed ahead of the email lookup, but it was rolled back
+		assertTrue(updates(statements).size() <= 1, statements.toString());
+	}
+
+	@Test
+	void emailTakenBetweenTheCheckAndTheCommitIsEmailTaken() throws Exception {
+		Employee employee = employee("a@example.com");
+		employee("b@example.com");
+		// the lookup runs before the other request's insert commits, so it sees no owner
+		EmployeeImpl service = service(missingEmailOwners(employeeRepo));
+
+		PatchResult result = service.patch(employee.getId(), json("{\"email\":\"b@example.com\"}"), null);
+
+		assertEquals(PatchResult.Outcome.EMAIL_TAKEN, result.getOutcome());
+		assertEquals("a@example.com", employeeRepo.findById(employee.getId()).get().getEmail());
+	}
+
+	private EmployeeImpl service(EmployeeRepo repo) {
+		EmployeeHotCache hotCache = new EmployeeHotCache();
+		ReflectionTestUtils.setField(hotCache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(hotCache, "maxEntries", 100);
+		hotCache.init();
+		EmployeeImpl service = new EmployeeImpl();
+		ReflectionTestUtils.setField(service, "employeeRepo", repo);
+		ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(service, "hotCache", hotCache);
+		ReflectionTestUtils.setField(service, "responseCache",
+				new ResponseCache(new ResponseCacheProperties(), meterRegistry));
+		ReflectionTestUtils.setField(service, "employeeEventBus",
+				new EmployeeEventBus(64, Collections.emptyList(), meterRegistry));
+		ReflectionTestUtils.setField(service, "addressClient", new NoAddresses());
+		ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+		service.init();
+		return service;
+	}
+
+	private Employee employee(String email) {
+		Employee employee = new Employee();
+		employee.setName("Durgesh");
+		employee.setEmail(email);
+		employee.setBloodGroup(BloodGroup.O_NEG);
+		return employeeRepo.save(employee);
+	}
+
+	private JsonNode json(String patch) throws Exception {
+		return objectMapper.readTree(patch);
+	}
+
+	private static List<String> updates(List<String> statements) {
+		return statements.stream().filter(sql -> sql.toLowerCase().startsWith("update"))
+				.collect(Collectors.toList());
+	}
+
+	private static EmployeeRepo missingEmailOwners(EmployeeRepo repo) {
+		return (EmployeeRepo) Proxy.newProxyInstance(EmployeeRepo.class.getClassLoader(),
+				new Class<?>[] { EmployeeRepo.class }, (proxy, method, args) -> {
+					if (method.getName().equals("findByEmail")) {
+						return null;
+					}
+					try {
+						return method.invoke(repo, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	static final class NoAddresses implements AddressClient {
+		@Override
+		public AddressResponse getAddress(Long id) {
+			return null;
+		}
+
+		@Override
+		public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+			return Collections.emptyMap();
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package com.durgesh.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.durgesh.deadline.Deadline;
+import com.durgesh.deadline.DeadlineExceededException;
+import com.durgesh.dto.AddressResponse;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DiscoveryAddressClientTests {
+
+	private final SlowRestTemplate rest = new SlowRestTemplate();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void tearDown() {
+		Deadline.clear();
+	}
+
+	@Test
+	void timeoutWithinTheRequestDeadlineIsDeadlineExceeded() {
+		DiscoveryAddressClient client = client(1, false);
+		rest.latencyMs = 1000;
+		Deadline.start(30);
+
+		assertThrows(DeadlineExceededException.class, () -> client.getAddress(1L));
+	}
+
+	@Test
+	void timeoutWithinTheClientTimeoutIsAFailure() {
+		DiscoveryAddressClient client = client(1, false);
+		ReflectionTestUtils.setField(client, "timeoutMs", 30L);
+		rest.latencyMs = 1000;
+		// a generous deadline leaves the client timeout in charge
+		Deadline.start(5000);
+
+		RuntimeException failure = assertThrows(RuntimeException.class, () -> client.getAddress(1L));
+		assertFalse(failure instanceof DeadlineExceededException);
+	}
+
+	@Test
+	void shortDeadlinesDoNotOpenTheBreaker() {
+		DiscoveryAddressClient client = client(2, true);
+		CircuitBreaker circuitBreaker = new AddressClientConfig()
+				.circuitBreakerRegistry(new SimpleMeterRegistry(), 50, 50, 500, 4, 4, 60000, 3).circuitBreaker("test");
+		GuardedAddressClient guarded = new GuardedAddressClient(client, circuitBreaker, Bulkhead.ofDefaults("test"));
+		rest.latencyMs = 1000;
+
+		for (long id = 0; id < 8; id++) {
+			Deadline.start(20);
+			assertNull(guarded.getAddress(id));
+		}
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+
+		Deadline.clear();
+		ReflectionTestUtils.setField(client, "timeoutMs", 20L);
+		for (long id = 0; id < 4; id++) {
+			assertNull(guarded.getAddress(id));
+		}
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+	}
+
+	@Test
+	void noHedgeWhenTheDeadlineEndsBeforeTheHedgeDelay() {
+		DiscoveryAddressClient client = client(2, true);
+		rest.latencyMs = 1000;
+		Deadline.start(20);
+
+		assertThrows(DeadlineExceededException.class, () -> client.getAddress(1L));
+		assertEquals(1, rest.calls.get());
+	}
+
+	@Test
+	void hedgeAnswersWhenThePrimaryIsSlowAndTheLoserIsCancelled() throws Exception {
+		DiscoveryAddressClient client = client(2, true);
+		ReflectionTestUtils.setField(client, "hedgeBudget", new HedgeBudget(100, 10));
+		rest.latencyMs = 10;
+		rest.slowPort = 8000;
+		rest.slowLatencyMs = 400;
+
+		long start = System.nanoTime();
+		assertNotNull(client.getAddress(1L));
+
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 300);
+		assertEquals(2, rest.calls.get());
+		assertEquals(1, meterRegistry.counter("address.hedging.sent").count());
+		assertEquals(1, meterRegistry.counter("address.hedging.won").count());
+		long deadline = System.currentTimeMillis() + 2000;
+		while (rest.interrupted.get() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(1, rest.interrupted.get());
+	}
+
+	@Test
+	void noHedgeWithoutBudget() {
+		DiscoveryAddressClient client = client(2, true);
+		rest.latencyMs = 10;
+		rest.slowPort = 8000;
+		rest.slowLatencyMs = 100;
+
+		assertNotNull(client.getAddress(1L));
+
+		assertEquals(1, rest.calls.get());
+		assertEquals(1, meterRegistry.counter("address.hedging.budget.exhausted").count());
+	}
+
+	@Test
+	void busyHedgeThreadsFallBackToAnUnhedgedCall() throws Exception {
+		DiscoveryAddressClient client = client(2, true);
+		ReflectionTestUtils.setField(client, "hedgeBudget", new HedgeBudget(100, 10));
+		ExecutorService restExecutor = (ExecutorService) ReflectionTestUtils.getField(client, "restExecutor");
+		CountDownLatch release = new CountDownLatch(1);
+		for (int i = 0; i < 2; i++) {
+			restExecutor.execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		rest.latencyMs = 10;
+
+		try {
+			assertNotNull(client.getAddress(1L));
+		} finally {
+			release.countDown();
+		}
+		assertEquals(1, rest.calls.get());
+		assertEquals(1, meterRegistry.counter("address.hedging.threads.exhausted").count());
+	}
+
+	@Test
+	void failedCallsCountTowardsTheHedgeDelay() {
+		DiscoveryAddressClient client = client(1, false);
+		ReflectionTestUtils.setField(client, "initialHedgeDelayMs", 1000L);
+		ReflectionTestUtils.setField(client, "timeoutMs", 30L);
+		rest.latencyMs = 1000;
+
+		for (long id = 0; id < 20; id++) {
+			long lookup = id;
+			assertThrows(RuntimeException.class, () -> client.getAddress(lookup));
+		}
+
+		long delayMs = client.hedgeDelayMs();
+		assertTrue(delayMs >= 30 && delayMs < 1000, Long.toString(delayMs));
+	}
+
+	private DiscoveryAddressClient client(int instanceCount, boolean hedging) {
+		List<ServiceInstance> instances = new ArrayList<>();
+		for (int i = 0; i < instanceCount; i++) {
+			instances.add(new DefaultServiceInstance("address-" + i, DiscoveryAddressClient.SERVICE_ID, "localhost",
+					8000 + i, false));
+		}
+		DiscoveryClient discoveryClient = new DiscoveryClient() {
+			@Override
+			public String description() {
+				return "test";
+			}
+
+			@Override
+			public List<ServiceInstance> getInstances(String serviceId) {
+				return instances;
+			}
+
+			@Override
+			public List<String> getServices() {
+				return Collections.singletonList(DiscoveryAddressClient.SERVICE_ID);
+			}
+		};
+		DiscoveryAddressClient client = new DiscoveryAddressClient();
+		ReflectionTestUtils.setField(client, "discoveryClient", discoveryClient);
+		ReflectionTestUtils.setField(client, "restTemplate", rest);
+		ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(client, "grpcEnabled", false);
+		ReflectionTestUtils.setField(client, "hedgingEnabled", hedging);
+		ReflectionTestUtils.setField(client, "hedgePercentile", 95.0);
+		ReflectionTestUtils.setField(client, "initialHedgeDelayMs", 50L);
+		ReflectionTestUtils.setField(client, "minHedgeDelayMs", 5L);
+		ReflectionTestUtils.setField(client, "hedgeBudgetPercent", 10.0);
+		ReflectionTestUtils.setField(client, "hedgeThreads", 2);
+		ReflectionTestUtils.setField(client, "timeoutMs", 500L);
+		client.init();
+		return client;
+	}
+
+	/**
+	 * REST stand-in that answers after {@code latencyMs}, or {@code slowLatencyMs}
+	 * on {@code slowPort}, and times out when the forwarded budget is shorter.
+	 */
+	static final class SlowRestTemplate extends RestTemplate {
+		volatile long latencyMs;
+		volatile int slowPort = -1;
+		volatile long slowLatencyMs;
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger interrupted = new AtomicInteger();
+
+		@Override
+		public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity,
+				Class<T> responseType, Object... uriVariables) {
+			calls.incrementAndGet();
+			long budgetMs = Long.parseLong(requestEntity.getHeaders().getFirst(Deadline.TIMEOUT_HEADER));
+			long latencyMs = url.contains(":" + slowPort + "/") ? slowLatencyMs : this.latencyMs;
+			try {
+				Thread.sleep(Math.min(latencyMs, budgetMs));
+			} catch (InterruptedException e) {
+				interrupted.incrementAndGet();
+				Thread.currentThread().interrupt();
+				throw new ResourceAccessException("Interrupted");
+			}
+			if (latencyMs >= budgetMs) {
+				throw new ResourceAccessException("Read timed out");
+			}
+			return ResponseEntity.ok(responseType.cast(new AddressResponse()));
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.durgesh.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.grpc.AddressLookupGrpc;
+import com.durgesh.grpc.AddressReply;
+import com.durgesh.grpc.AddressRequest;
+
+import io.grpc.Context;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+class GrpcAddressTransportTests {
+
+	private final FakeAddressLookup lookup = new FakeAddressLookup();
+
+	private Server server;
+	private GrpcAddressTransport transport;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		String name = InProcessServerBuilder.generateName();
+		server = InProcessServerBuilder.forName(name).addService(lookup).build().start();
+		transport = new GrpcAddressTransport() {
+			@Override
+			ManagedChannel newChannel(String host, int port) {
+				return InProcessChannelBuilder.forName(name).build();
+			}
+		};
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		transport.shutdown();
+		server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void unaryLookupMapsFoundAndNotFound() {
+		AddressResponse found = transport.getAddress("address", 9001, 1L, 1000);
+
+		assertEquals("12 MG Road", found.getLine1());
+		assertEquals("Pune", found.getState());
+		assertEquals("411001", found.getZip());
+		assertNull(transport.getAddress("address", 9001, 2L, 1000));
+	}
+
+	@Test
+	void batchKeepsOnlyFoundAddressesOnOneStream() {
+		Map<Long, AddressResponse> addresses = transport.getAddresses("address", 9001, Arrays.asList(1L, 2L, 3L),
+				1000);
+
+		assertEquals(2, addresses.size());
+		assertEquals("Pune", addresses.get(1L).getState());
+		assertEquals("Goa", addresses.get(3L).getState());
+		assertFalse(addresses.containsKey(2L));
+		assertEquals(1, lookup.streams.get());
+	}
+
+	@Test
+	void emptyBatchIsEmpty() {
+		assertTrue(transport.getAddresses("address", 9001, Collections.emptyList(), 1000).isEmpty());
+	}
+
+	@Test
+	void timeoutBecomesTheServersDeadline() throws Exception {
+		lookup.latencyMs = 300;
+
+		assertThrows(IllegalStateException.class, () -> transport.getAddress("address", 9001, 1L, 100));
+
+		assertTrue(lookup.finished.await(5, TimeUnit.SECONDS));
+		assertTrue(lookup.sawCancellation.get());
+	}
+
+	@Test
+	void batchTimeoutCancelsTheStream() throws Exception {
+		lookup.latencyMs = 300;
+
+		assertThrows(IllegalStateException.class,
+				() -> transport.getAddresses("address", 9001, Arrays.asList(1L, 3L), 100));
+
+		assertTrue(lookup.finished.await(5, TimeUnit.SECONDS));
+		assertTrue(lookup.sawCancellation.get());
+	}
+
+	/** Knows addresses 1 and 3; records whether a slow call saw its deadline pass. */
+	static final class FakeAddressLookup extends AddressLookupGrpc.AddressLookupImplBase {
+		final AtomicInteger streams = new AtomicInteger();
+		final AtomicBoolean sawCancellation = new AtomicBoolean();
+		final CountDownLatch finished = new CountDownLatch(1);
+		volatile long latencyMs;
+
+		@Override
+		public void getAddress(AddressRequest request, StreamObserver<AddressReply> responseObserver) {
+			AddressReply reply = lookup(request.getId());
+			if (Context.current().isCancelled()) {
+				return;
+			}
+			responseObserver.onNext(reply);
+			responseObserver.onCompleted();
+		}
+
+		@Override
+		public StreamObserver<AddressRequest> getAddresses(StreamObserver<AddressReply> responseObserver) {
+			streams.incrementAndGet();
+			return new StreamObserver<AddressRequest>() {
+				@Override
+				public void onNext(AddressRequest request) {
+					AddressReply reply = lookup(request.getId());
+					if (!Context.current().isCancelled()) {
+						responseObserver.onNext(reply);
+					}
+				}
+
+				@Override
+				public void onError(Throwable t) {
+				}
+
+				@Override
+				public void onCompleted() {
+					responseObserver.onCompleted();
+				}
+			};
+		}
+
+		private AddressReply lookup(long id) {
+			if (latencyMs > 0) {
+				try {
+					Thread.sleep(latencyMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				sawCancellation.set(Context.current().isCancelled());
+				finished.countDown();
+			}
+			if (id == 1L) {
+				return AddressReply.newBuilder().setId(id).setFound(true).setLine1("12 MG Road").setState("Pune")
+						.setZip("411001").build();
+			}
+			if (id == 3L) {
+				return AddressReply.newBuilder().setId(id).setFound(true).setLine1("4 Park Street").setState("Goa")
+						.setZip("403001").build();
+			}
+			return AddressReply.newBuilder().setId(id).setFound(false).build();
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.durgesh.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.durgesh.dto.AddressResponse;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+
+class GuardedAddressClientTests {
+
+	private StubAddressClient stub;
+	private CircuitBreaker circuitBreaker;
+
+	@BeforeEach
+	void setUp() {
+		stub = new StubAddressClient();
+		circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+				.failureRateThreshold(50)
+				.slowCallRateThreshold(50)
+				.slowCallDurationThreshold(Duration.ofMillis(50))
+				.slidingWindowSize(4)
+				.minimumNumberOfCalls(4)
+				.waitDurationInOpenState(Duration.ofMinutes(1))
+				.build());
+	}
+
+	private GuardedAddressClient client(int maxConcurrentCalls) {
+		Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+				.maxConcurrentCalls(maxConcurrentCalls)
+				.maxWaitDuration(Duration.ZERO)
+				.build());
+		return new GuardedAddressClient(stub, circuitBreaker, bulkhead);
+	}
+
+	@Test
+	void returnsAddressWhenHealthy() {
+		assertNotNull(client(10).getAddress(1L));
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	void failuresOpenCircuitAndFallBackWithoutCallingService() {
+		GuardedAddressClient client = client(10);
+		stub.failing = true;
+		for (long id = 0; id < 4; id++) {
+			assertNull(client.getAddress(id));
+		}
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+		int callsBefore = stub.calls.get();
+		assertNull(client.getAddress(99L));
+		assertEquals(callsBefore, stub.calls.get());
+	}
+
+	@Test
+	void slowCallsOpenCircuit() {
+		GuardedAddressClient client = client(10);
+		stub.latencyMs = 80;
+		for (long id = 0; id < 4; id++) {
+			client.getAddress(id);
+		}
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondLimit() throws Exception {
+		GuardedAddressClient client = client(1);
+		stub.latencyMs = 300;
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			Future<AddressResponse> first = executor.submit(() -> {
+				started.countDown();
+				return client.getAddress(1L);
+			});
+			started.await();
+			Thread.sleep(50);
+
+			assertNull(client.getAddress(2L));
+			assertNotNull(first.get());
+			assertEquals(1, stub.calls.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void saturatedBulkheadLeavesTheCircuitClosed() throws Exception {
+		GuardedAddressClient client = client(1);
+		stub.latencyMs = 300;
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			Future<AddressResponse> first = executor.submit(() -> {
+				started.countDown();
+				return client.getAddress(1L);
+			});
+			started.await();
+			Thread.sleep(50);
+
+			// more rejections than the breaker's minimum number of calls
+			for (long id = 2; id < 10; id++) {
+				assertNull(client.getAddress(id));
+			}
+			assertNotNull(first.get());
+
+			assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+			assertEquals(1, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+			assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+			assertEquals(1, stub.calls.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.durgesh.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HedgeBudgetTests {
+
+	@Test
+	void tenPercentAllowsOneHedgePerTenRequests() {
+		HedgeBudget budget = new HedgeBudget(10, 10);
+		for (int i = 0; i < 9; i++) {
+			budget.onRequest();
+		}
+		assertFalse(budget.tryAcquire());
+
+		budget.onRequest();
+		assertTrue(budget.tryAcquire());
+		assertFalse(budget.tryAcquire());
+	}
+
+	@Test
+	void savedTokensAreCapped() {
+		HedgeBudget budget = new HedgeBudget(10, 3);
+		for (int i = 0; i < 1000; i++) {
+			budget.onRequest();
+		}
+		int hedges = 0;
+		while (budget.tryAcquire()) {
+			hedges++;
+		}
+		assertEquals(3, hedges);
+	}
+}
@@ -0,0 +1,43 @@
+package com.durgesh.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyTrackerTests {
+
+	@Test
+	void noPercentileBeforeTheFirstSample() {
+		LatencyTracker tracker = new LatencyTracker(16, 95);
+		assertEquals(-1, tracker.percentileMicros());
+
+		tracker.record(700);
+		assertEquals(700, tracker.percentileMicros());
+	}
+
+	@Test
+	void percentileIsRefreshedEveryFewSamples() {
+		LatencyTracker tracker = new LatencyTracker(1024, 95);
+		for (int micros = 1; micros <= 2 * LatencyTracker.REFRESH_EVERY; micros++) {
+			tracker.record(micros);
+		}
+		// still the value computed at sample 65
+		assertEquals(62, tracker.percentileMicros());
+
+		tracker.record(2 * LatencyTracker.REFRESH_EVERY + 1);
+		assertEquals(123, tracker.percentileMicros());
+	}
+
+	@Test
+	void onlyTheLatestSamplesCount() {
+		LatencyTracker tracker = new LatencyTracker(LatencyTracker.REFRESH_EVERY, 95);
+		for (int i = 0; i <= LatencyTracker.REFRESH_EVERY; i++) {
+			tracker.record(10_000);
+		}
+		for (int micros = 1; micros <= LatencyTracker.REFRESH_EVERY; micros++) {
+			tracker.record(micros);
+		}
+		assertEquals(LatencyTracker.REFRESH_EVERY, tracker.size());
+		assertEquals(61, tracker.percentileMicros());
+	}
+}
@@ -0,0 +1,47 @@
+package com.durgesh.client;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.durgesh.dto.AddressResponse;
+
+/**
+ * Local stand-in for address-service with injectable latency and failures.
+ */
+public class StubAddressClient implements AddressClient {
+
+	public volatile long latencyMs;
+	public volatile boolean failing;
+	public final AtomicInteger calls = new AtomicInteger();
+
+	@Override
+	public AddressResponse getAddress(Long id) {
+		calls.incrementAndGet();
+		if (latencyMs > 0) {
+			try {
+				Thread.sleep(latencyMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (failing) {
+			throw new IllegalStateException("address-service unavailable");
+		}
+		AddressResponse response = new AddressResponse();
+		response.setLine1("Line " + id);
+		response.setState("UP");
+		response.setZip("201301");
+		return response;
+	}
+
+	@Override
+	public Map<Long, AddressResponse> getAddresses(Collection<Long> ids) {
+		Map<Long, AddressResponse> result = new HashMap<>();
+		for (Long id : ids) {
+			result.put(id, getAddress(id));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,64 @@
+package com.durgesh.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.durgesh.deadline.DeadlineExceededException;
+import com.durgesh.exception.CustomExceptionHandler;
+import com.durgesh.service.EmployeeService;
+
+class EmployeeControllerTests {
+
+	@Test
+	void deadlineWhileLoadingIsGatewayTimeout() throws Exception {
+		MockMvc mvc = mvc(failing("getById"));
+
+		mvc.perform(get("/employee/1"))
+				.andExpect(status().isGatewayTimeout())
+				.andExpect(jsonPath("$.data").value("504"));
+	}
+
+	@Test
+	void deadlineWhileCheckingTheETagIsGatewayTimeout() throws Exception {
+		MockMvc mvc = mvc(failing("localEtag"));
+
+		mvc.perform(get("/employee/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-0-none\""))
+				.andExpect(status().isGatewayTimeout());
+	}
+
+	@Test
+	void otherFailuresAreStillNotFound() throws Exception {
+		MockMvc mvc = mvc((EmployeeService) Proxy.newProxyInstance(EmployeeService.class.getClassLoader(),
+				new Class<?>[] { EmployeeService.class }, (proxy, method, args) -> {
+					throw new IllegalStateException("boom");
+				}));
+
+		mvc.perform(get("/employee/1")).andExpect(status().isNotFound());
+	}
+
+	private static MockMvc mvc(EmployeeService employeeService) {
+		EmployeeController controller = new EmployeeController();
+		ReflectionTestUtils.setField(controller, "employeeService", employeeService);
+		return MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(new CustomExceptionHandler()).build();
+	}
+
+	/** Throws DeadlineExceededException from {@code methodName}, as a SingleFlight follower would. */
+	private static EmployeeService failing(String methodName) {
+		return (EmployeeService) Proxy.newProxyInstance(EmployeeService.class.getClassLoader(),
+				new Class<?>[] { EmployeeService.class }, (proxy, method, args) -> {
+					if (method.getName().equals(methodName)) {
+						throw new DeadlineExceededException("deadline exceeded waiting for employee 1");
+					}
+					return null;
+				});
+	}
+}
@@ -0,0 +1,100 @@
+package com.durgesh.eventbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.durgesh.entity.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeEventBusTests {
+
+	/** Copies what it sees, since slots are reused. */
+	static class Recorder implements EventHandler<EmployeeEvent> {
+		final List<Long> ids = new ArrayList<>();
+		long lastSequence = -1;
+		boolean inOrder = true;
+
+		@Override
+		public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+			inOrder &= sequence == lastSequence + 1;
+			lastSequence = sequence;
+			ids.add(event.getType() == EmployeeEvent.Type.DELETED ? -event.getEmployeeId() : event.getEmployeeId());
+		}
+	}
+
+	@Test
+	void everyHandlerSeesEveryEventFromConcurrentPublishers() throws Exception {
+		Recorder audit = new Recorder();
+		Recorder slow = new Recorder() {
+			@Override
+			public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+				if (sequence % 1000 == 0) {
+					Thread.yield();
+				}
+				super.onEvent(event, sequence, endOfBatch);
+			}
+		};
+		// small ring so publishers have to wait for the handlers
+		EmployeeEventBus bus = new EmployeeEventBus(64, Arrays.asList(audit, slow), new SimpleMeterRegistry());
+		bus.start();
+
+		int threads = 4;
+		int perThread = 5000;
+		ExecutorService publishers = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			long base = t * (long) perThread;
+			publishers.submit(() -> {
+				for (int i = 1; i <= perThread; i++) {
+					Employee employee = new Employee();
+					employee.setId(base + i);
+					bus.publishCreated(employee);
+				}
+			});
+		}
+		publishers.shutdown();
+		assertTrue(publishers.awaitTermination(30, TimeUnit.SECONDS));
+		bus.close();
+
+		for (Recorder recorder : Arrays.asList(audit, slow)) {
+			assertEquals(threads * perThread, recorder.ids.size());
+			assertEquals(threads * perThread, recorder.ids.stream().distinct().count());
+			assertTrue(recorder.inOrder);
+		}
+	}
+
+	@Test
+	void handlerFailureDoesNotStopTheConsumer() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		Recorder recorder = new Recorder();
+		EventHandler<EmployeeEvent> failing = (event, sequence, endOfBatch) -> {
+			if (sequence == 0) {
+				throw new IllegalStateException("boom");
+			}
+			recorder.onEvent(event, sequence, endOfBatch);
+		};
+		EmployeeEventBus bus = new EmployeeEventBus(8, Arrays.asList(failing), meterRegistry);
+		bus.start();
+		bus.publishDeleted(1L);
+		bus.publishDeleted(2L);
+		bus.close();
+
+		assertEquals(Arrays.asList(-2L), recorder.ids);
+		assertEquals(1, meterRegistry.find("employee.events.failures").counter().count());
+	}
+
+	@Test
+	void ringSizeMustBePowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(100, EmployeeEvent::new));
+	}
+}
@@ -0,0 +1,110 @@
+package com.durgesh.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.durgesh.entity.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost on the publishing (request) thread of the ring buffer bus versus
+ * Spring's synchronous {@code ApplicationEventPublisher}, with three
+ * handlers each doing {@code handlerWork} units of CPU work per event.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.durgesh.eventbus.EventBusBenchmark}, or from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class EventBusBenchmark {
+
+	private static final int HANDLERS = 3;
+
+	@Param({ "0", "50", "500" })
+	public int handlerWork;
+
+	private EmployeeEventBus bus;
+	private GenericApplicationContext context;
+	private Employee employee;
+
+	static final class EmployeeCreated extends ApplicationEvent {
+		private static final long serialVersionUID = 1L;
+
+		EmployeeCreated(Employee employee) {
+			super(employee);
+		}
+	}
+
+	@Setup
+	public void setup() {
+		employee = new Employee();
+		employee.setId(1L);
+		employee.setName("Durgesh");
+		employee.setEmail("durgesh@example.com");
+
+		List<EventHandler<EmployeeEvent>> handlers = new ArrayList<>();
+		for (int i = 0; i < HANDLERS; i++) {
+			handlers.add((event, sequence, endOfBatch) -> Blackhole.consumeCPU(handlerWork));
+		}
+		bus = new EmployeeEventBus(4096, handlers, new SimpleMeterRegistry());
+		bus.start();
+
+		context = new GenericApplicationContext();
+		context.refresh();
+		for (int i = 0; i < HANDLERS; i++) {
+			context.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+				if (event instanceof EmployeeCreated) {
+					Blackhole.consumeCPU(handlerWork);
+				}
+			});
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		bus.close();
+		context.close();
+	}
+
+	@Benchmark
+	public void ringBuffer() {
+		bus.publishCreated(employee);
+	}
+
+	@Benchmark
+	public void applicationEventPublisher() {
+		context.publishEvent(new EmployeeCreated(employee));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(EventBusBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,216 @@
+package com.durgesh.purge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.entity.Employee;
+import com.durgesh.eventbus.EmployeeEvent;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.eventbus.EventHandler;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+import com.durgesh.responsecache.ResponseCacheProperties;
+import com.durgesh.sql.SqlCapture;
+import com.durgesh.sql.SqlInsightAutoConfiguration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ImportAutoConfiguration(SqlInsightAutoConfiguration.class)
+// each chunk commits on the purge thread, so the rows must be committed before it starts
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeePurgerTests {
+
+	@Configuration
+	@EnableJpaRepositories(basePackageClasses = EmployeeRepo.class)
+	@EntityScan(basePackageClasses = Employee.class)
+	static class JpaConfig {
+	}
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final DeletedIds deletedIds = new DeletedIds();
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private EmployeeEventBus eventBus;
+	private EmployeePurger purger;
+
+	@BeforeEach
+	void setUp() {
+		employeeRepo.deleteAllInBatch();
+		eventBus = new EmployeeEventBus(64, Collections.singletonList(deletedIds), meterRegistry);
+		eventBus.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (purger != null) {
+			purger.shutdown();
+		}
+		eventBus.close();
+	}
+
+	@Test
+	void deletesChunkByChunkAndPublishesEveryId() throws Exception {
+		List<Long> ids = employees(25);
+		purger = purger(employeeRepo, 10, 0);
+
+		PurgeJob job;
+		List<String> statements;
+		try (SqlCapture sql = SqlCapture.start()) {
+			job = await(purger.start());
+			statements = sql.statements();
+		}
+
+		assertEquals(PurgeJob.State.COMPLETED, job.getState());
+		assertEquals(25, job.getDeleted());
+		assertEquals(25, job.getEstimatedRows());
+		assertEquals(100, job.getPercent());
+		assertEquals(0, employeeRepo.count());
+		List<String> deletes = statements.stream().filter(sql -> sql.toLowerCase().startsWith("delete"))
+				.collect(Collectors.toList());
+		assertEquals(3, deletes.size(), statements.toString());
+		assertEquals(25, meterRegistry.counter("employee.purge.deleted").count());
+		eventBus.close();
+		assertEquals(ids, deletedIds.ids);
+	}
+
+	@Test
+	void rowsAddedAfterTheStartAreKept() throws Exception {
+		employees(10);
+		// slow enough that the insert below lands while the purge is still running
+		purger = purger(employeeRepo, 5, 200);
+
+		PurgeJob job = purger.start();
+		Long added = employees(1).get(0);
+		await(job);
+
+		assertEquals(PurgeJob.State.COMPLETED, job.getState());
+		assertEquals(10, job.getDeleted());
+		assertEquals(Collections.singletonList(added),
+				employeeRepo.findAll().stream().map(Employee::getId).collect(Collectors.toList()));
+	}
+
+	@Test
+	void failedChunkStopsThePurgeAndKeepsFinishedChunksDeleted() throws Exception {
+		List<Long> ids = employees(20);
+		purger = purger(failingSecondDelete(employeeRepo), 10, 0);
+
+		PurgeJob job = await(purger.start());
+
+		assertEquals(PurgeJob.State.FAILED, job.getState());
+		assertNotNull(job.getError());
+		assertEquals(10, job.getDeleted());
+		assertEquals(10, employeeRepo.count());
+		eventBus.close();
+		assertEquals(ids.subList(0, 10), deletedIds.ids);
+	}
+
+	@Test
+	void startWhileRunningReturnsTheRunningJob() throws Exception {
+		employees(10);
+		purger = purger(employeeRepo, 2, 100);
+
+		PurgeJob first = purger.start();
+		PurgeJob second = purger.start();
+
+		assertSame(first, second);
+		assertTrue(first.isRunning());
+		assertSame(first, purger.get(first.getId()));
+		assertSame(first, purger.latest());
+		await(first);
+		PurgeJob next = await(purger.start());
+		assertEquals(first.getId() + 1, next.getId());
+		assertEquals(0, next.getDeleted());
+	}
+
+	private EmployeePurger purger(EmployeeRepo repo, int chunkSize, long pauseMs) {
+		EmployeePurger purger = new EmployeePurger();
+		ReflectionTestUtils.setField(purger, "employeeRepo", repo);
+		ReflectionTestUtils.setField(purger, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(purger, "employeeEventBus", eventBus);
+		ReflectionTestUtils.setField(purger, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(purger, "responseCache",
+				new ResponseCache(new ResponseCacheProperties(), meterRegistry));
+		ReflectionTestUtils.setField(purger, "chunkSize", chunkSize);
+		ReflectionTestUtils.setField(purger, "pauseMs", pauseMs);
+		purger.init();
+		return purger;
+	}
+
+	private List<Long> employees(int count) {
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Employee employee = new Employee();
+			employee.setName("Durgesh");
+			employee.setEmail(System.nanoTime() + "-" + i + "@example.com");
+			employees.add(employee);
+		}
+		return employeeRepo.saveAll(employees).stream().map(Employee::getId).sorted().collect(Collectors.toList());
+	}
+
+	private static PurgeJob await(PurgeJob job) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (job.isRunning() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		return job;
+	}
+
+	private static EmployeeRepo failingSecondDelete(EmployeeRepo repo) {
+		AtomicInteger deletes = new AtomicInteger();
+		return (EmployeeRepo) Proxy.newProxyInstance(EmployeeRepo.class.getClassLoader(),
+				new Class<?>[] { EmployeeRepo.class }, (proxy, method, args) -> {
+					if (method.getName().equals("deleteIdRange") && deletes.incrementAndGet() == 2) {
+						throw new DataAccessResourceFailureException("Connection reset");
+					}
+					try {
+						return method.invoke(repo, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	/** Ids of DELETED events, in publishing order; read after the bus is closed. */
+	static final class DeletedIds implements EventHandler<EmployeeEvent> {
+		final List<Long> ids = new ArrayList<>();
+
+		@Override
+		public void onEvent(EmployeeEvent event, long sequence, boolean endOfBatch) {
+			if (event.getType() == EmployeeEvent.Type.DELETED) {
+				ids.add(event.getEmployeeId());
+			}
+		}
+	}
+}
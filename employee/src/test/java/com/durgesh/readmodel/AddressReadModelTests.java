@@ -0,0 +1,120 @@
+package com.durgesh.readmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.durgesh.client.MaterializedAddressClient;
+import com.durgesh.client.StubAddressClient;
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.events.AddressChangeEvent;
+import com.durgesh.events.InMemoryEventLog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AddressReadModelTests {
+
+	private final InMemoryEventLog eventLog = new InMemoryEventLog();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void catchesUpInBatchesAndAppliesDeletes() throws Exception {
+		eventLog.append(Arrays.asList(upsert(1L, "Pune"), upsert(2L, "Delhi"), upsert(1L, "Goa")));
+		eventLog.append(Arrays.asList(delete(2L), backfilled()));
+		AddressReadModel readModel = new AddressReadModel(eventLog, 2, meterRegistry);
+		assertFalse(readModel.isReady());
+
+		assertEquals(5, readModel.poll());
+		assertTrue(readModel.isReady());
+		assertEquals("Goa", readModel.find(1L).getState());
+		assertNull(readModel.find(2L));
+		assertEquals(1, readModel.size());
+		assertEquals(5, readModel.getAppliedOffset());
+		assertEquals(0, readModel.lagEvents());
+		assertEquals(5, meterRegistry.counter("address.view.applied").count());
+	}
+
+	@Test
+	void notReadyUntilThePublisherMarksTheBackfill() throws Exception {
+		AddressReadModel readModel = new AddressReadModel(eventLog, 100, meterRegistry);
+		readModel.poll();
+		assertFalse(readModel.isReady());
+
+		eventLog.append(Arrays.asList(upsert(1L, "Pune")));
+		readModel.poll();
+		assertFalse(readModel.isReady());
+
+		eventLog.append(Arrays.asList(backfilled(), upsert(2L, "Delhi")));
+		readModel.poll();
+		assertTrue(readModel.isReady());
+		assertEquals(2, readModel.size());
+
+		readModel.replay();
+		assertTrue(readModel.isReady());
+	}
+
+	@Test
+	void reportsLagUntilPolledAndReplaysFromStart() throws Exception {
+		AddressReadModel readModel = new AddressReadModel(eventLog, 100, meterRegistry);
+		eventLog.append(Arrays.asList(upsert(1L, "Pune"), backfilled()));
+		readModel.poll();
+
+		eventLog.append(Arrays.asList(upsert(2L, "Delhi"), upsert(3L, "Goa")));
+		assertEquals(2, readModel.lagEvents());
+		assertEquals(2, readModel.poll());
+		assertEquals(0, readModel.lagEvents());
+
+		assertEquals(4, readModel.replay());
+		assertEquals(3, readModel.size());
+		assertEquals(4, readModel.getAppliedOffset());
+	}
+
+	@Test
+	void clientReadsViewOnlyOnceCaughtUp() throws Exception {
+		StubAddressClient remote = new StubAddressClient();
+		AddressReadModel readModel = new AddressReadModel(eventLog, 100, meterRegistry);
+		MaterializedAddressClient client = new MaterializedAddressClient(readModel, remote);
+
+		client.getAddress(1L);
+		assertEquals(1, remote.calls.get());
+
+		eventLog.append(Arrays.asList(upsert(1L, "Pune"), backfilled()));
+		readModel.poll();
+		AddressResponse address = client.getAddress(1L);
+		assertEquals("Pune", address.getState());
+		assertNull(client.getAddress(99L));
+		assertEquals(1, remote.calls.get());
+		assertSame(address, readModel.find(1L));
+	}
+
+	private static AddressChangeEvent upsert(Long id, String state) {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.UPSERTED);
+		event.setAddressId(id);
+		event.setState(state);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+
+	private static AddressChangeEvent backfilled() {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.BACKFILLED);
+		event.setAddressId(0L);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+
+	private static AddressChangeEvent delete(Long id) {
+		AddressChangeEvent event = new AddressChangeEvent();
+		event.setType(AddressChangeEvent.Type.DELETED);
+		event.setAddressId(id);
+		event.setOccurredAt(System.currentTimeMillis());
+		return event;
+	}
+}
@@ -0,0 +1,83 @@
+package com.durgesh.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.durgesh.entity.BloodGroup;
+
+class BloodGroupIndexTests {
+
+	private final BloodGroupIndex index = new BloodGroupIndex();
+
+	@Test
+	void parsesCommonSpellings() {
+		assertEquals(BloodGroup.AB_POS, BloodGroup.parse("AB+"));
+		assertEquals(BloodGroup.AB_POS, BloodGroup.parse("AB "));
+		assertEquals(BloodGroup.A_NEG, BloodGroup.parse("a-ve"));
+		assertEquals(BloodGroup.O_NEG, BloodGroup.parse("0 negative"));
+		assertEquals(BloodGroup.B_POS, BloodGroup.parse("B_POS"));
+		assertThrows(IllegalArgumentException.class, () -> BloodGroup.parse("AB"));
+		assertThrows(IllegalArgumentException.class, () -> BloodGroup.parse("C+"));
+	}
+
+	@Test
+	void universalDonorAndRecipient() {
+		for (BloodGroup group : BloodGroup.values()) {
+			assertTrue(BloodGroup.O_NEG.canDonateTo(group));
+			assertTrue(group.canDonateTo(BloodGroup.AB_POS));
+		}
+		assertFalse(BloodGroup.A_POS.canDonateTo(BloodGroup.A_NEG));
+		assertFalse(BloodGroup.A_NEG.canDonateTo(BloodGroup.B_POS));
+		assertEquals(4, BloodGroup.AB_NEG.donors().size());
+	}
+
+	@Test
+	void unionsCompatibleGroupsOncePublished() {
+		index.put(1L, BloodGroup.O_NEG);
+		index.put(2L, BloodGroup.A_POS);
+		index.put(3L, BloodGroup.B_POS);
+		index.put(4L, BloodGroup.A_NEG);
+		assertEquals(0, index.findDonors(BloodGroup.AB_POS, 0, 10).getTotal());
+
+		index.publish();
+		assertEquals(Arrays.asList(1L, 2L, 4L), index.findDonors(BloodGroup.A_POS, 0, 10).getIds());
+		assertEquals(Arrays.asList(1L, 4L), index.findDonors(BloodGroup.A_NEG, 0, 10).getIds());
+		assertEquals(4, index.findDonors(BloodGroup.AB_POS, 0, 10).getTotal());
+	}
+
+	@Test
+	void regroupingAndRemovalMoveTheId() {
+		index.put(7L, BloodGroup.B_NEG);
+		index.publish();
+		index.put(7L, BloodGroup.AB_POS);
+		index.put(8L, BloodGroup.B_NEG);
+		index.remove(8L);
+		index.publish();
+
+		assertEquals(0, index.findDonors(BloodGroup.B_NEG, 0, 10).getTotal());
+		assertEquals(1, (int) index.counts().get(BloodGroup.AB_POS));
+	}
+
+	@Test
+	void pagesThroughTheUnionInIdOrder() {
+		for (long id = 1; id <= 25; id++) {
+			index.put(id, id % 2 == 0 ? BloodGroup.O_POS : BloodGroup.O_NEG);
+		}
+		index.put(100_000L, BloodGroup.O_POS);
+		index.publish();
+
+		BloodGroupIndex.DonorMatch second = index.findDonors(BloodGroup.O_POS, 1, 10);
+		assertEquals(26, second.getTotal());
+		assertEquals(Arrays.asList(11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L), second.getIds());
+		List<Long> last = index.findDonors(BloodGroup.O_POS, 2, 10).getIds();
+		assertEquals(Arrays.asList(21L, 22L, 23L, 24L, 25L, 100_000L), last);
+		assertTrue(index.findDonors(BloodGroup.O_POS, 3, 10).getIds().isEmpty());
+	}
+}
@@ -0,0 +1,60 @@
+package com.durgesh.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSearchIndexTests {
+
+	private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+	@BeforeEach
+	void setUp() {
+		index.build(Arrays.asList(
+				EmployeeSearchIndex.document(3L, "Suresh Durga", "suresh.d@example.com"),
+				EmployeeSearchIndex.document(1L, "Durgesh Kumar", "durgesh@example.com"),
+				EmployeeSearchIndex.document(2L, "Dinesh Sharma", "dsharma@example.com")));
+	}
+
+	@Test
+	void matchesPartialNamesAndTypos() {
+		assertEquals(Arrays.asList(1L, 3L), ids("durg"));
+		assertEquals(1L, ids("durgseh").get(0));
+		assertEquals(Arrays.asList(2L), ids("sharam"));
+	}
+
+	@Test
+	void ranksTheCloserMatchFirst() {
+		List<EmployeeSearchIndex.Match> matches = index.search("durgesh kumar", 10, 0.4);
+		assertEquals(1L, matches.get(0).getId());
+		assertEquals(1.0, matches.get(0).getScore());
+		assertTrue(matches.get(1).getScore() < 1.0);
+	}
+
+	@Test
+	void ignoresSharedEmailDomains() {
+		assertTrue(index.search("example", 10, 0.4).isEmpty());
+	}
+
+	@Test
+	void updatesIncrementally() {
+		index.index(4L, "Durgesh", "dg@corp.com");
+		index.index(1L, "Kumar Singh", "kumar@example.com");
+		index.remove(3L);
+
+		assertEquals(Arrays.asList(4L), ids("durgesh"));
+		assertEquals(Arrays.asList(1L), ids("singh"));
+		assertEquals(3, index.size());
+		assertEquals(1, index.search("d", 1, 0.4).size());
+	}
+
+	private List<Long> ids(String query) {
+		return index.search(query, 10, 0.5).stream().map(EmployeeSearchIndex.Match::getId).collect(Collectors.toList());
+	}
+}
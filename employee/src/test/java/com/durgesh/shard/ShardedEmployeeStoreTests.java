@@ -0,0 +1,202 @@
+package com.durgesh.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+
+class ShardedEmployeeStoreTests {
+
+	private final List<ShardedEmployeeStore> stores = new ArrayList<>();
+	private String run;
+
+	@BeforeEach
+	void setUp() {
+		run = UUID.randomUUID().toString();
+	}
+
+	@AfterEach
+	void tearDown() {
+		stores.forEach(ShardedEmployeeStore::close);
+	}
+
+	@Test
+	void routesPointLookupsAndSpreadsRows() {
+		ShardedEmployeeStore store = store(3, ShardRouter.RoutingKey.ID);
+		List<Employee> saved = insert(store, 60);
+
+		for (Employee employee : saved) {
+			assertEquals(employee.getEmail(), store.findById(employee.getId()).getEmail());
+			assertEquals(employee.getId(), store.findByEmail(employee.getEmail()).getId());
+		}
+		assertNull(store.findById(10_000));
+		assertTrue(store.counts().values().stream().allMatch(count -> count > 5), store.counts().toString());
+		assertEquals(BloodGroup.AB_POS, store.findById(saved.get(1).getId()).getBloodGroup());
+	}
+
+	@Test
+	void listingsMergeShardsInIdOrder() {
+		ShardedEmployeeStore store = store(3, ShardRouter.RoutingKey.EMAIL);
+		List<Long> ids = insert(store, 40).stream().map(Employee::getId).collect(Collectors.toList());
+
+		assertEquals(ids, ids(store.findAll()));
+		assertEquals(ids.subList(14, 21), ids(store.findPage(2, 7)));
+		assertEquals(ids.subList(35, 40), ids(store.findPage(5, 7)));
+		assertTrue(store.findPage(6, 7).isEmpty());
+	}
+
+	@Test
+	void emailsStayUniqueAcrossShards() {
+		ShardedEmployeeStore store = store(3, ShardRouter.RoutingKey.ID);
+		Employee first = store.insert(employee("same@example.com"));
+
+		// with key=ID each retry gets a new id and so may land on any shard; the claim catches all of them
+		for (int i = 0; i < 5; i++) {
+			assertThrows(DuplicateKeyException.class, () -> store.insert(employee("same@example.com")));
+		}
+		assertEquals(1L, store.counts().values().stream().mapToLong(Long::longValue).sum());
+		assertEquals(first.getId(), store.findByEmail("same@example.com").getId());
+
+		assertTrue(store.deleteById(first.getId()));
+		assertNotNull(store.insert(employee("same@example.com")).getId());
+	}
+
+	@Test
+	void findsRowsByIdAcrossShards() {
+		ShardedEmployeeStore store = store(3, ShardRouter.RoutingKey.EMAIL);
+		List<Long> ids = ids(insert(store, 30));
+
+		assertEquals(Arrays.asList(ids.get(2), ids.get(17), ids.get(29)),
+				ids(store.findAllById(Arrays.asList(ids.get(29), ids.get(2), 10_000L, ids.get(17)))));
+		List<Long> chunked = new ArrayList<>();
+		store.forEachChunk(4, rows -> {
+			assertTrue(rows.size() <= 4);
+			chunked.addAll(ids(rows));
+		});
+		chunked.sort(null);
+		assertEquals(ids, chunked);
+	}
+
+	@Test
+	void mergeDropsTheSecondCopyOfAMovingRow() {
+		List<Employee> merged = ShardedEmployeeStore.merge(Arrays.asList(employees(1, 4, 9), employees(2, 4),
+				new ArrayList<>(), employees(3, 10)), 5);
+
+		assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 9L), ids(merged));
+	}
+
+	@Test
+	void rebalanceMovesRowsToAnAppendedShard() {
+		ShardedEmployeeStore two = store(2, ShardRouter.RoutingKey.ID);
+		List<Employee> saved = insert(two, 90);
+
+		ShardedEmployeeStore three = store(3, ShardRouter.RoutingKey.ID);
+		ShardRebalancer.Report report = new ShardRebalancer(three, 7).rebalance();
+
+		assertNull(report.getError());
+		assertEquals(90, report.getScanned());
+		assertEquals(0L, report.getMovedTo().get("shard-0") + report.getMovedTo().get("shard-1"));
+		assertEquals(three.counts().get("shard-2"), report.getMovedTo().get("shard-2"));
+		assertEquals(90L, three.counts().values().stream().mapToLong(Long::longValue).sum());
+		for (Employee employee : saved) {
+			assertNotNull(three.findById(employee.getId()));
+		}
+		// ids keep coming from the same allocator after the move
+		assertTrue(three.insert(employee("late@example.com")).getId() > saved.get(saved.size() - 1).getId());
+		assertEquals(0, new ShardRebalancer(three, 7).rebalance().getMovedTo().values().stream()
+				.mapToLong(Long::longValue).sum());
+	}
+
+	@Test
+	void rebalanceStateIsSharedThroughTheFirstShard() throws Exception {
+		ShardedEmployeeStore one = store(2, ShardRouter.RoutingKey.ID);
+		ShardedEmployeeStore other = store(2, ShardRouter.RoutingKey.ID);
+		assertFalse(other.isRebalancing());
+		Thread.sleep(ShardedEmployeeStore.REBALANCE_STATE_REFRESH_MS);
+
+		assertTrue(one.startRebalance());
+		assertTrue(other.isRebalancing());
+		assertFalse(other.startRebalance());
+		assertNotNull(new ShardRebalancer(other, 7).rebalance().getError());
+
+		// a claim nobody keeps alive expires
+		one.getRouter().getShards().get(0).getJdbc().update("update employee_rebalance set heartbeat_at = 0");
+		assertTrue(other.startRebalance());
+		assertFalse(one.heartbeatRebalance());
+		other.finishRebalance();
+		assertFalse(other.isRebalancing());
+		Thread.sleep(ShardedEmployeeStore.REBALANCE_STATE_REFRESH_MS);
+		assertFalse(one.isRebalancing());
+	}
+
+	@Test
+	void jumpHashOnlyMovesKeysToTheNewBucket() {
+		for (long key = 0; key < 10_000; key++) {
+			long hash = ShardRouter.mix(key);
+			int before = ShardRouter.jump(hash, 4);
+			int after = ShardRouter.jump(hash, 5);
+			assertTrue(after == before || after == 4);
+		}
+	}
+
+	private ShardedEmployeeStore store(int shards, ShardRouter.RoutingKey key) {
+		List<EmployeeShard> list = new ArrayList<>();
+		for (int i = 0; i < shards; i++) {
+			JdbcDataSource dataSource = new JdbcDataSource();
+			dataSource.setURL("jdbc:h2:mem:" + run + "-" + i + ";DB_CLOSE_DELAY=-1");
+			list.add(new EmployeeShard(i, "shard-" + i, dataSource));
+		}
+		ShardedEmployeeStore store = new ShardedEmployeeStore(new ShardRouter(list, key), 16);
+		store.createSchema();
+		stores.add(store);
+		return store;
+	}
+
+	private static List<Employee> insert(ShardedEmployeeStore store, int count) {
+		List<Employee> saved = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Employee employee = employee("employee" + i + "@example.com");
+			employee.setBloodGroup(i % 2 == 0 ? BloodGroup.O_NEG : BloodGroup.AB_POS);
+			saved.add(store.insert(employee));
+		}
+		return saved;
+	}
+
+	private static Employee employee(String email) {
+		Employee employee = new Employee();
+		employee.setName("Durgesh");
+		employee.setEmail(email);
+		return employee;
+	}
+
+	private static List<Employee> employees(long... ids) {
+		List<Employee> employees = new ArrayList<>();
+		for (long id : ids) {
+			Employee employee = new Employee();
+			employee.setId(id);
+			employees.add(employee);
+		}
+		return employees;
+	}
+
+	private static List<Long> ids(List<Employee> employees) {
+		return employees.stream().map(Employee::getId).collect(Collectors.toList());
+	}
+}
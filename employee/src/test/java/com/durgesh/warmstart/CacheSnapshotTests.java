@@ -0,0 +1,92 @@
+package com.durgesh.warmstart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.durgesh.dto.AddressResponse;
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+
+class CacheSnapshotTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsBackWhatWasWritten() throws IOException {
+		Path path = dir.resolve("employee-cache.snapshot");
+		AddressResponse address = new AddressResponse();
+		address.setState("Karnataka");
+		address.setLine1("12 MG Road");
+		address.setZip("560001");
+		CacheSnapshot.write(path, Arrays.asList(
+				new CacheSnapshot.Entry(employee(30L, "c@example.com", null), null),
+				new CacheSnapshot.Entry(employee(10L, "a@example.com", BloodGroup.O_NEG), address),
+				new CacheSnapshot.Entry(employee(20L, "b@example.com", BloodGroup.AB_POS), null)), 1234L);
+
+		CacheSnapshot snapshot = CacheSnapshot.open(path);
+		assertEquals(3, snapshot.size());
+		assertEquals(1234L, snapshot.getCreatedAt());
+		assertEquals(-1, snapshot.slot(15L));
+		assertEquals(-1, snapshot.slotByEmail("d@example.com"));
+
+		int slot = snapshot.slot(10L);
+		assertEquals(slot, snapshot.slotByEmail("a@example.com"));
+		Employee employee = snapshot.employee(slot);
+		assertEquals("Employee 10", employee.getName());
+		assertEquals(BloodGroup.O_NEG, employee.getBloodGroup());
+		assertEquals(7L, snapshot.version(slot));
+		assertEquals("12 MG Road", snapshot.address(slot).getLine1());
+		assertNull(snapshot.address(slot).getLine2());
+
+		int other = snapshot.slotByEmail("c@example.com");
+		assertEquals(30L, snapshot.id(other));
+		assertNull(snapshot.employee(other).getBloodGroup());
+		assertNull(snapshot.address(other));
+	}
+
+	@Test
+	void staleRecordsCannotBeValidatedAgain() throws IOException {
+		Path path = dir.resolve("employee-cache.snapshot");
+		CacheSnapshot.write(path, Arrays.asList(new CacheSnapshot.Entry(employee(1L, "a@example.com", null), null),
+				new CacheSnapshot.Entry(employee(2L, "b@example.com", null), null)), 0L);
+		CacheSnapshot snapshot = CacheSnapshot.open(path);
+
+		assertFalse(snapshot.isValid(0));
+		snapshot.markValid(0);
+		snapshot.markStale(1);
+		snapshot.markValid(1);
+
+		assertTrue(snapshot.isValid(0));
+		assertFalse(snapshot.isValid(1));
+		assertTrue(snapshot.isStale(1));
+	}
+
+	@Test
+	void rejectsFilesThatAreNotSnapshots() throws IOException {
+		Path path = dir.resolve("employee-cache.snapshot");
+		Files.write(path, new byte[64]);
+		assertThrows(IOException.class, () -> CacheSnapshot.open(path));
+	}
+
+	private static Employee employee(Long id, String email, BloodGroup bloodGroup) {
+		Employee employee = new Employee();
+		employee.setId(id);
+		employee.setName("Employee " + id);
+		employee.setEmail(email);
+		employee.setBloodGroup(bloodGroup);
+		employee.setVersion(7L);
+		return employee;
+	}
+}
@@ -0,0 +1,81 @@
+package com.durgesh.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.durgesh.dto.EmployeeDto;
+import com.durgesh.entity.BloodGroup;
+
+class SaveJournalTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void recoversSavesNotMarkedDone() throws IOException {
+		Path path = dir.resolve("saves.journal");
+		try (SaveJournal journal = new SaveJournal(path, 1 << 20)) {
+			journal.recover();
+			journal.append(JournalEntry.queued("r1", employee("a@example.com")));
+			journal.append(JournalEntry.queued("r2", employee("b@example.com")));
+			journal.sync(journal.append(JournalEntry.queued("r3", employee("c@example.com"))));
+			journal.done(Arrays.asList("r2"));
+		}
+		// a crash in the middle of a line
+		Files.write(path, "{\"type\":\"QUEUED\",\"requestId\":\"r4\"".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		try (SaveJournal journal = new SaveJournal(path, 1 << 20)) {
+			List<JournalEntry> pending = journal.recover();
+			assertEquals(Arrays.asList("r1", "r3"), ids(pending));
+			assertEquals("c@example.com", pending.get(1).getEmployee().getEmail());
+			assertEquals(BloodGroup.O_NEG, pending.get(1).getEmployee().getBloodgroup());
+		}
+		try (SaveJournal journal = new SaveJournal(path, 1 << 20)) {
+			assertEquals(Arrays.asList("r1", "r3"), ids(journal.recover()));
+		}
+	}
+
+	@Test
+	void truncatesOnceNothingIsPending() throws IOException {
+		Path path = dir.resolve("saves.journal");
+		try (SaveJournal journal = new SaveJournal(path, 10)) {
+			journal.recover();
+			long first = journal.append(JournalEntry.queued("r1", employee("a@example.com")));
+			journal.sync(first);
+			journal.done(Arrays.asList("r1"));
+			assertEquals(0, journal.size());
+
+			long second = journal.append(JournalEntry.queued("r2", employee("b@example.com")));
+			assertTrue(second > first);
+			journal.sync(second);
+		}
+		try (SaveJournal journal = new SaveJournal(path, 10)) {
+			assertEquals(Arrays.asList("r2"), ids(journal.recover()));
+		}
+	}
+
+	private static EmployeeDto employee(String email) {
+		EmployeeDto dto = new EmployeeDto();
+		dto.setName("Durgesh");
+		dto.setEmail(email);
+		dto.setBloodgroup(BloodGroup.O_NEG);
+		return dto;
+	}
+
+	private static List<String> ids(List<JournalEntry> entries) {
+		return entries.stream().map(JournalEntry::getRequestId).collect(Collectors.toList());
+	}
+}
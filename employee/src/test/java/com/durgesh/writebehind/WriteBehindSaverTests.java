@@ -0,0 +1,246 @@
+package com.durgesh.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.durgesh.dto.EmployeeDto;
+import com.durgesh.entity.BloodGroup;
+import com.durgesh.entity.Employee;
+import com.durgesh.eventbus.EmployeeEventBus;
+import com.durgesh.repo.EmployeeRepo;
+import com.durgesh.responsecache.ResponseCache;
+import com.durgesh.responsecache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WriteBehindSaverTests {
+
+	@TempDir
+	Path dir;
+
+	private final FakeTable table = new FakeTable();
+	private WriteBehindSaver saver;
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (saver != null) {
+			saver.shutdown();
+		}
+	}
+
+	@Test
+	void queuedSavesShareOneCommit() throws Exception {
+		saver = saver(5);
+
+		List<SaveTicket> tickets = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			tickets.add(saver.submit(employee("e" + i + "@example.com")));
+		}
+
+		for (SaveTicket ticket : tickets) {
+			assertEquals(SaveTicket.State.COMMITTED, await(ticket).getState());
+		}
+		assertEquals(Arrays.asList(5), table.committedGroups);
+		assertTrue(pendingInJournal().isEmpty());
+	}
+
+	@Test
+	void constraintViolationFailsOnlyTheOffendingSave() throws Exception {
+		table.emails.put("taken@example.com", 100L);
+		// held by a concurrent synchronous save, so the pre-check does not see it
+		table.hiddenEmail = "racing@example.com";
+		saver = saver(4);
+
+		SaveTicket first = saver.submit(employee("a@example.com"));
+		SaveTicket racing = saver.submit(employee("racing@example.com"));
+		SaveTicket taken = saver.submit(employee("taken@example.com"));
+		SaveTicket last = saver.submit(employee("b@example.com"));
+
+		assertEquals(SaveTicket.State.COMMITTED, await(first).getState());
+		assertEquals(SaveTicket.State.FAILED, await(racing).getState());
+		assertEquals(SaveTicket.State.REJECTED, await(taken).getState());
+		assertEquals(SaveTicket.State.COMMITTED, await(last).getState());
+		assertTrue(pendingInJournal().isEmpty());
+	}
+
+	@Test
+	void transientFailuresAreRetried() throws Exception {
+		table.failOnCalls(1, 2);
+		saver = saver(2);
+
+		SaveTicket first = saver.submit(employee("a@example.com"));
+		SaveTicket second = saver.submit(employee("b@example.com"));
+
+		assertEquals(SaveTicket.State.COMMITTED, await(first).getState());
+		assertEquals(SaveTicket.State.COMMITTED, await(second).getState());
+		assertEquals(3, table.calls.get());
+		assertEquals(Arrays.asList(2), table.committedGroups);
+	}
+
+	@Test
+	void transientFailureWhileIsolatingKeepsTheFlusherRunning() throws Exception {
+		table.hiddenEmail = "racing@example.com";
+		// the group fails on the constraint, then the first one-by-one commit hits a dropped connection
+		table.failOnCalls(2);
+		saver = saver(3);
+
+		SaveTicket first = saver.submit(employee("a@example.com"));
+		SaveTicket racing = saver.submit(employee("racing@example.com"));
+		SaveTicket last = saver.submit(employee("b@example.com"));
+
+		assertEquals(SaveTicket.State.COMMITTED, await(first).getState());
+		assertEquals(SaveTicket.State.FAILED, await(racing).getState());
+		assertEquals(SaveTicket.State.COMMITTED, await(last).getState());
+		assertEquals(Arrays.asList(1, 1), table.committedGroups);
+
+		SaveTicket later = saver.submit(employee("c@example.com"));
+		assertEquals(SaveTicket.State.COMMITTED, await(later).getState());
+		assertTrue(pendingInJournal().isEmpty());
+	}
+
+	private WriteBehindSaver saver(int batchSize) throws IOException {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		WriteBehindSaver saver = new WriteBehindSaver();
+		ReflectionTestUtils.setField(saver, "employeeRepo", table.repo());
+		ReflectionTestUtils.setField(saver, "transactionTemplate", new TransactionTemplate(new NoTransactions()));
+		ReflectionTestUtils.setField(saver, "employeeEventBus",
+				new EmployeeEventBus(64, Collections.emptyList(), meterRegistry));
+		ReflectionTestUtils.setField(saver, "responseCache",
+				new ResponseCache(new ResponseCacheProperties(), meterRegistry));
+		ReflectionTestUtils.setField(saver, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(saver, "enabled", true);
+		ReflectionTestUtils.setField(saver, "capacity", 100);
+		ReflectionTestUtils.setField(saver, "batchSize", batchSize);
+		// long enough for a test to queue a whole group before it is flushed
+		ReflectionTestUtils.setField(saver, "lingerMs", 2000L);
+		ReflectionTestUtils.setField(saver, "offerTimeoutMs", 100L);
+		ReflectionTestUtils.setField(saver, "retryMs", 10L);
+		ReflectionTestUtils.setField(saver, "journalPath", dir.resolve("saves.journal").toString());
+		ReflectionTestUtils.setField(saver, "journalMaxBytes", 1L << 20);
+		ReflectionTestUtils.setField(saver, "ticketTtlMs", 60_000L);
+		saver.init();
+		return saver;
+	}
+
+	private List<String> pendingInJournal() throws Exception {
+		saver.shutdown();
+		saver = null;
+		try (SaveJournal journal = new SaveJournal(dir.resolve("saves.journal"), 1 << 20)) {
+			return journal.recover().stream().map(JournalEntry::getRequestId).collect(Collectors.toList());
+		}
+	}
+
+	private static SaveTicket await(SaveTicket ticket) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!ticket.isFinished() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		return ticket;
+	}
+
+	private static EmployeeDto employee(String email) {
+		EmployeeDto dto = new EmployeeDto();
+		dto.setName("Durgesh");
+		dto.setEmail(email);
+		dto.setBloodgroup(BloodGroup.O_NEG);
+		return dto;
+	}
+
+	/** The employee table, behind the two repository methods the saver uses; a failed saveAll inserts nothing. */
+	static final class FakeTable {
+		final Map<String, Long> emails = new ConcurrentHashMap<>();
+		final List<Integer> committedGroups = new CopyOnWriteArrayList<>();
+		final AtomicInteger calls = new AtomicInteger();
+		private final AtomicLong ids = new AtomicLong();
+		private final List<Integer> failingCalls = new CopyOnWriteArrayList<>();
+		volatile String hiddenEmail;
+
+		void failOnCalls(Integer... calls) {
+			failingCalls.addAll(Arrays.asList(calls));
+		}
+
+		EmployeeRepo repo() {
+			return (EmployeeRepo) Proxy.newProxyInstance(EmployeeRepo.class.getClassLoader(),
+					new Class<?>[] { EmployeeRepo.class }, (proxy, method, args) -> {
+						switch (method.getName()) {
+						case "findExistingEmails":
+							return findExistingEmails((Collection<?>) args[0]);
+						case "saveAll":
+							return saveAll((Iterable<?>) args[0]);
+						case "toString":
+							return "FakeTable";
+						default:
+							throw new UnsupportedOperationException(method.getName());
+						}
+					});
+		}
+
+		private List<String> findExistingEmails(Collection<?> candidates) {
+			return candidates.stream().map(String.class::cast).filter(emails::containsKey).collect(Collectors.toList());
+		}
+
+		private List<Employee> saveAll(Iterable<?> entities) {
+			if (failingCalls.contains(calls.incrementAndGet())) {
+				throw new DataAccessResourceFailureException("Connection reset");
+			}
+			List<Employee> employees = new ArrayList<>();
+			for (Object entity : entities) {
+				Employee employee = (Employee) entity;
+				if (employee.getEmail().equals(hiddenEmail) || emails.containsKey(employee.getEmail())) {
+					throw new DataIntegrityViolationException("could not execute statement",
+							new SQLException("Duplicate entry '" + employee.getEmail() + "' for key 'email'"));
+				}
+				employees.add(employee);
+			}
+			for (Employee employee : employees) {
+				employee.setId(ids.incrementAndGet());
+				emails.put(employee.getEmail(), employee.getId());
+			}
+			committedGroups.add(employees.size());
+			return employees;
+		}
+	}
+
+	static final class NoTransactions implements PlatformTransactionManager {
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
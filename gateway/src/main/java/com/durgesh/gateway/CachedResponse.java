@@ -0,0 +1,25 @@
+package com.durgesh.gateway;
+
+import org.springframework.http.HttpHeaders;
+
+import lombok.Getter;
+
+@Getter
+public class CachedResponse {
+
+	private final int status;
+	private final HttpHeaders headers;
+	private final byte[] body;
+	private final long expiresAt;
+
+	public CachedResponse(int status, HttpHeaders headers, byte[] body, long expiresAt) {
+		this.status = status;
+		this.headers = headers;
+		this.body = body;
+		this.expiresAt = expiresAt;
+	}
+
+	public boolean isFresh(long now) {
+		return now < expiresAt;
+	}
+}
@@ -0,0 +1,46 @@
+package com.durgesh.gateway;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.durgesh.registry.client.PushDiscoveryClient;
+
+import reactor.core.publisher.Flux;
+
+@Configuration
+public class GatewayConfig {
+
+	/**
+	 * The load balancer resolves {@code lb://} routes through a reactive
+	 * discovery client. The registry view is an in-memory map, so it can be
+	 * read directly on the event loop.
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "registry.client", name = "enabled", havingValue = "true")
+	public ReactiveDiscoveryClient pushReactiveDiscoveryClient(PushDiscoveryClient pushDiscoveryClient) {
+		return new ReactiveDiscoveryClient() {
+			@Override
+			public String description() {
+				return pushDiscoveryClient.description();
+			}
+
+			@Override
+			public Flux<ServiceInstance> getInstances(String serviceId) {
+				return Flux.defer(() -> Flux.fromIterable(pushDiscoveryClient.getInstances(serviceId)));
+			}
+
+			@Override
+			public Flux<String> getServices() {
+				return Flux.defer(() -> Flux.fromIterable(pushDiscoveryClient.getServices()));
+			}
+
+			@Override
+			public int getOrder() {
+				return pushDiscoveryClient.getOrder();
+			}
+		};
+	}
+}
@@ -0,0 +1,253 @@
+package com.durgesh.gateway;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Response cache and request collapsing for GET routes that set a
+ * {@code cache-ttl-ms} metadata entry. A fresh entry is written back without
+ * touching the upstream. On a miss, the first request goes upstream and any
+ * identical request arriving meanwhile waits for and reuses its response.
+ * Requests are identical when path, query, {@code Accept} and
+ * {@code Accept-Encoding} match. Requests with credentials
+ * ({@code Authorization} or {@code Cookie}) bypass both, since their
+ * responses may be per user. Only 200 responses without
+ * {@code Cache-Control: private/no-store} are cached or shared with waiting
+ * requests. Conditional requests ({@code If-None-Match},
+ * {@code If-Modified-Since}) are answered from a fresh entry, with a 304 when
+ * the cached {@code ETag} matches, but on a miss they go upstream on their
+ * own: the answer may be a 304 meant only for that client.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+	public static final String CACHE_TTL_METADATA = "cache-ttl-ms";
+	public static final String CACHE_HEADER = "X-Cache";
+
+	private static final Set<String> SKIPPED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+	static {
+		SKIPPED_HEADERS.addAll(List.of(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH,
+				HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE, CACHE_HEADER));
+	}
+
+	/** What a 304 repeats from the full response (RFC 9110, section 15.4.5). */
+	private static final List<String> NOT_MODIFIED_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL,
+			HttpHeaders.CONTENT_LOCATION, HttpHeaders.DATE, HttpHeaders.EXPIRES, HttpHeaders.VARY);
+
+	private final Map<String, CachedResponse> cache;
+	private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter collapsed;
+	private final Counter bypassed;
+
+	public ResponseCacheFilter(@Value("${gateway.cache.max-entries:10000}") int maxEntries,
+			MeterRegistry meterRegistry) {
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+				return size() > maxEntries;
+			}
+		});
+		this.hits = meterRegistry.counter("gateway.cache", "result", "hit");
+		this.misses = meterRegistry.counter("gateway.cache", "result", "miss");
+		this.collapsed = meterRegistry.counter("gateway.cache", "result", "collapsed");
+		this.bypassed = meterRegistry.counter("gateway.cache", "result", "bypass");
+	}
+
+	@Override
+	public int getOrder() {
+		// must wrap the response before NettyWriteResponseFilter starts writing it
+		return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		Long ttlMs = cacheTtl(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR));
+		if (ttlMs == null || request.getMethod() != HttpMethod.GET) {
+			return chain.filter(exchange);
+		}
+		String key = cacheKey(request);
+		if (key == null) {
+			bypassed.increment();
+			return chain.filter(exchange);
+		}
+
+		CachedResponse cached = cache.get(key);
+		if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+			hits.increment();
+			if (etagMatches(request.getHeaders().getIfNoneMatch(), cached.getHeaders().getETag())) {
+				return notModified(exchange.getResponse(), cached);
+			}
+			return write(exchange.getResponse(), cached, "HIT");
+		}
+		if (isConditional(request.getHeaders())) {
+			bypassed.increment();
+			return chain.filter(exchange);
+		}
+
+		Sinks.One<CachedResponse> call = Sinks.one();
+		Sinks.One<CachedResponse> existing = inFlight.putIfAbsent(key, call);
+		if (existing != null) {
+			collapsed.increment();
+			// if the leading request fails there is nothing to share, so go upstream ourselves
+			return existing.asMono()
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					.flatMap(response -> response.isPresent()
+							? write(exchange.getResponse(), response.get(), "COLLAPSED")
+							: chain.filter(exchange));
+		}
+
+		misses.increment();
+		ServerHttpResponse capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+			@Override
+			public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+				return DataBufferUtils.join(Flux.from(body)).flatMap(buffer -> {
+					byte[] bytes = new byte[buffer.readableByteCount()];
+					buffer.read(bytes);
+					DataBufferUtils.release(buffer);
+					HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+					CachedResponse response = new CachedResponse(status.value(), copyHeaders(getHeaders()), bytes,
+							System.currentTimeMillis() + ttlMs);
+					if (status.value() == HttpStatus.OK.value() && storable(getHeaders())) {
+						cache.put(key, response);
+						call.tryEmitValue(response);
+					} else {
+						// errors and per-user responses are not for the followers; they go upstream themselves
+						call.tryEmitEmpty();
+					}
+					getHeaders().set(CACHE_HEADER, "MISS");
+					return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+				});
+			}
+		};
+		return chain.filter(exchange.mutate().response(capturing).build())
+				.doFinally(signal -> {
+					inFlight.remove(key, call);
+					call.tryEmitEmpty();
+				});
+	}
+
+	private Mono<Void> write(ServerHttpResponse response, CachedResponse cached, String cacheStatus) {
+		response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+		response.getHeaders().putAll(cached.getHeaders());
+		response.getHeaders().setContentLength(cached.getBody().length);
+		response.getHeaders().set(CACHE_HEADER, cacheStatus);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+	}
+
+	private Mono<Void> notModified(ServerHttpResponse response, CachedResponse cached) {
+		response.setStatusCode(HttpStatus.NOT_MODIFIED);
+		for (String name : NOT_MODIFIED_HEADERS) {
+			List<String> values = cached.getHeaders().get(name);
+			if (values != null) {
+				response.getHeaders().put(name, values);
+			}
+		}
+		response.getHeaders().set(CACHE_HEADER, "HIT");
+		return response.setComplete();
+	}
+
+	private static boolean isConditional(HttpHeaders request) {
+		return request.containsKey(HttpHeaders.IF_NONE_MATCH) || request.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+	}
+
+	/** Weak comparison, as If-None-Match uses. */
+	static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+		if (ifNoneMatch.isEmpty() || etag == null) {
+			return false;
+		}
+		String opaque = opaqueTag(etag);
+		for (String candidate : ifNoneMatch) {
+			if (candidate.equals("*") || opaqueTag(candidate).equals(opaque)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String opaqueTag(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+
+	/** Null for requests carrying credentials; otherwise the URI plus the headers that pick a representation. */
+	static String cacheKey(ServerHttpRequest request) {
+		HttpHeaders headers = request.getHeaders();
+		if (headers.containsKey(HttpHeaders.AUTHORIZATION) || headers.containsKey(HttpHeaders.COOKIE)) {
+			return null;
+		}
+		StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+		String query = request.getURI().getRawQuery();
+		if (query != null) {
+			key.append('?').append(query);
+		}
+		key.append('\n').append(String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT)));
+		key.append('\n').append(String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)));
+		return key.toString();
+	}
+
+	private static boolean storable(HttpHeaders response) {
+		String cacheControl = String.join(",", response.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+		return !cacheControl.contains("no-store") && !cacheControl.contains("private");
+	}
+
+	private static HttpHeaders copyHeaders(HttpHeaders source) {
+		HttpHeaders headers = new HttpHeaders();
+		source.forEach((name, values) -> {
+			if (!SKIPPED_HEADERS.contains(name)) {
+				headers.put(name, values);
+			}
+		});
+		return headers;
+	}
+
+	private static Long cacheTtl(Route route) {
+		if (route == null) {
+			return null;
+		}
+		Object ttl = route.getMetadata().get(CACHE_TTL_METADATA);
+		if (ttl == null) {
+			return null;
+		}
+		return ttl instanceof Number ? ((Number) ttl).longValue() : Long.parseLong(ttl.toString());
+	}
+}
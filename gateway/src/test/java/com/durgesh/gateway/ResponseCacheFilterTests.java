@@ -0,0 +1,327 @@
+package com.durgesh.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ResponseCacheFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ResponseCacheFilter filter = new ResponseCacheFilter(100, meterRegistry);
+	private final Upstream upstream = new Upstream();
+
+	@Test
+	void repeatedRequestIsServedFromTheCache() {
+		MockServerWebExchange first = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange second = exchange(MockServerHttpRequest.get("/employee/all"));
+
+		filter.filter(first, upstream).block();
+		filter.filter(second, upstream).block();
+
+		assertEquals(1, upstream.calls.get());
+		assertEquals("MISS", cacheStatus(first));
+		assertEquals("HIT", cacheStatus(second));
+		assertEquals(body(first), body(second));
+		assertEquals(1, meterRegistry.counter("gateway.cache", "result", "hit").count());
+	}
+
+	@Test
+	void differentAcceptOrAcceptEncodingIsAMiss() {
+		MockServerWebExchange json = exchange(MockServerHttpRequest.get("/employee/all").header(HttpHeaders.ACCEPT,
+				"application/json"));
+		MockServerWebExchange xml = exchange(MockServerHttpRequest.get("/employee/all").header(HttpHeaders.ACCEPT,
+				"application/xml"));
+		MockServerWebExchange gzip = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.ACCEPT, "application/json").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+		filter.filter(json, upstream).block();
+		filter.filter(xml, upstream).block();
+		filter.filter(gzip, upstream).block();
+
+		assertEquals(3, upstream.calls.get());
+		assertEquals("MISS", cacheStatus(xml));
+		assertEquals("MISS", cacheStatus(gzip));
+		assertEquals("body 2 application/xml", body(xml));
+	}
+
+	@Test
+	void requestsWithCredentialsBypassTheCache() {
+		MockServerWebExchange anonymous = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange authorized = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+		MockServerWebExchange withCookie = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.COOKIE, "SESSION=bob"));
+
+		filter.filter(anonymous, upstream).block();
+		filter.filter(authorized, upstream).block();
+		filter.filter(withCookie, upstream).block();
+		MockServerWebExchange anonymousAgain = exchange(MockServerHttpRequest.get("/employee/all"));
+		filter.filter(anonymousAgain, upstream).block();
+
+		assertEquals(3, upstream.calls.get());
+		assertNull(cacheStatus(authorized));
+		assertNull(cacheStatus(withCookie));
+		// the authorized response did not replace the shared entry
+		assertEquals("HIT", cacheStatus(anonymousAgain));
+		assertEquals(body(anonymous), body(anonymousAgain));
+		assertEquals(2, meterRegistry.counter("gateway.cache", "result", "bypass").count());
+	}
+
+	@Test
+	void errorsAndPrivateResponsesAreNotCached() {
+		upstream.status = HttpStatus.INTERNAL_SERVER_ERROR;
+		filter.filter(exchange(MockServerHttpRequest.get("/employee/all")), upstream).block();
+		upstream.status = HttpStatus.OK;
+		upstream.cacheControl = "private, max-age=60";
+		filter.filter(exchange(MockServerHttpRequest.get("/employee/all")), upstream).block();
+		upstream.cacheControl = null;
+		MockServerWebExchange third = exchange(MockServerHttpRequest.get("/employee/all"));
+		filter.filter(third, upstream).block();
+
+		assertEquals(3, upstream.calls.get());
+		assertEquals("MISS", cacheStatus(third));
+	}
+
+	@Test
+	void expiredEntryGoesUpstreamAgain() throws Exception {
+		filter.filter(exchange(MockServerHttpRequest.get("/employee/all"), 20), upstream).block();
+		Thread.sleep(40);
+		MockServerWebExchange later = exchange(MockServerHttpRequest.get("/employee/all"), 20);
+		filter.filter(later, upstream).block();
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals("MISS", cacheStatus(later));
+	}
+
+	@Test
+	void routesWithoutATtlAreNotCached() {
+		MockServerWebExchange first = exchange(MockServerHttpRequest.get("/employee/1"), null);
+		MockServerWebExchange second = exchange(MockServerHttpRequest.get("/employee/1"), null);
+
+		filter.filter(first, upstream).block();
+		filter.filter(second, upstream).block();
+
+		assertEquals(2, upstream.calls.get());
+		assertNull(cacheStatus(second));
+	}
+
+	@Test
+	void concurrentIdenticalRequestsShareOneUpstreamCall() throws Exception {
+		Sinks.Empty<Void> release = Sinks.empty();
+		upstream.gate = release.asMono();
+		MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange otherAccept = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.ACCEPT, "application/xml"));
+
+		CompletableFuture<Void> leading = filter.filter(leader, upstream).toFuture();
+		CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+		CompletableFuture<Void> separate = filter.filter(otherAccept, upstream).toFuture();
+		assertEquals(2, upstream.calls.get());
+		release.tryEmitEmpty();
+		CompletableFuture.allOf(leading, following, separate).get(5, TimeUnit.SECONDS);
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals("MISS", cacheStatus(leader));
+		assertEquals("COLLAPSED", cacheStatus(follower));
+		assertEquals("MISS", cacheStatus(otherAccept));
+		assertEquals(body(leader), body(follower));
+		assertEquals(1, meterRegistry.counter("gateway.cache", "result", "collapsed").count());
+	}
+
+	@Test
+	void followerGoesUpstreamItselfWhenTheLeaderFails() throws Exception {
+		Sinks.Empty<Void> release = Sinks.empty();
+		upstream.gate = release.asMono();
+		MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/employee/all"));
+
+		CompletableFuture<Void> leading = filter.filter(leader, upstream).toFuture();
+		CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+		upstream.gate = Mono.empty();
+		release.tryEmitError(new IllegalStateException("connection refused"));
+		following.get(5, TimeUnit.SECONDS);
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+		assertTrue(leading.isCompletedExceptionally());
+		assertEquals(0, meterRegistry.counter("gateway.cache", "result", "hit").count());
+	}
+
+	@Test
+	void followersGoUpstreamThemselvesWhenTheLeaderGetsAnError() throws Exception {
+		Sinks.Empty<Void> release = Sinks.empty();
+		upstream.gate = release.asMono();
+		upstream.status = HttpStatus.SERVICE_UNAVAILABLE;
+		MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/employee/all"));
+
+		CompletableFuture<Void> leading = filter.filter(leader, upstream).toFuture();
+		CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+		upstream.gate = Mono.empty();
+		upstream.status = HttpStatus.OK;
+		release.tryEmitEmpty();
+		CompletableFuture.allOf(leading, following).get(5, TimeUnit.SECONDS);
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, leader.getResponse().getStatusCode());
+		assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+		assertEquals("body 2 null", body(follower));
+	}
+
+	@Test
+	void followersGoUpstreamThemselvesWhenTheLeaderGetsAPrivateResponse() throws Exception {
+		Sinks.Empty<Void> release = Sinks.empty();
+		upstream.gate = release.asMono();
+		upstream.cacheControl = "private";
+		MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/employee/all"));
+		MockServerWebExchange follower = exchange(MockServerHttpRequest.get("/employee/all"));
+
+		CompletableFuture<Void> leading = filter.filter(leader, upstream).toFuture();
+		CompletableFuture<Void> following = filter.filter(follower, upstream).toFuture();
+		upstream.gate = Mono.empty();
+		upstream.cacheControl = null;
+		release.tryEmitEmpty();
+		CompletableFuture.allOf(leading, following).get(5, TimeUnit.SECONDS);
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals("body 1 null", body(leader));
+		assertEquals("body 2 null", body(follower));
+		assertNull(follower.getResponse().getHeaders().getCacheControl());
+	}
+
+	@Test
+	void conditionalRequestsNeitherCollapseNorFillTheCache() throws Exception {
+		upstream.etag = "\"v1\"";
+		Sinks.Empty<Void> release = Sinks.empty();
+		upstream.gate = release.asMono();
+		MockServerWebExchange conditional = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"v1\""));
+		MockServerWebExchange plain = exchange(MockServerHttpRequest.get("/employee/all"));
+
+		CompletableFuture<Void> first = filter.filter(conditional, upstream).toFuture();
+		CompletableFuture<Void> second = filter.filter(plain, upstream).toFuture();
+		assertEquals(2, upstream.calls.get());
+		release.tryEmitEmpty();
+		CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+		assertNull(cacheStatus(conditional));
+		assertEquals(HttpStatus.OK, plain.getResponse().getStatusCode());
+		assertEquals("MISS", cacheStatus(plain));
+		assertEquals("body 2 null", body(plain));
+		assertEquals(0, meterRegistry.counter("gateway.cache", "result", "collapsed").count());
+	}
+
+	@Test
+	void conditionalMissIsNotCached() {
+		upstream.etag = "\"v1\"";
+		filter.filter(exchange(MockServerHttpRequest.get("/employee/all").header(HttpHeaders.IF_MODIFIED_SINCE,
+				"Mon, 19 Oct 2026 00:00:00 GMT")), upstream).block();
+		MockServerWebExchange plain = exchange(MockServerHttpRequest.get("/employee/all"));
+		filter.filter(plain, upstream).block();
+
+		assertEquals(2, upstream.calls.get());
+		assertEquals("MISS", cacheStatus(plain));
+	}
+
+	@Test
+	void hitWithAMatchingETagIsNotModified() {
+		upstream.etag = "\"v1\"";
+		filter.filter(exchange(MockServerHttpRequest.get("/employee/all")), upstream).block();
+		MockServerWebExchange matching = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.IF_NONE_MATCH, "W/\"v0\", W/\"v1\""));
+		MockServerWebExchange stale = exchange(MockServerHttpRequest.get("/employee/all")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"v0\""));
+
+		filter.filter(matching, upstream).block();
+		filter.filter(stale, upstream).block();
+
+		assertEquals(1, upstream.calls.get());
+		assertEquals(HttpStatus.NOT_MODIFIED, matching.getResponse().getStatusCode());
+		assertEquals("HIT", cacheStatus(matching));
+		assertEquals("\"v1\"", matching.getResponse().getHeaders().getETag());
+		assertEquals(HttpStatus.OK, stale.getResponse().getStatusCode());
+		assertEquals("HIT", cacheStatus(stale));
+		assertEquals("body 1 null", body(stale));
+	}
+
+	private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+		return exchange(request, 1000);
+	}
+
+	private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, Integer ttlMs) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		Route.Builder route = Route.builder().id("test").uri("http://upstream").predicate(e -> true);
+		if (ttlMs != null) {
+			route.metadata(ResponseCacheFilter.CACHE_TTL_METADATA, ttlMs);
+		}
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route.build());
+		return exchange;
+	}
+
+	private static String cacheStatus(MockServerWebExchange exchange) {
+		return exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER);
+	}
+
+	private static String body(MockServerWebExchange exchange) {
+		return exchange.getResponse().getBodyAsString().block();
+	}
+
+	/**
+	 * Answers "body {call} {accept}" once {@code gate} completes, or a 304 when
+	 * the request's If-None-Match names {@code etag}.
+	 */
+	static final class Upstream implements GatewayFilterChain {
+		final AtomicInteger calls = new AtomicInteger();
+		volatile Mono<Void> gate = Mono.empty();
+		volatile HttpStatus status = HttpStatus.OK;
+		volatile String cacheControl;
+		volatile String etag;
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			int call = calls.incrementAndGet();
+			HttpStatus status = this.status;
+			String cacheControl = this.cacheControl;
+			String etag = this.etag;
+			return gate.then(Mono.defer(() -> {
+				ServerHttpResponse response = exchange.getResponse();
+				if (etag != null) {
+					response.getHeaders().setETag(etag);
+					if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+						response.setStatusCode(HttpStatus.NOT_MODIFIED);
+						return response.setComplete();
+					}
+				}
+				response.setStatusCode(status);
+				if (cacheControl != null) {
+					response.getHeaders().setCacheControl(cacheControl);
+				}
+				String body = "body " + call + " " + exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT);
+				return response.writeWith(
+						Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+			}));
+		}
+	}
+}
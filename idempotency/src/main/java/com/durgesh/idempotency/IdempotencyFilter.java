@@ -0,0 +1,177 @@
+package com.durgesh.idempotency;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs a POST carrying an {@code Idempotency-Key} at most once per key: a
+ * duplicate that arrives while the first is running waits for it, and one
+ * that arrives afterwards gets the stored status, headers and body back
+ * with {@code Idempotent-Replayed: true}, without reaching the controller.
+ * <p>
+ * The key is scoped to the request path and origin, and reusing it with a different
+ * body is a 422. Server errors (5xx) are not stored, so a retry after one
+ * runs again. Requests without the header are untouched. Handlers on these
+ * paths must be synchronous and read a JSON (not form) body.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String KEY_HEADER = "Idempotency-Key";
+	static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private final IdempotencyStore store;
+	private final List<String> paths;
+	private final long waitMs;
+	private final int maxKeyLength;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Counter executed;
+	private final Counter replayed;
+	private final Counter conflicts;
+	private final Counter mismatches;
+
+	public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+		this.store = store;
+		this.paths = properties.getPaths();
+		this.waitMs = properties.getWaitMs();
+		this.maxKeyLength = properties.getMaxKeyLength();
+		this.executed = meterRegistry.counter("idempotency.requests", "result", "executed");
+		this.replayed = meterRegistry.counter("idempotency.requests", "result", "replayed");
+		this.conflicts = meterRegistry.counter("idempotency.requests", "result", "conflict");
+		this.mismatches = meterRegistry.counter("idempotency.requests", "result", "mismatch");
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!"POST".equals(request.getMethod()) || request.getHeader(KEY_HEADER) == null) {
+			return true;
+		}
+		String path = path(request);
+		for (String pattern : paths) {
+			if (pathMatcher.match(pattern, path)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String key = request.getHeader(KEY_HEADER).trim();
+		if (key.isEmpty() || key.length() > maxKeyLength) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+					KEY_HEADER + " must be 1-" + maxKeyLength + " characters");
+			return;
+		}
+		byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+		String fingerprint = fingerprint(body);
+		// CORS headers are stored with the response, so a key is only shared by requests from one origin
+		String origin = request.getHeader(HttpHeaders.ORIGIN);
+		String storeKey = path(request) + ' ' + (origin == null ? "" : origin) + ' ' + key;
+		long deadline = System.currentTimeMillis() + waitMs;
+		while (true) {
+			IdempotencyStore.Execution mine = new IdempotencyStore.Execution(fingerprint);
+			IdempotencyStore.Execution first = store.register(storeKey, mine);
+			if (first == null) {
+				execute(storeKey, mine, new BufferedBodyRequest(request, body), response, chain);
+				return;
+			}
+			if (!first.getFingerprint().equals(fingerprint)) {
+				mismatches.increment();
+				response.sendError(422, KEY_HEADER + " was already used with a different request body");
+				return;
+			}
+			StoredResponse stored;
+			try {
+				stored = first.await(Math.max(0, deadline - System.currentTimeMillis()));
+			} catch (TimeoutException | InterruptedException e) {
+				if (e instanceof InterruptedException) {
+					Thread.currentThread().interrupt();
+				}
+				conflicts.increment();
+				response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+				response.sendError(HttpServletResponse.SC_CONFLICT, "A request with this " + KEY_HEADER
+						+ " is still in progress");
+				return;
+			}
+			if (stored != null) {
+				replayed.increment();
+				replay(stored, response);
+				return;
+			}
+			// the first execution failed without a response worth keeping: try to become the one that runs
+		}
+	}
+
+	private void execute(String storeKey, IdempotencyStore.Execution execution, HttpServletRequest request,
+			HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+		executed.increment();
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		boolean completed = false;
+		try {
+			chain.doFilter(request, wrapper);
+			if (!request.isAsyncStarted() && wrapper.getStatus() < 500) {
+				store.complete(storeKey, execution, StoredResponse.of(wrapper, wrapper.getContentAsByteArray()));
+				completed = true;
+			}
+		} finally {
+			// whatever went wrong, Errors included, the waiting duplicates must not wait for this one forever
+			if (!completed) {
+				store.abandon(storeKey, execution);
+			}
+		}
+		wrapper.copyBodyToResponse();
+	}
+
+	private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+		response.setStatus(stored.getStatus());
+		for (Map.Entry<String, List<String>> header : stored.getHeaders().entrySet()) {
+			for (String value : header.getValue()) {
+				response.addHeader(header.getKey(), value);
+			}
+		}
+		response.setHeader(REPLAYED_HEADER, "true");
+		if (stored.getContentType() != null) {
+			response.setContentType(stored.getContentType());
+		}
+		response.setContentLength(stored.getBody().length);
+		response.getOutputStream().write(stored.getBody());
+	}
+
+	private static String fingerprint(byte[] body) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String path(HttpServletRequest request) {
+		String contextPath = request.getContextPath();
+		String uri = request.getRequestURI();
+		return contextPath == null || contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+	}
+}
@@ -0,0 +1,37 @@
+package com.durgesh.idempotency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code idempotency.*} settings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+	private boolean enabled = true;
+
+	/** Ant-style request paths whose POSTs honour {@code Idempotency-Key}, e.g. {@code /employee/save}. */
+	private List<String> paths = new ArrayList<>();
+
+	/** How long a completed response is replayed for its key. */
+	private long ttlMs = 60 * 60 * 1000;
+
+	/** Completed responses kept; the oldest go first. In-flight executions are never dropped. */
+	private int maxEntries = 10000;
+
+	/** Total body bytes of completed responses kept. */
+	private long maxBytes = 16 * 1024 * 1024;
+
+	/** How long a duplicate waits for the first execution before it gets a 409. */
+	private long waitMs = 30000;
+
+	private int maxKeyLength = 255;
+}
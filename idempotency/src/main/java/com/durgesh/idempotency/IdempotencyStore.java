@@ -0,0 +1,131 @@
+package com.durgesh.idempotency;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-flight and completed executions by idempotency key. The first request
+ * for a key registers an {@link Execution}; duplicates find it and wait on
+ * its result. Completed executions stay for {@code ttlMs}, bounded by entry
+ * count and body bytes, oldest first.
+ * <p>
+ * The store is local to one instance: a retry routed to another instance
+ * runs again, as it did before keys were honoured.
+ */
+public class IdempotencyStore {
+
+	private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+	// completed executions in completion order; with one ttl the head is always the first to expire
+	private final Deque<Completed> completed = new ArrayDeque<>();
+	private final AtomicLong bytes = new AtomicLong();
+	private final IdempotencyProperties properties;
+	private final Counter evictions;
+
+	public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.evictions = meterRegistry.counter("idempotency.evictions");
+		Gauge.builder("idempotency.entries", executions, Map::size).register(meterRegistry);
+		Gauge.builder("idempotency.bytes", bytes, AtomicLong::get).register(meterRegistry);
+	}
+
+	/** One execution of a key; {@code fingerprint} identifies the request body it ran with. */
+	public static final class Execution {
+		private final String fingerprint;
+		private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+		private volatile long completedAt;
+
+		public Execution(String fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		/**
+		 * The stored response, or null when the execution ended without one
+		 * and the caller should run the request itself.
+		 *
+		 * @throws TimeoutException if it is still running after {@code waitMs}
+		 */
+		public StoredResponse await(long waitMs) throws TimeoutException, InterruptedException {
+			try {
+				return result.get(waitMs, TimeUnit.MILLISECONDS);
+			} catch (ExecutionException e) {
+				return null;
+			}
+		}
+	}
+
+	private static final class Completed {
+		private final String key;
+		private final Execution execution;
+
+		Completed(String key, Execution execution) {
+			this.key = key;
+			this.execution = execution;
+		}
+	}
+
+	/**
+	 * Registers {@code execution} for {@code key} and returns null, or returns
+	 * the live execution already registered, in which case the caller is a
+	 * duplicate.
+	 */
+	public Execution register(String key, Execution execution) {
+		expire();
+		Execution current = executions.compute(key,
+				(k, existing) -> existing == null || expired(existing) ? execution : existing);
+		return current == execution ? null : current;
+	}
+
+	public void complete(String key, Execution execution, StoredResponse response) {
+		execution.completedAt = System.currentTimeMillis();
+		execution.result.complete(response);
+		synchronized (this) {
+			completed.addLast(new Completed(key, execution));
+			bytes.addAndGet(response.size());
+			while (completed.size() > properties.getMaxEntries() || bytes.get() > properties.getMaxBytes()) {
+				drop(completed.pollFirst());
+				evictions.increment();
+			}
+		}
+	}
+
+	/** Forgets an execution that produced nothing worth replaying; waiting duplicates run themselves. */
+	public void abandon(String key, Execution execution) {
+		executions.remove(key, execution);
+		execution.result.complete(null);
+	}
+
+	public int size() {
+		return executions.size();
+	}
+
+	private synchronized void expire() {
+		while (!completed.isEmpty() && expired(completed.peekFirst().execution)) {
+			drop(completed.pollFirst());
+		}
+	}
+
+	private void drop(Completed entry) {
+		executions.remove(entry.key, entry.execution);
+		bytes.addAndGet(-entry.execution.result.join().size());
+	}
+
+	private boolean expired(Execution execution) {
+		long completedAt = execution.completedAt;
+		return completedAt > 0 && System.currentTimeMillis() - completedAt > properties.getTtlMs();
+	}
+}
@@ -0,0 +1,49 @@
+package com.durgesh.idempotency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+/**
+ * Status, headers and body of the first execution for a key, written back
+ * verbatim to every duplicate.
+ */
+@Getter
+public class StoredResponse {
+
+	private final int status;
+	private final String contentType;
+	private final Map<String, List<String>> headers;
+	private final byte[] body;
+
+	StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+		this.status = status;
+		this.contentType = contentType;
+		this.headers = headers;
+		this.body = body;
+	}
+
+	static StoredResponse of(HttpServletResponse response, byte[] body) {
+		Map<String, List<String>> headers = new LinkedHashMap<>();
+		for (String name : response.getHeaderNames()) {
+			// cookies belong to the first caller's session, and the length is set again on replay
+			if (!HttpHeaders.SET_COOKIE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+					&& !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+				Collection<String> values = response.getHeaders(name);
+				headers.put(name, new ArrayList<>(values));
+			}
+		}
+		return new StoredResponse(response.getStatus(), response.getContentType(), headers, body);
+	}
+
+	public int size() {
+		return body.length;
+	}
+}
@@ -0,0 +1,201 @@
+package com.durgesh.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTests {
+
+	private final AtomicInteger executions = new AtomicInteger();
+	private final CountDownLatch entered = new CountDownLatch(1);
+	private volatile CountDownLatch release;
+	private volatile int status = 201;
+	private volatile Error failure;
+	private IdempotencyProperties properties;
+	private IdempotencyStore store;
+	private IdempotencyFilter filter;
+
+	private final HttpServlet controller = new HttpServlet() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			int run = executions.incrementAndGet();
+			entered.countDown();
+			if (failure != null) {
+				throw failure;
+			}
+			if (release != null) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+			response.setStatus(status);
+			response.setContentType("application/json");
+			response.setHeader("Location", "/employee/" + run);
+			response.getOutputStream().write(("{\"run\":" + run + ",\"echo\":" + body + "}").getBytes(StandardCharsets.UTF_8));
+		}
+	};
+
+	@BeforeEach
+	void setUp() {
+		properties = new IdempotencyProperties();
+		properties.setPaths(Arrays.asList("/employee/save"));
+		rebuild();
+	}
+
+	@Test
+	void duplicateReplaysTheFirstResponse() throws Exception {
+		MockHttpServletResponse first = post("/employee/save", "k1", "{\"a\":1}");
+		MockHttpServletResponse second = post("/employee/save", "k1", "{\"a\":1}");
+
+		assertEquals(1, executions.get());
+		assertEquals(201, second.getStatus());
+		assertEquals(first.getContentAsString(), second.getContentAsString());
+		assertEquals("/employee/1", second.getHeader("Location"));
+		assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+	}
+
+	@Test
+	void concurrentDuplicateWaitsForTheFirst() throws Exception {
+		release = new CountDownLatch(1);
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> postQuietly("k2"));
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> postQuietly("k2"));
+		release.countDown();
+
+		assertEquals(first.get(5, TimeUnit.SECONDS).getContentAsString(),
+				second.get(5, TimeUnit.SECONDS).getContentAsString());
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void duplicateStillRunningAfterTheWaitGetsConflict() throws Exception {
+		properties.setWaitMs(50);
+		rebuild();
+		release = new CountDownLatch(1);
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> postQuietly("k3"));
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+		MockHttpServletResponse second = post("/employee/save", "k3", "{}");
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+
+		assertEquals(409, second.getStatus());
+		assertEquals("1", second.getHeader("Retry-After"));
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void reusedKeyWithAnotherBodyIsRejected() throws Exception {
+		post("/employee/save", "k4", "{\"a\":1}");
+		MockHttpServletResponse response = post("/employee/save", "k4", "{\"a\":2}");
+
+		assertEquals(422, response.getStatus());
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void serverErrorsAndExpiredKeysRunAgain() throws Exception {
+		status = 500;
+		post("/employee/save", "k5", "{}");
+		status = 201;
+		post("/employee/save", "k5", "{}");
+		assertEquals(2, executions.get());
+
+		properties.setTtlMs(1);
+		rebuild();
+		post("/employee/save", "k6", "{}");
+		Thread.sleep(5);
+		post("/employee/save", "k6", "{}");
+		assertEquals(4, executions.get());
+	}
+
+	@Test
+	void errorsReleaseTheKey() throws Exception {
+		failure = new StackOverflowError();
+		assertThrows(StackOverflowError.class, () -> post("/employee/save", "k8", "{}"));
+		failure = null;
+		MockHttpServletResponse retry = post("/employee/save", "k8", "{}");
+
+		assertEquals(201, retry.getStatus());
+		assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void keysAreScopedToThePathAndOtherRequestsPassThrough() throws Exception {
+		properties.setPaths(Arrays.asList("/employee/save", "/api/generator/generate"));
+		rebuild();
+		post("/employee/save", "k7", "{}");
+		post("/api/generator/generate", "k7", "{}");
+		post("/employee/save", null, "{}");
+		post("/employee/save", null, "{}");
+
+		assertEquals(4, executions.get());
+		assertEquals(2, store.size());
+	}
+
+	@Test
+	void oldestCompletedResponsesAreEvicted() throws Exception {
+		properties.setMaxEntries(2);
+		rebuild();
+		post("/employee/save", "a", "{}");
+		post("/employee/save", "b", "{}");
+		post("/employee/save", "c", "{}");
+		post("/employee/save", "a", "{}");
+
+		assertEquals(4, executions.get());
+	}
+
+	private void rebuild() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		store = new IdempotencyStore(properties, meterRegistry);
+		filter = new IdempotencyFilter(store, properties, meterRegistry);
+	}
+
+	private MockHttpServletResponse postQuietly(String key) {
+		try {
+			return post("/employee/save", key, "{}");
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MockHttpServletResponse post(String path, String key, String body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		if (key != null) {
+			request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain(controller));
+		return response;
+	}
+}
@@ -0,0 +1,187 @@
+package com.durgesh.launcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.durgesh.colocation.LocalServices;
+
+/**
+ * Starts employee, address, course and customer in a single JVM.
+ * <p>
+ * Third-party libraries are loaded once by this class's class loader and
+ * shared. Each service's own jar gets a separate class loader, so classes
+ * and resources that exist in several modules (CustomResponse,
+ * application.properties, ...) do not collide. Every service runs as a
+ * child of one parent context holding {@link LocalServices}, which is how
+ * employee reaches address without going over the network.
+ * <p>
+ * Each service still starts its own Tomcat and Hikari pool. The launcher
+ * splits {@code launcher.budget.threads} and {@code launcher.budget.connections}
+ * evenly between them and applies the shares, with any
+ * {@code launcher.overrides.*}, above the services' own properties, so a
+ * service file (or pool sizing) cannot grow past its share.
+ */
+public class ColocatedLauncher {
+
+	private static final Logger log = LoggerFactory.getLogger(ColocatedLauncher.class);
+
+	private static final String DEFAULTS_PREFIX = "launcher.defaults.";
+
+	private static final String OVERRIDES_PREFIX = "launcher.overrides.";
+
+	private final Deque<ConfigurableApplicationContext> started = new ArrayDeque<>();
+
+	private AnnotationConfigApplicationContext parent;
+
+	public static void main(String[] args) throws Exception {
+		ColocatedLauncher launcher = new ColocatedLauncher();
+		Runtime.getRuntime().addShutdownHook(new Thread(launcher::stop, "launcher-shutdown"));
+		launcher.start(loadProperties(), args);
+	}
+
+	public void start(Properties config, String[] args) throws Exception {
+		parent = new AnnotationConfigApplicationContext();
+		parent.registerBean(LocalServices.class, LocalServices::new);
+		parent.refresh();
+
+		File servicesDir = new File(config.getProperty("launcher.services-dir", "target/services"));
+		List<String> modules = Stream.of(config.getProperty("launcher.modules", "").split(",")).map(String::trim)
+				.filter(module -> !module.isEmpty()).collect(Collectors.toList());
+		Map<String, Object> defaults = withPrefix(config, DEFAULTS_PREFIX);
+		Map<String, Object> overrides = overrides(config, modules.size());
+		log.info("Per-service limits: {}", overrides);
+		for (String module : modules) {
+			String prefix = "launcher.module." + module + ".";
+			File jar = new File(servicesDir, config.getProperty(prefix + "jar", module + ".jar"));
+			String mainClass = config.getProperty(prefix + "main-class");
+			if (mainClass == null) {
+				throw new IllegalStateException("No main class configured for module " + module);
+			}
+			started.push(startModule(module, jar, mainClass, defaults, overrides, args));
+		}
+		log.info("Started {} services in one JVM", started.size());
+	}
+
+	private ConfigurableApplicationContext startModule(String module, File jar, String mainClass,
+			Map<String, Object> defaults, Map<String, Object> overrides, String[] args) throws Exception {
+		if (!jar.isFile()) {
+			throw new IllegalStateException("Service jar not found for " + module + ": " + jar.getAbsolutePath());
+		}
+		log.info("Starting {} from {}", module, jar);
+		URLClassLoader loader = new URLClassLoader(module, new URL[] { jar.toURI().toURL() },
+				ColocatedLauncher.class.getClassLoader());
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try {
+			return application(loader.loadClass(mainClass), loader, defaults, overrides).run(args);
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+
+	/**
+	 * A service as a child of the shared context. Its own properties win over
+	 * {@code defaults}; {@code overrides} win over everything but the command line.
+	 */
+	SpringApplicationBuilder application(Class<?> mainClass, ClassLoader loader, Map<String, Object> defaults,
+			Map<String, Object> overrides) {
+		return new SpringApplicationBuilder(mainClass)
+				.parent(parent)
+				.resourceLoader(new DefaultResourceLoader(loader))
+				.properties(defaults)
+				.initializers(context -> {
+					MutablePropertySources sources = context.getEnvironment().getPropertySources();
+					MapPropertySource launcher = new MapPropertySource("launcherOverrides", overrides);
+					if (sources.contains(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
+						sources.addAfter(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME, launcher);
+					} else {
+						sources.addFirst(launcher);
+					}
+				});
+	}
+
+	public void stop() {
+		while (!started.isEmpty()) {
+			ConfigurableApplicationContext context = started.pop();
+			try {
+				context.close();
+			} catch (RuntimeException e) {
+				log.warn("Failed to close {}", context.getId(), e);
+			}
+		}
+		if (parent != null) {
+			parent.close();
+		}
+	}
+
+	/**
+	 * {@code launcher.overrides.*} plus each service's share of the thread and
+	 * connection budgets. Pool sizing is capped at the same share, so it only
+	 * moves the pool below it.
+	 */
+	static Map<String, Object> overrides(Properties config, int services) {
+		Map<String, Object> overrides = withPrefix(config, OVERRIDES_PREFIX);
+		int share = Math.max(1, services);
+		String threads = config.getProperty("launcher.budget.threads");
+		if (threads != null) {
+			int perService = Math.max(2, Integer.parseInt(threads.trim()) / share);
+			overrides.putIfAbsent("server.tomcat.threads.max", String.valueOf(perService));
+		}
+		String connections = config.getProperty("launcher.budget.connections");
+		if (connections != null) {
+			int perService = Math.max(1, Integer.parseInt(connections.trim()) / share);
+			overrides.putIfAbsent("spring.datasource.hikari.maximum-pool-size", String.valueOf(perService));
+			overrides.putIfAbsent("pool.sizing.max-size", String.valueOf(perService));
+			overrides.putIfAbsent("pool.sizing.min-size", "1");
+		}
+		return overrides;
+	}
+
+	private static Map<String, Object> withPrefix(Properties config, String prefix) {
+		Map<String, Object> properties = new HashMap<>();
+		for (String name : config.stringPropertyNames()) {
+			if (name.startsWith(prefix)) {
+				properties.put(name.substring(prefix.length()), config.getProperty(name));
+			}
+		}
+		return properties;
+	}
+
+	private static Properties loadProperties() throws IOException {
+		Properties config = new Properties();
+		try (InputStream in = ColocatedLauncher.class.getResourceAsStream("/launcher.properties")) {
+			if (in != null) {
+				config.load(in);
+			}
+		}
+		// -Dlauncher.* on the command line overrides the bundled file
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith("launcher.")) {
+				config.setProperty(name, System.getProperty(name));
+			}
+		}
+		return config;
+	}
+}
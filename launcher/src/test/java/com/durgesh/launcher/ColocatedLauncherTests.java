@@ -0,0 +1,115 @@
+package com.durgesh.launcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.durgesh.colocation.LocalServices;
+
+class ColocatedLauncherTests {
+
+	private static final String[] ARGS = { "--spring.config.name=colocated-service",
+			"--spring.main.web-application-type=none" };
+
+	private final ColocatedLauncher launcher = new ColocatedLauncher();
+
+	@AfterEach
+	void tearDown() {
+		launcher.stop();
+	}
+
+	@Test
+	void budgetsAreSplitEvenlyBetweenTheServices() {
+		Properties config = new Properties();
+		config.setProperty("launcher.budget.threads", "100");
+		config.setProperty("launcher.budget.connections", "12");
+		config.setProperty("launcher.overrides.server.tomcat.accept-count", "50");
+
+		Map<String, Object> overrides = ColocatedLauncher.overrides(config, 4);
+
+		assertEquals("25", overrides.get("server.tomcat.threads.max"));
+		assertEquals("3", overrides.get("spring.datasource.hikari.maximum-pool-size"));
+		assertEquals("3", overrides.get("pool.sizing.max-size"));
+		assertEquals("1", overrides.get("pool.sizing.min-size"));
+		assertEquals("50", overrides.get("server.tomcat.accept-count"));
+	}
+
+	@Test
+	void sharesNeverDropToNothing() {
+		Properties config = new Properties();
+		config.setProperty("launcher.budget.threads", "3");
+		config.setProperty("launcher.budget.connections", "2");
+
+		Map<String, Object> overrides = ColocatedLauncher.overrides(config, 4);
+
+		assertEquals("2", overrides.get("server.tomcat.threads.max"));
+		assertEquals("1", overrides.get("spring.datasource.hikari.maximum-pool-size"));
+	}
+
+	@Test
+	void explicitOverridesWinOverTheBudgetShare() {
+		Properties config = new Properties();
+		config.setProperty("launcher.budget.connections", "12");
+		config.setProperty("launcher.overrides.spring.datasource.hikari.maximum-pool-size", "5");
+
+		Map<String, Object> overrides = ColocatedLauncher.overrides(config, 4);
+
+		assertEquals("5", overrides.get("spring.datasource.hikari.maximum-pool-size"));
+		assertFalse(overrides.containsKey("server.tomcat.threads.max"));
+	}
+
+	@Test
+	void overridesBeatTheServiceFileAndDefaultsDoNot() throws Exception {
+		launcher.start(new Properties(), new String[0]);
+		Map<String, Object> overrides = Map.of("server.tomcat.threads.max", "25",
+				"spring.datasource.hikari.maximum-pool-size", "3", "pool.sizing.max-size", "3");
+		Map<String, Object> defaults = Map.of("spring.main.banner-mode", "off", "launcher.only", "default");
+
+		try (ConfigurableApplicationContext service = launcher
+				.application(FakeService.class, getClass().getClassLoader(), defaults, overrides).run(ARGS)) {
+			Environment environment = service.getEnvironment();
+
+			assertEquals("25", environment.getProperty("server.tomcat.threads.max"));
+			assertEquals("3", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+			assertEquals("3", environment.getProperty("pool.sizing.max-size"));
+			assertEquals("console", environment.getProperty("spring.main.banner-mode"));
+			assertEquals("default", environment.getProperty("launcher.only"));
+		}
+	}
+
+	@Test
+	void commandLineStillWinsOverTheOverrides() throws Exception {
+		launcher.start(new Properties(), new String[0]);
+		String[] args = { ARGS[0], ARGS[1], "--server.tomcat.threads.max=7" };
+
+		try (ConfigurableApplicationContext service = launcher.application(FakeService.class,
+				getClass().getClassLoader(), Map.of(), Map.of("server.tomcat.threads.max", "25")).run(args)) {
+			assertEquals("7", service.getEnvironment().getProperty("server.tomcat.threads.max"));
+		}
+	}
+
+	@Test
+	void servicesShareTheParentsLocalServices() throws Exception {
+		launcher.start(new Properties(), new String[0]);
+
+		try (ConfigurableApplicationContext first = launcher
+				.application(FakeService.class, getClass().getClassLoader(), Map.of(), Map.of()).run(ARGS);
+				ConfigurableApplicationContext second = launcher
+						.application(FakeService.class, getClass().getClassLoader(), Map.of(), Map.of()).run(ARGS)) {
+			assertSame(first.getBean(LocalServices.class), second.getBean(LocalServices.class));
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class FakeService {
+	}
+}
@@ -0,0 +1,158 @@
+package com.durgesh.pool;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.SmartLifecycle;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Samples the Hikari pool every {@code pool.sizing.interval-ms} and applies
+ * the size {@link PoolSizer} asks for through Hikari's runtime config bean.
+ * Wait and hold times come from the {@code hikaricp.connections.acquire}
+ * and {@code hikaricp.connections.usage} timers Boot binds for the pool.
+ */
+@Slf4j
+public class HikariPoolController implements SmartLifecycle {
+
+	private final HikariDataSource dataSource;
+	private final MeterRegistry meterRegistry;
+	private final PoolSizingProperties properties;
+	private final PoolSizer sizer;
+	private final Counter grown;
+	private final Counter shrunk;
+
+	private ScheduledExecutorService scheduler;
+	private volatile boolean running;
+
+	private long lastAcquireCount;
+	private double lastAcquireMs;
+	private long lastUsageCount;
+	private double lastUsageTotalMs;
+	private volatile double waitMs;
+	private volatile double usageMs;
+
+	public HikariPoolController(DataSource dataSource, MeterRegistry meterRegistry, PoolSizingProperties properties) {
+		this.dataSource = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+		this.meterRegistry = meterRegistry;
+		this.properties = properties;
+		this.sizer = new PoolSizer(properties);
+		this.grown = meterRegistry.counter("pool.sizing.resizes", "direction", "up");
+		this.shrunk = meterRegistry.counter("pool.sizing.resizes", "direction", "down");
+		if (this.dataSource != null) {
+			Gauge.builder("pool.sizing.max-size", this.dataSource, HikariDataSource::getMaximumPoolSize)
+					.register(meterRegistry);
+			Gauge.builder("pool.sizing.wait", this, controller -> controller.waitMs)
+					.baseUnit("milliseconds").register(meterRegistry);
+			Gauge.builder("pool.sizing.usage", this, controller -> controller.usageMs)
+					.baseUnit("milliseconds").register(meterRegistry);
+			Gauge.builder("pool.sizing.usage.baseline", sizer, PoolSizer::getBaselineUsageMs)
+					.baseUnit("milliseconds").register(meterRegistry);
+		}
+	}
+
+	@Override
+	public synchronized void start() {
+		if (dataSource == null) {
+			log.info("DataSource is not a Hikari pool, pool sizing disabled");
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "pool-sizing");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::tickQuietly, properties.getIntervalMs(), properties.getIntervalMs(),
+				TimeUnit.MILLISECONDS);
+		running = true;
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+		running = false;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	void tick() {
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		if (pool == null) {
+			// Hikari starts the pool on first use
+			return;
+		}
+		Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName()).timer();
+		Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", dataSource.getPoolName()).timer();
+		if (acquire == null || usage == null) {
+			return;
+		}
+		long acquisitions = delta(acquire.count(), lastAcquireCount);
+		double acquireMs = delta(acquire.totalTime(TimeUnit.MILLISECONDS), lastAcquireMs);
+		long returns = delta(usage.count(), lastUsageCount);
+		double usageTotalMs = delta(usage.totalTime(TimeUnit.MILLISECONDS), lastUsageTotalMs);
+		lastAcquireCount = acquire.count();
+		lastAcquireMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+		lastUsageCount = usage.count();
+		lastUsageTotalMs = usage.totalTime(TimeUnit.MILLISECONDS);
+
+		waitMs = acquisitions > 0 ? acquireMs / acquisitions : 0;
+		if (returns > 0) {
+			usageMs = usageTotalMs / returns;
+		}
+		PoolSample sample = new PoolSample(waitMs, usageMs, pool.getThreadsAwaitingConnection(),
+				pool.getActiveConnections(), acquisitions);
+		int current = dataSource.getMaximumPoolSize();
+		int next = sizer.nextSize(current, sample);
+		if (next != current) {
+			resize(current, next, sample);
+		}
+	}
+
+	private void resize(int current, int next, PoolSample sample) {
+		HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+		if (config.getMinimumIdle() > next) {
+			config.setMinimumIdle(next);
+		}
+		config.setMaximumPoolSize(next);
+		(next > current ? grown : shrunk).increment();
+		log.info("Resized pool {} from {} to {} (wait {} ms, hold {} ms, pending {})", dataSource.getPoolName(),
+				current, next, String.format("%.1f", sample.getWaitMs()), String.format("%.1f", sample.getUsageMs()),
+				sample.getPending());
+	}
+
+	private void tickQuietly() {
+		try {
+			tick();
+		} catch (RuntimeException e) {
+			log.warn("Pool sizing tick failed: {}", e.getMessage());
+		}
+	}
+
+	// cumulative meters only grow; a drop means they were reset, so the current value is the whole interval
+	private static long delta(long current, long last) {
+		return current >= last ? current - last : current;
+	}
+
+	private static double delta(double current, double last) {
+		return current >= last ? current - last : current;
+	}
+}
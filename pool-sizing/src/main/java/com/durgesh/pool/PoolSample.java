@@ -0,0 +1,23 @@
+package com.durgesh.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What the pool looked like over one sampling interval.
+ */
+@Getter
+@AllArgsConstructor
+public class PoolSample {
+
+	/** Mean time callers waited for a connection, ms. */
+	private final double waitMs;
+	/** Mean time a connection was held before being returned, ms. */
+	private final double usageMs;
+	/** Threads waiting for a connection at sampling time. */
+	private final int pending;
+	/** Connections in use at sampling time. */
+	private final int active;
+	/** Connections acquired during the interval. */
+	private final long acquisitions;
+}
@@ -0,0 +1,79 @@
+package com.durgesh.pool;
+
+/**
+ * Decides the next pool size from one interval's sample.
+ * <p>
+ * The pool grows while callers wait for connections and connection hold
+ * time stays near its baseline, i.e. while the database keeps up and the
+ * pool is the bottleneck. When hold time climbs past
+ * {@code latencyTolerance} times the baseline, extra connections would only
+ * queue inside the database, so the pool stops growing and, if callers are
+ * still waiting, gives one back. A pool that stays mostly idle shrinks by
+ * one connection every {@code shrinkAfter} intervals.
+ */
+public class PoolSizer {
+
+	/** Hold times this close to the baseline are noise, whatever the ratio. */
+	private static final double MIN_LATENCY_RISE_MS = 1.0;
+
+	/** How fast the baseline follows hold times above it. */
+	private static final double BASELINE_DRIFT = 0.01;
+
+	private final PoolSizingProperties properties;
+	private double baselineUsageMs = -1;
+	private int idleIntervals;
+
+	public PoolSizer(PoolSizingProperties properties) {
+		this.properties = properties;
+	}
+
+	public synchronized int nextSize(int current, PoolSample sample) {
+		int size = clamp(current);
+		if (sample.getAcquisitions() == 0 && sample.getPending() == 0) {
+			return idle(size, 0);
+		}
+		updateBaseline(sample.getUsageMs());
+		boolean starving = sample.getPending() > 0 || sample.getWaitMs() > properties.getTargetWaitMs();
+		boolean databaseSlow = sample.getUsageMs() > baselineUsageMs * properties.getLatencyTolerance()
+				&& sample.getUsageMs() - baselineUsageMs > MIN_LATENCY_RISE_MS;
+		if (databaseSlow) {
+			idleIntervals = 0;
+			return starving ? clamp(size - 1) : size;
+		}
+		if (starving) {
+			idleIntervals = 0;
+			return clamp(size + properties.getGrowStep());
+		}
+		// Little's law: connections busy on average over the interval
+		double busy = sample.getAcquisitions() * sample.getUsageMs() / properties.getIntervalMs();
+		return idle(size, Math.max(busy, sample.getActive()) / size);
+	}
+
+	public synchronized double getBaselineUsageMs() {
+		return baselineUsageMs;
+	}
+
+	private int idle(int size, double utilization) {
+		if (utilization >= properties.getIdleUtilization()) {
+			idleIntervals = 0;
+			return size;
+		}
+		if (++idleIntervals < properties.getShrinkAfter()) {
+			return size;
+		}
+		idleIntervals = 0;
+		return clamp(size - 1);
+	}
+
+	private void updateBaseline(double usageMs) {
+		if (baselineUsageMs < 0 || usageMs < baselineUsageMs) {
+			baselineUsageMs = usageMs;
+		} else {
+			baselineUsageMs += (usageMs - baselineUsageMs) * BASELINE_DRIFT;
+		}
+	}
+
+	private int clamp(int size) {
+		return Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), size));
+	}
+}
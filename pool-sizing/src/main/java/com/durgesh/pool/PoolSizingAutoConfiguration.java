@@ -0,0 +1,31 @@
+package com.durgesh.pool;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@AutoConfiguration(afterName = {
+		"org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+		"org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+		"org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration" })
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnBean({ DataSource.class, MeterRegistry.class })
+@ConditionalOnProperty(prefix = "pool.sizing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(PoolSizingProperties.class)
+public class PoolSizingAutoConfiguration {
+
+	@Bean
+	public HikariPoolController hikariPoolController(DataSource dataSource, MeterRegistry meterRegistry,
+			PoolSizingProperties properties) {
+		return new HikariPoolController(dataSource, meterRegistry, properties);
+	}
+}
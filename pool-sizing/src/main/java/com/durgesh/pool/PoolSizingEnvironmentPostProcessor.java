@@ -0,0 +1,25 @@
+package com.durgesh.pool;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Turns {@code spring.jpa.open-in-view} off by default, below every other
+ * property source, so a service can still switch it back on. With it on, a
+ * request keeps its connection through remote calls and rendering, and the
+ * hold times pool sizing reads would measure the whole request.
+ */
+public class PoolSizingEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+	static final String SOURCE_NAME = "poolSizingDefaults";
+
+	@Override
+	public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+		environment.getPropertySources()
+				.addLast(new MapPropertySource(SOURCE_NAME, Map.of("spring.jpa.open-in-view", "false")));
+	}
+}
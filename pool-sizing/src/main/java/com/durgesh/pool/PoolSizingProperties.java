@@ -0,0 +1,43 @@
+package com.durgesh.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code pool.sizing.*} settings. The pool starts at whatever
+ * {@code spring.datasource.hikari.maximum-pool-size} says and is then moved
+ * within {@code [minSize, maxSize]}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pool.sizing")
+public class PoolSizingProperties {
+
+	private boolean enabled = true;
+
+	private int minSize = 2;
+	private int maxSize = 30;
+
+	/** How often the pool is sampled and possibly resized. */
+	private long intervalMs = 5000;
+
+	/** Mean connection wait above which the pool grows. */
+	private double targetWaitMs = 5;
+
+	/**
+	 * How far mean connection hold time may rise above its baseline before
+	 * the database is treated as the bottleneck and the pool stops growing.
+	 */
+	private double latencyTolerance = 2.0;
+
+	/** Connections added per growing step. */
+	private int growStep = 2;
+
+	/** Peak utilisation below which an interval counts as idle. */
+	private double idleUtilization = 0.5;
+
+	/** Consecutive idle intervals before one connection is given back. */
+	private int shrinkAfter = 6;
+}
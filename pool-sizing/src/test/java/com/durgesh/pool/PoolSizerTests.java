@@ -0,0 +1,55 @@
+package com.durgesh.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PoolSizerTests {
+
+	private final PoolSizingProperties properties = new PoolSizingProperties();
+
+	PoolSizerTests() {
+		properties.setMinSize(2);
+		properties.setMaxSize(20);
+		properties.setIntervalMs(1000);
+		properties.setGrowStep(2);
+		properties.setShrinkAfter(3);
+	}
+
+	@Test
+	void growsWhileCallersWaitAndTheDatabaseKeepsUp() {
+		PoolSizer sizer = new PoolSizer(properties);
+		assertEquals(12, sizer.nextSize(10, new PoolSample(40, 3, 5, 10, 2000)));
+		assertEquals(14, sizer.nextSize(12, new PoolSample(20, 3.2, 2, 12, 2500)));
+		assertEquals(20, sizer.nextSize(20, new PoolSample(20, 3, 2, 20, 2500)));
+	}
+
+	@Test
+	void backsOffWhenHoldTimeClimbs() {
+		PoolSizer sizer = new PoolSizer(properties);
+		sizer.nextSize(10, new PoolSample(1, 3, 0, 5, 1000));
+		// waiting callers, but every connection is now held three times longer: the database is saturated
+		assertEquals(9, sizer.nextSize(10, new PoolSample(40, 9, 4, 10, 1000)));
+		assertEquals(9, sizer.nextSize(9, new PoolSample(1, 9, 0, 9, 1000)));
+	}
+
+	@Test
+	void shrinksOnlyAfterSeveralIdleIntervals() {
+		PoolSizer sizer = new PoolSizer(properties);
+		PoolSample quiet = new PoolSample(0, 2, 0, 0, 100);
+		assertEquals(10, sizer.nextSize(10, quiet));
+		assertEquals(10, sizer.nextSize(10, quiet));
+		assertEquals(9, sizer.nextSize(10, quiet));
+		assertEquals(9, sizer.nextSize(9, new PoolSample(0, 2, 0, 0, 0)));
+		assertEquals(2, sizer.nextSize(1, new PoolSample(0, 2, 0, 0, 0)));
+	}
+
+	@Test
+	void busyPoolWithoutWaitingKeepsItsSize() {
+		PoolSizer sizer = new PoolSizer(properties);
+		// 2000 acquisitions * 4 ms over 1 s = 8 connections busy out of 10
+		for (int i = 0; i < 5; i++) {
+			assertEquals(10, sizer.nextSize(10, new PoolSample(0.5, 4, 0, 3, 2000)));
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.durgesh.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+class PoolSizingEnvironmentPostProcessorTests {
+
+	private final PoolSizingEnvironmentPostProcessor postProcessor = new PoolSizingEnvironmentPostProcessor();
+
+	@Test
+	void openInViewIsOffByDefault() {
+		StandardEnvironment environment = new StandardEnvironment();
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertEquals("false", environment.getProperty("spring.jpa.open-in-view"));
+	}
+
+	@Test
+	void serviceSettingWins() {
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources()
+				.addFirst(new MapPropertySource("application", Map.of("spring.jpa.open-in-view", "true")));
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertEquals("true", environment.getProperty("spring.jpa.open-in-view"));
+	}
+}
@@ -0,0 +1,31 @@
+package com.durgesh.registry.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One registered service instance, as stored by the registry and pushed to
+ * clients.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class InstanceInfo {
+
+	private String serviceId;
+	private String instanceId;
+	private String host;
+	private int port;
+	private boolean secure;
+	private Map<String, String> metadata = new HashMap<>();
+
+	public boolean sameAs(InstanceInfo other) {
+		return other != null && serviceId.equals(other.serviceId) && instanceId.equals(other.instanceId)
+				&& host.equals(other.host) && port == other.port && secure == other.secure
+				&& metadata.equals(other.metadata);
+	}
+}
@@ -0,0 +1,293 @@
+package com.durgesh.registry.client;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link DiscoveryClient} fed by the registry's event stream. The instance
+ * list is kept locally and updated as deltas are pushed, so
+ * {@link #getInstances(String)} is a map read and changes show up as soon as
+ * the registry sees them instead of on the next poll.
+ * <p>
+ * It also registers the local instance and heartbeats it. It is ordered ahead
+ * of other discovery clients, so the composite client asks it first.
+ */
+@Slf4j
+public class PushDiscoveryClient implements DiscoveryClient, InitializingBean, DisposableBean {
+
+	private final RegistryClientProperties properties;
+	private final ObjectMapper objectMapper;
+	private final HttpClient httpClient;
+	private final ScheduledExecutorService heartbeats;
+
+	/** serviceId -> instanceId -> instance; only touched under {@code this}. */
+	private final Map<String, Map<String, InstanceInfo>> state = new HashMap<>();
+	/** Read-only per-service lists handed out to callers. */
+	private final Map<String, List<ServiceInstance>> view = new ConcurrentHashMap<>();
+
+	private volatile long version = -1;
+	private volatile boolean running;
+	private volatile Stream<String> currentStream;
+	private volatile InstanceInfo self;
+	private Thread streamThread;
+
+	public PushDiscoveryClient(RegistryClientProperties properties, ObjectMapper objectMapper) {
+		this.properties = properties;
+		this.objectMapper = objectMapper;
+		this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+		this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "registry-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public String description() {
+		return "Push-based registry client (" + properties.getUrl() + ")";
+	}
+
+	@Override
+	public List<ServiceInstance> getInstances(String serviceId) {
+		return view.getOrDefault(normalize(serviceId), Collections.emptyList());
+	}
+
+	@Override
+	public List<String> getServices() {
+		return new ArrayList<>(view.keySet());
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		running = true;
+		streamThread = new Thread(this::streamLoop, "registry-stream");
+		streamThread.setDaemon(true);
+		streamThread.start();
+	}
+
+	/**
+	 * Registers this application and starts heartbeating. Called once the web
+	 * server port is known.
+	 */
+	public void register(String serviceId, int port) {
+		InstanceInfo instance = new InstanceInfo();
+		instance.setServiceId(normalize(serviceId));
+		instance.setHost(hostname());
+		instance.setPort(port);
+		instance.setInstanceId(instance.getHost() + ":" + serviceId.toLowerCase(Locale.ROOT) + ":" + port);
+		instance.setMetadata(new HashMap<>(properties.getMetadata()));
+		self = instance;
+		sendRegistration();
+		heartbeats.scheduleWithFixedDelay(this::heartbeat, properties.getHeartbeatIntervalMs(),
+				properties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		running = false;
+		heartbeats.shutdownNow();
+		Stream<String> stream = currentStream;
+		if (stream != null) {
+			stream.close();
+		}
+		if (streamThread != null) {
+			streamThread.interrupt();
+		}
+		InstanceInfo instance = self;
+		if (instance != null) {
+			try {
+				httpClient.send(HttpRequest.newBuilder(instanceUri(instance)).DELETE().build(),
+						HttpResponse.BodyHandlers.discarding());
+			} catch (IOException e) {
+				log.warn("Could not deregister {} from registry: {}", instance.getInstanceId(), e.getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void heartbeat() {
+		InstanceInfo instance = self;
+		try {
+			HttpResponse<Void> response = httpClient.send(
+					HttpRequest.newBuilder(instanceUri(instance)).PUT(HttpRequest.BodyPublishers.noBody())
+							.timeout(Duration.ofSeconds(2)).build(),
+					HttpResponse.BodyHandlers.discarding());
+			if (response.statusCode() == 404) {
+				// lease expired on the registry side (e.g. registry restarted)
+				sendRegistration();
+			}
+		} catch (IOException e) {
+			log.debug("Registry heartbeat failed: {}", e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void sendRegistration() {
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getUrl() + "/registry/instances"))
+					.header("Content-Type", "application/json")
+					.timeout(Duration.ofSeconds(2))
+					.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(self)))
+					.build();
+			httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+			log.info("Registered {} with registry at {}", self.getInstanceId(), properties.getUrl());
+		} catch (IOException e) {
+			log.warn("Could not register with registry at {}: {}", properties.getUrl(), e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void streamLoop() {
+		while (running) {
+			try {
+				HttpRequest request = HttpRequest
+						.newBuilder(URI.create(properties.getUrl() + "/registry/stream?since=" + version))
+						.header("Accept", "text/event-stream")
+						.GET()
+						.build();
+				HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+				if (response.statusCode() != 200) {
+					throw new IOException("registry stream returned " + response.statusCode());
+				}
+				try (Stream<String> lines = response.body()) {
+					currentStream = lines;
+					StringBuilder data = new StringBuilder();
+					lines.forEach(line -> {
+						if (line.startsWith("data:")) {
+							data.append(line.substring(5).trim());
+						} else if (line.isEmpty() && data.length() > 0) {
+							apply(data.toString());
+							data.setLength(0);
+						}
+					});
+				}
+			} catch (IOException | RuntimeException e) {
+				if (running) {
+					log.debug("Registry stream disconnected: {}", e.getMessage());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (running) {
+				try {
+					Thread.sleep(properties.getReconnectDelayMs());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private void apply(String json) {
+		RegistryEvent event;
+		try {
+			event = objectMapper.readValue(json, RegistryEvent.class);
+		} catch (JsonProcessingException e) {
+			log.warn("Ignoring malformed registry event: {}", e.getMessage());
+			return;
+		}
+		apply(event);
+	}
+
+	synchronized void apply(RegistryEvent event) {
+		if (event.getType() == RegistryEvent.Type.SNAPSHOT) {
+			state.clear();
+			for (InstanceInfo instance : event.getInstances()) {
+				state.computeIfAbsent(instance.getServiceId(), key -> new HashMap<>())
+						.put(instance.getInstanceId(), instance);
+			}
+			view.keySet().retainAll(state.keySet());
+			state.keySet().forEach(this::refreshView);
+		} else if (event.getVersion() <= version) {
+			return;
+		} else {
+			InstanceInfo instance = event.getInstance();
+			Map<String, InstanceInfo> service = state.computeIfAbsent(instance.getServiceId(), key -> new HashMap<>());
+			if (event.getType() == RegistryEvent.Type.DEREGISTERED) {
+				service.remove(instance.getInstanceId());
+			} else {
+				service.put(instance.getInstanceId(), instance);
+			}
+			refreshView(instance.getServiceId());
+		}
+		version = event.getVersion();
+	}
+
+	private void refreshView(String serviceId) {
+		Map<String, InstanceInfo> service = state.get(serviceId);
+		if (service == null || service.isEmpty()) {
+			state.remove(serviceId);
+			view.remove(serviceId);
+			return;
+		}
+		List<ServiceInstance> instances = new ArrayList<>(service.size());
+		for (InstanceInfo info : service.values()) {
+			instances.add(new DefaultServiceInstance(info.getInstanceId(), info.getServiceId(), info.getHost(),
+					info.getPort(), info.isSecure(), info.getMetadata()));
+		}
+		view.put(serviceId, Collections.unmodifiableList(instances));
+	}
+
+	private URI instanceUri(InstanceInfo instance) {
+		return URI.create(properties.getUrl() + "/registry/instances/" + instance.getServiceId() + "/"
+				+ instance.getInstanceId());
+	}
+
+	private String hostname() {
+		if (properties.getHostname() != null) {
+			return properties.getHostname();
+		}
+		try {
+			return InetAddress.getLocalHost().getHostAddress();
+		} catch (UnknownHostException e) {
+			return "localhost";
+		}
+	}
+
+	static String normalize(String serviceId) {
+		return serviceId.toUpperCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,35 @@
+package com.durgesh.registry.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "registry.client", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RegistryClientProperties.class)
+public class RegistryClientAutoConfiguration {
+
+	@Bean
+	public PushDiscoveryClient pushDiscoveryClient(RegistryClientProperties properties,
+			ObjectProvider<ObjectMapper> objectMapper) {
+		return new PushDiscoveryClient(properties, objectMapper.getIfAvailable(ObjectMapper::new));
+	}
+
+	@Bean
+	public ApplicationListener<WebServerInitializedEvent> registryRegistration(PushDiscoveryClient pushDiscoveryClient,
+			Environment environment) {
+		return event -> {
+			if (event.getApplicationContext().getServerNamespace() == null) {
+				pushDiscoveryClient.register(environment.getProperty("spring.application.name", "application"),
+						event.getWebServer().getPort());
+			}
+		};
+	}
+}
@@ -0,0 +1,31 @@
+package com.durgesh.registry.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "registry.client")
+public class RegistryClientProperties {
+
+	private boolean enabled = false;
+
+	/** Base URL of the registry module. */
+	private String url = "http://localhost:5000";
+
+	private long heartbeatIntervalMs = 3000;
+
+	/** Delay before reconnecting a dropped stream. */
+	private long reconnectDelayMs = 1000;
+
+	/** Defaults to the local host name. */
+	private String hostname;
+
+	/** Published with the instance, e.g. {@code grpc-port}. */
+	private Map<String, String> metadata = new HashMap<>();
+}
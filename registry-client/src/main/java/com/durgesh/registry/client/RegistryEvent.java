@@ -0,0 +1,35 @@
+package com.durgesh.registry.client;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Change pushed over the registry stream. {@code SNAPSHOT} carries the full
+ * instance list and replaces the client's view; the other types carry a
+ * single instance. Versions increase by one per change so a reconnecting
+ * client can ask for everything after the last version it applied.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RegistryEvent {
+
+	public enum Type {
+		SNAPSHOT, REGISTERED, UPDATED, DEREGISTERED
+	}
+
+	private long version;
+	private Type type;
+	private InstanceInfo instance;
+	private List<InstanceInfo> instances;
+
+	public RegistryEvent(long version, Type type, InstanceInfo instance, List<InstanceInfo> instances) {
+		this.version = version;
+		this.type = type;
+		this.instance = instance;
+		this.instances = instances;
+	}
+}
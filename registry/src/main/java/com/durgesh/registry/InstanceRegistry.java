@@ -0,0 +1,153 @@
+package com.durgesh.registry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.durgesh.registry.client.InstanceInfo;
+import com.durgesh.registry.client.RegistryEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory registry. Heartbeats only extend a lease; the stream only hears
+ * about instances that appear, change or go away. All mutations happen under
+ * the registry lock so every change gets the next version and is handed to
+ * {@link RegistryStreamer} in version order.
+ */
+@Slf4j
+@Service
+public class InstanceRegistry {
+
+	@Value("${registry.lease-ttl-ms:10000}")
+	private long leaseTtlMs;
+
+	@Value("${registry.delta-history:1000}")
+	private int deltaHistory;
+
+	@Autowired
+	private RegistryStreamer streamer;
+
+	private final Map<String, Lease> leases = new HashMap<>();
+	private final Deque<RegistryEvent> deltas = new ArrayDeque<>();
+	// starts from the clock so a restarted registry never reuses versions a client has already applied
+	private long version = System.currentTimeMillis() * 1000;
+
+	public synchronized void register(InstanceInfo instance) {
+		instance.setServiceId(instance.getServiceId().toUpperCase(Locale.ROOT));
+		Lease existing = leases.get(key(instance.getServiceId(), instance.getInstanceId()));
+		if (existing != null && existing.instance.sameAs(instance)) {
+			existing.renew();
+			return;
+		}
+		leases.put(key(instance.getServiceId(), instance.getInstanceId()), new Lease(instance));
+		publish(existing == null ? RegistryEvent.Type.REGISTERED : RegistryEvent.Type.UPDATED, instance);
+		log.info("{} {} at {}:{}", existing == null ? "Registered" : "Updated", instance.getInstanceId(),
+				instance.getHost(), instance.getPort());
+	}
+
+	/**
+	 * @return false when the instance is unknown and has to register again
+	 */
+	public synchronized boolean renew(String serviceId, String instanceId) {
+		Lease lease = leases.get(key(serviceId.toUpperCase(Locale.ROOT), instanceId));
+		if (lease == null) {
+			return false;
+		}
+		lease.renew();
+		return true;
+	}
+
+	public synchronized boolean cancel(String serviceId, String instanceId) {
+		Lease lease = leases.remove(key(serviceId.toUpperCase(Locale.ROOT), instanceId));
+		if (lease == null) {
+			return false;
+		}
+		publish(RegistryEvent.Type.DEREGISTERED, lease.instance);
+		log.info("Deregistered {}", instanceId);
+		return true;
+	}
+
+	@Scheduled(fixedDelayString = "${registry.eviction-interval-ms:1000}")
+	public synchronized void evictExpired() {
+		long now = System.currentTimeMillis();
+		Iterator<Lease> iterator = leases.values().iterator();
+		while (iterator.hasNext()) {
+			Lease lease = iterator.next();
+			if (now - lease.lastRenewal > leaseTtlMs) {
+				iterator.remove();
+				publish(RegistryEvent.Type.DEREGISTERED, lease.instance);
+				log.info("Evicted {} after {} ms without heartbeat", lease.instance.getInstanceId(),
+						now - lease.lastRenewal);
+			}
+		}
+	}
+
+	public synchronized RegistryEvent snapshot() {
+		List<InstanceInfo> instances = new ArrayList<>(leases.size());
+		for (Lease lease : leases.values()) {
+			instances.add(lease.instance);
+		}
+		return new RegistryEvent(version, RegistryEvent.Type.SNAPSHOT, null, instances);
+	}
+
+	/**
+	 * Attaches a subscriber and returns what it has to apply first: the
+	 * deltas after {@code since} when they are still in the history, a full
+	 * snapshot otherwise. Done under the lock so no change falls between the
+	 * catch-up and the live stream.
+	 */
+	public synchronized List<RegistryEvent> subscribe(long since, RegistryStreamer.Subscriber subscriber) {
+		List<RegistryEvent> catchUp = new ArrayList<>();
+		RegistryEvent oldest = deltas.peekFirst();
+		boolean replayable = since == version || (since < version && oldest != null && oldest.getVersion() <= since + 1);
+		if (replayable) {
+			for (RegistryEvent delta : deltas) {
+				if (delta.getVersion() > since) {
+					catchUp.add(delta);
+				}
+			}
+		} else {
+			catchUp.add(snapshot());
+		}
+		streamer.add(subscriber, catchUp);
+		return catchUp;
+	}
+
+	private void publish(RegistryEvent.Type type, InstanceInfo instance) {
+		RegistryEvent event = new RegistryEvent(++version, type, instance, null);
+		deltas.addLast(event);
+		while (deltas.size() > deltaHistory) {
+			deltas.removeFirst();
+		}
+		streamer.publish(event);
+	}
+
+	private static String key(String serviceId, String instanceId) {
+		return serviceId + "/" + instanceId;
+	}
+
+	private static class Lease {
+
+		private final InstanceInfo instance;
+		private volatile long lastRenewal = System.currentTimeMillis();
+
+		Lease(InstanceInfo instance) {
+			this.instance = instance;
+		}
+
+		void renew() {
+			lastRenewal = System.currentTimeMillis();
+		}
+	}
+}
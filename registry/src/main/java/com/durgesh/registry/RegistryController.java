@@ -0,0 +1,67 @@
+package com.durgesh.registry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.durgesh.registry.client.InstanceInfo;
+import com.durgesh.registry.client.RegistryEvent;
+
+@RestController
+@RequestMapping("/registry")
+public class RegistryController {
+
+	@Autowired
+	private InstanceRegistry registry;
+
+	@Autowired
+	private RegistryStreamer streamer;
+
+	@PostMapping("/instances")
+	public ResponseEntity<Void> register(@RequestBody InstanceInfo instance) {
+		registry.register(instance);
+		return ResponseEntity.noContent().build();
+	}
+
+	@PutMapping("/instances/{serviceId}/{instanceId}")
+	public ResponseEntity<Void> heartbeat(@PathVariable String serviceId, @PathVariable String instanceId) {
+		return registry.renew(serviceId, instanceId) ? ResponseEntity.ok().build()
+				: ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+	}
+
+	@DeleteMapping("/instances/{serviceId}/{instanceId}")
+	public ResponseEntity<Void> cancel(@PathVariable String serviceId, @PathVariable String instanceId) {
+		return registry.cancel(serviceId, instanceId) ? ResponseEntity.ok().build()
+				: ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+	}
+
+	@GetMapping("/instances")
+	public RegistryEvent instances() {
+		return registry.snapshot();
+	}
+
+	/**
+	 * Long-lived event stream. The client passes the last version it applied
+	 * and receives the missing deltas (or a snapshot) followed by live changes.
+	 */
+	@GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@RequestParam(defaultValue = "-1") long since) {
+		SseEmitter emitter = new SseEmitter(0L);
+		RegistryStreamer.Subscriber subscriber = new RegistryStreamer.Subscriber(emitter);
+		emitter.onCompletion(() -> streamer.remove(subscriber));
+		emitter.onError(error -> streamer.remove(subscriber));
+		registry.subscribe(since, subscriber);
+		return emitter;
+	}
+}
@@ -0,0 +1,97 @@
+package com.durgesh.registry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.durgesh.registry.client.RegistryEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans registry changes out to the open streams. All sends happen on one
+ * thread, which keeps every subscriber's events in version order without
+ * extra locking.
+ */
+@Slf4j
+@Component
+public class RegistryStreamer {
+
+	/** Only touched from {@link #executor}. */
+	private final List<Subscriber> subscribers = new ArrayList<>();
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "registry-streamer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public void add(Subscriber subscriber, List<RegistryEvent> catchUp) {
+		executor.execute(() -> {
+			for (RegistryEvent event : catchUp) {
+				if (!subscriber.send(event)) {
+					return;
+				}
+			}
+			subscribers.add(subscriber);
+		});
+	}
+
+	public void publish(RegistryEvent event) {
+		executor.execute(() -> subscribers.removeIf(subscriber -> !subscriber.send(event)));
+	}
+
+	public void remove(Subscriber subscriber) {
+		executor.execute(() -> subscribers.remove(subscriber));
+	}
+
+	@Scheduled(fixedDelayString = "${registry.stream-keepalive-ms:15000}")
+	public void keepAlive() {
+		executor.execute(() -> subscribers.removeIf(subscriber -> !subscriber.ping()));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.execute(() -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+		executor.shutdown();
+	}
+
+	public static class Subscriber {
+
+		private final SseEmitter emitter;
+
+		public Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		boolean send(RegistryEvent event) {
+			try {
+				emitter.send(SseEmitter.event()
+						.id(Long.toString(event.getVersion()))
+						.name(event.getType().name())
+						.data(event, MediaType.APPLICATION_JSON));
+				return true;
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Dropping registry subscriber: {}", e.getMessage());
+				return false;
+			}
+		}
+
+		boolean ping() {
+			try {
+				emitter.send(SseEmitter.event().comment("keep-alive"));
+				return true;
+			} catch (IOException | IllegalStateException e) {
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.durgesh.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.durgesh.registry.client.InstanceInfo;
+import com.durgesh.registry.client.RegistryEvent;
+
+@SpringBootTest
+class RegistryApplicationTests {
+
+	@Autowired
+	private InstanceRegistry registry;
+
+	@Test
+	void contextLoads() {
+	}
+
+	@Test
+	void reconnectingSubscriberGetsOnlyMissedDeltas() {
+		registry.register(instance("address-service", "a1", 8001));
+		long seen = registry.snapshot().getVersion();
+		registry.register(instance("address-service", "a2", 8002));
+		registry.cancel("ADDRESS-SERVICE", "a1");
+
+		List<RegistryEvent> catchUp = registry.subscribe(seen, new RegistryStreamer.Subscriber(new SseEmitter(0L)));
+		assertEquals(2, catchUp.size());
+		assertEquals(RegistryEvent.Type.REGISTERED, catchUp.get(0).getType());
+		assertEquals(RegistryEvent.Type.DEREGISTERED, catchUp.get(1).getType());
+
+		List<RegistryEvent> fresh = registry.subscribe(-1, new RegistryStreamer.Subscriber(new SseEmitter(0L)));
+		assertEquals(1, fresh.size());
+		assertEquals(RegistryEvent.Type.SNAPSHOT, fresh.get(0).getType());
+		assertEquals("a2", fresh.get(0).getInstances().get(0).getInstanceId());
+		registry.cancel("ADDRESS-SERVICE", "a2");
+	}
+
+	private static InstanceInfo instance(String serviceId, String instanceId, int port) {
+		InstanceInfo instance = new InstanceInfo();
+		instance.setServiceId(serviceId);
+		instance.setInstanceId(instanceId);
+		instance.setHost("localhost");
+		instance.setPort(port);
+		return instance;
+	}
+}
@@ -0,0 +1,97 @@
+package com.durgesh.responsecache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.util.DigestUtils;
+
+import lombok.Getter;
+
+/**
+ * One fully encoded response: the body as written by the controller, an
+ * optional gzip copy and the ETag, all computed once when the entry is
+ * stored.
+ */
+@Getter
+public class CachedResponse {
+
+	private final String contentType;
+	private final byte[] body;
+	private final byte[] gzipBody;
+	private final String etag;
+	private final long storedAt = System.currentTimeMillis();
+	private volatile long lastAccess = storedAt;
+
+	CachedResponse(String contentType, byte[] body, byte[] gzipBody, String etag) {
+		this.contentType = contentType;
+		this.body = body;
+		this.gzipBody = gzipBody;
+		this.etag = etag;
+	}
+
+	public static CachedResponse of(String contentType, byte[] body, int gzipMinBytes) {
+		return of(contentType, body, gzipMinBytes, null);
+	}
+
+	/** Keeps {@code etag} when the controller set one (e.g. from an entity version), else hashes the body. */
+	public static CachedResponse of(String contentType, byte[] body, int gzipMinBytes, String etag) {
+		byte[] gzipBody = body.length >= gzipMinBytes && compressible(contentType) ? gzip(body) : null;
+		if (gzipBody != null && gzipBody.length >= body.length) {
+			gzipBody = null;
+		}
+		if (etag == null || !etag.endsWith("\"")) {
+			etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+		}
+		return new CachedResponse(contentType, body, gzipBody, etag);
+	}
+
+	/** The gzip copy carries its own tag, as it is a different representation. */
+	public String getGzipEtag() {
+		return etag.substring(0, etag.length() - 1) + "-gzip\"";
+	}
+
+	/** True when an {@code If-None-Match} value names either representation. */
+	public boolean matches(String ifNoneMatch) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		if (ifNoneMatch.trim().equals("*")) {
+			return true;
+		}
+		for (String tag : ifNoneMatch.split(",")) {
+			String candidate = tag.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals(etag) || candidate.equals(getGzipEtag())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public long size() {
+		return body.length + (gzipBody == null ? 0 : gzipBody.length);
+	}
+
+	void touch() {
+		lastAccess = System.currentTimeMillis();
+	}
+
+	private static boolean compressible(String contentType) {
+		return contentType != null && (contentType.contains("json") || contentType.startsWith("text/")
+				|| contentType.contains("xml") || contentType.contains("javascript"));
+	}
+
+	private static byte[] gzip(byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+}
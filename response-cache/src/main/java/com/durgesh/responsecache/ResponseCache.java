@@ -0,0 +1,128 @@
+package com.durgesh.responsecache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Encoded GET responses keyed by request path and query string. Writers call
+ * {@link #invalidate(String)} once their change is committed.
+ * <p>
+ * Every invalidation bumps a generation number. A response that was being
+ * rendered while an invalidation happened is not stored, because it may
+ * have been built from data read before the write.
+ */
+public class ResponseCache {
+
+	private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicLong bytes = new AtomicLong();
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final ResponseCacheProperties properties;
+	private final Counter evictions;
+	private final Counter invalidations;
+
+	public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.evictions = meterRegistry.counter("response.cache.evictions");
+		this.invalidations = meterRegistry.counter("response.cache.invalidations");
+		Gauge.builder("response.cache.entries", entries, Map::size).register(meterRegistry);
+		Gauge.builder("response.cache.bytes", bytes, AtomicLong::get).register(meterRegistry);
+	}
+
+	public CachedResponse get(String key) {
+		CachedResponse entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (properties.getTtlMs() > 0 && System.currentTimeMillis() - entry.getStoredAt() > properties.getTtlMs()) {
+			remove(key, entry);
+			return null;
+		}
+		entry.touch();
+		return entry;
+	}
+
+	/** Read before rendering a miss and handed back to {@link #put}. */
+	public long generation() {
+		return generation.get();
+	}
+
+	/** Stores the entry unless something was invalidated since {@code generationAtStart}. */
+	public boolean put(String key, CachedResponse entry, long generationAtStart) {
+		if (entry.size() > properties.getMaxBytes()) {
+			return false;
+		}
+		synchronized (this) {
+			if (generation.get() != generationAtStart) {
+				return false;
+			}
+			CachedResponse previous = entries.put(key, entry);
+			bytes.addAndGet(entry.size() - (previous == null ? 0 : previous.size()));
+			while (entries.size() > properties.getMaxEntries() || bytes.get() > properties.getMaxBytes()) {
+				evictLeastRecentlyUsed();
+			}
+		}
+		return true;
+	}
+
+	/** Drops every entry whose path matches the Ant-style {@code pathPattern}, e.g. {@code /address/12}. */
+	public synchronized void invalidate(String pathPattern) {
+		generation.incrementAndGet();
+		invalidations.increment();
+		for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+			if (pathMatcher.match(pathPattern, path(entry.getKey()))) {
+				remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		generation.incrementAndGet();
+		invalidations.increment();
+		entries.clear();
+		bytes.set(0);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void evictLeastRecentlyUsed() {
+		String oldestKey = null;
+		CachedResponse oldest = null;
+		for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+			if (oldest == null || entry.getValue().getLastAccess() < oldest.getLastAccess()) {
+				oldestKey = entry.getKey();
+				oldest = entry.getValue();
+			}
+		}
+		if (oldestKey != null && remove(oldestKey, oldest)) {
+			evictions.increment();
+		}
+	}
+
+	private boolean remove(String key, CachedResponse entry) {
+		if (entries.remove(key, entry)) {
+			bytes.addAndGet(-entry.size());
+			return true;
+		}
+		return false;
+	}
+
+	static String key(String path, String query) {
+		return query == null ? path : path + '?' + query;
+	}
+
+	private static String path(String key) {
+		int query = key.indexOf('?');
+		return query < 0 ? key : key.substring(0, query);
+	}
+}
@@ -0,0 +1,39 @@
+package com.durgesh.responsecache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The cache bean always exists so services can call its invalidation hooks;
+ * {@code response.cache.enabled=false} only removes the filter.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheAutoConfiguration {
+
+	@Bean
+	public ResponseCache responseCache(ResponseCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ResponseCache(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "response.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+	public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache responseCache,
+			ResponseCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(
+				responseCache, properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
+		// inside the concurrency limiter; hits return before sql-insight opens a statement scope
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+		return registration;
+	}
+}
@@ -0,0 +1,135 @@
+package com.durgesh.responsecache;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves cached GET responses for the configured paths without reaching
+ * the controller: a hit is a header set and one buffer write, in gzip when
+ * the client accepts it, or a 304 when its {@code If-None-Match} still
+ * matches. A miss runs the request, keeps the body of a plain 200 and
+ * stores it with its gzip copy and ETag.
+ * <p>
+ * Cross-origin requests skip the cache, since their CORS headers are added
+ * by Spring MVC per request. Cached handlers must be synchronous.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+	static final String CACHE_HEADER = "X-Response-Cache";
+
+	private final ResponseCache cache;
+	private final List<String> paths;
+	private final int gzipMinBytes;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Counter hits;
+	private final Counter notModified;
+	private final Counter misses;
+
+	public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+		this.cache = cache;
+		this.paths = properties.getPaths();
+		this.gzipMinBytes = properties.getGzipMinBytes();
+		this.hits = meterRegistry.counter("response.cache.requests", "result", "hit");
+		this.notModified = meterRegistry.counter("response.cache.requests", "result", "not_modified");
+		this.misses = meterRegistry.counter("response.cache.requests", "result", "miss");
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!"GET".equals(request.getMethod()) || request.getHeader(HttpHeaders.ORIGIN) != null) {
+			return true;
+		}
+		String path = path(request);
+		for (String pattern : paths) {
+			if (pathMatcher.match(pattern, path)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String key = ResponseCache.key(path(request), request.getQueryString());
+		CachedResponse cached = cache.get(key);
+		if (cached != null) {
+			hits.increment();
+			write(cached, request, response, "HIT");
+			return;
+		}
+		misses.increment();
+		long generation = cache.generation();
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		chain.doFilter(request, wrapper);
+		if (!cacheable(request, wrapper)) {
+			wrapper.copyBodyToResponse();
+			return;
+		}
+		CachedResponse entry = CachedResponse.of(wrapper.getContentType(), wrapper.getContentAsByteArray(),
+				gzipMinBytes, wrapper.getHeader(HttpHeaders.ETAG));
+		cache.put(key, entry, generation);
+		// the buffered body is dropped; the new entry is written the same way a hit is
+		write(entry, request, response, "MISS");
+	}
+
+	private void write(CachedResponse entry, HttpServletRequest request, HttpServletResponse response, String result)
+			throws IOException {
+		boolean gzip = entry.getGzipBody() != null && acceptsGzip(request);
+		String etag = gzip ? entry.getGzipEtag() : entry.getEtag();
+		response.setHeader(CACHE_HEADER, result);
+		response.setHeader(HttpHeaders.ETAG, etag);
+		if (entry.getGzipBody() != null) {
+			response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		}
+		if (entry.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+			notModified.increment();
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		byte[] body = gzip ? entry.getGzipBody() : entry.getBody();
+		response.setStatus(HttpServletResponse.SC_OK);
+		if (entry.getContentType() != null) {
+			response.setContentType(entry.getContentType());
+		}
+		if (gzip) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	private static boolean cacheable(HttpServletRequest request, ContentCachingResponseWrapper response) {
+		if (request.isAsyncStarted() || response.getStatus() != HttpServletResponse.SC_OK) {
+			return false;
+		}
+		String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+		return response.getHeader(HttpHeaders.SET_COOKIE) == null
+				&& response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+				&& (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+	}
+
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return acceptEncoding != null && acceptEncoding.contains("gzip") && !acceptEncoding.contains("gzip;q=0");
+	}
+
+	private static String path(HttpServletRequest request) {
+		String contextPath = request.getContextPath();
+		String uri = request.getRequestURI();
+		return contextPath == null || contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+	}
+}
@@ -0,0 +1,34 @@
+package com.durgesh.responsecache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code response.cache.*} settings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "response.cache")
+public class ResponseCacheProperties {
+
+	private boolean enabled = true;
+
+	/** Ant-style request paths whose GET responses are cached, e.g. {@code /address/*}. */
+	private List<String> paths = new ArrayList<>();
+
+	private int maxEntries = 1000;
+
+	/** Total body bytes kept, plain and gzip together; least recently used entries go first. */
+	private long maxBytes = 32 * 1024 * 1024;
+
+	/** Entries older than this are dropped on lookup. 0 keeps them until invalidated or evicted. */
+	private long ttlMs = 0;
+
+	/** Bodies smaller than this are not worth a gzip copy. */
+	private int gzipMinBytes = 1024;
+}
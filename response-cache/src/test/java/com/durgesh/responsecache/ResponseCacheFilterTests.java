@@ -0,0 +1,146 @@
+package com.durgesh.responsecache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ResponseCacheFilterTests {
+
+	private static final String BODY = "{\"data\":\"" + "employee ".repeat(200) + "\"}";
+
+	private final AtomicInteger renders = new AtomicInteger();
+	private ResponseCache cache;
+	private ResponseCacheFilter filter;
+	private int status = 200;
+
+	private final HttpServlet controller = new HttpServlet() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			renders.incrementAndGet();
+			response.setStatus(status);
+			response.setContentType("application/json");
+			if (request.getRequestURI().equals("/address/9")) {
+				response.setHeader("ETag", "\"9-3\"");
+			}
+			response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+		}
+	};
+
+	@BeforeEach
+	void setUp() {
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setPaths(Arrays.asList("/employee/all", "/address/*"));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		cache = new ResponseCache(properties, meterRegistry);
+		filter = new ResponseCacheFilter(cache, properties, meterRegistry);
+	}
+
+	@Test
+	void secondRequestIsServedWithoutTheController() throws Exception {
+		MockHttpServletResponse first = get("/employee/all", null, null);
+		MockHttpServletResponse second = get("/employee/all", null, null);
+
+		assertEquals(1, renders.get());
+		assertEquals("MISS", first.getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("HIT", second.getHeader(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals(BODY, second.getContentAsString());
+		assertEquals("application/json", second.getContentType());
+		assertEquals(first.getHeader("ETag"), second.getHeader("ETag"));
+	}
+
+	@Test
+	void servesThePrecomputedGzipCopy() throws Exception {
+		get("/employee/all", null, null);
+		MockHttpServletResponse response = get("/employee/all", "gzip, deflate", null);
+
+		assertEquals("gzip", response.getHeader("Content-Encoding"));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+		}
+	}
+
+	@Test
+	void matchingIfNoneMatchGetsNotModified() throws Exception {
+		String etag = get("/address/7", null, null).getHeader("ETag");
+		MockHttpServletResponse response = get("/address/7", null, etag);
+
+		assertEquals(304, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void keepsTheEtagTheControllerSet() throws Exception {
+		get("/address/9", null, null);
+		MockHttpServletResponse response = get("/address/9", null, "\"9-3\"");
+
+		assertEquals(304, response.getStatus());
+		assertEquals("\"9-3\"", response.getHeader("ETag"));
+		assertEquals(1, renders.get());
+	}
+
+	@Test
+	void invalidationDropsMatchingPathsOnly() throws Exception {
+		get("/address/1", null, null);
+		get("/address/2", null, null);
+		cache.invalidate("/address/1");
+		get("/address/1", null, null);
+		get("/address/2", null, null);
+
+		assertEquals(3, renders.get());
+	}
+
+	@Test
+	void responseRenderedAcrossAnInvalidationIsNotStored() {
+		long generation = cache.generation();
+		cache.invalidate("/employee/all");
+		assertFalse(cache.put("/employee/all", CachedResponse.of("application/json", new byte[1], 1024), generation));
+		assertNull(cache.get("/employee/all"));
+	}
+
+	@Test
+	void errorsAndOtherPathsAreNotCached() throws Exception {
+		status = 404;
+		get("/employee/all", null, null);
+		get("/employee/all", null, null);
+		status = 200;
+		get("/employee/1", null, null);
+		get("/employee/1", null, null);
+
+		assertEquals(4, renders.get());
+		assertEquals(0, cache.size());
+	}
+
+	private MockHttpServletResponse get(String path, String acceptEncoding, String ifNoneMatch) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		if (acceptEncoding != null) {
+			request.addHeader("Accept-Encoding", acceptEncoding);
+		}
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain(controller));
+		return response;
+	}
+}
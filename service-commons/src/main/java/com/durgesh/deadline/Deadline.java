@@ -0,0 +1,72 @@
+package com.durgesh.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-scoped deadline for the current thread. employee-service sets it
+ * from the incoming headers or the endpoint's budget and forwards what is
+ * left to address-service in {@link #TIMEOUT_HEADER}; address-service sets
+ * it from that header.
+ */
+public final class Deadline {
+
+	/** Relative budget in milliseconds. This is the header forwarded downstream. */
+	public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+	/** Absolute deadline as epoch milliseconds, for clients that prefer it. */
+	public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+	private static final ThreadLocal<Long> EXPIRES_AT_NANOS = new ThreadLocal<>();
+
+	private Deadline() {
+	}
+
+	public static void start(long budgetMs) {
+		EXPIRES_AT_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs));
+	}
+
+	public static void clear() {
+		EXPIRES_AT_NANOS.remove();
+	}
+
+	public static boolean isSet() {
+		return EXPIRES_AT_NANOS.get() != null;
+	}
+
+	public static boolean expired() {
+		Long expiresAt = EXPIRES_AT_NANOS.get();
+		return expiresAt != null && System.nanoTime() - expiresAt >= 0;
+	}
+
+	/**
+	 * @return the time left on the current deadline capped at {@code limitMs},
+	 *         or {@code limitMs} when no deadline is set
+	 */
+	public static long remainingMillis(long limitMs) {
+		Long expiresAt = EXPIRES_AT_NANOS.get();
+		if (expiresAt == null) {
+			return limitMs;
+		}
+		return Math.min(limitMs, TimeUnit.NANOSECONDS.toMillis(expiresAt - System.nanoTime()));
+	}
+
+	/**
+	 * Reads the budget from the relative header first, then the absolute one.
+	 *
+	 * @return the budget in milliseconds (possibly negative when already
+	 *         expired), or {@code null} when neither header is usable
+	 */
+	public static Long parseBudget(String timeoutHeader, String deadlineHeader) {
+		try {
+			if (timeoutHeader != null && !timeoutHeader.isBlank()) {
+				return Long.parseLong(timeoutHeader.trim());
+			}
+			if (deadlineHeader != null && !deadlineHeader.isBlank()) {
+				return Long.parseLong(deadlineHeader.trim()) - System.currentTimeMillis();
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return null;
+	}
+}
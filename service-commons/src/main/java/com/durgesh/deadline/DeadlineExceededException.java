@@ -0,0 +1,20 @@
+package com.durgesh.deadline;
+
+/**
+ * Thrown when the request deadline runs out before or during a downstream
+ * call, or while waiting on another request's load. The services answer it
+ * with 504; employee-service's address circuit breaker ignores it, since an
+ * impatient caller says nothing about address-service health.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public DeadlineExceededException(String message) {
+		super(message);
+	}
+
+	public DeadlineExceededException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,74 @@
+package com.durgesh.utils;
+
+/**
+ * Strong ETags built from values that change whenever the representation
+ * does (id and {@code @Version}), so a conditional GET can be answered from
+ * a version lookup instead of the full row.
+ */
+public final class ETags {
+
+	private ETags() {
+	}
+
+	public static String of(Object... parts) {
+		StringBuilder tag = new StringBuilder("\"");
+		for (int i = 0; i < parts.length; i++) {
+			if (i > 0) {
+				tag.append('-');
+			}
+			tag.append(parts[i]);
+		}
+		return tag.append('"').toString();
+	}
+
+	/**
+	 * The {@code @Version} part (second segment) of a tag this class built
+	 * from an id and a version.
+	 *
+	 * @throws IllegalArgumentException if the tag does not carry a version
+	 */
+	public static long version(String etag) {
+		String[] parts = etag.substring(1, etag.length() - 1).split("-");
+		if (parts.length < 2) {
+			throw new IllegalArgumentException(etag + " does not carry a version");
+		}
+		return Long.parseLong(parts[1]);
+	}
+
+	/**
+	 * {@code If-Match} uses strong comparison of the whole tag: weak tags
+	 * never match, and {@code *} matches whenever there is a current tag.
+	 */
+	public static boolean matchesStrongly(String ifMatch, String etag) {
+		if (ifMatch == null || etag == null) {
+			return false;
+		}
+		for (String candidate : ifMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** {@code If-None-Match} uses weak comparison: a {@code W/} prefix does not matter. */
+	public static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || etag == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.equals("*")) {
+				return true;
+			}
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,80 @@
+package com.durgesh.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.durgesh.deadline.Deadline;
+import com.durgesh.deadline.DeadlineExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent loads of the same key into one call: the first caller
+ * runs the loader, callers that arrive while it is in flight wait for and
+ * share its result (or its exception). Nothing is cached once the call
+ * completes. A caller waits no longer than its own {@link Deadline}, even
+ * when the first caller's is longer.
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter executed;
+	private final Counter coalesced;
+
+	public SingleFlight(String name, MeterRegistry meterRegistry) {
+		this.executed = meterRegistry.counter("singleflight.calls", "name", name, "result", "executed");
+		this.coalesced = meterRegistry.counter("singleflight.calls", "name", name, "result", "coalesced");
+	}
+
+	public V execute(K key, Supplier<V> loader) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+		if (existing != null) {
+			coalesced.increment();
+			return await(existing);
+		}
+		executed.increment();
+		try {
+			V value = loader.get();
+			call.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, call);
+		}
+	}
+
+	public int inFlight() {
+		return inFlight.size();
+	}
+
+	private V await(CompletableFuture<V> call) {
+		try {
+			if (!Deadline.isSet()) {
+				return call.get();
+			}
+			return call.get(Math.max(0, Deadline.remainingMillis(Long.MAX_VALUE)), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new DeadlineExceededException("Request deadline ran out waiting for a shared load", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for a shared load", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.durgesh.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ETagsTests {
+
+	@Test
+	void ifMatchComparesTheWholeTag() {
+		String etag = ETags.of(7, 3, "a1");
+
+		assertTrue(ETags.matchesStrongly("\"7-3-a1\"", etag));
+		assertTrue(ETags.matchesStrongly("\"1-1-0\", \"7-3-a1\"", etag));
+		// same version, another record or another address
+		assertFalse(ETags.matchesStrongly("\"8-3-a1\"", etag));
+		assertFalse(ETags.matchesStrongly("\"7-3-b2\"", etag));
+		assertFalse(ETags.matchesStrongly("W/\"7-3-a1\"", etag));
+		assertFalse(ETags.matchesStrongly(null, etag));
+	}
+
+	@Test
+	void ifMatchStarAsksOnlyForACurrentTag() {
+		assertTrue(ETags.matchesStrongly("*", ETags.of(7, 3)));
+		assertFalse(ETags.matchesStrongly("*", null));
+	}
+
+	@Test
+	void ifNoneMatchComparesWeakly() {
+		String etag = ETags.of(7, 3);
+
+		assertTrue(ETags.matches("W/\"7-3\"", etag));
+		assertTrue(ETags.matches("*", etag));
+		assertFalse(ETags.matches("\"7-4\"", etag));
+	}
+
+	@Test
+	void versionIsTheSecondSegment() {
+		assertEquals(3L, ETags.version(ETags.of(7, 3, "a1")));
+		assertThrows(IllegalArgumentException.class, () -> ETags.version(ETags.of(7)));
+	}
+}
@@ -0,0 +1,83 @@
+package com.durgesh.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.durgesh.deadline.Deadline;
+import com.durgesh.deadline.DeadlineExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTests {
+
+	private final SingleFlight<Long, String> loads = new SingleFlight<>("test", new SimpleMeterRegistry());
+	private final CountDownLatch loading = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final AtomicInteger calls = new AtomicInteger();
+	// not the common pool, which may have a single thread
+	private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		callers.shutdownNow();
+	}
+
+	@Test
+	void followersShareTheLeadersResult() throws Exception {
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> loads.execute(1L, this::slowLoad),
+				callers);
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> loads.execute(1L, this::slowLoad),
+				callers);
+		release.countDown();
+
+		assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+		assertEquals("loaded", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void followerGivesUpAtItsOwnDeadline() throws Exception {
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> loads.execute(1L, this::slowLoad),
+				callers);
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+			Deadline.start(50);
+			try {
+				return loads.execute(1L, this::slowLoad);
+			} finally {
+				Deadline.clear();
+			}
+		}, callers);
+
+		ExecutionException failure = assertThrows(ExecutionException.class, () -> follower.get(2, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof DeadlineExceededException);
+		release.countDown();
+		assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+		assertEquals(1, calls.get());
+	}
+
+	private String slowLoad() {
+		calls.incrementAndGet();
+		loading.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "loaded";
+	}
+}
@@ -0,0 +1,186 @@
+package com.durgesh.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+/**
+ * JDK dynamic proxies around DataSource, Connection and Statement that time
+ * every execution and remember bind values. {@code unwrap} and
+ * {@code isWrapperFor} see through the proxies, so code that unwraps the
+ * pool (Hikari metrics, pool sizing) still finds it.
+ */
+final class JdbcProxies {
+
+	private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+	private JdbcProxies() {
+	}
+
+	static DataSource dataSource(DataSource target, Supplier<SqlRecorder> recorder) {
+		return proxy(DataSource.class, new Handler(target) {
+			@Override
+			Object invoke(Method method, Object[] args) throws Throwable {
+				Object result = call(method, args);
+				return result instanceof Connection ? connection((Connection) result, recorder) : result;
+			}
+		});
+	}
+
+	static Connection connection(Connection target, Supplier<SqlRecorder> recorder) {
+		return proxy(Connection.class, new Handler(target) {
+			@Override
+			Object invoke(Method method, Object[] args) throws Throwable {
+				Object result = call(method, args);
+				String name = method.getName();
+				if (result instanceof CallableStatement && name.equals("prepareCall")) {
+					return proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0], recorder));
+				}
+				if (result instanceof PreparedStatement && name.equals("prepareStatement")) {
+					return proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0], recorder));
+				}
+				if (result instanceof Statement && name.equals("createStatement")) {
+					return proxy(Statement.class, new StatementHandler((Statement) result, null, recorder));
+				}
+				return result;
+			}
+		});
+	}
+
+	/** Plain statements carry their values inline; fold them to ? so repeats group together. */
+	static String normalize(String sql) {
+		return LITERALS.matcher(sql).replaceAll("?");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private abstract static class Handler implements InvocationHandler {
+
+		final Object target;
+
+		Handler(Object target) {
+			this.target = target;
+		}
+
+		@Override
+		public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "unwrap":
+				if (((Class<?>) args[0]).isInstance(target)) {
+					return target;
+				}
+				break;
+			case "isWrapperFor":
+				if (((Class<?>) args[0]).isInstance(target)) {
+					return true;
+				}
+				break;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Recorded[" + target + "]";
+			default:
+				break;
+			}
+			return invoke(method, args);
+		}
+
+		abstract Object invoke(Method method, Object[] args) throws Throwable;
+
+		Object call(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	private static final class StatementHandler extends Handler {
+
+		private final String preparedSql;
+		private final Supplier<SqlRecorder> recorder;
+		private Map<Integer, Object> parameters;
+		private int batchSize;
+
+		StatementHandler(Statement target, String preparedSql, Supplier<SqlRecorder> recorder) {
+			super(target);
+			this.preparedSql = preparedSql;
+			this.recorder = recorder;
+		}
+
+		@Override
+		Object invoke(Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+					&& args[0] instanceof Integer) {
+				bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+				return call(method, args);
+			}
+			switch (name) {
+			case "clearParameters":
+				parameters = null;
+				return call(method, args);
+			case "addBatch":
+				batchSize++;
+				return call(method, args);
+			case "clearBatch":
+				batchSize = 0;
+				return call(method, args);
+			case "execute":
+			case "executeQuery":
+			case "executeUpdate":
+			case "executeLargeUpdate":
+			case "executeBatch":
+			case "executeLargeBatch":
+				return execute(method, args);
+			default:
+				return call(method, args);
+			}
+		}
+
+		private void bind(int index, Object value) {
+			if (parameters == null) {
+				parameters = new TreeMap<>();
+			}
+			parameters.put(index, value);
+		}
+
+		private Object execute(Method method, Object[] args) throws Throwable {
+			recorder.get().checkLimit();
+			long start = System.nanoTime();
+			try {
+				return call(method, args);
+			} finally {
+				long nanos = System.nanoTime() - start;
+				boolean batch = method.getName().contains("Batch");
+				if (preparedSql != null) {
+					recorder.get().record(preparedSql, parameters, nanos, batch ? Math.max(1, batchSize) : 1);
+				} else if (args != null && args.length > 0 && args[0] instanceof String) {
+					recorder.get().recordPlain((String) args[0], nanos);
+				} else {
+					recorder.get().record("<batch>", null, nanos, Math.max(1, batchSize));
+				}
+				if (batch) {
+					batchSize = 0;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.durgesh.sql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Statements issued while handling one request. Confined to the request
+ * thread.
+ */
+public class RequestStatements {
+
+	private static final class Repeat {
+		int executions;
+		final Set<Integer> parameterSets = new HashSet<>();
+	}
+
+	private final String request;
+	private final int repeatThreshold;
+	private final Map<String, Repeat> bySql = new HashMap<>();
+	private int count;
+	private long totalNanos;
+
+	public RequestStatements(String request, int repeatThreshold) {
+		this.request = request;
+		this.repeatThreshold = repeatThreshold;
+	}
+
+	void add(String sql, int parameterHash, long nanos) {
+		count++;
+		totalNanos += nanos;
+		Repeat repeat = bySql.computeIfAbsent(sql, key -> new Repeat());
+		repeat.executions++;
+		// two distinct parameter sets are enough to tell a loop over ids from a plain retry
+		if (repeat.parameterSets.size() < 2) {
+			repeat.parameterSets.add(parameterHash);
+		}
+	}
+
+	public String getRequest() {
+		return request;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public double getTotalMs() {
+		return totalNanos / 1_000_000.0;
+	}
+
+	/**
+	 * Statements run at least {@code repeatThreshold} times with varying
+	 * parameters: the shape of an N+1 (one query per row of an earlier
+	 * result).
+	 */
+	public List<String> getRepeatedStatements() {
+		List<String> repeated = new ArrayList<>();
+		bySql.forEach((sql, repeat) -> {
+			if (repeat.executions >= repeatThreshold && repeat.parameterSets.size() > 1) {
+				repeated.add(repeat.executions + "x " + sql);
+			}
+		});
+		return repeated;
+	}
+}
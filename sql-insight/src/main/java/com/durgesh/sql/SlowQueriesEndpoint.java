@@ -0,0 +1,32 @@
+package com.durgesh.sql;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/slowqueries}: the slowest recent statements with the
+ * types of their bind values, or the values themselves when
+ * {@code sql.insight.capture-parameters} is on. DELETE empties the buffer.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+	private final SqlRecorder recorder;
+
+	public SlowQueriesEndpoint(SqlRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	@ReadOperation
+	public List<StatementRecord> slowQueries() {
+		return recorder.getSlowQueries();
+	}
+
+	@DeleteOperation
+	public void clear() {
+		recorder.clearSlowQueries();
+	}
+}
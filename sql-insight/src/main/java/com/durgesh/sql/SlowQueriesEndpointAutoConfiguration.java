@@ -0,0 +1,20 @@
+package com.durgesh.sql;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(after = SqlInsightAutoConfiguration.class)
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnBean(SqlRecorder.class)
+public class SlowQueriesEndpointAutoConfiguration {
+
+	@Bean
+	@ConditionalOnAvailableEndpoint
+	public SlowQueriesEndpoint slowQueriesEndpoint(SqlRecorder sqlRecorder) {
+		return new SlowQueriesEndpoint(sqlRecorder);
+	}
+}
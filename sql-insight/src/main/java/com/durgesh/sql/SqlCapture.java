@@ -0,0 +1,109 @@
+package com.durgesh.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test helper: collects every statement run through the JDBC proxy while
+ * open, from any thread, so a test can put a ceiling on the queries an
+ * operation issues.
+ *
+ * <pre>
+ * try (SqlCapture sql = SqlCapture.start()) {
+ *     mockMvc.perform(get("/employee/all"));
+ *     sql.assertStatementCountAtMost(2).assertNoRepeatedStatements(5);
+ * }
+ * </pre>
+ */
+public final class SqlCapture implements AutoCloseable {
+
+	private static final List<SqlCapture> OPEN = new CopyOnWriteArrayList<>();
+
+	private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+	private final Map<String, Set<Integer>> parameterSets = new HashMap<>();
+
+	private SqlCapture() {
+	}
+
+	public static SqlCapture start() {
+		SqlCapture capture = new SqlCapture();
+		OPEN.add(capture);
+		return capture;
+	}
+
+	static void recordAll(String sql, int parameterHash) {
+		if (OPEN.isEmpty()) {
+			return;
+		}
+		for (SqlCapture capture : OPEN) {
+			capture.add(sql, parameterHash);
+		}
+	}
+
+	private void add(String sql, int parameterHash) {
+		statements.add(sql);
+		synchronized (parameterSets) {
+			parameterSets.computeIfAbsent(sql, key -> new HashSet<>()).add(parameterHash);
+		}
+	}
+
+	public int count() {
+		return statements.size();
+	}
+
+	public List<String> statements() {
+		synchronized (statements) {
+			return new ArrayList<>(statements);
+		}
+	}
+
+	public SqlCapture assertStatementCountAtMost(int max) {
+		List<String> seen = statements();
+		if (seen.size() > max) {
+			throw new AssertionError("Expected at most " + max + " statements but " + seen.size() + " ran: " + seen);
+		}
+		return this;
+	}
+
+	public SqlCapture assertStatementCount(int expected) {
+		List<String> seen = statements();
+		if (seen.size() != expected) {
+			throw new AssertionError("Expected " + expected + " statements but " + seen.size() + " ran: " + seen);
+		}
+		return this;
+	}
+
+	/** Fails when one statement ran {@code threshold} or more times with differing parameters. */
+	public SqlCapture assertNoRepeatedStatements(int threshold) {
+		Map<String, Integer> executions = new HashMap<>();
+		for (String sql : statements()) {
+			executions.merge(sql, 1, Integer::sum);
+		}
+		synchronized (parameterSets) {
+			executions.forEach((sql, times) -> {
+				if (times >= threshold && parameterSets.get(sql).size() > 1) {
+					throw new AssertionError("Statement ran " + times + " times with different parameters (N+1?): " + sql);
+				}
+			});
+		}
+		return this;
+	}
+
+	public void reset() {
+		statements.clear();
+		synchronized (parameterSets) {
+			parameterSets.clear();
+		}
+	}
+
+	@Override
+	public void close() {
+		OPEN.remove(this);
+	}
+}
@@ -0,0 +1,57 @@
+package com.durgesh.sql;
+
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@AutoConfiguration
+@ConditionalOnClass(DataSource.class)
+@ConditionalOnProperty(prefix = "sql.insight", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlInsightProperties.class)
+public class SqlInsightAutoConfiguration {
+
+	@Bean
+	public SqlRecorder sqlRecorder(SqlInsightProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+		return new SqlRecorder(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+
+	/**
+	 * Wraps every DataSource bean. The recorder is looked up on first use so
+	 * wrapping does not pull the meter registry in ahead of the pool.
+	 */
+	@Bean
+	public static BeanPostProcessor sqlInsightDataSourceWrapper(ObjectProvider<SqlRecorder> recorder) {
+		Supplier<SqlRecorder> lazyRecorder = SingletonSupplier.of(recorder::getObject);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof DataSource ? JdbcProxies.dataSource((DataSource) bean, lazyRecorder) : bean;
+			}
+		};
+	}
+
+	@Bean
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	public FilterRegistrationBean<SqlInsightFilter> sqlInsightFilter(SqlRecorder sqlRecorder) {
+		FilterRegistrationBean<SqlInsightFilter> registration = new FilterRegistrationBean<>(
+				new SqlInsightFilter(sqlRecorder));
+		// inside the concurrency limiter, around everything else
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+}
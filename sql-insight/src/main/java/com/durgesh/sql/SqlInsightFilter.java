@@ -0,0 +1,36 @@
+package com.durgesh.sql;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a statement scope per request so the recorder can count, time and
+ * check the statements each request issues. The statement limit is
+ * enforced by the JDBC proxy as each statement starts, while the response
+ * can still become an error.
+ */
+public class SqlInsightFilter extends OncePerRequestFilter {
+
+	private final SqlRecorder recorder;
+
+	public SqlInsightFilter(SqlRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		recorder.begin(request.getMethod() + " " + request.getRequestURI());
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			recorder.end();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.durgesh.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * {@code sql.insight.*} settings. The defaults are what the services run
+ * with, so they set only what differs. Recording takes the place of
+ * Hibernate's per-statement SQL logging, which stays at its default (off).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sql.insight")
+public class SqlInsightProperties {
+
+	private boolean enabled = true;
+
+	/** Statements at least this slow go to the slow-query buffer. */
+	private long slowThresholdMs = 100;
+
+	/** How many slow statements are kept; the oldest is overwritten. */
+	private int slowQueryCapacity = 100;
+
+	/** Same statement run this many times in one request with different parameters is reported as N+1. */
+	private int repeatThreshold = 5;
+
+	/**
+	 * Keep bind values, and the literals of plain statements, in the
+	 * slow-query buffer. They hold emails, names and addresses, and the
+	 * buffer is readable at {@code /actuator/slowqueries}; off, only the
+	 * value types are kept.
+	 */
+	private boolean captureParameters = false;
+
+	/** Bind values longer than this are cut in the slow-query buffer. */
+	private int maxParameterLength = 100;
+
+	/**
+	 * Test mode: the statement after this many in one request is not run
+	 * and fails with {@link TooManyStatementsException}. 0 turns the check
+	 * off.
+	 */
+	private int maxStatementsPerRequest = 0;
+}
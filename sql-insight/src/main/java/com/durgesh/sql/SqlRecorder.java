@@ -0,0 +1,148 @@
+package com.durgesh.sql;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives every statement from the JDBC proxy. Attributes it to the
+ * current request when one is open on this thread, keeps statements slower
+ * than {@code sql.insight.slow-threshold-ms} in a fixed-size ring, and feeds
+ * any open {@link SqlCapture}. Bind values go in the ring only with
+ * {@code sql.insight.capture-parameters}; otherwise just their types do.
+ */
+@Slf4j
+public class SqlRecorder {
+
+	private final SqlInsightProperties properties;
+	private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+	private final AtomicReferenceArray<StatementRecord> slowQueries;
+	private final AtomicLong slowIndex = new AtomicLong();
+	private final long slowThresholdNanos;
+	private final Timer statements;
+	private final DistributionSummary statementsPerRequest;
+	private final Counter repeatedStatements;
+	private final Counter overLimit;
+
+	public SqlRecorder(SqlInsightProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.slowQueries = new AtomicReferenceArray<>(Math.max(1, properties.getSlowQueryCapacity()));
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+		this.statements = meterRegistry.timer("sql.statements");
+		this.statementsPerRequest = meterRegistry.summary("sql.request.statements");
+		this.repeatedStatements = meterRegistry.counter("sql.request.repeated");
+		this.overLimit = meterRegistry.counter("sql.request.over-limit");
+	}
+
+	public void begin(String request) {
+		current.set(new RequestStatements(request, properties.getRepeatThreshold()));
+	}
+
+	/** Closes the request opened by {@link #begin(String)} on this thread and reports on it. */
+	public RequestStatements end() {
+		RequestStatements request = current.get();
+		current.remove();
+		if (request == null) {
+			return null;
+		}
+		statementsPerRequest.record(request.getCount());
+		List<String> repeated = request.getRepeatedStatements();
+		if (!repeated.isEmpty()) {
+			repeatedStatements.increment();
+			log.warn("Possible N+1 in {}: {} statements, repeated {}", request.getRequest(), request.getCount(),
+					repeated);
+		}
+		return request;
+	}
+
+	public RequestStatements currentRequest() {
+		return current.get();
+	}
+
+	/** Test mode: refuses a statement that would take the current request past the limit, before it runs. */
+	void checkLimit() {
+		int max = properties.getMaxStatementsPerRequest();
+		RequestStatements request = current.get();
+		if (max > 0 && request != null && request.getCount() >= max) {
+			overLimit.increment();
+			throw new TooManyStatementsException(request.getRequest() + " tried to run more than " + max
+					+ " statements");
+		}
+	}
+
+	void record(String sql, Map<Integer, Object> parameters, long nanos, int batchSize) {
+		record(sql, parameters == null ? 0 : parameters.hashCode(), parameters, nanos, batchSize);
+	}
+
+	/** A plain statement is grouped by its shape; its literals stand in for bind values. */
+	void recordPlain(String sql, long nanos) {
+		record(JdbcProxies.normalize(sql), sql.hashCode(), properties.isCaptureParameters() ? Map.of(1, sql) : null,
+				nanos, 1);
+	}
+
+	private void record(String sql, int parameterHash, Map<Integer, Object> parameters, long nanos, int batchSize) {
+		statements.record(nanos, TimeUnit.NANOSECONDS);
+		RequestStatements request = current.get();
+		if (request != null) {
+			request.add(sql, parameterHash, nanos);
+		}
+		if (nanos >= slowThresholdNanos) {
+			StatementRecord record = new StatementRecord(sql, format(parameters), nanos / 1_000_000.0, batchSize,
+					request == null ? null : request.getRequest(), System.currentTimeMillis());
+			slowQueries.set((int) (slowIndex.getAndIncrement() % slowQueries.length()), record);
+		}
+		SqlCapture.recordAll(sql, parameterHash);
+	}
+
+	/** Slow statements still in the ring, slowest first. */
+	public List<StatementRecord> getSlowQueries() {
+		List<StatementRecord> records = new ArrayList<>();
+		for (int i = 0; i < slowQueries.length(); i++) {
+			StatementRecord record = slowQueries.get(i);
+			if (record != null) {
+				records.add(record);
+			}
+		}
+		records.sort(Comparator.comparingDouble(StatementRecord::getDurationMs).reversed());
+		return records;
+	}
+
+	public void clearSlowQueries() {
+		for (int i = 0; i < slowQueries.length(); i++) {
+			slowQueries.set(i, null);
+		}
+	}
+
+	private String format(Map<Integer, Object> parameters) {
+		if (parameters == null || parameters.isEmpty()) {
+			return "";
+		}
+		StringBuilder text = new StringBuilder("[");
+		parameters.forEach((index, value) -> {
+			if (text.length() > 1) {
+				text.append(", ");
+			}
+			String valueText;
+			if (!properties.isCaptureParameters()) {
+				valueText = value == null ? "null" : value.getClass().getSimpleName();
+			} else {
+				valueText = value instanceof CharSequence ? "'" + value + "'" : String.valueOf(value);
+			}
+			if (valueText.length() > properties.getMaxParameterLength()) {
+				valueText = valueText.substring(0, properties.getMaxParameterLength()) + "...";
+			}
+			text.append(index).append('=').append(valueText);
+		});
+		return text.append(']').toString();
+	}
+}
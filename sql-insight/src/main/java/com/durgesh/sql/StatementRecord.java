@@ -0,0 +1,26 @@
+package com.durgesh.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One executed statement as kept in the slow-query buffer.
+ */
+@Getter
+@AllArgsConstructor
+public class StatementRecord {
+
+	private final String sql;
+	/**
+	 * Bind value types by position, or the values themselves with
+	 * {@code sql.insight.capture-parameters}; for a plain statement, its
+	 * original text when values are captured, empty otherwise.
+	 */
+	private final String parameters;
+	private final double durationMs;
+	/** Statements in the batch, 1 for a single execution. */
+	private final int batchSize;
+	/** The request that issued it, or null outside a request. */
+	private final String request;
+	private final long timestamp;
+}
@@ -0,0 +1,15 @@
+package com.durgesh.sql;
+
+/**
+ * Raised in test mode by the JDBC proxy, in place of the statement that
+ * would take a request past {@code sql.insight.max-statements-per-request}.
+ * JPA and Spring may wrap it on the way out.
+ */
+public class TooManyStatementsException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	public TooManyStatementsException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,158 @@
+package com.durgesh.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SqlRecorderTests {
+
+	private final SqlInsightProperties properties = new SqlInsightProperties();
+	private SqlRecorder recorder;
+	private JdbcDataSource h2;
+	private DataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		properties.setSlowThresholdMs(0);
+		properties.setSlowQueryCapacity(3);
+		properties.setRepeatThreshold(3);
+		recorder = new SqlRecorder(properties, new SimpleMeterRegistry());
+		h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		dataSource = JdbcProxies.dataSource(h2, () -> recorder);
+		try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("create table employee (id bigint primary key, name varchar(50))");
+		}
+	}
+
+	@Test
+	void countsRequestStatementsAndFlagsRepeatsWithDifferentIds() throws SQLException {
+		recorder.begin("GET /employee/all");
+		try (Connection connection = dataSource.getConnection()) {
+			for (long id = 1; id <= 4; id++) {
+				insert(connection, id, "e" + id);
+			}
+			try (Statement statement = connection.createStatement()) {
+				statement.executeQuery("select count(*) from employee").close();
+			}
+		}
+		RequestStatements request = recorder.end();
+
+		assertEquals(5, request.getCount());
+		List<String> repeated = request.getRepeatedStatements();
+		assertEquals(1, repeated.size());
+		assertTrue(repeated.get(0).startsWith("4x insert into employee"));
+	}
+
+	@Test
+	void sameStatementWithSameParametersIsNotAnNPlusOne() throws SQLException {
+		recorder.begin("GET /employee/1");
+		try (Connection connection = dataSource.getConnection()) {
+			insert(connection, 1L, "a");
+			for (int i = 0; i < 3; i++) {
+				try (PreparedStatement statement = connection.prepareStatement("select name from employee where id = ?")) {
+					statement.setLong(1, 1L);
+					try (ResultSet resultSet = statement.executeQuery()) {
+						assertTrue(resultSet.next());
+					}
+				}
+			}
+		}
+		assertTrue(recorder.end().getRepeatedStatements().isEmpty());
+	}
+
+	@Test
+	void keepsTheLatestSlowStatementsWithBindValueTypesOnly() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			insert(connection, 1L, "secret@example.com");
+			try (Statement statement = connection.createStatement()) {
+				statement.executeQuery("select id from employee where name = 'secret@example.com'").close();
+			}
+		}
+		List<StatementRecord> slow = recorder.getSlowQueries();
+		assertEquals(2, slow.size());
+		assertTrue(slow.stream().anyMatch(record -> record.getParameters().equals("[1=Long, 2=String]")));
+		assertTrue(slow.stream().noneMatch(record -> record.getParameters().contains("secret")));
+		assertTrue(slow.stream().noneMatch(record -> record.getSql().contains("secret")));
+	}
+
+	@Test
+	void keepsBindValuesWhenAskedTo() throws SQLException {
+		properties.setCaptureParameters(true);
+		recorder = new SqlRecorder(properties, new SimpleMeterRegistry());
+		try (Connection connection = dataSource.getConnection()) {
+			for (long id = 1; id <= 5; id++) {
+				insert(connection, id, "name" + id);
+			}
+		}
+		List<StatementRecord> slow = recorder.getSlowQueries();
+		assertEquals(3, slow.size());
+		assertTrue(slow.stream().anyMatch(record -> record.getParameters().equals("[1=5, 2='name5']")));
+	}
+
+	@Test
+	void captureFailsWhenTooManyStatementsRun() throws SQLException {
+		try (SqlCapture capture = SqlCapture.start(); Connection connection = dataSource.getConnection()) {
+			insert(connection, 1L, "a");
+			insert(connection, 2L, "b");
+			insert(connection, 3L, "c");
+			capture.assertStatementCountAtMost(3);
+			assertThrows(AssertionError.class, () -> capture.assertStatementCountAtMost(2));
+			assertThrows(AssertionError.class, () -> capture.assertNoRepeatedStatements(3));
+		}
+	}
+
+	@Test
+	void statementPastTheLimitIsRefusedBeforeItRuns() throws SQLException {
+		properties.setMaxStatementsPerRequest(2);
+		recorder = new SqlRecorder(properties, new SimpleMeterRegistry());
+		recorder.begin("POST /employee/save");
+		try (Connection connection = dataSource.getConnection()) {
+			insert(connection, 1L, "a");
+			insert(connection, 2L, "b");
+			assertThrows(TooManyStatementsException.class, () -> insert(connection, 3L, "c"));
+		}
+		assertEquals(2, recorder.end().getCount());
+		try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement();
+				ResultSet rows = statement.executeQuery("select count(*) from employee")) {
+			assertTrue(rows.next());
+			assertEquals(2, rows.getInt(1));
+		}
+	}
+
+	@Test
+	void unwrapSeesThroughTheProxy() throws SQLException {
+		assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+		assertSame(h2, dataSource.unwrap(JdbcDataSource.class));
+	}
+
+	@Test
+	void plainStatementsGroupByShape() {
+		assertEquals("select * from employee where id = ? and name = ?",
+				JdbcProxies.normalize("select * from employee where id = 42 and name = 'O''Neil'"));
+	}
+
+	private static void insert(Connection connection, long id, String name) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("insert into employee (id, name) values (?, ?)")) {
+			statement.setLong(1, id);
+			statement.setString(2, name);
+			statement.executeUpdate();
+		}
+	}
+}